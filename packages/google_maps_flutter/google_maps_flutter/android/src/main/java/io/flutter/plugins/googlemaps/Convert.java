@@ -218,7 +218,7 @@ class Convert {
     return data;
   }
 
-  private static LatLngBounds toLatLngBounds(Object o) {
+  static LatLngBounds toLatLngBounds(Object o) {
     if (o == null) {
       return null;
     }
@@ -403,6 +403,30 @@ class Convert {
     }
   }
 
+  /** Throws an {@link IllegalArgumentException} if {@code o} is not a valid marker animation. */
+  static void checkMarkerAnimation(Object o) {
+    if (!(o instanceof Map)) {
+      throw new IllegalArgumentException("markerAnimation was not a map");
+    }
+    final Map<?, ?> data = toMap(o);
+    if (!(data.get("markerId") instanceof String)) {
+      throw new IllegalArgumentException("markerId was null");
+    }
+    if (!(data.get("position") instanceof List)) {
+      throw new IllegalArgumentException("position was null");
+    }
+  }
+
+  static void interpretMarkerAnimation(Object o, MarkerController controller) {
+    final Map<?, ?> data = toMap(o);
+    final Object rotation = data.get("rotation");
+    final Object duration = data.get("duration");
+    controller.animateTo(
+        toLatLng(data.get("position")),
+        toFloatWrapper(rotation),
+        duration == null ? 0 : ((Number) duration).longValue());
+  }
+
   private static void interpretInfoWindowOptions(
       MarkerOptionsSink sink, Map<String, Object> infoWindow) {
     String title = (String) infoWindow.get("title");
@@ -556,7 +580,7 @@ class Convert {
     }
   }
 
-  private static List<LatLng> toPoints(Object o) {
+  static List<LatLng> toPoints(Object o) {
     final List<?> data = toList(o);
     final List<LatLng> points = new ArrayList<>(data.size());
 
@@ -27,6 +27,7 @@ class GoogleMapBuilder implements GoogleMapOptionsSink {
   private Object initialPolygons;
   private Object initialPolylines;
   private Object initialCircles;
+  private String initialStyleId;
   private Rect padding = new Rect(0, 0, 0, 0);
 
   GoogleMapController build(
@@ -37,7 +38,9 @@ class GoogleMapBuilder implements GoogleMapOptionsSink {
       Application application,
       Lifecycle lifecycle,
       PluginRegistry.Registrar registrar,
-      int activityHashCode) {
+      int activityHashCode,
+      MapViewPool mapViewPool,
+      MapStyleRegistry mapStyleRegistry) {
     final GoogleMapController controller =
         new GoogleMapController(
             id,
@@ -48,7 +51,9 @@ class GoogleMapBuilder implements GoogleMapOptionsSink {
             lifecycle,
             registrar,
             activityHashCode,
-            options);
+            options,
+            mapViewPool,
+            mapStyleRegistry);
     controller.init();
     controller.setMyLocationEnabled(myLocationEnabled);
     controller.setMyLocationButtonEnabled(myLocationButtonEnabled);
@@ -60,10 +65,15 @@ class GoogleMapBuilder implements GoogleMapOptionsSink {
     controller.setInitialPolygons(initialPolygons);
     controller.setInitialPolylines(initialPolylines);
     controller.setInitialCircles(initialCircles);
+    controller.setInitialStyleId(initialStyleId);
     controller.setPadding(padding.top, padding.left, padding.bottom, padding.right);
     return controller;
   }
 
+  void setInitialStyleId(String initialStyleId) {
+    this.initialStyleId = initialStyleId;
+  }
+
   void setInitialCameraPosition(CameraPosition position) {
     options.camera(position);
   }
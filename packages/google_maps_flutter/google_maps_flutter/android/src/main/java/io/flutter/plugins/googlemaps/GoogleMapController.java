@@ -33,6 +33,7 @@ import com.google.android.gms.maps.GoogleMap.SnapshotReadyCallback;
 import com.google.android.gms.maps.GoogleMapOptions;
 import com.google.android.gms.maps.MapView;
 import com.google.android.gms.maps.OnMapReadyCallback;
+import com.google.android.gms.maps.Projection;
 import com.google.android.gms.maps.model.CameraPosition;
 import com.google.android.gms.maps.model.Circle;
 import com.google.android.gms.maps.model.LatLng;
@@ -54,6 +55,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.json.JSONException;
 
 /** Controller of a single GoogleMaps MapView instance. */
 final class GoogleMapController
@@ -71,6 +73,9 @@ final class GoogleMapController
   private final AtomicInteger activityState;
   private final MethodChannel methodChannel;
   private final GoogleMapOptions options;
+  private final MapViewPool mapViewPool;
+  private final MapStyleRegistry mapStyleRegistry;
+  private final boolean recycled;
   @Nullable private MapView mapView;
   private GoogleMap googleMap;
   private boolean trackCameraPosition = false;
@@ -98,6 +103,8 @@ final class GoogleMapController
   private List<Object> initialPolygons;
   private List<Object> initialPolylines;
   private List<Object> initialCircles;
+  private String initialStyleId;
+  @Nullable private MapStyleOptions appliedMapStyle;
 
   GoogleMapController(
       int id,
@@ -108,12 +115,18 @@ final class GoogleMapController
       Lifecycle lifecycle,
       PluginRegistry.Registrar registrar,
       int registrarActivityHashCode,
-      GoogleMapOptions options) {
+      GoogleMapOptions options,
+      MapViewPool mapViewPool,
+      MapStyleRegistry mapStyleRegistry) {
     this.id = id;
     this.context = context;
     this.activityState = activityState;
     this.options = options;
-    this.mapView = new MapView(context, options);
+    this.mapViewPool = mapViewPool;
+    this.mapStyleRegistry = mapStyleRegistry;
+    final MapView recycledMapView = mapViewPool.acquire(options);
+    this.recycled = recycledMapView != null;
+    this.mapView = recycled ? recycledMapView : new MapView(context, options);
     this.density = context.getResources().getDisplayMetrics().density;
     methodChannel = new MethodChannel(binaryMessenger, "plugins.flutter.io/google_maps_" + id);
     methodChannel.setMethodCallHandler(this);
@@ -135,29 +148,29 @@ final class GoogleMapController
   void init() {
     switch (activityState.get()) {
       case STOPPED:
-        mapView.onCreate(null);
+        createMapView();
         mapView.onStart();
         mapView.onResume();
         mapView.onPause();
         mapView.onStop();
         break;
       case PAUSED:
-        mapView.onCreate(null);
+        createMapView();
         mapView.onStart();
         mapView.onResume();
         mapView.onPause();
         break;
       case RESUMED:
-        mapView.onCreate(null);
+        createMapView();
         mapView.onStart();
         mapView.onResume();
         break;
       case STARTED:
-        mapView.onCreate(null);
+        createMapView();
         mapView.onStart();
         break;
       case CREATED:
-        mapView.onCreate(null);
+        createMapView();
         break;
       case DESTROYED:
         // Nothing to do, the activity has been completely destroyed.
@@ -174,6 +187,27 @@ final class GoogleMapController
     mapView.getMapAsync(this);
   }
 
+  /**
+   * Converts a tolerance in logical pixels around {@code latLng} to degrees of latitude at the
+   * current zoom level.
+   */
+  private double toleranceInDegrees(LatLng latLng, @Nullable Number tolerance) {
+    if (tolerance == null || tolerance.floatValue() <= 0) {
+      return 0;
+    }
+    final Projection projection = googleMap.getProjection();
+    final Point screenLocation = projection.toScreenLocation(latLng);
+    screenLocation.offset(0, (int) (tolerance.floatValue() * density));
+    return Math.abs(projection.fromScreenLocation(screenLocation).latitude - latLng.latitude);
+  }
+
+  private void createMapView() {
+    // Recycled map views have already been created, and are parked in the created state.
+    if (!recycled) {
+      mapView.onCreate(null);
+    }
+  }
+
   private void moveCamera(CameraUpdate cameraUpdate) {
     googleMap.moveCamera(cameraUpdate);
   }
@@ -189,6 +223,9 @@ final class GoogleMapController
   @Override
   public void onMapReady(GoogleMap googleMap) {
     this.googleMap = googleMap;
+    if (recycled) {
+      MapViewPool.applyOptions(googleMap, options);
+    }
     this.googleMap.setIndoorEnabled(this.indoorEnabled);
     this.googleMap.setTrafficEnabled(this.trafficEnabled);
     this.googleMap.setBuildingsEnabled(this.buildingsEnabled);
@@ -207,6 +244,7 @@ final class GoogleMapController
     updateInitialPolygons();
     updateInitialPolylines();
     updateInitialCircles();
+    updateInitialStyle();
   }
 
   @Override
@@ -284,6 +322,36 @@ final class GoogleMapController
           }
           break;
         }
+      case "map#queryRenderedFeatures":
+        {
+          if (googleMap == null) {
+            result.error(
+                "GoogleMap uninitialized",
+                "queryRenderedFeatures called prior to map initialization",
+                null);
+            break;
+          }
+          final Object latLngArgument = call.argument("latLng");
+          final Object boundsArgument = call.argument("bounds");
+          final Map<String, Object> features = new HashMap<>(2);
+          if (latLngArgument != null) {
+            final LatLng latLng = Convert.toLatLng(latLngArgument);
+            final double tolerance =
+                toleranceInDegrees(latLng, (Number) call.argument("tolerance"));
+            features.put("polygonIds", polygonsController.queryPolygons(latLng, tolerance));
+            features.put("polylineIds", polylinesController.queryPolylines(latLng, tolerance));
+          } else if (boundsArgument != null) {
+            final LatLngBounds bounds = Convert.toLatLngBounds(boundsArgument);
+            features.put("polygonIds", polygonsController.queryPolygons(bounds));
+            features.put("polylineIds", polylinesController.queryPolylines(bounds));
+          } else {
+            result.error(
+                "Invalid query", "queryRenderedFeatures requires either latLng or bounds", null);
+            break;
+          }
+          result.success(features);
+          break;
+        }
       case "camera#move":
         {
           final CameraUpdate cameraUpdate =
@@ -311,6 +379,12 @@ final class GoogleMapController
           result.success(null);
           break;
         }
+      case "markers#animate":
+        {
+          Object markerAnimations = call.argument("markerAnimations");
+          markersController.animateMarkers((List<Object>) markerAnimations, result);
+          break;
+        }
       case "markers#showInfoWindow":
         {
           Object markerId = call.argument("markerId");
@@ -351,6 +425,21 @@ final class GoogleMapController
           result.success(null);
           break;
         }
+      case "polylines#appendPoints":
+        {
+          Object polylineId = call.argument("polylineId");
+          List<LatLng> points = Convert.toPoints(call.argument("points"));
+          polylinesController.appendPolylinePoints((String) polylineId, points, result);
+          break;
+        }
+      case "polylines#trimPoints":
+        {
+          Object polylineId = call.argument("polylineId");
+          Object count = call.argument("count");
+          polylinesController.trimPolylinePoints(
+              (String) polylineId, ((Number) count).intValue(), result);
+          break;
+        }
       case "circles#update":
         {
           Object circlesToAdd = call.argument("circlesToAdd");
@@ -433,12 +522,8 @@ final class GoogleMapController
       case "map#setStyle":
         {
           String mapStyle = (String) call.arguments;
-          boolean mapStyleSet;
-          if (mapStyle == null) {
-            mapStyleSet = googleMap.setMapStyle(null);
-          } else {
-            mapStyleSet = googleMap.setMapStyle(new MapStyleOptions(mapStyle));
-          }
+          boolean mapStyleSet =
+              setMapStyle(mapStyle == null ? null : new MapStyleOptions(mapStyle));
           ArrayList<Object> mapStyleResult = new ArrayList<>(2);
           mapStyleResult.add(mapStyleSet);
           if (!mapStyleSet) {
@@ -448,6 +533,42 @@ final class GoogleMapController
           result.success(mapStyleResult);
           break;
         }
+      case "map#registerStyle":
+        {
+          try {
+            mapStyleRegistry.register(
+                (String) call.argument("styleId"), (String) call.argument("style"));
+            result.success(null);
+          } catch (JSONException e) {
+            result.error("Invalid map style", e.getMessage(), null);
+          }
+          break;
+        }
+      case "map#unregisterStyle":
+        {
+          mapStyleRegistry.unregister((String) call.arguments);
+          result.success(null);
+          break;
+        }
+      case "map#setStyleById":
+        {
+          String styleId = (String) call.arguments;
+          MapStyleOptions mapStyle = styleId == null ? null : mapStyleRegistry.get(styleId);
+          ArrayList<Object> mapStyleResult = new ArrayList<>(2);
+          if (styleId != null && mapStyle == null) {
+            mapStyleResult.add(false);
+            mapStyleResult.add("No map style is registered with id " + styleId + ".");
+          } else {
+            boolean mapStyleSet = setMapStyle(mapStyle);
+            mapStyleResult.add(mapStyleSet);
+            if (!mapStyleSet) {
+              mapStyleResult.add(
+                  "Unable to set the map style. Please check console logs for errors.");
+            }
+          }
+          result.success(mapStyleResult);
+          break;
+        }
       default:
         result.notImplemented();
     }
@@ -533,8 +654,11 @@ final class GoogleMapController
     }
     disposed = true;
     methodChannel.setMethodCallHandler(null);
+    markersController.cancelAnimations();
     setGoogleMapListener(null);
-    destroyMapViewIfNecessary();
+    if (!releaseMapViewToPool()) {
+      destroyMapViewIfNecessary();
+    }
     getApplication().unregisterActivityLifecycleCallbacks(this);
   }
 
@@ -844,6 +968,38 @@ final class GoogleMapController
     circlesController.addCircles(initialCircles);
   }
 
+  void setInitialStyleId(String initialStyleId) {
+    this.initialStyleId = initialStyleId;
+    if (googleMap != null) {
+      updateInitialStyle();
+    }
+  }
+
+  private void updateInitialStyle() {
+    if (initialStyleId == null) {
+      return;
+    }
+    MapStyleOptions mapStyle = mapStyleRegistry.get(initialStyleId);
+    if (mapStyle == null) {
+      Log.e(TAG, "No map style is registered with id " + initialStyleId);
+      return;
+    }
+    setMapStyle(mapStyle);
+  }
+
+  /**
+   * Applies {@code mapStyle} to the map, skipping registered styles that are already applied since
+   * the map parses the style again on every call.
+   */
+  private boolean setMapStyle(@Nullable MapStyleOptions mapStyle) {
+    if (mapStyle != null && mapStyle == appliedMapStyle) {
+      return true;
+    }
+    boolean mapStyleSet = googleMap.setMapStyle(mapStyle);
+    appliedMapStyle = mapStyleSet ? mapStyle : null;
+    return mapStyleSet;
+  }
+
   @SuppressLint("MissingPermission")
   private void updateMyLocationSettings() {
     if (hasLocationPermission()) {
@@ -892,6 +1048,24 @@ final class GoogleMapController
     }
   }
 
+  private boolean releaseMapViewToPool() {
+    final int state = activityState.get();
+    if (mapView == null || googleMap == null || state == DESTROYED) {
+      return false;
+    }
+    if (!mapViewPool.release(mapView, googleMap, options)) {
+      return false;
+    }
+    if (state == RESUMED) {
+      mapView.onPause();
+    }
+    if (state == RESUMED || state == PAUSED || state == STARTED) {
+      mapView.onStop();
+    }
+    mapView = null;
+    return true;
+  }
+
   private void destroyMapViewIfNecessary() {
     if (mapView == null) {
       return;
@@ -24,6 +24,8 @@ public class GoogleMapFactory extends PlatformViewFactory {
   private final int activityHashCode;
   private final Lifecycle lifecycle;
   private final PluginRegistry.Registrar registrar; // V1 embedding only.
+  private final MapViewPool mapViewPool;
+  private final MapStyleRegistry mapStyleRegistry;
 
   GoogleMapFactory(
       AtomicInteger state,
@@ -31,7 +33,9 @@ public class GoogleMapFactory extends PlatformViewFactory {
       Application application,
       Lifecycle lifecycle,
       PluginRegistry.Registrar registrar,
-      int activityHashCode) {
+      int activityHashCode,
+      MapViewPool mapViewPool,
+      MapStyleRegistry mapStyleRegistry) {
     super(StandardMessageCodec.INSTANCE);
     mActivityState = state;
     this.binaryMessenger = binaryMessenger;
@@ -39,6 +43,8 @@ public class GoogleMapFactory extends PlatformViewFactory {
     this.activityHashCode = activityHashCode;
     this.lifecycle = lifecycle;
     this.registrar = registrar;
+    this.mapViewPool = mapViewPool;
+    this.mapStyleRegistry = mapStyleRegistry;
   }
 
   @SuppressWarnings("unchecked")
@@ -64,6 +70,9 @@ public class GoogleMapFactory extends PlatformViewFactory {
     if (params.containsKey("circlesToAdd")) {
       builder.setInitialCircles(params.get("circlesToAdd"));
     }
+    if (params.containsKey("styleId")) {
+      builder.setInitialStyleId((String) params.get("styleId"));
+    }
     return builder.build(
         id,
         context,
@@ -72,6 +81,8 @@ public class GoogleMapFactory extends PlatformViewFactory {
         application,
         lifecycle,
         registrar,
-        activityHashCode);
+        activityHashCode,
+        mapViewPool,
+        mapStyleRegistry);
   }
 }
@@ -39,6 +39,8 @@ public class GoogleMapsPlugin
   private int registrarActivityHashCode;
   private FlutterPluginBinding pluginBinding;
   private Lifecycle lifecycle;
+  private final MapViewPool mapViewPool = new MapViewPool();
+  private final MapStyleRegistry mapStyleRegistry = new MapStyleRegistry();
 
   private static final String VIEW_TYPE = "plugins.flutter.io/google_maps";
 
@@ -54,7 +56,15 @@ public class GoogleMapsPlugin
         .platformViewRegistry()
         .registerViewFactory(
             VIEW_TYPE,
-            new GoogleMapFactory(plugin.state, registrar.messenger(), null, null, registrar, -1));
+            new GoogleMapFactory(
+                plugin.state,
+                registrar.messenger(),
+                null,
+                null,
+                registrar,
+                -1,
+                plugin.mapViewPool,
+                plugin.mapStyleRegistry));
   }
 
   public GoogleMapsPlugin() {}
@@ -87,12 +97,16 @@ public class GoogleMapsPlugin
                 binding.getActivity().getApplication(),
                 lifecycle,
                 null,
-                binding.getActivity().hashCode()));
+                binding.getActivity().hashCode(),
+                mapViewPool,
+                mapStyleRegistry));
   }
 
   @Override
   public void onDetachedFromActivity() {
     lifecycle.removeObserver(this);
+    // Pooled map views hold on to the activity they were created for.
+    mapViewPool.clear();
   }
 
   @Override
@@ -136,6 +150,7 @@ public class GoogleMapsPlugin
   @Override
   public void onDestroy(@NonNull LifecycleOwner owner) {
     state.set(DESTROYED);
+    mapViewPool.clear();
   }
 
   // Application.ActivityLifecycleCallbacks methods
@@ -190,6 +205,7 @@ public class GoogleMapsPlugin
     }
     activity.getApplication().unregisterActivityLifecycleCallbacks(this);
     state.set(DESTROYED);
+    mapViewPool.clear();
   }
 
   private GoogleMapsPlugin(Activity activity) {
@@ -0,0 +1,39 @@
+// Copyright 2020 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import androidx.annotation.Nullable;
+import com.google.android.gms.maps.model.MapStyleOptions;
+import java.util.HashMap;
+import java.util.Map;
+import org.json.JSONArray;
+import org.json.JSONException;
+
+/**
+ * Map styles registered by id, shared by all the maps of the plugin.
+ *
+ * <p>{@link MapStyleOptions} only holds the style JSON, which the map parses on every {@code
+ * setMapStyle} call. Registering a style checks that its JSON is an array, and an id always gives
+ * back the same instance, so that a map can tell the style is already applied and skip it. The
+ * JSON is also not sent over the channel again.
+ */
+class MapStyleRegistry {
+  private final Map<String, MapStyleOptions> styles = new HashMap<>();
+
+  /** Registers {@code style} under {@code styleId}, replacing any style registered before. */
+  void register(String styleId, String style) throws JSONException {
+    new JSONArray(style);
+    styles.put(styleId, new MapStyleOptions(style));
+  }
+
+  void unregister(String styleId) {
+    styles.remove(styleId);
+  }
+
+  @Nullable
+  MapStyleOptions get(String styleId) {
+    return styles.get(styleId);
+  }
+}
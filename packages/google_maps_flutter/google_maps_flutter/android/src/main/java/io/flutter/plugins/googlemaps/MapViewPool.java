@@ -0,0 +1,107 @@
+// Copyright 2020 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.view.ViewGroup;
+import androidx.annotation.Nullable;
+import com.google.android.gms.maps.CameraUpdateFactory;
+import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.GoogleMapOptions;
+import com.google.android.gms.maps.MapView;
+import com.google.android.gms.maps.UiSettings;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Keeps the MapViews of disposed lite mode maps around so that they can be reused by the next lite
+ * mode map that is created.
+ *
+ * <p>Lists of static map cards dispose and recreate their platform views as they scroll, and
+ * inflating a new MapView and waiting for its GoogleMap each time is expensive. Only lite mode
+ * views are pooled since the lite mode setting can't be changed once a MapView is created, and
+ * lite mode maps have no interactive state that could leak from one map to the next.
+ *
+ * <p>Pooled views are parked in the created state. The pool must be cleared once the activity
+ * they were created for is destroyed.
+ */
+class MapViewPool {
+  private static final int MAX_POOL_SIZE = 3;
+
+  private final Deque<MapView> mapViews = new ArrayDeque<>(MAX_POOL_SIZE);
+
+  /** Returns a pooled MapView compatible with {@code options}, or null if none is available. */
+  @Nullable
+  MapView acquire(@Nullable GoogleMapOptions options) {
+    if (!isPoolable(options) || mapViews.isEmpty()) {
+      return null;
+    }
+    final MapView mapView = mapViews.pop();
+    final ViewGroup parent = (ViewGroup) mapView.getParent();
+    if (parent != null) {
+      parent.removeView(mapView);
+    }
+    return mapView;
+  }
+
+  /**
+   * Clears {@code googleMap} and hands its MapView over to the pool.
+   *
+   * <p>Returns false if the view can't be pooled, in which case the caller remains responsible for
+   * destroying it.
+   */
+  boolean release(MapView mapView, GoogleMap googleMap, @Nullable GoogleMapOptions options) {
+    if (!isPoolable(options) || mapViews.size() >= MAX_POOL_SIZE) {
+      return false;
+    }
+    googleMap.clear();
+    googleMap.setOnInfoWindowClickListener(null);
+    googleMap.setMapStyle(null);
+    googleMap.setPadding(0, 0, 0, 0);
+    mapViews.push(mapView);
+    return true;
+  }
+
+  /** Destroys all the pooled views. */
+  void clear() {
+    for (MapView mapView : mapViews) {
+      mapView.onDestroy();
+    }
+    mapViews.clear();
+  }
+
+  /**
+   * Applies the creation time {@code options} of a new map to the GoogleMap of a recycled view.
+   */
+  static void applyOptions(GoogleMap googleMap, GoogleMapOptions options) {
+    if (options.getCamera() != null) {
+      googleMap.moveCamera(CameraUpdateFactory.newCameraPosition(options.getCamera()));
+    }
+    googleMap.setMapType(options.getMapType());
+    googleMap.resetMinMaxZoomPreference();
+    if (options.getMinZoomPreference() != null) {
+      googleMap.setMinZoomPreference(options.getMinZoomPreference());
+    }
+    if (options.getMaxZoomPreference() != null) {
+      googleMap.setMaxZoomPreference(options.getMaxZoomPreference());
+    }
+    googleMap.setLatLngBoundsForCameraTarget(options.getLatLngBoundsForCameraTarget());
+    final UiSettings uiSettings = googleMap.getUiSettings();
+    uiSettings.setCompassEnabled(valueOrDefault(options.getCompassEnabled(), true));
+    uiSettings.setMapToolbarEnabled(valueOrDefault(options.getMapToolbarEnabled(), true));
+    uiSettings.setRotateGesturesEnabled(valueOrDefault(options.getRotateGesturesEnabled(), true));
+    uiSettings.setScrollGesturesEnabled(valueOrDefault(options.getScrollGesturesEnabled(), true));
+    uiSettings.setTiltGesturesEnabled(valueOrDefault(options.getTiltGesturesEnabled(), true));
+    uiSettings.setZoomGesturesEnabled(valueOrDefault(options.getZoomGesturesEnabled(), true));
+    uiSettings.setZoomControlsEnabled(valueOrDefault(options.getZoomControlsEnabled(), true));
+  }
+
+  private static boolean isPoolable(@Nullable GoogleMapOptions options) {
+    return options != null && Boolean.TRUE.equals(options.getLiteMode());
+  }
+
+  private static boolean valueOrDefault(@Nullable Boolean value, boolean defaultValue) {
+    return value != null ? value : defaultValue;
+  }
+}
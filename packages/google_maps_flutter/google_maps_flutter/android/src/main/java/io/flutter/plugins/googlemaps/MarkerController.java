@@ -4,6 +4,7 @@
 
 package io.flutter.plugins.googlemaps;
 
+import androidx.annotation.Nullable;
 import com.google.android.gms.maps.model.BitmapDescriptor;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Marker;
@@ -14,6 +15,14 @@ class MarkerController implements MarkerOptionsSink {
   private final Marker marker;
   private final String googleMapsMarkerId;
   private boolean consumeTapEvents;
+  private boolean animatingPosition;
+  private boolean animatingRotation;
+  private LatLng animationStartPosition;
+  private LatLng animationEndPosition;
+  private float animationStartRotation;
+  private float animationEndRotation;
+  private long animationStartTimeNanos;
+  private long animationDurationNanos;
 
   MarkerController(Marker marker, boolean consumeTapEvents) {
     this.marker = marker;
@@ -68,11 +77,13 @@ class MarkerController implements MarkerOptionsSink {
 
   @Override
   public void setPosition(LatLng position) {
+    animatingPosition = false;
     marker.setPosition(position);
   }
 
   @Override
   public void setRotation(float rotation) {
+    animatingRotation = false;
     marker.setRotation(rotation);
   }
 
@@ -86,6 +97,80 @@ class MarkerController implements MarkerOptionsSink {
     marker.setZIndex(zIndex);
   }
 
+  /**
+   * Starts moving the marker from its current position to {@code position} over {@code
+   * durationMillis}, rotating it to {@code rotation} if that is non null.
+   *
+   * <p>The animation is driven by calls to {@link #onAnimationFrame(long)}. Setting the position or
+   * rotation of the marker through its options cancels the corresponding part of the animation. A
+   * rotation still running when {@code rotation} is null carries on to its end over the new
+   * animation.
+   */
+  void animateTo(LatLng position, @Nullable Float rotation, long durationMillis) {
+    animationStartTimeNanos = System.nanoTime();
+    animationDurationNanos = durationMillis * 1000000L;
+    animationStartPosition = marker.getPosition();
+    animationEndPosition = position;
+    animatingPosition = true;
+    // The start time was reset, so a running rotation restarts from where the marker is now.
+    animationStartRotation = marker.getRotation();
+    if (rotation != null) {
+      animationEndRotation = rotation;
+      animatingRotation = true;
+    }
+  }
+
+  /** Moves the marker to where it should be at {@code frameTimeNanos}, returns false once done. */
+  boolean onAnimationFrame(long frameTimeNanos) {
+    if (!animatingPosition && !animatingRotation) {
+      return false;
+    }
+    float fraction = 1;
+    if (animationDurationNanos > 0) {
+      fraction = (frameTimeNanos - animationStartTimeNanos) / (float) animationDurationNanos;
+      fraction = Math.max(0, Math.min(1, fraction));
+    }
+    if (animatingPosition) {
+      marker.setPosition(interpolate(animationStartPosition, animationEndPosition, fraction));
+    }
+    if (animatingRotation) {
+      marker.setRotation(
+          interpolateRotation(animationStartRotation, animationEndRotation, fraction));
+    }
+    if (fraction >= 1) {
+      animatingPosition = false;
+      animatingRotation = false;
+    }
+    return animatingPosition || animatingRotation;
+  }
+
+  /** Linearly interpolates between two positions, taking the short way around the antimeridian. */
+  static LatLng interpolate(LatLng from, LatLng to, float fraction) {
+    double longitudeDelta = to.longitude - from.longitude;
+    if (longitudeDelta > 180) {
+      longitudeDelta -= 360;
+    } else if (longitudeDelta < -180) {
+      longitudeDelta += 360;
+    }
+    return new LatLng(
+        from.latitude + (to.latitude - from.latitude) * fraction,
+        from.longitude + longitudeDelta * fraction);
+  }
+
+  /** Linearly interpolates between two rotations in degrees, turning the shortest way. */
+  static float interpolateRotation(float from, float to, float fraction) {
+    final float delta = ((to - from) % 360 + 540) % 360 - 180;
+    return (from + delta * fraction + 360) % 360;
+  }
+
+  LatLng getPosition() {
+    return marker.getPosition();
+  }
+
+  float getRotation() {
+    return marker.getRotation();
+  }
+
   String getGoogleMapsMarkerId() {
     return googleMapsMarkerId;
   }
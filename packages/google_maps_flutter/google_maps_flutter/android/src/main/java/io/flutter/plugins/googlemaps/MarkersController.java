@@ -4,26 +4,40 @@
 
 package io.flutter.plugins.googlemaps;
 
+import android.view.Choreographer;
 import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
 import io.flutter.plugin.common.MethodChannel;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 class MarkersController {
 
   private final Map<String, MarkerController> markerIdToController;
   private final Map<String, String> googleMapsMarkerIdToDartMarkerId;
   private final MethodChannel methodChannel;
+  private final Set<MarkerController> animatingMarkers;
+  private final Choreographer.FrameCallback animationFrameCallback =
+      new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+          onAnimationFrame(frameTimeNanos);
+        }
+      };
+  private boolean animationFramePosted;
   private GoogleMap googleMap;
 
   MarkersController(MethodChannel methodChannel) {
     this.markerIdToController = new HashMap<>();
     this.googleMapsMarkerIdToDartMarkerId = new HashMap<>();
     this.methodChannel = methodChannel;
+    this.animatingMarkers = new HashSet<>();
   }
 
   void setGoogleMap(GoogleMap googleMap) {
@@ -57,12 +71,79 @@ class MarkersController {
       String markerId = (String) rawMarkerId;
       final MarkerController markerController = markerIdToController.remove(markerId);
       if (markerController != null) {
+        animatingMarkers.remove(markerController);
         markerController.remove();
         googleMapsMarkerIdToDartMarkerId.remove(markerController.getGoogleMapsMarkerId());
       }
     }
   }
 
+  /**
+   * Starts the given marker animations, or none of them if one is invalid.
+   *
+   * <p>Dart keeps the positions it last set, so {@code marker#onAnimationEnd} reports where each
+   * marker ends up. Updating a marker with its old position moves it back there.
+   */
+  void animateMarkers(List<Object> markerAnimations, MethodChannel.Result result) {
+    if (markerAnimations == null) {
+      result.success(null);
+      return;
+    }
+    for (Object markerAnimation : markerAnimations) {
+      if (markerAnimation == null) {
+        continue;
+      }
+      try {
+        Convert.checkMarkerAnimation(markerAnimation);
+      } catch (IllegalArgumentException e) {
+        result.error(
+            "Invalid markerAnimation", "animateMarkers called with " + e.getMessage(), null);
+        return;
+      }
+    }
+    for (Object markerAnimation : markerAnimations) {
+      if (markerAnimation == null) {
+        continue;
+      }
+      MarkerController markerController = markerIdToController.get(getMarkerId(markerAnimation));
+      if (markerController != null) {
+        Convert.interpretMarkerAnimation(markerAnimation, markerController);
+        animatingMarkers.add(markerController);
+      }
+    }
+    postAnimationFrame();
+    result.success(null);
+  }
+
+  void cancelAnimations() {
+    animatingMarkers.clear();
+    if (animationFramePosted) {
+      Choreographer.getInstance().removeFrameCallback(animationFrameCallback);
+      animationFramePosted = false;
+    }
+  }
+
+  private void onAnimationFrame(long frameTimeNanos) {
+    animationFramePosted = false;
+    final Iterator<MarkerController> iterator = animatingMarkers.iterator();
+    while (iterator.hasNext()) {
+      final MarkerController markerController = iterator.next();
+      if (!markerController.onAnimationFrame(frameTimeNanos)) {
+        iterator.remove();
+        onMarkerAnimationEnd(markerController);
+      }
+    }
+    postAnimationFrame();
+  }
+
+  private void postAnimationFrame() {
+    if (animationFramePosted || animatingMarkers.isEmpty()) {
+      return;
+    }
+    animationFramePosted = true;
+    Choreographer.getInstance().postFrameCallback(animationFrameCallback);
+  }
+
   void showMarkerInfoWindow(String markerId, MethodChannel.Result result) {
     MarkerController markerController = markerIdToController.get(markerId);
     if (markerController != null) {
@@ -116,6 +197,19 @@ class MarkersController {
     methodChannel.invokeMethod("marker#onDragEnd", data);
   }
 
+  private void onMarkerAnimationEnd(MarkerController markerController) {
+    String markerId =
+        googleMapsMarkerIdToDartMarkerId.get(markerController.getGoogleMapsMarkerId());
+    if (markerId == null) {
+      return;
+    }
+    final Map<String, Object> data = new HashMap<>();
+    data.put("markerId", markerId);
+    data.put("position", Convert.latLngToJson(markerController.getPosition()));
+    data.put("rotation", (double) markerController.getRotation());
+    methodChannel.invokeMethod("marker#onAnimationEnd", data);
+  }
+
   void onInfoWindowTap(String googleMarkerId) {
     String markerId = googleMapsMarkerIdToDartMarkerId.get(googleMarkerId);
     if (markerId == null) {
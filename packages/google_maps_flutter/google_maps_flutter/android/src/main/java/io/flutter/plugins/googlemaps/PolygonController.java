@@ -67,6 +67,18 @@ class PolygonController implements PolygonOptionsSink {
     polygon.setZIndex(zIndex);
   }
 
+  List<LatLng> getPoints() {
+    return polygon.getPoints();
+  }
+
+  List<List<LatLng>> getHoles() {
+    return polygon.getHoles();
+  }
+
+  boolean isVisible() {
+    return polygon.isVisible();
+  }
+
   String getGoogleMapsPolygonId() {
     return googleMapsPolygonId;
   }
@@ -5,9 +5,12 @@
 package io.flutter.plugins.googlemaps;
 
 import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.Polygon;
 import com.google.android.gms.maps.model.PolygonOptions;
 import io.flutter.plugin.common.MethodChannel;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,10 +22,12 @@ class PolygonsController {
   private final MethodChannel methodChannel;
   private final float density;
   private GoogleMap googleMap;
+  private final SpatialIndex polygonIndex;
 
   PolygonsController(MethodChannel methodChannel, float density) {
     this.polygonIdToController = new HashMap<>();
     this.googleMapsPolygonIdToDartPolygonId = new HashMap<>();
+    this.polygonIndex = new SpatialIndex(true);
     this.methodChannel = methodChannel;
     this.density = density;
   }
@@ -59,6 +64,7 @@ class PolygonsController {
       final PolygonController polygonController = polygonIdToController.remove(polygonId);
       if (polygonController != null) {
         polygonController.remove();
+        polygonIndex.remove(polygonId);
         googleMapsPolygonIdToDartPolygonId.remove(polygonController.getGoogleMapsPolygonId());
       }
     }
@@ -77,6 +83,30 @@ class PolygonsController {
     return false;
   }
 
+  /**
+   * Returns the ids of the visible polygons that contain {@code point}, or that pass within {@code
+   * tolerance} degrees of latitude of it.
+   */
+  List<String> queryPolygons(LatLng point, double tolerance) {
+    return visiblePolygons(polygonIndex.queryPoint(point, tolerance));
+  }
+
+  /** Returns the ids of the visible polygons that overlap {@code bounds}. */
+  List<String> queryPolygons(LatLngBounds bounds) {
+    return visiblePolygons(polygonIndex.queryBounds(bounds));
+  }
+
+  private List<String> visiblePolygons(List<String> polygonIds) {
+    final List<String> visiblePolygonIds = new ArrayList<>(polygonIds.size());
+    for (String polygonId : polygonIds) {
+      PolygonController polygonController = polygonIdToController.get(polygonId);
+      if (polygonController != null && polygonController.isVisible()) {
+        visiblePolygonIds.add(polygonId);
+      }
+    }
+    return visiblePolygonIds;
+  }
+
   private void addPolygon(Object polygon) {
     if (polygon == null) {
       return;
@@ -93,6 +123,7 @@ class PolygonsController {
     PolygonController controller = new PolygonController(polygon, consumeTapEvents, density);
     polygonIdToController.put(polygonId, controller);
     googleMapsPolygonIdToDartPolygonId.put(polygon.getId(), polygonId);
+    polygonIndex.put(polygonId, polygonOptions.getPoints(), polygonOptions.getHoles());
   }
 
   private void changePolygon(Object polygon) {
@@ -103,6 +134,9 @@ class PolygonsController {
     PolygonController polygonController = polygonIdToController.get(polygonId);
     if (polygonController != null) {
       Convert.interpretPolygonOptions(polygon, polygonController);
+      if (((Map<?, ?>) polygon).containsKey("points")) {
+        polygonIndex.put(polygonId, polygonController.getPoints(), polygonController.getHoles());
+      }
     }
   }
 
@@ -8,6 +8,7 @@ import com.google.android.gms.maps.model.Cap;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.PatternItem;
 import com.google.android.gms.maps.model.Polyline;
+import java.util.ArrayList;
 import java.util.List;
 
 /** Controller of a single Polyline on the map. */
@@ -16,6 +17,7 @@ class PolylineController implements PolylineOptionsSink {
   private final String googleMapsPolylineId;
   private boolean consumeTapEvents;
   private final float density;
+  private List<LatLng> points;
 
   PolylineController(Polyline polyline, boolean consumeTapEvents, float density) {
     this.polyline = polyline;
@@ -61,6 +63,21 @@ class PolylineController implements PolylineOptionsSink {
 
   @Override
   public void setPoints(List<LatLng> points) {
+    this.points = new ArrayList<>(points);
+    polyline.setPoints(this.points);
+  }
+
+  /** Adds {@code newPoints} to the end of the polyline. */
+  void appendPoints(List<LatLng> newPoints) {
+    final List<LatLng> points = getPoints();
+    points.addAll(newPoints);
+    polyline.setPoints(points);
+  }
+
+  /** Removes the first {@code count} points of the polyline. */
+  void trimPoints(int count) {
+    final List<LatLng> points = getPoints();
+    points.subList(0, Math.max(0, Math.min(count, points.size()))).clear();
     polyline.setPoints(points);
   }
 
@@ -84,6 +101,23 @@ class PolylineController implements PolylineOptionsSink {
     polyline.setZIndex(zIndex);
   }
 
+  /**
+   * Returns the points of the polyline.
+   *
+   * <p>The points are kept here so that they can be appended to and trimmed without sending the
+   * whole polyline over the channel.
+   */
+  List<LatLng> getPoints() {
+    if (points == null) {
+      points = new ArrayList<>(polyline.getPoints());
+    }
+    return points;
+  }
+
+  boolean isVisible() {
+    return polyline.isVisible();
+  }
+
   String getGoogleMapsPolylineId() {
     return googleMapsPolylineId;
   }
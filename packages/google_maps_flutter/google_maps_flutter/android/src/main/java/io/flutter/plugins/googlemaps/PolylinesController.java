@@ -5,9 +5,12 @@
 package io.flutter.plugins.googlemaps;
 
 import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.Polyline;
 import com.google.android.gms.maps.model.PolylineOptions;
 import io.flutter.plugin.common.MethodChannel;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,10 +22,12 @@ class PolylinesController {
   private final MethodChannel methodChannel;
   private GoogleMap googleMap;
   private final float density;
+  private final SpatialIndex polylineIndex;
 
   PolylinesController(MethodChannel methodChannel, float density) {
     this.polylineIdToController = new HashMap<>();
     this.googleMapsPolylineIdToDartPolylineId = new HashMap<>();
+    this.polylineIndex = new SpatialIndex(false);
     this.methodChannel = methodChannel;
     this.density = density;
   }
@@ -59,6 +64,7 @@ class PolylinesController {
       final PolylineController polylineController = polylineIdToController.remove(polylineId);
       if (polylineController != null) {
         polylineController.remove();
+        polylineIndex.remove(polylineId);
         googleMapsPolylineIdToDartPolylineId.remove(polylineController.getGoogleMapsPolylineId());
       }
     }
@@ -77,6 +83,52 @@ class PolylinesController {
     return false;
   }
 
+  void appendPolylinePoints(String polylineId, List<LatLng> points, MethodChannel.Result result) {
+    PolylineController polylineController = polylineIdToController.get(polylineId);
+    if (polylineController != null) {
+      polylineController.appendPoints(points);
+      polylineIndex.put(polylineId, polylineController.getPoints());
+      result.success(null);
+    } else {
+      result.error("Invalid polylineId", "appendPoints called with invalid polylineId", null);
+    }
+  }
+
+  void trimPolylinePoints(String polylineId, int count, MethodChannel.Result result) {
+    PolylineController polylineController = polylineIdToController.get(polylineId);
+    if (polylineController != null) {
+      polylineController.trimPoints(count);
+      polylineIndex.put(polylineId, polylineController.getPoints());
+      result.success(null);
+    } else {
+      result.error("Invalid polylineId", "trimPoints called with invalid polylineId", null);
+    }
+  }
+
+  /**
+   * Returns the ids of the visible polylines that pass within {@code tolerance} degrees of latitude
+   * of {@code point}.
+   */
+  List<String> queryPolylines(LatLng point, double tolerance) {
+    return visiblePolylines(polylineIndex.queryPoint(point, tolerance));
+  }
+
+  /** Returns the ids of the visible polylines that overlap {@code bounds}. */
+  List<String> queryPolylines(LatLngBounds bounds) {
+    return visiblePolylines(polylineIndex.queryBounds(bounds));
+  }
+
+  private List<String> visiblePolylines(List<String> polylineIds) {
+    final List<String> visiblePolylineIds = new ArrayList<>(polylineIds.size());
+    for (String polylineId : polylineIds) {
+      PolylineController polylineController = polylineIdToController.get(polylineId);
+      if (polylineController != null && polylineController.isVisible()) {
+        visiblePolylineIds.add(polylineId);
+      }
+    }
+    return visiblePolylineIds;
+  }
+
   private void addPolyline(Object polyline) {
     if (polyline == null) {
       return;
@@ -93,6 +145,7 @@ class PolylinesController {
     PolylineController controller = new PolylineController(polyline, consumeTapEvents, density);
     polylineIdToController.put(polylineId, controller);
     googleMapsPolylineIdToDartPolylineId.put(polyline.getId(), polylineId);
+    polylineIndex.put(polylineId, polylineOptions.getPoints());
   }
 
   private void changePolyline(Object polyline) {
@@ -103,6 +156,9 @@ class PolylinesController {
     PolylineController polylineController = polylineIdToController.get(polylineId);
     if (polylineController != null) {
       Convert.interpretPolylineOptions(polyline, polylineController);
+      if (((Map<?, ?>) polyline).containsKey("points")) {
+        polylineIndex.put(polylineId, polylineController.getPoints());
+      }
     }
   }
 
@@ -0,0 +1,340 @@
+// Copyright 2020 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * R-tree over the geometry of the polygons or polylines of a map, keyed by their Dart ids.
+ *
+ * <p>The tree is bulk loaded (Sort-Tile-Recursive) on the first query after the indexed geometry
+ * changes, so a batch of updates only pays for a single rebuild.
+ *
+ * <p>Geometry tests treat latitude and longitude as planar coordinates, with longitudes scaled by
+ * the cosine of the query latitude. Shapes crossing the antimeridian are not supported.
+ */
+class SpatialIndex {
+  private static final int NODE_CAPACITY = 16;
+
+  private static final Comparator<Box> BY_CENTER_LATITUDE =
+      new Comparator<Box>() {
+        @Override
+        public int compare(Box a, Box b) {
+          return Double.compare(a.minLat + a.maxLat, b.minLat + b.maxLat);
+        }
+      };
+
+  private static final Comparator<Box> BY_CENTER_LONGITUDE =
+      new Comparator<Box>() {
+        @Override
+        public int compare(Box a, Box b) {
+          return Double.compare(a.minLng + a.maxLng, b.minLng + b.maxLng);
+        }
+      };
+
+  private final boolean closedShapes;
+  private final Map<String, Entry> entries = new HashMap<>();
+  private Node root;
+  private boolean dirty;
+
+  /**
+   * Creates an index of polygons if {@code closedShapes} is true, and of polylines otherwise.
+   */
+  SpatialIndex(boolean closedShapes) {
+    this.closedShapes = closedShapes;
+  }
+
+  void put(String id, List<LatLng> points) {
+    put(id, points, Collections.<List<LatLng>>emptyList());
+  }
+
+  /** Indexes a polygon whose outline is {@code points}, without the area of its {@code holes}. */
+  void put(String id, List<LatLng> points, List<? extends List<LatLng>> holes) {
+    if (points == null || points.isEmpty()) {
+      remove(id);
+      return;
+    }
+    entries.put(id, new Entry(id, points, holes));
+    dirty = true;
+  }
+
+  void remove(String id) {
+    if (entries.remove(id) != null) {
+      dirty = true;
+    }
+  }
+
+  /**
+   * Returns the ids of the shapes that contain {@code point}, or that pass within {@code
+   * tolerance} degrees of latitude of it.
+   */
+  List<String> queryPoint(LatLng point, double tolerance) {
+    final double lngScale = Math.max(Math.cos(Math.toRadians(point.latitude)), 1e-6);
+    final double lngTolerance = tolerance / lngScale;
+    final List<String> ids = new ArrayList<>();
+    for (Entry entry :
+        search(
+            point.latitude - tolerance,
+            point.longitude - lngTolerance,
+            point.latitude + tolerance,
+            point.longitude + lngTolerance)) {
+      if ((closedShapes && contains(entry.rings, point.latitude, point.longitude))
+          || isWithinDistance(entry.rings, point, tolerance, lngScale)) {
+        ids.add(entry.id);
+      }
+    }
+    return ids;
+  }
+
+  /** Returns the ids of the shapes that overlap {@code bounds}. */
+  List<String> queryBounds(LatLngBounds bounds) {
+    final double minLat = bounds.southwest.latitude;
+    final double maxLat = bounds.northeast.latitude;
+    final double minLng = bounds.southwest.longitude;
+    final double maxLng = bounds.northeast.longitude;
+    final Set<String> ids = new LinkedHashSet<>();
+    if (minLng <= maxLng) {
+      queryBounds(minLat, minLng, maxLat, maxLng, ids);
+    } else {
+      // The bounds cross the antimeridian.
+      queryBounds(minLat, minLng, maxLat, 180, ids);
+      queryBounds(minLat, -180, maxLat, maxLng, ids);
+    }
+    return new ArrayList<>(ids);
+  }
+
+  private void queryBounds(
+      double minLat, double minLng, double maxLat, double maxLng, Collection<String> ids) {
+    for (Entry entry : search(minLat, minLng, maxLat, maxLng)) {
+      if (overlaps(entry.rings, minLat, minLng, maxLat, maxLng)) {
+        ids.add(entry.id);
+      }
+    }
+  }
+
+  private List<Entry> search(double minLat, double minLng, double maxLat, double maxLng) {
+    if (dirty) {
+      root = build(new ArrayList<Box>(entries.values()));
+      dirty = false;
+    }
+    final List<Entry> results = new ArrayList<>();
+    if (root != null && root.intersects(minLat, minLng, maxLat, maxLng)) {
+      search(root, minLat, minLng, maxLat, maxLng, results);
+    }
+    return results;
+  }
+
+  private static void search(
+      Node node,
+      double minLat,
+      double minLng,
+      double maxLat,
+      double maxLng,
+      List<Entry> results) {
+    for (Box child : node.children) {
+      if (!child.intersects(minLat, minLng, maxLat, maxLng)) {
+        continue;
+      }
+      if (node.leaf) {
+        results.add((Entry) child);
+      } else {
+        search((Node) child, minLat, minLng, maxLat, maxLng, results);
+      }
+    }
+  }
+
+  private static Node build(List<Box> boxes) {
+    if (boxes.isEmpty()) {
+      return null;
+    }
+    List<Box> level = boxes;
+    boolean leaves = true;
+    do {
+      level = pack(level, leaves);
+      leaves = false;
+    } while (level.size() > 1);
+    return (Node) level.get(0);
+  }
+
+  /** Packs one level of the tree into nodes of at most {@link #NODE_CAPACITY} boxes. */
+  private static List<Box> pack(List<Box> boxes, boolean leaves) {
+    final int nodeCount = (boxes.size() + NODE_CAPACITY - 1) / NODE_CAPACITY;
+    final int sliceSize = (int) Math.ceil(Math.sqrt(nodeCount)) * NODE_CAPACITY;
+    Collections.sort(boxes, BY_CENTER_LONGITUDE);
+    final List<Box> nodes = new ArrayList<>(nodeCount);
+    for (int sliceStart = 0; sliceStart < boxes.size(); sliceStart += sliceSize) {
+      final List<Box> slice =
+          boxes.subList(sliceStart, Math.min(sliceStart + sliceSize, boxes.size()));
+      Collections.sort(slice, BY_CENTER_LATITUDE);
+      for (int i = 0; i < slice.size(); i += NODE_CAPACITY) {
+        nodes.add(
+            new Node(
+                new ArrayList<>(slice.subList(i, Math.min(i + NODE_CAPACITY, slice.size()))),
+                leaves));
+      }
+    }
+    return nodes;
+  }
+
+  /**
+   * Even-odd rule point in polygon test, over the outline and the holes of the polygon so that the
+   * points in a hole are outside.
+   */
+  private static boolean contains(List<List<LatLng>> rings, double lat, double lng) {
+    boolean inside = false;
+    for (List<LatLng> ring : rings) {
+      for (int i = 0, j = ring.size() - 1; i < ring.size(); j = i++) {
+        final LatLng a = ring.get(i);
+        final LatLng b = ring.get(j);
+        if ((a.latitude > lat) != (b.latitude > lat)
+            && lng
+                < (b.longitude - a.longitude) * (lat - a.latitude) / (b.latitude - a.latitude)
+                    + a.longitude) {
+          inside = !inside;
+        }
+      }
+    }
+    return inside;
+  }
+
+  private boolean isWithinDistance(
+      List<List<LatLng>> rings, LatLng point, double tolerance, double lngScale) {
+    for (List<LatLng> points : rings) {
+      final int segmentCount = closedShapes ? points.size() : points.size() - 1;
+      if (segmentCount < 1) {
+        final LatLng only = points.get(0);
+        if (Math.hypot(
+                (only.longitude - point.longitude) * lngScale, only.latitude - point.latitude)
+            <= tolerance) {
+          return true;
+        }
+        continue;
+      }
+      for (int i = 0; i < segmentCount; i++) {
+        final LatLng a = points.get(i);
+        final LatLng b = points.get((i + 1) % points.size());
+        if (distanceToSegment(point, a, b, lngScale) <= tolerance) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static double distanceToSegment(LatLng p, LatLng a, LatLng b, double lngScale) {
+    final double bx = (b.longitude - a.longitude) * lngScale;
+    final double by = b.latitude - a.latitude;
+    final double px = (p.longitude - a.longitude) * lngScale;
+    final double py = p.latitude - a.latitude;
+    final double lengthSquared = bx * bx + by * by;
+    double t = lengthSquared == 0 ? 0 : (px * bx + py * by) / lengthSquared;
+    t = Math.max(0, Math.min(1, t));
+    return Math.hypot(px - t * bx, py - t * by);
+  }
+
+  private boolean overlaps(
+      List<List<LatLng>> rings, double minLat, double minLng, double maxLat, double maxLng) {
+    for (List<LatLng> points : rings) {
+      for (LatLng point : points) {
+        if (point.latitude >= minLat
+            && point.latitude <= maxLat
+            && point.longitude >= minLng
+            && point.longitude <= maxLng) {
+          return true;
+        }
+      }
+      final int segmentCount = closedShapes ? points.size() : points.size() - 1;
+      for (int i = 0; i < segmentCount; i++) {
+        final LatLng a = points.get(i);
+        final LatLng b = points.get((i + 1) % points.size());
+        if (segmentsIntersect(a, b, minLat, minLng, minLat, maxLng)
+            || segmentsIntersect(a, b, maxLat, minLng, maxLat, maxLng)
+            || segmentsIntersect(a, b, minLat, minLng, maxLat, minLng)
+            || segmentsIntersect(a, b, minLat, maxLng, maxLat, maxLng)) {
+          return true;
+        }
+      }
+    }
+    // No vertex inside the bounds and no edge crossing them: the polygon can still overlap the
+    // bounds by containing them entirely, unless they are in a hole.
+    return closedShapes && contains(rings, minLat, minLng);
+  }
+
+  private static boolean segmentsIntersect(
+      LatLng a, LatLng b, double lat1, double lng1, double lat2, double lng2) {
+    final double d1 = orientation(lat1, lng1, lat2, lng2, a.latitude, a.longitude);
+    final double d2 = orientation(lat1, lng1, lat2, lng2, b.latitude, b.longitude);
+    final double d3 = orientation(a.latitude, a.longitude, b.latitude, b.longitude, lat1, lng1);
+    final double d4 = orientation(a.latitude, a.longitude, b.latitude, b.longitude, lat2, lng2);
+    return ((d1 > 0) != (d2 > 0)) && ((d3 > 0) != (d4 > 0));
+  }
+
+  private static double orientation(
+      double lat1, double lng1, double lat2, double lng2, double lat, double lng) {
+    return (lng2 - lng1) * (lat - lat1) - (lat2 - lat1) * (lng - lng1);
+  }
+
+  private abstract static class Box {
+    double minLat = Double.POSITIVE_INFINITY;
+    double minLng = Double.POSITIVE_INFINITY;
+    double maxLat = Double.NEGATIVE_INFINITY;
+    double maxLng = Double.NEGATIVE_INFINITY;
+
+    boolean intersects(double minLat, double minLng, double maxLat, double maxLng) {
+      return this.minLat <= maxLat
+          && this.maxLat >= minLat
+          && this.minLng <= maxLng
+          && this.maxLng >= minLng;
+    }
+  }
+
+  private static final class Entry extends Box {
+    final String id;
+    // The outline first, then the holes of a polygon.
+    final List<List<LatLng>> rings = new ArrayList<>();
+
+    Entry(String id, List<LatLng> points, List<? extends List<LatLng>> holes) {
+      this.id = id;
+      rings.add(new ArrayList<>(points));
+      for (List<LatLng> hole : holes) {
+        if (!hole.isEmpty()) {
+          rings.add(new ArrayList<>(hole));
+        }
+      }
+      for (LatLng point : points) {
+        minLat = Math.min(minLat, point.latitude);
+        minLng = Math.min(minLng, point.longitude);
+        maxLat = Math.max(maxLat, point.latitude);
+        maxLng = Math.max(maxLng, point.longitude);
+      }
+    }
+  }
+
+  private static final class Node extends Box {
+    final List<Box> children;
+    final boolean leaf;
+
+    Node(List<Box> children, boolean leaf) {
+      this.children = children;
+      this.leaf = leaf;
+      for (Box child : children) {
+        minLat = Math.min(minLat, child.minLat);
+        minLng = Math.min(minLng, child.minLng);
+        maxLat = Math.max(maxLat, child.maxLat);
+        maxLng = Math.max(maxLng, child.maxLng);
+      }
+    }
+  }
+}
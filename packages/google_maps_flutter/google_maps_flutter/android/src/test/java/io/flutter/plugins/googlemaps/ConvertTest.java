@@ -0,0 +1,48 @@
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class ConvertTest {
+
+  @Test
+  public void checkMarkerAnimation_AcceptsAPositionAndOptionalFields() {
+    final Map<String, Object> animation = new HashMap<>();
+    animation.put("markerId", "marker");
+    animation.put("position", Arrays.asList(1.0, 2.0));
+
+    Convert.checkMarkerAnimation(animation);
+  }
+
+  @Test
+  public void checkMarkerAnimation_RejectsAMissingPosition() {
+    final Map<String, Object> animation = new HashMap<>();
+    animation.put("markerId", "marker");
+    animation.put("rotation", 90.0);
+
+    try {
+      Convert.checkMarkerAnimation(animation);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertEquals("position was null", e.getMessage());
+    }
+  }
+
+  @Test
+  public void checkMarkerAnimation_RejectsAMissingMarkerId() {
+    final Map<String, Object> animation = new HashMap<>();
+    animation.put("position", Arrays.asList(1.0, 2.0));
+
+    try {
+      Convert.checkMarkerAnimation(animation);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertEquals("markerId was null", e.getMessage());
+    }
+  }
+}
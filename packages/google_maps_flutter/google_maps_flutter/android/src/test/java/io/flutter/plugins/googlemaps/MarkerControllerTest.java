@@ -0,0 +1,57 @@
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.Marker;
+import org.junit.Test;
+
+public class MarkerControllerTest {
+
+  @Test
+  public void interpolate_MovesLinearly() {
+    final LatLng position =
+        MarkerController.interpolate(new LatLng(0, 0), new LatLng(10, 20), .25f);
+
+    assertEquals(2.5, position.latitude, 1e-9);
+    assertEquals(5, position.longitude, 1e-9);
+  }
+
+  @Test
+  public void interpolate_CrossesTheAntimeridian() {
+    final LatLng position =
+        MarkerController.interpolate(new LatLng(0, 170), new LatLng(0, -170), .75f);
+
+    assertEquals(-175, position.longitude, 1e-9);
+  }
+
+  @Test
+  public void interpolateRotation_TurnsTheShortestWay() {
+    assertEquals(5, MarkerController.interpolateRotation(350, 20, .5f), 1e-4);
+    assertEquals(340, MarkerController.interpolateRotation(20, 300, .5f), 1e-4);
+  }
+
+  @Test
+  public void animateTo_WithoutRotation_CarriesOnFromTheCurrentRotation() {
+    final Marker marker = mock(Marker.class);
+    when(marker.getPosition()).thenReturn(new LatLng(0, 0));
+    when(marker.getRotation()).thenReturn(0f);
+    final MarkerController controller = new MarkerController(marker, false);
+    controller.animateTo(new LatLng(1, 1), 90f, 1000);
+    // Half way through the rotation, the marker moves on without a new rotation.
+    when(marker.getRotation()).thenReturn(45f);
+    final long secondAnimationStartNanos = System.nanoTime();
+    controller.animateTo(new LatLng(2, 2), null, 1000);
+
+    controller.onAnimationFrame(secondAnimationStartNanos);
+    controller.onAnimationFrame(secondAnimationStartNanos + 2000000000L);
+
+    verify(marker, never()).setRotation(0f);
+    verify(marker).setRotation(45f);
+    verify(marker).setRotation(90f);
+  }
+}
@@ -1,12 +1,20 @@
 package io.flutter.plugins.googlemaps;
 
+import static junit.framework.TestCase.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 
 import com.google.android.gms.internal.maps.zzz;
+import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Polyline;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 public class PolylineControllerTest {
 
@@ -22,4 +30,69 @@ public class PolylineControllerTest {
 
     Mockito.verify(polyline).setWidth(density * strokeWidth);
   }
+
+  @Test
+  public void controller_AppendsPoints() {
+    final zzz z = mock(zzz.class);
+    final Polyline polyline = spy(new Polyline(z));
+    final List<List<LatLng>> sentPoints = recordPoints(polyline);
+
+    final PolylineController controller = new PolylineController(polyline, false, 1);
+    controller.setPoints(Arrays.asList(new LatLng(0, 0), new LatLng(1, 1)));
+    controller.appendPoints(Collections.singletonList(new LatLng(2, 2)));
+
+    assertEquals(
+        Arrays.asList(
+            Arrays.asList(new LatLng(0, 0), new LatLng(1, 1)),
+            Arrays.asList(new LatLng(0, 0), new LatLng(1, 1), new LatLng(2, 2))),
+        sentPoints);
+  }
+
+  @Test
+  public void controller_TrimsPoints() {
+    final zzz z = mock(zzz.class);
+    final Polyline polyline = spy(new Polyline(z));
+    final List<List<LatLng>> sentPoints = recordPoints(polyline);
+
+    final PolylineController controller = new PolylineController(polyline, false, 1);
+    controller.setPoints(Arrays.asList(new LatLng(0, 0), new LatLng(1, 1), new LatLng(2, 2)));
+    controller.trimPoints(2);
+
+    assertEquals(
+        Arrays.asList(
+            Arrays.asList(new LatLng(0, 0), new LatLng(1, 1), new LatLng(2, 2)),
+            Collections.singletonList(new LatLng(2, 2))),
+        sentPoints);
+  }
+
+  @Test
+  public void controller_DoesNotKeepCallersList() {
+    final zzz z = mock(zzz.class);
+    final Polyline polyline = spy(new Polyline(z));
+    Mockito.doNothing().when(polyline).setPoints(Mockito.<List<LatLng>>any());
+
+    final List<LatLng> points = new ArrayList<>(Arrays.asList(new LatLng(0, 0)));
+    final PolylineController controller = new PolylineController(polyline, false, 1);
+    controller.setPoints(points);
+    controller.appendPoints(Collections.singletonList(new LatLng(1, 1)));
+
+    assertEquals(Collections.singletonList(new LatLng(0, 0)), points);
+  }
+
+  /** Records a copy of the points passed to each {@link Polyline#setPoints} call. */
+  private static List<List<LatLng>> recordPoints(Polyline polyline) {
+    final List<List<LatLng>> sentPoints = new ArrayList<>();
+    Mockito.doAnswer(
+            new Answer<Void>() {
+              @Override
+              @SuppressWarnings("unchecked")
+              public Void answer(InvocationOnMock invocation) {
+                sentPoints.add(new ArrayList<>((List<LatLng>) invocation.getArgument(0)));
+                return null;
+              }
+            })
+        .when(polyline)
+        .setPoints(Mockito.<List<LatLng>>any());
+    return sentPoints;
+  }
 }
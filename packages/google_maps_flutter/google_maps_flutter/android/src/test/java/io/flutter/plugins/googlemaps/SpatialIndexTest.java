@@ -0,0 +1,118 @@
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+
+public class SpatialIndexTest {
+
+  @Test
+  public void queryPoint_ReturnsContainingPolygons() {
+    final SpatialIndex index = new SpatialIndex(true);
+    for (int i = 0; i < 100; i++) {
+      index.put("square_" + i, square(i, 0, 1));
+    }
+
+    assertEquals(Collections.singletonList("square_42"), index.queryPoint(latLng(42.5, 0.5), 0));
+    assertTrue(index.queryPoint(latLng(42.5, 1.5), 0).isEmpty());
+  }
+
+  @Test
+  public void queryPoint_IgnoresRemovedPolygons() {
+    final SpatialIndex index = new SpatialIndex(true);
+    index.put("square", square(0, 0, 1));
+    index.queryPoint(latLng(0.5, 0.5), 0);
+    index.remove("square");
+
+    assertTrue(index.queryPoint(latLng(0.5, 0.5), 0).isEmpty());
+  }
+
+  @Test
+  public void queryPoint_ExcludesPointsInHoles() {
+    final SpatialIndex index = new SpatialIndex(true);
+    index.put("frame", square(0, 0, 10), Collections.singletonList(square(2, 2, 6)));
+
+    assertEquals(Collections.singletonList("frame"), index.queryPoint(latLng(1, 1), 0));
+    assertTrue(index.queryPoint(latLng(5, 5), 0).isEmpty());
+    // The edge of a hole is still part of the polygon.
+    assertEquals(Collections.singletonList("frame"), index.queryPoint(latLng(5, 2.05), 0.1));
+  }
+
+  @Test
+  public void queryPoint_MatchesPolylinesWithinTolerance() {
+    final SpatialIndex index = new SpatialIndex(false);
+    index.put("line", Arrays.asList(latLng(0, 0), latLng(0, 10)));
+
+    assertTrue(index.queryPoint(latLng(0.5, 5), 0.1).isEmpty());
+    assertEquals(Collections.singletonList("line"), index.queryPoint(latLng(0.05, 5), 0.1));
+  }
+
+  @Test
+  public void put_CopiesPoints() {
+    final SpatialIndex index = new SpatialIndex(false);
+    final List<LatLng> points = new ArrayList<>(Arrays.asList(latLng(0, 0), latLng(0, 10)));
+    index.put("line", points);
+    points.clear();
+
+    assertEquals(Collections.singletonList("line"), index.queryPoint(latLng(0.05, 5), 0.1));
+  }
+
+  @Test
+  public void queryBounds_ReturnsOverlappingShapes() {
+    final SpatialIndex index = new SpatialIndex(true);
+    index.put("inside", square(1, 1, 1));
+    index.put("crossing", square(2.5, 2.5, 1));
+    index.put("surrounding", square(-10, -10, 30));
+    index.put("outside", square(20, 20, 1));
+
+    final List<String> ids =
+        new ArrayList<>(index.queryBounds(new LatLngBounds(latLng(0, 0), latLng(3, 3))));
+    Collections.sort(ids);
+
+    assertEquals(Arrays.asList("crossing", "inside", "surrounding"), ids);
+  }
+
+  @Test
+  public void queryBounds_ExcludesBoundsInHoles() {
+    final SpatialIndex index = new SpatialIndex(true);
+    index.put("frame", square(0, 0, 10), Collections.singletonList(square(2, 2, 6)));
+
+    assertTrue(index.queryBounds(new LatLngBounds(latLng(4, 4), latLng(6, 6))).isEmpty());
+    assertEquals(
+        Collections.singletonList("frame"),
+        index.queryBounds(new LatLngBounds(latLng(1, 4), latLng(3, 6))));
+  }
+
+  @Test
+  public void queryBounds_HandlesBoundsCrossingTheAntimeridian() {
+    final SpatialIndex index = new SpatialIndex(false);
+    index.put("east", Arrays.asList(latLng(0, 175), latLng(1, 176)));
+    index.put("west", Arrays.asList(latLng(0, -176), latLng(1, -175)));
+    index.put("greenwich", Arrays.asList(latLng(0, 0), latLng(1, 1)));
+
+    final List<String> ids =
+        new ArrayList<>(index.queryBounds(new LatLngBounds(latLng(-5, 170), latLng(5, -170))));
+    Collections.sort(ids);
+
+    assertEquals(Arrays.asList("east", "west"), ids);
+  }
+
+  private static List<LatLng> square(double lat, double lng, double size) {
+    return Arrays.asList(
+        latLng(lat, lng),
+        latLng(lat, lng + size),
+        latLng(lat + size, lng + size),
+        latLng(lat + size, lng));
+  }
+
+  private static LatLng latLng(double lat, double lng) {
+    return new LatLng(lat, lng);
+  }
+}
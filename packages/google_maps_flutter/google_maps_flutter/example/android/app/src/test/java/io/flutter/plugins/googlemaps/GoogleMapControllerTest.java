@@ -2,15 +2,30 @@ package io.flutter.plugins.googlemaps;
 
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import android.app.Application;
 import android.content.Context;
 import androidx.lifecycle.LifecycleOwner;
 import androidx.test.core.app.ApplicationProvider;
 import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.MapStyleOptions;
 import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
 import io.flutter.view.FlutterMain;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.json.JSONException;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -21,14 +36,18 @@ import org.robolectric.RobolectricTestRunner;
 
 @RunWith(RobolectricTestRunner.class)
 public class GoogleMapControllerTest {
+  private static final String NIGHT_STYLE =
+      "[{\"elementType\":\"geometry\",\"stylers\":[{\"color\":\"#242f3e\"}]}]";
 
   private Context context;
   private Application application;
   private GoogleMapController googleMapController;
+  private MapStyleRegistry mapStyleRegistry;
 
   @Mock BinaryMessenger mockMessenger;
   @Mock GoogleMap mockGoogleMap;
   @Mock LifecycleOwner lifecycleOwner;
+  @Mock MethodChannel.Result mockResult;
 
   @BeforeClass()
   public static void BeforeClass() {
@@ -40,9 +59,20 @@ public class GoogleMapControllerTest {
     MockitoAnnotations.initMocks(this);
     context = ApplicationProvider.getApplicationContext();
     application = ApplicationProvider.getApplicationContext();
+    mapStyleRegistry = new MapStyleRegistry();
     googleMapController =
         new GoogleMapController(
-            0, context, new AtomicInteger(1), mockMessenger, application, null, null, 0, null);
+            0,
+            context,
+            new AtomicInteger(1),
+            mockMessenger,
+            application,
+            null,
+            null,
+            0,
+            null,
+            new MapViewPool(),
+            mapStyleRegistry);
     googleMapController.init();
   }
 
@@ -61,4 +91,41 @@ public class GoogleMapControllerTest {
     googleMapController.onDestroy(lifecycleOwner);
     assertNull(googleMapController.getView());
   }
+
+  @Test
+  public void SetStyleByIdAppliesARegisteredStyleOnce() throws JSONException {
+    when(mockGoogleMap.setMapStyle(any(MapStyleOptions.class))).thenReturn(true);
+    googleMapController.onMapReady(mockGoogleMap);
+    mapStyleRegistry.register("night", NIGHT_STYLE);
+
+    googleMapController.onMethodCall(new MethodCall("map#setStyleById", "night"), mockResult);
+    googleMapController.onMethodCall(new MethodCall("map#setStyleById", "night"), mockResult);
+
+    verify(mockGoogleMap, times(1)).setMapStyle(mapStyleRegistry.get("night"));
+    verify(mockResult, times(2)).success(Arrays.<Object>asList(true));
+  }
+
+  @Test
+  public void SetStyleByIdReportsAnUnknownId() {
+    googleMapController.onMapReady(mockGoogleMap);
+
+    googleMapController.onMethodCall(new MethodCall("map#setStyleById", "night"), mockResult);
+
+    verify(mockGoogleMap, never()).setMapStyle(any(MapStyleOptions.class));
+    verify(mockResult)
+        .success(Arrays.<Object>asList(false, "No map style is registered with id night."));
+  }
+
+  @Test
+  public void RegisterStyleRejectsInvalidJson() {
+    googleMapController.onMapReady(mockGoogleMap);
+    final Map<String, Object> arguments = new HashMap<>();
+    arguments.put("styleId", "night");
+    arguments.put("style", "{\"elementType\":");
+
+    googleMapController.onMethodCall(new MethodCall("map#registerStyle", arguments), mockResult);
+
+    verify(mockResult).error(eq("Invalid map style"), anyString(), isNull());
+    assertNull(mapStyleRegistry.get("night"));
+  }
 }
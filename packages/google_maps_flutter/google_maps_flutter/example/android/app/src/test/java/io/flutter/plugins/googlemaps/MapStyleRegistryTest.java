@@ -0,0 +1,60 @@
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import com.google.android.gms.maps.model.MapStyleOptions;
+import org.json.JSONException;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class MapStyleRegistryTest {
+  private static final String NIGHT_STYLE =
+      "[{\"elementType\":\"geometry\",\"stylers\":[{\"color\":\"#242f3e\"}]}]";
+  private static final String DAY_STYLE =
+      "[{\"elementType\":\"geometry\",\"stylers\":[{\"color\":\"#f5f5f5\"}]}]";
+
+  @Test
+  public void register_KeepsOneInstancePerId() throws JSONException {
+    final MapStyleRegistry registry = new MapStyleRegistry();
+    registry.register("night", NIGHT_STYLE);
+
+    final MapStyleOptions style = registry.get("night");
+    assertSame(style, registry.get("night"));
+    assertNull(registry.get("day"));
+  }
+
+  @Test
+  public void register_ReplacesTheStyleOfAnId() throws JSONException {
+    final MapStyleRegistry registry = new MapStyleRegistry();
+    registry.register("theme", NIGHT_STYLE);
+    final MapStyleOptions nightStyle = registry.get("theme");
+    registry.register("theme", DAY_STYLE);
+
+    assertNotSame(nightStyle, registry.get("theme"));
+  }
+
+  @Test
+  public void register_RejectsInvalidJson() {
+    final MapStyleRegistry registry = new MapStyleRegistry();
+    try {
+      registry.register("broken", "{\"elementType\":");
+      fail();
+    } catch (JSONException e) {
+      assertNull(registry.get("broken"));
+    }
+  }
+
+  @Test
+  public void unregister_RemovesTheStyle() throws JSONException {
+    final MapStyleRegistry registry = new MapStyleRegistry();
+    registry.register("night", NIGHT_STYLE);
+    registry.unregister("night");
+
+    assertNull(registry.get("night"));
+  }
+}
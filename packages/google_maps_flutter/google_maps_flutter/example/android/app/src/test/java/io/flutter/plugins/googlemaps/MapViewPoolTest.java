@@ -0,0 +1,82 @@
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import android.app.Application;
+import android.view.View;
+import androidx.test.core.app.ApplicationProvider;
+import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.GoogleMapOptions;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.view.FlutterMain;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class MapViewPoolTest {
+
+  private Application application;
+  private MapViewPool mapViewPool;
+
+  @Mock BinaryMessenger mockMessenger;
+  @Mock GoogleMap mockGoogleMap;
+
+  @BeforeClass()
+  public static void BeforeClass() {
+    FlutterMain.setIsRunningInRobolectricTest(true);
+  }
+
+  @Before
+  public void before() {
+    MockitoAnnotations.initMocks(this);
+    application = ApplicationProvider.getApplicationContext();
+    mapViewPool = new MapViewPool();
+  }
+
+  @Test
+  public void LiteModeMapViewIsReused() {
+    GoogleMapController first = createController(new GoogleMapOptions().liteMode(true));
+    View firstView = first.getView();
+    first.onMapReady(mockGoogleMap);
+    first.dispose();
+
+    GoogleMapController second = createController(new GoogleMapOptions().liteMode(true));
+    assertSame(firstView, second.getView());
+  }
+
+  @Test
+  public void FullMapViewIsNotReused() {
+    GoogleMapController first = createController(new GoogleMapOptions());
+    View firstView = first.getView();
+    first.onMapReady(mockGoogleMap);
+    first.dispose();
+
+    GoogleMapController second = createController(new GoogleMapOptions());
+    assertNotSame(firstView, second.getView());
+  }
+
+  private GoogleMapController createController(GoogleMapOptions options) {
+    GoogleMapController controller =
+        new GoogleMapController(
+            0,
+            application,
+            new AtomicInteger(1),
+            mockMessenger,
+            application,
+            null,
+            null,
+            0,
+            options,
+            mapViewPool,
+            new MapStyleRegistry());
+    controller.init();
+    return controller;
+  }
+}
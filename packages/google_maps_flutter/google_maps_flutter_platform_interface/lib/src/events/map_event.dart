@@ -112,6 +112,20 @@ class MarkerDragEndEvent extends _PositionedMapEvent<MarkerId> {
       : super(mapId, position, markerId);
 }
 
+/// An event fired when a [Marker] stops moving after [MarkerAnimation]s.
+class MarkerAnimationEndEvent extends _PositionedMapEvent<MarkerId> {
+  /// Build a MarkerAnimationEnd Event triggered from the map represented by `mapId`.
+  ///
+  /// The `position` on this event is the [LatLng] where the Marker stopped.
+  /// The `value` of this event is a [MarkerId] object that represents the moved Marker.
+  MarkerAnimationEndEvent(
+      int mapId, LatLng position, this.rotation, MarkerId markerId)
+      : super(mapId, position, markerId);
+
+  /// The rotation of the Marker when it stopped, in degrees.
+  final double rotation;
+}
+
 /// An event fired when a [Polyline] is tapped.
 class PolylineTapEvent extends MapEvent<PolylineId> {
   /// Build an PolylineTap Event triggered from the map represented by `mapId`.
@@ -90,6 +90,11 @@ class MethodChannelGoogleMapsFlutter extends GoogleMapsFlutterPlatform {
     return _events(mapId).whereType<MarkerDragEndEvent>();
   }
 
+  @override
+  Stream<MarkerAnimationEndEvent> onMarkerAnimationEnd({@required int mapId}) {
+    return _events(mapId).whereType<MarkerAnimationEndEvent>();
+  }
+
   @override
   Stream<PolylineTapEvent> onPolylineTap({@required int mapId}) {
     return _events(mapId).whereType<PolylineTapEvent>();
@@ -142,6 +147,14 @@ class MethodChannelGoogleMapsFlutter extends GoogleMapsFlutterPlatform {
           MarkerId(call.arguments['markerId']),
         ));
         break;
+      case 'marker#onAnimationEnd':
+        _mapEventStreamController.add(MarkerAnimationEndEvent(
+          mapId,
+          LatLng.fromJson(call.arguments['position']),
+          call.arguments['rotation'],
+          MarkerId(call.arguments['markerId']),
+        ));
+        break;
       case 'infoWindow#onTap':
         _mapEventStreamController.add(InfoWindowTapEvent(
           mapId,
@@ -257,6 +270,42 @@ class MethodChannelGoogleMapsFlutter extends GoogleMapsFlutterPlatform {
     );
   }
 
+  /// Adds [points] to the end of a [Polyline]. (Android only)
+  ///
+  /// An invalid `polylineId` triggers an "Invalid polylineId" error.
+  @override
+  Future<void> appendPolylinePoints(
+    PolylineId polylineId,
+    List<LatLng> points, {
+    @required int mapId,
+  }) {
+    assert(polylineId != null);
+    assert(points != null);
+    return channel(mapId)
+        .invokeMethod<void>('polylines#appendPoints', <String, dynamic>{
+      'polylineId': polylineId.value,
+      'points': points.map((LatLng point) => point.toJson()).toList(),
+    });
+  }
+
+  /// Removes the first [count] points of a [Polyline]. (Android only)
+  ///
+  /// An invalid `polylineId` triggers an "Invalid polylineId" error.
+  @override
+  Future<void> trimPolylinePoints(
+    PolylineId polylineId,
+    int count, {
+    @required int mapId,
+  }) {
+    assert(polylineId != null);
+    assert(count != null && count >= 0);
+    return channel(mapId)
+        .invokeMethod<void>('polylines#trimPoints', <String, dynamic>{
+      'polylineId': polylineId.value,
+      'count': count,
+    });
+  }
+
   /// Updates circle configuration.
   ///
   /// Change listeners are notified once the update has been made on the
@@ -275,6 +324,24 @@ class MethodChannelGoogleMapsFlutter extends GoogleMapsFlutterPlatform {
     );
   }
 
+  /// Starts moving markers to new positions. (Android only)
+  ///
+  /// The returned [Future] completes after the animations have been started
+  /// on the platform side. None of them is started if one is invalid.
+  @override
+  Future<void> animateMarkers(
+    List<MarkerAnimation> markerAnimations, {
+    @required int mapId,
+  }) {
+    assert(markerAnimations != null);
+    return channel(mapId)
+        .invokeMethod<void>('markers#animate', <String, dynamic>{
+      'markerAnimations': markerAnimations
+          .map((MarkerAnimation animation) => animation.toJson())
+          .toList(),
+    });
+  }
+
   /// Starts an animated change of the map camera position.
   ///
   /// The returned [Future] completes after the change has been started on the
@@ -330,6 +397,52 @@ class MethodChannelGoogleMapsFlutter extends GoogleMapsFlutterPlatform {
     }
   }
 
+  /// Registers [mapStyle] under [styleId] for all the maps. (Android only)
+  ///
+  /// If [mapStyle] is not a JSON array, [MapStyleException] is thrown.
+  @override
+  Future<void> registerMapStyle(
+    String styleId,
+    String mapStyle, {
+    @required int mapId,
+  }) async {
+    assert(styleId != null);
+    assert(mapStyle != null);
+    try {
+      await channel(mapId).invokeMethod<void>('map#registerStyle',
+          <String, String>{'styleId': styleId, 'style': mapStyle});
+    } on PlatformException catch (e) {
+      throw MapStyleException(e.message);
+    }
+  }
+
+  /// Removes the style registered under [styleId]. (Android only)
+  @override
+  Future<void> unregisterMapStyle(
+    String styleId, {
+    @required int mapId,
+  }) {
+    assert(styleId != null);
+    return channel(mapId).invokeMethod<void>('map#unregisterStyle', styleId);
+  }
+
+  /// Sets the styling of the base map to the style registered under [styleId]. (Android only)
+  ///
+  /// If no style is registered under [styleId], or the style can't be applied,
+  /// [MapStyleException] is thrown and the current style is left unchanged.
+  @override
+  Future<void> setMapStyleById(
+    String styleId, {
+    @required int mapId,
+  }) async {
+    final List<dynamic> successAndError = await channel(mapId)
+        .invokeMethod<List<dynamic>>('map#setStyleById', styleId);
+    final bool success = successAndError[0];
+    if (!success) {
+      throw MapStyleException(successAndError[1]);
+    }
+  }
+
   /// Return the region that is visible in a map.
   @override
   Future<LatLngBounds> getVisibleRegion({
@@ -375,6 +488,41 @@ class MethodChannelGoogleMapsFlutter extends GoogleMapsFlutterPlatform {
     return LatLng(latLng[0], latLng[1]);
   }
 
+  /// Returns the visible polygons that contain [latLng], and the visible
+  /// polygons and polylines that pass within [tolerance] logical pixels of it.
+  /// (Android only)
+  @override
+  Future<RenderedFeatures> queryRenderedFeatures(
+    LatLng latLng, {
+    double tolerance = 0,
+    @required int mapId,
+  }) async {
+    assert(latLng != null);
+    final Map<String, dynamic> features = await channel(mapId)
+        .invokeMapMethod<String, dynamic>(
+            'map#queryRenderedFeatures', <String, dynamic>{
+      'latLng': latLng.toJson(),
+      'tolerance': tolerance,
+    });
+    return RenderedFeatures.fromJson(features);
+  }
+
+  /// Returns the visible polygons and polylines that overlap [bounds].
+  /// (Android only)
+  @override
+  Future<RenderedFeatures> queryRenderedFeaturesInBounds(
+    LatLngBounds bounds, {
+    @required int mapId,
+  }) async {
+    assert(bounds != null);
+    final Map<String, dynamic> features = await channel(mapId)
+        .invokeMapMethod<String, dynamic>(
+            'map#queryRenderedFeatures', <String, dynamic>{
+      'bounds': bounds.toJson(),
+    });
+    return RenderedFeatures.fromJson(features);
+  }
+
   /// Programmatically show the Info Window for a [Marker].
   ///
   /// The `markerId` must match one of the markers on the map.
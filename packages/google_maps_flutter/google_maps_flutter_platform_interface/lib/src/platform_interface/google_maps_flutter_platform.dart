@@ -102,6 +102,35 @@ abstract class GoogleMapsFlutterPlatform extends PlatformInterface {
     throw UnimplementedError('updatePolylines() has not been implemented.');
   }
 
+  /// Adds [points] to the end of a [Polyline]. (Android only)
+  ///
+  /// Only the new points are sent to the platform side. The [Polyline] itself
+  /// is not changed, so the next [updatePolylines] that changes it replaces
+  /// the points with its own.
+  ///
+  /// An invalid `polylineId` triggers an "Invalid polylineId" error.
+  Future<void> appendPolylinePoints(
+    PolylineId polylineId,
+    List<LatLng> points, {
+    @required int mapId,
+  }) {
+    throw UnimplementedError(
+        'appendPolylinePoints() has not been implemented.');
+  }
+
+  /// Removes the first [count] points of a [Polyline]. (Android only)
+  ///
+  /// As with [appendPolylinePoints], the [Polyline] itself is not changed.
+  ///
+  /// An invalid `polylineId` triggers an "Invalid polylineId" error.
+  Future<void> trimPolylinePoints(
+    PolylineId polylineId,
+    int count, {
+    @required int mapId,
+  }) {
+    throw UnimplementedError('trimPolylinePoints() has not been implemented.');
+  }
+
   /// Updates circle configuration.
   ///
   /// Change listeners are notified once the update has been made on the
@@ -115,6 +144,19 @@ abstract class GoogleMapsFlutterPlatform extends PlatformInterface {
     throw UnimplementedError('updateCircles() has not been implemented.');
   }
 
+  /// Starts moving markers to new positions. (Android only)
+  ///
+  /// The returned [Future] completes after the animations have been started
+  /// on the platform side. None of them is started if one is invalid.
+  ///
+  /// The end of each animation is reported by [onMarkerAnimationEnd].
+  Future<void> animateMarkers(
+    List<MarkerAnimation> markerAnimations, {
+    @required int mapId,
+  }) {
+    throw UnimplementedError('animateMarkers() has not been implemented.');
+  }
+
   /// Starts an animated change of the map camera position.
   ///
   /// The returned [Future] completes after the change has been started on the
@@ -154,6 +196,45 @@ abstract class GoogleMapsFlutterPlatform extends PlatformInterface {
     throw UnimplementedError('setMapStyle() has not been implemented.');
   }
 
+  /// Registers [mapStyle] under [styleId] for all the maps. (Android only)
+  ///
+  /// A registered style can then be applied with [setMapStyleById], without
+  /// sending its JSON again. Registering a style under an existing [styleId]
+  /// replaces it.
+  ///
+  /// If [mapStyle] is not a JSON array, [MapStyleException] is thrown.
+  Future<void> registerMapStyle(
+    String styleId,
+    String mapStyle, {
+    @required int mapId,
+  }) {
+    throw UnimplementedError('registerMapStyle() has not been implemented.');
+  }
+
+  /// Removes the style registered under [styleId]. (Android only)
+  ///
+  /// The maps that use the style keep it.
+  Future<void> unregisterMapStyle(
+    String styleId, {
+    @required int mapId,
+  }) {
+    throw UnimplementedError('unregisterMapStyle() has not been implemented.');
+  }
+
+  /// Sets the styling of the base map to the style registered under [styleId]. (Android only)
+  ///
+  /// Set to `null` to clear any previous custom styling. Applying the
+  /// registered style that the map already has does nothing.
+  ///
+  /// If no style is registered under [styleId], or the style can't be applied,
+  /// [MapStyleException] is thrown and the current style is left unchanged.
+  Future<void> setMapStyleById(
+    String styleId, {
+    @required int mapId,
+  }) {
+    throw UnimplementedError('setMapStyleById() has not been implemented.');
+  }
+
   /// Return the region that is visible in a map.
   Future<LatLngBounds> getVisibleRegion({
     @required int mapId,
@@ -185,6 +266,28 @@ abstract class GoogleMapsFlutterPlatform extends PlatformInterface {
     throw UnimplementedError('getLatLng() has not been implemented.');
   }
 
+  /// Returns the visible polygons that contain [latLng], and the visible
+  /// polygons and polylines that pass within [tolerance] logical pixels of it.
+  /// (Android only)
+  Future<RenderedFeatures> queryRenderedFeatures(
+    LatLng latLng, {
+    double tolerance = 0,
+    @required int mapId,
+  }) {
+    throw UnimplementedError(
+        'queryRenderedFeatures() has not been implemented.');
+  }
+
+  /// Returns the visible polygons and polylines that overlap [bounds].
+  /// (Android only)
+  Future<RenderedFeatures> queryRenderedFeaturesInBounds(
+    LatLngBounds bounds, {
+    @required int mapId,
+  }) {
+    throw UnimplementedError(
+        'queryRenderedFeaturesInBounds() has not been implemented.');
+  }
+
   /// Programmatically show the Info Window for a [Marker].
   ///
   /// The `markerId` must match one of the markers on the map.
@@ -246,7 +349,7 @@ abstract class GoogleMapsFlutterPlatform extends PlatformInterface {
     throw UnimplementedError('takeSnapshot() has not been implemented.');
   }
 
-  // The following are the 11 possible streams of data from the native side
+  // The following are the 12 possible streams of data from the native side
   // into the plugin
 
   /// The Camera started moving.
@@ -279,6 +382,12 @@ abstract class GoogleMapsFlutterPlatform extends PlatformInterface {
     throw UnimplementedError('onMarkerDragEnd() has not been implemented.');
   }
 
+  /// A [Marker] has stopped moving after [animateMarkers].
+  Stream<MarkerAnimationEndEvent> onMarkerAnimationEnd({@required int mapId}) {
+    throw UnimplementedError(
+        'onMarkerAnimationEnd() has not been implemented.');
+  }
+
   /// A [Polyline] has been tapped.
   Stream<PolylineTapEvent> onPolylineTap({@required int mapId}) {
     throw UnimplementedError('onPolylineTap() has not been implemented.');
@@ -0,0 +1,75 @@
+// Copyright 2020 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'dart:ui' show hashValues;
+
+import 'package:meta/meta.dart' show immutable, required;
+
+import 'types.dart';
+
+/// Moves a [Marker] from its current position to [position] over [duration].
+///
+/// The marker is moved on the platform side only. Once the animation ends, the
+/// new position is reported through
+/// [GoogleMapsFlutterPlatform.onMarkerAnimationEnd]. Updating the marker with
+/// its old position moves it back, so the [Marker]s passed to
+/// [GoogleMapsFlutterPlatform.updateMarkers] should be updated with the
+/// reported position.
+@immutable
+class MarkerAnimation {
+  /// Creates an immutable animation of the marker identified by [markerId].
+  const MarkerAnimation({
+    @required this.markerId,
+    @required this.position,
+    this.rotation,
+    this.duration = Duration.zero,
+  })  : assert(markerId != null),
+        assert(position != null),
+        assert(duration != null);
+
+  /// The marker to move.
+  final MarkerId markerId;
+
+  /// Where the marker ends up.
+  final LatLng position;
+
+  /// The rotation of the marker at the end, in degrees.
+  ///
+  /// A null value leaves the rotation as it is.
+  final double rotation;
+
+  /// How long the marker takes to get to [position].
+  final Duration duration;
+
+  /// Converts this object to something serializable in JSON.
+  dynamic toJson() {
+    final Map<String, dynamic> json = <String, dynamic>{
+      'markerId': markerId.value,
+      'position': position.toJson(),
+      'duration': duration.inMilliseconds,
+    };
+    if (rotation != null) {
+      json['rotation'] = rotation;
+    }
+    return json;
+  }
+
+  @override
+  bool operator ==(Object other) {
+    return other is MarkerAnimation &&
+        other.markerId == markerId &&
+        other.position == position &&
+        other.rotation == rotation &&
+        other.duration == duration;
+  }
+
+  @override
+  int get hashCode => hashValues(markerId, position, rotation, duration);
+
+  @override
+  String toString() {
+    return 'MarkerAnimation{markerId: $markerId, position: $position, '
+        'rotation: $rotation, duration: $duration}';
+  }
+}
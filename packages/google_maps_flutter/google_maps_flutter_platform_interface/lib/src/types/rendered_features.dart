@@ -0,0 +1,44 @@
+// Copyright 2020 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:meta/meta.dart' show immutable;
+
+import 'types.dart';
+
+/// The visible shapes of a map found by a query.
+@immutable
+class RenderedFeatures {
+  /// Creates an immutable set of the shapes found by a query.
+  const RenderedFeatures({
+    this.polygonIds = const <PolygonId>[],
+    this.polylineIds = const <PolylineId>[],
+  });
+
+  /// Creates the features described by the JSON map [json].
+  factory RenderedFeatures.fromJson(dynamic json) {
+    if (json == null) {
+      return const RenderedFeatures();
+    }
+    return RenderedFeatures(
+      polygonIds: (json['polygonIds'] as List<dynamic> ?? <dynamic>[])
+          .map((dynamic id) => PolygonId(id))
+          .toList(),
+      polylineIds: (json['polylineIds'] as List<dynamic> ?? <dynamic>[])
+          .map((dynamic id) => PolylineId(id))
+          .toList(),
+    );
+  }
+
+  /// The ids of the polygons found.
+  final List<PolygonId> polygonIds;
+
+  /// The ids of the polylines found.
+  final List<PolylineId> polylineIds;
+
+  @override
+  String toString() {
+    return 'RenderedFeatures{polygonIds: $polygonIds, '
+        'polylineIds: $polylineIds}';
+  }
+}
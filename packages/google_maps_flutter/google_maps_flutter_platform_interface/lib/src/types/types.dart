@@ -11,6 +11,7 @@ export 'circle_updates.dart';
 export 'circle.dart';
 export 'joint_type.dart';
 export 'location.dart';
+export 'marker_animation.dart';
 export 'marker_updates.dart';
 export 'marker.dart';
 export 'pattern_item.dart';
@@ -18,6 +19,7 @@ export 'polygon_updates.dart';
 export 'polygon.dart';
 export 'polyline_updates.dart';
 export 'polyline.dart';
+export 'rendered_features.dart';
 export 'screen_coordinate.dart';
 export 'ui.dart';
 
@@ -0,0 +1,194 @@
+// Copyright 2020 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/services.dart';
+import 'package:flutter_test/flutter_test.dart';
+
+import 'package:google_maps_flutter_platform_interface/google_maps_flutter_platform_interface.dart';
+import 'package:google_maps_flutter_platform_interface/src/method_channel/method_channel_google_maps_flutter.dart';
+
+void main() {
+  TestWidgetsFlutterBinding.ensureInitialized();
+
+  group('$MethodChannelGoogleMapsFlutter', () {
+    const int mapId = 1;
+    const String channelName = 'plugins.flutter.io/google_maps_$mapId';
+    const MethodChannel channel = MethodChannel(channelName);
+    final List<MethodCall> log = <MethodCall>[];
+    MethodChannelGoogleMapsFlutter maps;
+
+    setUp(() async {
+      channel.setMockMethodCallHandler((MethodCall methodCall) async {
+        log.add(methodCall);
+        switch (methodCall.method) {
+          case 'map#registerStyle':
+            if (methodCall.arguments['style'] == 'invalid') {
+              throw PlatformException(
+                  code: 'Invalid map style', message: 'Not a JSON array');
+            }
+            return null;
+          case 'map#queryRenderedFeatures':
+            return <String, dynamic>{
+              'polygonIds': <String>['park'],
+              'polylineIds': <String>['route'],
+            };
+          case 'map#setStyleById':
+            return methodCall.arguments == 'night'
+                ? <dynamic>[true]
+                : <dynamic>[false, 'No map style is registered'];
+          default:
+            return null;
+        }
+      });
+      maps = MethodChannelGoogleMapsFlutter();
+      await maps.init(mapId);
+      log.clear();
+    });
+
+    Future<void> sendFromPlatform(String method, dynamic arguments) {
+      // `ServicesBinding.instance.defaultBinaryMessenger` isn't available on
+      // all the versions of Flutter that are tested.
+      // ignore: deprecated_member_use
+      return defaultBinaryMessenger.handlePlatformMessage(
+          channelName,
+          const StandardMethodCodec()
+              .encodeMethodCall(MethodCall(method, arguments)),
+          (ByteData data) {});
+    }
+
+    group('#animateMarkers', () {
+      test('passes the animations', () async {
+        await maps.animateMarkers(<MarkerAnimation>[
+          MarkerAnimation(
+            markerId: MarkerId('a'),
+            position: LatLng(1, 2),
+            rotation: 90,
+            duration: const Duration(seconds: 1),
+          ),
+          MarkerAnimation(markerId: MarkerId('b'), position: LatLng(3, 4)),
+        ], mapId: mapId);
+
+        expect(log, <Matcher>[
+          isMethodCall('markers#animate', arguments: <String, dynamic>{
+            'markerAnimations': <dynamic>[
+              <String, dynamic>{
+                'markerId': 'a',
+                'position': <double>[1, 2],
+                'duration': 1000,
+                'rotation': 90.0,
+              },
+              <String, dynamic>{
+                'markerId': 'b',
+                'position': <double>[3, 4],
+                'duration': 0,
+              },
+            ],
+          }),
+        ]);
+      });
+
+      test('reports where the marker stopped', () async {
+        final Future<MarkerAnimationEndEvent> event =
+            maps.onMarkerAnimationEnd(mapId: mapId).first;
+
+        await sendFromPlatform('marker#onAnimationEnd', <String, dynamic>{
+          'markerId': 'a',
+          'position': <double>[1, 2],
+          'rotation': 90.0,
+        });
+
+        final MarkerAnimationEndEvent animationEnd = await event;
+        expect(animationEnd.mapId, mapId);
+        expect(animationEnd.value, MarkerId('a'));
+        expect(animationEnd.position, LatLng(1, 2));
+        expect(animationEnd.rotation, 90.0);
+      });
+    });
+
+    group('#queryRenderedFeatures', () {
+      test('queries a point with a tolerance', () async {
+        final RenderedFeatures features = await maps
+            .queryRenderedFeatures(LatLng(1, 2), tolerance: 8, mapId: mapId);
+
+        expect(log, <Matcher>[
+          isMethodCall('map#queryRenderedFeatures',
+              arguments: <String, dynamic>{
+                'latLng': <double>[1, 2],
+                'tolerance': 8.0,
+              }),
+        ]);
+        expect(features.polygonIds, <PolygonId>[PolygonId('park')]);
+        expect(features.polylineIds, <PolylineId>[PolylineId('route')]);
+      });
+
+      test('queries bounds', () async {
+        final RenderedFeatures features =
+            await maps.queryRenderedFeaturesInBounds(
+                LatLngBounds(southwest: LatLng(1, 2), northeast: LatLng(3, 4)),
+                mapId: mapId);
+
+        expect(log, <Matcher>[
+          isMethodCall('map#queryRenderedFeatures',
+              arguments: <String, dynamic>{
+                'bounds': <dynamic>[
+                  <double>[1, 2],
+                  <double>[3, 4],
+                ],
+              }),
+        ]);
+        expect(features.polygonIds, <PolygonId>[PolygonId('park')]);
+      });
+    });
+
+    group('polyline points', () {
+      test('are appended and trimmed by polyline id', () async {
+        await maps.appendPolylinePoints(
+            PolylineId('route'), <LatLng>[LatLng(1, 2), LatLng(3, 4)],
+            mapId: mapId);
+        await maps.trimPolylinePoints(PolylineId('route'), 1, mapId: mapId);
+
+        expect(log, <Matcher>[
+          isMethodCall('polylines#appendPoints', arguments: <String, dynamic>{
+            'polylineId': 'route',
+            'points': <dynamic>[
+              <double>[1, 2],
+              <double>[3, 4],
+            ],
+          }),
+          isMethodCall('polylines#trimPoints', arguments: <String, dynamic>{
+            'polylineId': 'route',
+            'count': 1,
+          }),
+        ]);
+      });
+    });
+
+    group('map styles', () {
+      test('are registered, applied and unregistered by id', () async {
+        await maps.registerMapStyle('night', '[]', mapId: mapId);
+        await maps.setMapStyleById('night', mapId: mapId);
+        await maps.unregisterMapStyle('night', mapId: mapId);
+
+        expect(log, <Matcher>[
+          isMethodCall('map#registerStyle', arguments: <String, String>{
+            'styleId': 'night',
+            'style': '[]',
+          }),
+          isMethodCall('map#setStyleById', arguments: 'night'),
+          isMethodCall('map#unregisterStyle', arguments: 'night'),
+        ]);
+      });
+
+      test('throw MapStyleException for an invalid style', () async {
+        expect(maps.registerMapStyle('broken', 'invalid', mapId: mapId),
+            throwsA(isInstanceOf<MapStyleException>()));
+      });
+
+      test('throw MapStyleException for an unknown id', () async {
+        expect(maps.setMapStyleById('day', mapId: mapId),
+            throwsA(isInstanceOf<MapStyleException>()));
+      });
+    });
+  });
+}
@@ -4,52 +4,161 @@
 
 package io.flutter.plugins.imagepicker;
 
+import android.graphics.Matrix;
 import android.media.ExifInterface;
 import android.util.Log;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Carries the Exif data of a picked image over to its scaled copy.
+ *
+ * <p>The orientation isn't copied: the scaled image is rotated instead, see {@link
+ * #orientationMatrix}. The other attributes are written into the scaled JPEG while it is encoded,
+ * through {@link #withExifSegment}, rather than by rewriting the file once it is written.
+ */
 class ExifDataCopier {
-  void copyExif(String filePathOri, String filePathDest) {
+  private static final String TAG = "ExifDataCopier";
+  private static final List<String> ATTRIBUTES =
+      Arrays.asList(
+          "FNumber",
+          "ExposureTime",
+          "ISOSpeedRatings",
+          "GPSAltitude",
+          "GPSAltitudeRef",
+          "FocalLength",
+          "GPSDateStamp",
+          "WhiteBalance",
+          "GPSProcessingMethod",
+          "GPSTimeStamp",
+          "DateTime",
+          "Flash",
+          "GPSLatitude",
+          "GPSLatitudeRef",
+          "GPSLongitude",
+          "GPSLongitudeRef",
+          "Make",
+          "Model");
+
+  /** Returns the Exif data of the image at {@code filePath}, or null if it can't be read. */
+  @Nullable
+  ExifInterface readExif(String filePath) {
     try {
-      ExifInterface oldExif = new ExifInterface(filePathOri);
-      ExifInterface newExif = new ExifInterface(filePathDest);
-
-      List<String> attributes =
-          Arrays.asList(
-              "FNumber",
-              "ExposureTime",
-              "ISOSpeedRatings",
-              "GPSAltitude",
-              "GPSAltitudeRef",
-              "FocalLength",
-              "GPSDateStamp",
-              "WhiteBalance",
-              "GPSProcessingMethod",
-              "GPSTimeStamp",
-              "DateTime",
-              "Flash",
-              "GPSLatitude",
-              "GPSLatitudeRef",
-              "GPSLongitude",
-              "GPSLongitudeRef",
-              "Make",
-              "Model",
-              "Orientation");
-      for (String attribute : attributes) {
-        setIfNotNull(oldExif, newExif, attribute);
-      }
+      return new ExifInterface(filePath);
+    } catch (IOException ex) {
+      Log.e(TAG, "Error reading Exif data of selected image: " + ex);
+      return null;
+    }
+  }
 
-      newExif.saveAttributes();
+  /**
+   * Returns the transformation that displays an image stored with the given Exif {@code
+   * orientation} upright, or null if it is already upright.
+   */
+  @Nullable
+  static Matrix orientationMatrix(int orientation) {
+    Matrix matrix = new Matrix();
+    switch (orientation) {
+      case ExifInterface.ORIENTATION_FLIP_HORIZONTAL:
+        matrix.setScale(-1, 1);
+        break;
+      case ExifInterface.ORIENTATION_ROTATE_180:
+        matrix.setRotate(180);
+        break;
+      case ExifInterface.ORIENTATION_FLIP_VERTICAL:
+        matrix.setRotate(180);
+        matrix.postScale(-1, 1);
+        break;
+      case ExifInterface.ORIENTATION_TRANSPOSE:
+        matrix.setRotate(90);
+        matrix.postScale(-1, 1);
+        break;
+      case ExifInterface.ORIENTATION_ROTATE_90:
+        matrix.setRotate(90);
+        break;
+      case ExifInterface.ORIENTATION_TRANSVERSE:
+        matrix.setRotate(-90);
+        matrix.postScale(-1, 1);
+        break;
+      case ExifInterface.ORIENTATION_ROTATE_270:
+        matrix.setRotate(-90);
+        break;
+      default:
+        return null;
+    }
+    return matrix;
+  }
+
+  /** Returns whether an image with the given Exif {@code orientation} is displayed sideways. */
+  static boolean isTransposed(int orientation) {
+    return orientation == ExifInterface.ORIENTATION_TRANSPOSE
+        || orientation == ExifInterface.ORIENTATION_ROTATE_90
+        || orientation == ExifInterface.ORIENTATION_TRANSVERSE
+        || orientation == ExifInterface.ORIENTATION_ROTATE_270;
+  }
 
-    } catch (Exception ex) {
-      Log.e("ExifDataCopier", "Error preserving Exif data on selected image: " + ex);
+  /**
+   * Returns a stream that writes a JPEG to {@code outputStream} with the attributes of {@code exif}
+   * other than the orientation, or {@code outputStream} itself if there are none to write.
+   *
+   * <p>The attributes are encoded into an Exif segment by {@link ExifSegment}, without going
+   * through a file.
+   */
+  OutputStream withExifSegment(OutputStream outputStream, @Nullable ExifInterface exif) {
+    if (exif == null) {
+      return outputStream;
+    }
+    Map<String, String> attributes = new LinkedHashMap<>();
+    for (String attribute : ATTRIBUTES) {
+      String value = exif.getAttribute(attribute);
+      if (value != null) {
+        attributes.put(attribute, value);
+      }
     }
+    byte[] segment = ExifSegment.create(attributes);
+    return segment != null ? new SegmentInsertingOutputStream(outputStream, segment) : outputStream;
   }
 
-  private static void setIfNotNull(ExifInterface oldExif, ExifInterface newExif, String property) {
-    if (oldExif.getAttribute(property) != null) {
-      newExif.setAttribute(property, oldExif.getAttribute(property));
+  /** Inserts a segment right after the start of image marker of the JPEG written through it. */
+  @VisibleForTesting
+  static final class SegmentInsertingOutputStream extends FilterOutputStream {
+    private static final int START_OF_IMAGE_LENGTH = 2;
+
+    private final byte[] segment;
+    private int position;
+
+    SegmentInsertingOutputStream(OutputStream outputStream, byte[] segment) {
+      super(outputStream);
+      this.segment = segment;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (position < START_OF_IMAGE_LENGTH) {
+        int headLength = Math.min(len, START_OF_IMAGE_LENGTH - position);
+        out.write(b, off, headLength);
+        position += headLength;
+        off += headLength;
+        len -= headLength;
+        if (position == START_OF_IMAGE_LENGTH) {
+          out.write(segment);
+        }
+      }
+      if (len > 0) {
+        out.write(b, off, len);
+      }
     }
   }
 }
@@ -0,0 +1,275 @@
+// Copyright 2019 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.imagepicker;
+
+import androidx.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes Exif attributes into a JPEG APP1 segment, in the string form returned by {@link
+ * android.media.ExifInterface#getAttribute}.
+ *
+ * <p>The segment holds a big endian TIFF structure with up to three directories: the main one, the
+ * Exif one and the GPS one. Only the attributes copied by {@link ExifDataCopier} are known, the
+ * others are left out.
+ */
+final class ExifSegment {
+  private static final int TYPE_BYTE = 1;
+  private static final int TYPE_ASCII = 2;
+  private static final int TYPE_SHORT = 3;
+  private static final int TYPE_LONG = 4;
+  private static final int TYPE_RATIONAL = 5;
+  private static final int TYPE_UNDEFINED = 7;
+
+  private static final int DIRECTORY_MAIN = 0;
+  private static final int DIRECTORY_EXIF = 1;
+  private static final int DIRECTORY_GPS = 2;
+
+  private static final int TAG_EXIF_POINTER = 0x8769;
+  private static final int TAG_GPS_POINTER = 0x8825;
+  private static final int TAG_GPS_TIME_STAMP = 0x0007;
+
+  private static final int ENTRY_LENGTH = 12;
+  private static final int TIFF_HEADER_LENGTH = 8;
+  private static final int MAX_SEGMENT_LENGTH = 0xFFFF;
+  // ExifInterface reports some rationals as decimal numbers, and encodes them back with this
+  // denominator.
+  private static final int DECIMAL_DENOMINATOR = 10000;
+  private static final byte[] EXIF_IDENTIFIER = {'E', 'x', 'i', 'f', 0, 0};
+  private static final Charset ASCII = Charset.forName("US-ASCII");
+  private static final Charset LATIN_1 = Charset.forName("ISO-8859-1");
+
+  private static final Map<String, Tag> TAGS = new HashMap<>();
+
+  static {
+    addTag("Make", DIRECTORY_MAIN, 0x010F, TYPE_ASCII);
+    addTag("Model", DIRECTORY_MAIN, 0x0110, TYPE_ASCII);
+    addTag("DateTime", DIRECTORY_MAIN, 0x0132, TYPE_ASCII);
+    addTag("ExposureTime", DIRECTORY_EXIF, 0x829A, TYPE_RATIONAL);
+    addTag("FNumber", DIRECTORY_EXIF, 0x829D, TYPE_RATIONAL);
+    addTag("ISOSpeedRatings", DIRECTORY_EXIF, 0x8827, TYPE_SHORT);
+    addTag("Flash", DIRECTORY_EXIF, 0x9209, TYPE_SHORT);
+    addTag("FocalLength", DIRECTORY_EXIF, 0x920A, TYPE_RATIONAL);
+    addTag("WhiteBalance", DIRECTORY_EXIF, 0xA403, TYPE_SHORT);
+    addTag("GPSLatitudeRef", DIRECTORY_GPS, 0x0001, TYPE_ASCII);
+    addTag("GPSLatitude", DIRECTORY_GPS, 0x0002, TYPE_RATIONAL);
+    addTag("GPSLongitudeRef", DIRECTORY_GPS, 0x0003, TYPE_ASCII);
+    addTag("GPSLongitude", DIRECTORY_GPS, 0x0004, TYPE_RATIONAL);
+    addTag("GPSAltitudeRef", DIRECTORY_GPS, 0x0005, TYPE_BYTE);
+    addTag("GPSAltitude", DIRECTORY_GPS, 0x0006, TYPE_RATIONAL);
+    addTag("GPSTimeStamp", DIRECTORY_GPS, TAG_GPS_TIME_STAMP, TYPE_RATIONAL);
+    addTag("GPSProcessingMethod", DIRECTORY_GPS, 0x001B, TYPE_UNDEFINED);
+    addTag("GPSDateStamp", DIRECTORY_GPS, 0x001D, TYPE_ASCII);
+  }
+
+  private static final Comparator<Entry> BY_TAG =
+      new Comparator<Entry>() {
+        @Override
+        public int compare(Entry a, Entry b) {
+          return a.tag - b.tag;
+        }
+      };
+
+  private ExifSegment() {}
+
+  /**
+   * Returns the APP1 segment holding {@code attributes}, marker included, or null if none of them
+   * can be encoded.
+   */
+  @Nullable
+  static byte[] create(Map<String, String> attributes) {
+    List<List<Entry>> directories = new ArrayList<>();
+    for (int i = DIRECTORY_MAIN; i <= DIRECTORY_GPS; i++) {
+      directories.add(new ArrayList<Entry>());
+    }
+    for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+      Tag tag = TAGS.get(attribute.getKey());
+      Entry entry = tag != null ? encode(tag, attribute.getValue()) : null;
+      if (entry != null) {
+        directories.get(tag.directory).add(entry);
+      }
+    }
+    List<Entry> main = directories.get(DIRECTORY_MAIN);
+    List<Entry> exif = directories.get(DIRECTORY_EXIF);
+    List<Entry> gps = directories.get(DIRECTORY_GPS);
+    if (main.isEmpty() && exif.isEmpty() && gps.isEmpty()) {
+      return null;
+    }
+
+    // The sizes of the directories don't depend on the pointers, so the offsets can be set first.
+    Entry exifPointer = null;
+    Entry gpsPointer = null;
+    if (!exif.isEmpty()) {
+      exifPointer = new Entry(TAG_EXIF_POINTER, TYPE_LONG, 1, new byte[4]);
+      main.add(exifPointer);
+    }
+    if (!gps.isEmpty()) {
+      gpsPointer = new Entry(TAG_GPS_POINTER, TYPE_LONG, 1, new byte[4]);
+      main.add(gpsPointer);
+    }
+    int exifOffset = TIFF_HEADER_LENGTH + lengthOf(main);
+    int gpsOffset = exifOffset + lengthOf(exif);
+    int tiffLength = gpsOffset + lengthOf(gps);
+    if (exifPointer != null) {
+      ByteBuffer.wrap(exifPointer.value).putInt(exifOffset);
+    }
+    if (gpsPointer != null) {
+      ByteBuffer.wrap(gpsPointer.value).putInt(gpsOffset);
+    }
+
+    // The length of a segment counts its own two bytes, but not the marker.
+    int segmentLength = 2 + EXIF_IDENTIFIER.length + tiffLength;
+    if (segmentLength > MAX_SEGMENT_LENGTH) {
+      return null;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(2 + segmentLength);
+    buffer.put((byte) 0xFF).put((byte) 0xE1).putShort((short) segmentLength).put(EXIF_IDENTIFIER);
+    int tiffStart = buffer.position();
+    buffer.put((byte) 'M').put((byte) 'M').putShort((short) 42).putInt(TIFF_HEADER_LENGTH);
+    for (List<Entry> directory : directories) {
+      writeDirectory(buffer, tiffStart, directory);
+    }
+    return buffer.array();
+  }
+
+  @Nullable
+  private static Entry encode(Tag tag, @Nullable String value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      switch (tag.type) {
+        case TYPE_ASCII:
+          byte[] chars = (value + '\0').getBytes(ASCII);
+          return new Entry(tag.id, TYPE_ASCII, chars.length, chars);
+        case TYPE_UNDEFINED:
+          byte[] bytes = value.getBytes(LATIN_1);
+          return new Entry(tag.id, TYPE_UNDEFINED, bytes.length, bytes);
+        case TYPE_BYTE:
+          String[] byteValues = value.split(",");
+          ByteBuffer byteBuffer = ByteBuffer.allocate(byteValues.length);
+          for (String byteValue : byteValues) {
+            byteBuffer.put((byte) Integer.parseInt(byteValue.trim()));
+          }
+          return new Entry(tag.id, TYPE_BYTE, byteValues.length, byteBuffer.array());
+        case TYPE_SHORT:
+          String[] shortValues = value.split(",");
+          ByteBuffer shortBuffer = ByteBuffer.allocate(shortValues.length * 2);
+          for (String shortValue : shortValues) {
+            shortBuffer.putShort((short) Integer.parseInt(shortValue.trim()));
+          }
+          return new Entry(tag.id, TYPE_SHORT, shortValues.length, shortBuffer.array());
+        case TYPE_RATIONAL:
+          // ExifInterface reports the GPS time stamp as hh:mm:ss.
+          String[] rationals = value.split(tag.id == TAG_GPS_TIME_STAMP ? ":" : ",");
+          ByteBuffer rationalBuffer = ByteBuffer.allocate(rationals.length * 8);
+          for (String rational : rationals) {
+            putRational(rationalBuffer, rational.trim());
+          }
+          return new Entry(tag.id, TYPE_RATIONAL, rationals.length, rationalBuffer.array());
+        default:
+          return null;
+      }
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static void putRational(ByteBuffer buffer, String rational) {
+    int slash = rational.indexOf('/');
+    if (slash >= 0) {
+      buffer.putInt((int) Long.parseLong(rational.substring(0, slash).trim()));
+      buffer.putInt((int) Long.parseLong(rational.substring(slash + 1).trim()));
+      return;
+    }
+    double number = Double.parseDouble(rational);
+    if (number == Math.rint(number)) {
+      buffer.putInt((int) number).putInt(1);
+    } else {
+      buffer.putInt((int) Math.round(number * DECIMAL_DENOMINATOR)).putInt(DECIMAL_DENOMINATOR);
+    }
+  }
+
+  /** Returns the length of a directory and of the values that don't fit in its entries. */
+  private static int lengthOf(List<Entry> directory) {
+    if (directory.isEmpty()) {
+      return 0;
+    }
+    int length = 2 + directory.size() * ENTRY_LENGTH + 4;
+    for (Entry entry : directory) {
+      if (entry.value.length > 4) {
+        length += paddedLength(entry.value);
+      }
+    }
+    return length;
+  }
+
+  private static void writeDirectory(ByteBuffer buffer, int tiffStart, List<Entry> directory) {
+    if (directory.isEmpty()) {
+      return;
+    }
+    Collections.sort(directory, BY_TAG);
+    int valueOffset = buffer.position() - tiffStart + 2 + directory.size() * ENTRY_LENGTH + 4;
+    buffer.putShort((short) directory.size());
+    for (Entry entry : directory) {
+      buffer.putShort((short) entry.tag).putShort((short) entry.type).putInt(entry.count);
+      if (entry.value.length > 4) {
+        buffer.putInt(valueOffset);
+        valueOffset += paddedLength(entry.value);
+      } else {
+        buffer.put(entry.value).put(new byte[4 - entry.value.length]);
+      }
+    }
+    // There is no next directory.
+    buffer.putInt(0);
+    for (Entry entry : directory) {
+      if (entry.value.length > 4) {
+        buffer.put(entry.value).put(new byte[paddedLength(entry.value) - entry.value.length]);
+      }
+    }
+  }
+
+  // Values start on an even offset.
+  private static int paddedLength(byte[] value) {
+    return value.length + (value.length & 1);
+  }
+
+  private static void addTag(String attribute, int directory, int id, int type) {
+    TAGS.put(attribute, new Tag(directory, id, type));
+  }
+
+  private static final class Tag {
+    final int directory;
+    final int id;
+    final int type;
+
+    Tag(int directory, int id, int type) {
+      this.directory = directory;
+      this.id = id;
+      this.type = type;
+    }
+  }
+
+  private static final class Entry {
+    final int tag;
+    final int type;
+    final int count;
+    final byte[] value;
+
+    Entry(int tag, int type, int count, byte[] value) {
+      this.tag = tag;
+      this.type = type;
+      this.count = count;
+      this.value = value;
+    }
+  }
+}
@@ -23,20 +23,49 @@
 
 package io.flutter.plugins.imagepicker;
 
+import android.content.ContentResolver;
 import android.content.Context;
+import android.database.Cursor;
 import android.net.Uri;
+import android.os.SystemClock;
+import android.provider.DocumentsContract;
+import android.provider.MediaStore;
+import android.provider.OpenableColumns;
+import androidx.annotation.Nullable;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * Gives a file path to the picked content.
+ *
+ * <p>A file that can already be read is used in place. Otherwise the content is copied to the cache
+ * directory, through the file channels when the content provider hands out a file, so that large
+ * videos are copied by the kernel rather than through a small buffer. The bytes copied and the
+ * time spent copying them are added up, see {@link #getCopyMetrics}.
+ */
 class FileUtils {
+  private static final int BUFFER_SIZE = 256 * 1024;
+
+  private long copiedByteCount;
+  private long copyDurationMs;
 
   String getPathFromUri(final Context context, final Uri uri) {
+    if (ContentResolver.SCHEME_FILE.equals(uri.getScheme())) {
+      String path = uri.getPath();
+      if (path != null && new File(path).canRead()) {
+        return path;
+      }
+    }
+
     File file = null;
     InputStream inputStream = null;
-    OutputStream outputStream = null;
+    FileOutputStream outputStream = null;
     boolean success = false;
     try {
       String extension = getImageExtension(uri);
@@ -45,7 +74,9 @@ class FileUtils {
       file.deleteOnExit();
       outputStream = new FileOutputStream(file);
       if (inputStream != null) {
-        copy(inputStream, outputStream);
+        long startTime = SystemClock.elapsedRealtime();
+        long byteCount = copy(inputStream, outputStream);
+        recordCopy(byteCount, SystemClock.elapsedRealtime() - startTime);
         success = true;
       }
     } catch (IOException ignored) {
@@ -66,6 +97,68 @@ class FileUtils {
     return success ? file.getPath() : null;
   }
 
+  /**
+   * Returns the number of bytes copied to the cache directory so far, as {@code copiedByteCount},
+   * and the time spent copying them in milliseconds, as {@code copyDurationMs}.
+   */
+  synchronized Map<String, Object> getCopyMetrics() {
+    Map<String, Object> metrics = new HashMap<>();
+    metrics.put("copiedByteCount", copiedByteCount);
+    metrics.put("copyDurationMs", copyDurationMs);
+    return metrics;
+  }
+
+  private synchronized void recordCopy(long byteCount, long durationMs) {
+    copiedByteCount += byteCount;
+    copyDurationMs += durationMs;
+  }
+
+  /**
+   * Returns a key that changes when the content of {@code uri} changes, made of the uri, its
+   * modification time and its size, or null if the modification time isn't known.
+   */
+  @Nullable
+  String getSourceKey(final Context context, final Uri uri) {
+    if (ContentResolver.SCHEME_FILE.equals(uri.getScheme())) {
+      String path = uri.getPath();
+      if (path == null) {
+        return null;
+      }
+      File file = new File(path);
+      long lastModified = file.lastModified();
+      return lastModified != 0 ? uri + "|" + lastModified + "|" + file.length() : null;
+    }
+    Cursor cursor = null;
+    try {
+      cursor = context.getContentResolver().query(uri, null, null, null, null);
+      if (cursor == null || !cursor.moveToFirst()) {
+        return null;
+      }
+      // Media store items and documents name their modification time differently.
+      String lastModified = getString(cursor, MediaStore.MediaColumns.DATE_MODIFIED);
+      if (lastModified == null) {
+        lastModified = getString(cursor, DocumentsContract.Document.COLUMN_LAST_MODIFIED);
+      }
+      if (lastModified == null) {
+        return null;
+      }
+      return uri + "|" + lastModified + "|" + getString(cursor, OpenableColumns.SIZE);
+    } catch (RuntimeException e) {
+      // The provider may not support queries, or not let us make them.
+      return null;
+    } finally {
+      if (cursor != null) {
+        cursor.close();
+      }
+    }
+  }
+
+  @Nullable
+  private static String getString(Cursor cursor, String columnName) {
+    int columnIndex = cursor.getColumnIndex(columnName);
+    return columnIndex >= 0 ? cursor.getString(columnIndex) : null;
+  }
+
   /** @return extension of image with dot, or default .jpg if it none. */
   private static String getImageExtension(Uri uriImage) {
     String extension = null;
@@ -87,12 +180,51 @@ class FileUtils {
     return "." + extension;
   }
 
-  private static void copy(InputStream in, OutputStream out) throws IOException {
-    final byte[] buffer = new byte[4 * 1024];
+  /** Copies {@code in} to {@code out}, and returns the number of bytes copied. */
+  private static long copy(InputStream in, FileOutputStream out) throws IOException {
+    if (in instanceof FileInputStream) {
+      long byteCount = transfer(((FileInputStream) in).getChannel(), out.getChannel());
+      if (byteCount >= 0) {
+        return byteCount;
+      }
+    }
+    final byte[] buffer = new byte[BUFFER_SIZE];
+    long byteCount = 0;
     int bytesRead;
     while ((bytesRead = in.read(buffer)) != -1) {
       out.write(buffer, 0, bytesRead);
+      byteCount += bytesRead;
     }
     out.flush();
+    return byteCount;
+  }
+
+  /**
+   * Transfers a regular file with {@link FileChannel#transferTo}, and returns the number of bytes
+   * transferred, or -1 if {@code source} isn't a regular file, such as the pipe of a content
+   * provider that streams its content.
+   */
+  private static long transfer(FileChannel source, FileChannel destination) throws IOException {
+    long size;
+    long position;
+    try {
+      size = source.size();
+      position = source.position();
+    } catch (IOException e) {
+      return -1;
+    }
+    if (size <= 0) {
+      return -1;
+    }
+    long byteCount = 0;
+    while (position < size) {
+      long transferred = source.transferTo(position, size - position, destination);
+      if (transferred <= 0) {
+        throw new IOException("The file was only partly copied.");
+      }
+      position += transferred;
+      byteCount += transferred;
+    }
+    return byteCount;
   }
 }
@@ -6,6 +6,7 @@ package io.flutter.plugins.imagepicker;
 
 import android.Manifest;
 import android.app.Activity;
+import android.content.ClipData;
 import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.content.pm.ResolveInfo;
@@ -14,17 +15,27 @@ import android.media.MediaScannerConnection;
 import android.net.Uri;
 import android.os.Build;
 import android.provider.MediaStore;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.FileProvider;
+import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.PluginRegistry;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 enum CameraDevice {
   REAR,
@@ -70,6 +81,13 @@ enum CameraDevice {
  * Finish with full path for the scaled image as the result.
  *
  * <p>C) User cancels picking an image. Finish with null result.
+ *
+ * <p>Copying the picked file and resizing it are done on a background thread. The results are
+ * delivered through {@link #pendingResult}, which posts them back to the main thread.
+ *
+ * <p>The images picked with {@link #chooseMultiImageFromGallery} are processed in parallel on a
+ * pool with a thread per core, and streamed back in the order they were picked as soon as they and
+ * the ones before them are ready.
  */
 public class ImagePickerDelegate
     implements PluginRegistry.ActivityResultListener,
@@ -78,6 +96,8 @@ public class ImagePickerDelegate
   @VisibleForTesting static final int REQUEST_CODE_TAKE_IMAGE_WITH_CAMERA = 2343;
   @VisibleForTesting static final int REQUEST_EXTERNAL_IMAGE_STORAGE_PERMISSION = 2344;
   @VisibleForTesting static final int REQUEST_CAMERA_IMAGE_PERMISSION = 2345;
+  @VisibleForTesting static final int REQUEST_CODE_CHOOSE_MULTI_IMAGE_FROM_GALLERY = 2346;
+  @VisibleForTesting static final int REQUEST_EXTERNAL_MULTI_IMAGE_STORAGE_PERMISSION = 2347;
   @VisibleForTesting static final int REQUEST_CODE_CHOOSE_VIDEO_FROM_GALLERY = 2352;
   @VisibleForTesting static final int REQUEST_CODE_TAKE_VIDEO_WITH_CAMERA = 2353;
   @VisibleForTesting static final int REQUEST_EXTERNAL_VIDEO_STORAGE_PERMISSION = 2354;
@@ -88,11 +108,16 @@ public class ImagePickerDelegate
   private final Activity activity;
   private final File externalFilesDirectory;
   private final ImageResizer imageResizer;
+  private final VideoTranscoder videoTranscoder;
   private final ImagePickerCache cache;
   private final PermissionManager permissionManager;
   private final IntentResolver intentResolver;
   private final FileUriResolver fileUriResolver;
   private final FileUtils fileUtils;
+  private final Executor backgroundExecutor;
+  private final Executor imageProcessingExecutor;
+  private volatile boolean isCancelled;
+  private volatile VideoTranscoder.ProgressListener videoTranscodingProgressListener;
   private CameraDevice cameraDevice;
 
   interface PermissionManager {
@@ -119,7 +144,8 @@ public class ImagePickerDelegate
 
   private Uri pendingCameraMediaUri;
   private MethodChannel.Result pendingResult;
-  private MethodCall methodCall;
+  private volatile MethodCall methodCall;
+  private MultiImageRequest pendingMultiImageRequest;
 
   public ImagePickerDelegate(
       final Activity activity,
@@ -130,6 +156,7 @@ public class ImagePickerDelegate
         activity,
         externalFilesDirectory,
         imageResizer,
+        new VideoTranscoder(externalFilesDirectory),
         null,
         null,
         cache,
@@ -176,7 +203,22 @@ public class ImagePickerDelegate
                 });
           }
         },
-        new FileUtils());
+        new FileUtils(),
+        Executors.newSingleThreadExecutor(),
+        createImageProcessingExecutor());
+  }
+
+  private static ThreadPoolExecutor createImageProcessingExecutor() {
+    int threadCount = Runtime.getRuntime().availableProcessors();
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threadCount,
+            threadCount,
+            30,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<Runnable>());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
   }
 
   /**
@@ -188,16 +230,20 @@ public class ImagePickerDelegate
       final Activity activity,
       final File externalFilesDirectory,
       final ImageResizer imageResizer,
+      final VideoTranscoder videoTranscoder,
       final MethodChannel.Result result,
       final MethodCall methodCall,
       final ImagePickerCache cache,
       final PermissionManager permissionManager,
       final IntentResolver intentResolver,
       final FileUriResolver fileUriResolver,
-      final FileUtils fileUtils) {
+      final FileUtils fileUtils,
+      final Executor backgroundExecutor,
+      final Executor imageProcessingExecutor) {
     this.activity = activity;
     this.externalFilesDirectory = externalFilesDirectory;
     this.imageResizer = imageResizer;
+    this.videoTranscoder = videoTranscoder;
     this.fileProviderName = activity.getPackageName() + ".flutter.image_provider";
     this.pendingResult = result;
     this.methodCall = methodCall;
@@ -205,9 +251,73 @@ public class ImagePickerDelegate
     this.intentResolver = intentResolver;
     this.fileUriResolver = fileUriResolver;
     this.fileUtils = fileUtils;
+    this.backgroundExecutor = backgroundExecutor;
+    this.imageProcessingExecutor = imageProcessingExecutor;
     this.cache = cache;
   }
 
+  /**
+   * Lets the images being processed finish and be delivered, then stops the background thread.
+   *
+   * <p>Used when the activity is only recreated, so that the results still reach the Dart side.
+   */
+  void finishBackgroundWork() {
+    shutdown(backgroundExecutor, false);
+    shutdown(imageProcessingExecutor, false);
+  }
+
+  /** Stops the background thread, dropping the results of the images being processed. */
+  void cancelBackgroundWork() {
+    isCancelled = true;
+    cancelMultiImage();
+    shutdown(backgroundExecutor, true);
+    shutdown(imageProcessingExecutor, true);
+  }
+
+  private static void shutdown(Executor executor, boolean now) {
+    if (!(executor instanceof ExecutorService)) {
+      return;
+    }
+    if (now) {
+      ((ExecutorService) executor).shutdownNow();
+    } else {
+      ((ExecutorService) executor).shutdown();
+    }
+  }
+
+  /** Work run on the background thread for the pending pick. */
+  private interface BackgroundTask {
+    void run() throws IOException;
+  }
+
+  /** Runs {@code task} on the background thread, finishing the pick with an error if it fails. */
+  private void runInBackground(final BackgroundTask task) {
+    runOn(
+        backgroundExecutor,
+        new Runnable() {
+          @Override
+          public void run() {
+            try {
+              task.run();
+            } catch (IOException | RuntimeException | OutOfMemoryError e) {
+              finishWithError("processing_failed", processingErrorMessage(e));
+            }
+          }
+        });
+  }
+
+  private static String processingErrorMessage(Throwable error) {
+    return "Could not process the picked file: " + error;
+  }
+
+  private static void runOn(Executor executor, Runnable task) {
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      // The delegate has been torn down, there is no one left to deliver the result to.
+    }
+  }
+
   void setCameraDevice(CameraDevice device) {
     cameraDevice = device;
   }
@@ -229,7 +339,28 @@ public class ImagePickerDelegate
     }
   }
 
-  void retrieveLostImage(MethodChannel.Result result) {
+  /** Returns the metrics of the copies made to give a path to the picked files. */
+  Map<String, Object> getCopyMetrics() {
+    return fileUtils.getCopyMetrics();
+  }
+
+  void retrieveLostImage(final MethodChannel.Result result) {
+    runOn(
+        backgroundExecutor,
+        new Runnable() {
+          @Override
+          public void run() {
+            try {
+              retrieveLostImageInBackground(result);
+            } catch (IOException | RuntimeException | OutOfMemoryError e) {
+              cache.clear();
+              result.error("processing_failed", processingErrorMessage(e), null);
+            }
+          }
+        });
+  }
+
+  private void retrieveLostImageInBackground(MethodChannel.Result result) throws IOException {
     Map<String, Object> resultMap = cache.getCacheMap();
     String path = (String) resultMap.get(cache.MAP_KEY_PATH);
     if (path != null) {
@@ -240,7 +371,8 @@ public class ImagePickerDelegate
               ? 100
               : (int) resultMap.get(cache.MAP_KEY_IMAGE_QUALITY);
 
-      String newPath = imageResizer.resizeImageIfNeeded(path, maxWidth, maxHeight, imageQuality);
+      String newPath =
+          imageResizer.resizeImageIfNeeded(path, maxWidth, maxHeight, imageQuality, null);
       resultMap.put(cache.MAP_KEY_PATH, newPath);
     }
     if (resultMap.isEmpty()) {
@@ -251,6 +383,12 @@ public class ImagePickerDelegate
     cache.clear();
   }
 
+  /** Sets the listener of the progress of the videos being transcoded, or null to remove it. */
+  void setVideoTranscodingProgressListener(
+      @Nullable VideoTranscoder.ProgressListener progressListener) {
+    videoTranscodingProgressListener = progressListener;
+  }
+
   public void chooseVideoFromGallery(MethodCall methodCall, MethodChannel.Result result) {
     if (!setPendingMethodCallAndResult(methodCall, result)) {
       finishWithAlreadyActiveError(result);
@@ -338,6 +476,53 @@ public class ImagePickerDelegate
     activity.startActivityForResult(pickImageIntent, REQUEST_CODE_CHOOSE_IMAGE_FROM_GALLERY);
   }
 
+  /**
+   * Lets the user pick several images from the gallery, and sends their paths to {@code events}
+   * as they are processed, followed by the end of the stream.
+   *
+   * <p>{@code events} must deliver the events on the main thread. The results are not saved for
+   * {@link #retrieveLostImage} if the activity is destroyed.
+   */
+  public void chooseMultiImageFromGallery(MethodCall methodCall, EventChannel.EventSink events) {
+    if (!setPendingMultiImageRequest(new MultiImageRequest(methodCall, events))) {
+      events.error("already_active", "Image picker is already active", null);
+      events.endOfStream();
+      return;
+    }
+
+    if (!permissionManager.isPermissionGranted(Manifest.permission.READ_EXTERNAL_STORAGE)) {
+      permissionManager.askForPermission(
+          Manifest.permission.READ_EXTERNAL_STORAGE,
+          REQUEST_EXTERNAL_MULTI_IMAGE_STORAGE_PERMISSION);
+      return;
+    }
+
+    launchPickMultiImageFromGalleryIntent();
+  }
+
+  private void launchPickMultiImageFromGalleryIntent() {
+    Intent pickImageIntent = new Intent(Intent.ACTION_GET_CONTENT);
+    pickImageIntent.setType("image/*");
+    // Ignored before API 18, where a single image is picked.
+    pickImageIntent.putExtra(Intent.EXTRA_ALLOW_MULTIPLE, true);
+
+    activity.startActivityForResult(
+        pickImageIntent, REQUEST_CODE_CHOOSE_MULTI_IMAGE_FROM_GALLERY);
+  }
+
+  /** Stops streaming the images being picked, for instance when the Dart side stops listening. */
+  void cancelMultiImage() {
+    MultiImageRequest request;
+    synchronized (this) {
+      request = pendingMultiImageRequest;
+      pendingMultiImageRequest = null;
+    }
+    // Cancelled outside of the delegate's lock, which the request takes when it finishes.
+    if (request != null) {
+      request.cancel();
+    }
+  }
+
   public void takeImageWithCamera(MethodCall methodCall, MethodChannel.Result result) {
     if (!setPendingMethodCallAndResult(methodCall, result)) {
       finishWithAlreadyActiveError(result);
@@ -434,6 +619,11 @@ public class ImagePickerDelegate
           launchPickVideoFromGalleryIntent();
         }
         break;
+      case REQUEST_EXTERNAL_MULTI_IMAGE_STORAGE_PERMISSION:
+        if (permissionGranted) {
+          launchPickMultiImageFromGalleryIntent();
+        }
+        break;
       case REQUEST_CAMERA_IMAGE_PERMISSION:
         if (permissionGranted) {
           launchTakeImageWithCameraIntent();
@@ -454,6 +644,9 @@ public class ImagePickerDelegate
         case REQUEST_EXTERNAL_VIDEO_STORAGE_PERMISSION:
           finishWithError("photo_access_denied", "The user did not allow photo access.");
           break;
+        case REQUEST_EXTERNAL_MULTI_IMAGE_STORAGE_PERMISSION:
+          finishMultiImageWithError("photo_access_denied", "The user did not allow photo access.");
+          break;
         case REQUEST_CAMERA_IMAGE_PERMISSION:
         case REQUEST_CAMERA_VIDEO_PERMISSION:
           finishWithError("camera_access_denied", "The user did not allow camera access.");
@@ -479,6 +672,9 @@ public class ImagePickerDelegate
       case REQUEST_CODE_TAKE_VIDEO_WITH_CAMERA:
         handleCaptureVideoResult(resultCode);
         break;
+      case REQUEST_CODE_CHOOSE_MULTI_IMAGE_FROM_GALLERY:
+        handleChooseMultiImageResult(resultCode, data);
+        break;
       default:
         return false;
     }
@@ -488,8 +684,14 @@ public class ImagePickerDelegate
 
   private void handleChooseImageResult(int resultCode, Intent data) {
     if (resultCode == Activity.RESULT_OK && data != null) {
-      String path = fileUtils.getPathFromUri(activity, data.getData());
-      handleImageResult(path, false);
+      final Uri uri = data.getData();
+      runInBackground(
+          new BackgroundTask() {
+            @Override
+            public void run() throws IOException {
+              finishWithSuccess(processPickedImage(uri, methodCall));
+            }
+          });
       return;
     }
 
@@ -497,10 +699,40 @@ public class ImagePickerDelegate
     finishWithSuccess(null);
   }
 
+  private void handleChooseMultiImageResult(int resultCode, Intent data) {
+    MultiImageRequest request;
+    synchronized (this) {
+      request = pendingMultiImageRequest;
+    }
+    if (request == null) {
+      return;
+    }
+    List<Uri> uris = new ArrayList<>();
+    if (resultCode == Activity.RESULT_OK && data != null) {
+      ClipData clipData = data.getClipData();
+      if (clipData != null) {
+        for (int i = 0; i < clipData.getItemCount(); i++) {
+          uris.add(clipData.getItemAt(i).getUri());
+        }
+      } else if (data.getData() != null) {
+        uris.add(data.getData());
+      }
+    }
+    // An empty list, when the user cancelled, just ends the stream.
+    request.process(uris);
+  }
+
   private void handleChooseVideoResult(int resultCode, Intent data) {
     if (resultCode == Activity.RESULT_OK && data != null) {
-      String path = fileUtils.getPathFromUri(activity, data.getData());
-      handleVideoResult(path);
+      final Uri uri = data.getData();
+      runInBackground(
+          new BackgroundTask() {
+            @Override
+            public void run() {
+              String path = fileUtils.getPathFromUri(activity, uri);
+              handleVideoResult(path, false);
+            }
+          });
       return;
     }
 
@@ -516,8 +748,14 @@ public class ImagePickerDelegate
               : Uri.parse(cache.retrievePendingCameraMediaUriPath()),
           new OnPathReadyListener() {
             @Override
-            public void onPathReady(String path) {
-              handleImageResult(path, true);
+            public void onPathReady(final String path) {
+              runInBackground(
+                  new BackgroundTask() {
+                    @Override
+                    public void run() throws IOException {
+                      handleImageResult(path, true);
+                    }
+                  });
             }
           });
       return;
@@ -535,8 +773,14 @@ public class ImagePickerDelegate
               : Uri.parse(cache.retrievePendingCameraMediaUriPath()),
           new OnPathReadyListener() {
             @Override
-            public void onPathReady(String path) {
-              handleVideoResult(path);
+            public void onPathReady(final String path) {
+              runInBackground(
+                  new BackgroundTask() {
+                    @Override
+                    public void run() {
+                      handleVideoResult(path, true);
+                    }
+                  });
             }
           });
       return;
@@ -546,14 +790,17 @@ public class ImagePickerDelegate
     finishWithSuccess(null);
   }
 
-  private void handleImageResult(String path, boolean shouldDeleteOriginalIfScaled) {
+  // Called on the background thread.
+  private void handleImageResult(String path, boolean shouldDeleteOriginalIfScaled)
+      throws IOException {
+    MethodCall methodCall = this.methodCall;
     if (methodCall != null) {
       Double maxWidth = methodCall.argument("maxWidth");
       Double maxHeight = methodCall.argument("maxHeight");
       Integer imageQuality = methodCall.argument("imageQuality");
 
       String finalImagePath =
-          imageResizer.resizeImageIfNeeded(path, maxWidth, maxHeight, imageQuality);
+          imageResizer.resizeImageIfNeeded(path, maxWidth, maxHeight, imageQuality, null);
 
       finishWithSuccess(finalImagePath);
 
@@ -566,13 +813,74 @@ public class ImagePickerDelegate
     }
   }
 
-  private void handleVideoResult(String path) {
-    finishWithSuccess(path);
+  /**
+   * Copies the image picked from the gallery and resizes it as requested by {@code methodCall}.
+   * The image scaled when it was last picked with the same arguments is reused if it didn't change.
+   * Called on the background threads.
+   */
+  private String processPickedImage(Uri uri, @Nullable MethodCall methodCall)
+      throws IOException {
+    Double maxWidth = null;
+    Double maxHeight = null;
+    Integer imageQuality = null;
+    if (methodCall != null) {
+      maxWidth = methodCall.argument("maxWidth");
+      maxHeight = methodCall.argument("maxHeight");
+      imageQuality = methodCall.argument("imageQuality");
+    }
+    String sourceKey = fileUtils.getSourceKey(activity, uri);
+    String cachedPath =
+        imageResizer.getCachedImagePath(sourceKey, maxWidth, maxHeight, imageQuality);
+    if (cachedPath != null) {
+      return cachedPath;
+    }
+    String path = fileUtils.getPathFromUri(activity, uri);
+    if (path == null) {
+      return null;
+    }
+    return imageResizer.resizeImageIfNeeded(path, maxWidth, maxHeight, imageQuality, sourceKey);
+  }
+
+  // Called on the background thread.
+  private void handleVideoResult(String path, boolean shouldDeleteOriginalIfTranscoded) {
+    MethodCall methodCall = this.methodCall;
+    if (methodCall == null) {
+      finishWithSuccess(path);
+      return;
+    }
+    Integer maxWidth = methodCall.argument("maxVideoWidth");
+    Integer maxHeight = methodCall.argument("maxVideoHeight");
+    Integer bitrate = methodCall.argument("videoBitrate");
+    if (maxWidth == null && maxHeight == null && bitrate == null) {
+      finishWithSuccess(path);
+      return;
+    }
+
+    String finalVideoPath;
+    try {
+      finalVideoPath =
+          videoTranscoder.transcodeIfNeeded(
+              path, maxWidth, maxHeight, bitrate, videoTranscodingProgressListener);
+    } catch (InterruptedException e) {
+      // Nothing is delivered if the delegate was torn down, see finishWithError.
+      Thread.currentThread().interrupt();
+      finishWithError("processing_failed", "The video transcoding was interrupted.");
+      return;
+    }
+
+    finishWithSuccess(finalVideoPath);
+
+    if (finalVideoPath != null && !finalVideoPath.equals(path)) {
+      if (shouldDeleteOriginalIfTranscoded) {
+        new File(path).delete();
+      }
+      imageResizer.trimScaledImages();
+    }
   }
 
-  private boolean setPendingMethodCallAndResult(
+  private synchronized boolean setPendingMethodCallAndResult(
       MethodCall methodCall, MethodChannel.Result result) {
-    if (pendingResult != null) {
+    if (pendingResult != null || pendingMultiImageRequest != null) {
       return false;
     }
 
@@ -585,7 +893,10 @@ public class ImagePickerDelegate
     return true;
   }
 
-  private void finishWithSuccess(String imagePath) {
+  private synchronized void finishWithSuccess(String imagePath) {
+    if (isCancelled) {
+      return;
+    }
     if (pendingResult == null) {
       cache.saveResult(imagePath, null, null);
       return;
@@ -594,11 +905,38 @@ public class ImagePickerDelegate
     clearMethodCallAndResult();
   }
 
+  private synchronized boolean setPendingMultiImageRequest(MultiImageRequest request) {
+    if (pendingResult != null || pendingMultiImageRequest != null) {
+      return false;
+    }
+    pendingMultiImageRequest = request;
+    cache.clear();
+    return true;
+  }
+
+  private synchronized void finishMultiImageWithError(String errorCode, String errorMessage) {
+    if (pendingMultiImageRequest == null) {
+      return;
+    }
+    pendingMultiImageRequest.events.error(errorCode, errorMessage, null);
+    pendingMultiImageRequest.events.endOfStream();
+    pendingMultiImageRequest = null;
+  }
+
+  private synchronized void clearMultiImageRequest(MultiImageRequest request) {
+    if (pendingMultiImageRequest == request) {
+      pendingMultiImageRequest = null;
+    }
+  }
+
   private void finishWithAlreadyActiveError(MethodChannel.Result result) {
     result.error("already_active", "Image picker is already active", null);
   }
 
-  private void finishWithError(String errorCode, String errorMessage) {
+  private synchronized void finishWithError(String errorCode, String errorMessage) {
+    if (isCancelled) {
+      return;
+    }
     if (pendingResult == null) {
       cache.saveResult(null, errorCode, errorMessage);
       return;
@@ -612,6 +950,100 @@ public class ImagePickerDelegate
     pendingResult = null;
   }
 
+  /**
+   * A multi-image pick, whose images are copied and resized in parallel and sent to {@link #events}
+   * in the order they were picked.
+   */
+  private final class MultiImageRequest {
+    final MethodCall methodCall;
+    final EventChannel.EventSink events;
+    private String[] paths;
+    private String[] errors;
+    private boolean[] isProcessed;
+    private int nextIndex;
+    private boolean isCancelled;
+
+    MultiImageRequest(MethodCall methodCall, EventChannel.EventSink events) {
+      this.methodCall = methodCall;
+      this.events = events;
+    }
+
+    synchronized void process(List<Uri> uris) {
+      paths = new String[uris.size()];
+      errors = new String[uris.size()];
+      isProcessed = new boolean[uris.size()];
+      if (uris.isEmpty()) {
+        finish();
+        return;
+      }
+      for (int i = 0; i < uris.size(); i++) {
+        final int index = i;
+        final Uri uri = uris.get(i);
+        runOn(
+            imageProcessingExecutor,
+            new Runnable() {
+              @Override
+              public void run() {
+                String path;
+                try {
+                  path = processImage(uri);
+                } catch (IOException | RuntimeException | OutOfMemoryError e) {
+                  // The other images are still sent, and the stream still ends.
+                  onProcessed(index, null, processingErrorMessage(e));
+                  return;
+                }
+                onProcessed(index, path, null);
+              }
+            });
+      }
+    }
+
+    // Called on the image processing threads.
+    private String processImage(Uri uri) throws IOException {
+      if (isCancelled()) {
+        return null;
+      }
+      return processPickedImage(uri, methodCall);
+    }
+
+    private synchronized void onProcessed(
+        int index, @Nullable String path, @Nullable String errorMessage) {
+      if (isCancelled) {
+        return;
+      }
+      paths[index] = path;
+      errors[index] = errorMessage;
+      isProcessed[index] = true;
+      // Sends the images that are ready, up to the first one that is still being processed.
+      while (nextIndex < paths.length && isProcessed[nextIndex]) {
+        if (errors[nextIndex] != null) {
+          events.error("processing_failed", errors[nextIndex], null);
+        } else if (paths[nextIndex] != null) {
+          events.success(paths[nextIndex]);
+        }
+        paths[nextIndex] = null;
+        errors[nextIndex] = null;
+        nextIndex++;
+      }
+      if (nextIndex == paths.length) {
+        finish();
+      }
+    }
+
+    private synchronized boolean isCancelled() {
+      return isCancelled;
+    }
+
+    synchronized void cancel() {
+      isCancelled = true;
+    }
+
+    private void finish() {
+      events.endOfStream();
+      clearMultiImageRequest(this);
+    }
+  }
+
   private void useFrontCamera(Intent intent) {
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP_MR1) {
       intent.putExtra(
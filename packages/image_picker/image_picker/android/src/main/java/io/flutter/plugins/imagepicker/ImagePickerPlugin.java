@@ -20,6 +20,7 @@ import io.flutter.embedding.engine.plugins.activity.ActivityAware;
 import io.flutter.embedding.engine.plugins.activity.ActivityPluginBinding;
 import io.flutter.embedding.engine.plugins.lifecycle.FlutterLifecycleAdapter;
 import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.PluginRegistry;
@@ -94,14 +95,21 @@ public class ImagePickerPlugin
   static final String METHOD_CALL_IMAGE = "pickImage";
   static final String METHOD_CALL_VIDEO = "pickVideo";
   private static final String METHOD_CALL_RETRIEVE = "retrieve";
+  private static final String METHOD_CALL_COPY_METRICS = "getCopyMetrics";
   private static final int CAMERA_DEVICE_FRONT = 1;
   private static final int CAMERA_DEVICE_REAR = 0;
   private static final String CHANNEL = "plugins.flutter.io/image_picker";
+  private static final String MULTI_IMAGE_CHANNEL = "plugins.flutter.io/image_picker/multi_image";
+  private static final String METHOD_CALL_MULTI_IMAGE = "pickMultiImage";
+  private static final String VIDEO_TRANSCODING_CHANNEL =
+      "plugins.flutter.io/image_picker/video_transcoding";
 
   private static final int SOURCE_CAMERA = 0;
   private static final int SOURCE_GALLERY = 1;
 
   private MethodChannel channel;
+  private EventChannel multiImageChannel;
+  private EventChannel videoTranscodingChannel;
   private ImagePickerDelegate delegate;
   private FlutterPluginBinding pluginBinding;
   private ActivityPluginBinding activityBinding;
@@ -163,12 +171,15 @@ public class ImagePickerPlugin
 
   @Override
   public void onDetachedFromActivity() {
+    delegate.cancelBackgroundWork();
     tearDown();
   }
 
   @Override
   public void onDetachedFromActivityForConfigChanges() {
-    onDetachedFromActivity();
+    // The images being processed are still delivered, as the Dart side is waiting for them.
+    delegate.finishBackgroundWork();
+    tearDown();
   }
 
   @Override
@@ -187,6 +198,46 @@ public class ImagePickerPlugin
     this.delegate = constructDelegate(activity);
     channel = new MethodChannel(messenger, CHANNEL);
     channel.setMethodCallHandler(this);
+    // The picked images are streamed back as they are processed, so they are sent through an event
+    // channel that is listened to with the arguments of the pick.
+    multiImageChannel = new EventChannel(messenger, MULTI_IMAGE_CHANNEL);
+    multiImageChannel.setStreamHandler(
+        new EventChannel.StreamHandler() {
+          @Override
+          public void onListen(Object arguments, EventChannel.EventSink events) {
+            delegate.chooseMultiImageFromGallery(
+                new MethodCall(METHOD_CALL_MULTI_IMAGE, arguments), new EventSinkWrapper(events));
+          }
+
+          @Override
+          public void onCancel(Object arguments) {
+            if (delegate != null) {
+              delegate.cancelMultiImage();
+            }
+          }
+        });
+    videoTranscodingChannel = new EventChannel(messenger, VIDEO_TRANSCODING_CHANNEL);
+    videoTranscodingChannel.setStreamHandler(
+        new EventChannel.StreamHandler() {
+          @Override
+          public void onListen(Object arguments, EventChannel.EventSink events) {
+            final EventChannel.EventSink progressEvents = new EventSinkWrapper(events);
+            delegate.setVideoTranscodingProgressListener(
+                new VideoTranscoder.ProgressListener() {
+                  @Override
+                  public void onProgress(double progress) {
+                    progressEvents.success(progress);
+                  }
+                });
+          }
+
+          @Override
+          public void onCancel(Object arguments) {
+            if (delegate != null) {
+              delegate.setVideoTranscodingProgressListener(null);
+            }
+          }
+        });
     observer = new LifeCycleObserver(activity);
     if (registrar != null) {
       // V1 embedding setup for activity listeners.
@@ -211,6 +262,10 @@ public class ImagePickerPlugin
     delegate = null;
     channel.setMethodCallHandler(null);
     channel = null;
+    multiImageChannel.setStreamHandler(null);
+    multiImageChannel = null;
+    videoTranscodingChannel.setStreamHandler(null);
+    videoTranscodingChannel = null;
     application.unregisterActivityLifecycleCallbacks(observer);
     application = null;
   }
@@ -270,6 +325,51 @@ public class ImagePickerPlugin
     }
   }
 
+  // EventChannel.EventSink wrapper that sends the events on the platform thread.
+  private static class EventSinkWrapper implements EventChannel.EventSink {
+    private EventChannel.EventSink events;
+    private Handler handler;
+
+    EventSinkWrapper(EventChannel.EventSink events) {
+      this.events = events;
+      handler = new Handler(Looper.getMainLooper());
+    }
+
+    @Override
+    public void success(final Object event) {
+      handler.post(
+          new Runnable() {
+            @Override
+            public void run() {
+              events.success(event);
+            }
+          });
+    }
+
+    @Override
+    public void error(
+        final String errorCode, final String errorMessage, final Object errorDetails) {
+      handler.post(
+          new Runnable() {
+            @Override
+            public void run() {
+              events.error(errorCode, errorMessage, errorDetails);
+            }
+          });
+    }
+
+    @Override
+    public void endOfStream() {
+      handler.post(
+          new Runnable() {
+            @Override
+            public void run() {
+              events.endOfStream();
+            }
+          });
+    }
+  }
+
   @Override
   public void onMethodCall(MethodCall call, MethodChannel.Result rawResult) {
     if (activity == null) {
@@ -318,6 +418,9 @@ public class ImagePickerPlugin
       case METHOD_CALL_RETRIEVE:
         delegate.retrieveLostImage(result);
         break;
+      case METHOD_CALL_COPY_METRICS:
+        result.success(delegate.getCopyMetrics());
+        break;
       default:
         throw new IllegalArgumentException("Unknown method " + call.method);
     }
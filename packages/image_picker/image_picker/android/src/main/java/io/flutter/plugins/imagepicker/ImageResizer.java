@@ -6,14 +6,42 @@ package io.flutter.plugins.imagepicker;
 
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.media.ExifInterface;
 import android.util.Log;
 import androidx.annotation.Nullable;
-import java.io.ByteArrayOutputStream;
+import androidx.annotation.VisibleForTesting;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileFilter;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 
+/**
+ * Scales the picked images down, into {@code scaled_*} files in the external files directory.
+ *
+ * <p>An image whose source is known is saved under a name derived from its source and the resize
+ * arguments, so that picking it again with the same arguments reuses the scaled image. The scaled
+ * images, along with the videos transcoded by {@link VideoTranscoder}, are deleted, least recently
+ * used first, once they take more than {@link #MAX_SCALED_IMAGES_SIZE} bytes.
+ */
 class ImageResizer {
+  private static final String SCALED_IMAGE_PREFIX = "scaled_";
+  // The images being written, which are not counted as scaled images.
+  private static final String TEMPORARY_IMAGE_PREFIX = "scaling_";
+  private static final String TEMPORARY_IMAGE_SUFFIX = ".tmp";
+  @VisibleForTesting static final long MAX_SCALED_IMAGES_SIZE = 100 * 1024 * 1024;
+  // The images scaled recently may not have been read by the app yet, so they are always kept.
+  @VisibleForTesting static final long MIN_SCALED_IMAGE_AGE_MS = 10 * 60 * 1000;
+
   private final File externalFilesDirectory;
   private final ExifDataCopier exifDataCopier;
 
@@ -26,38 +54,172 @@ class ImageResizer {
    * If necessary, resizes the image located in imagePath and then returns the path for the scaled
    * image.
    *
-   * <p>If no resizing is needed, returns the path for the original image.
+   * <p>If no resizing is needed, returns the path for the original image without decoding it.
+   * Returns null if the image can't be decoded, and throws if the scaled image can't be written.
+   *
+   * <p>{@code sourceKey} identifies the version of the picked image, as returned by {@link
+   * FileUtils#getSourceKey}. The scaled image can then be found with {@link #getCachedImagePath}.
    */
   String resizeImageIfNeeded(
       String imagePath,
       @Nullable Double maxWidth,
       @Nullable Double maxHeight,
-      @Nullable Integer imageQuality) {
-    Bitmap bmp = decodeFile(imagePath);
-    if (bmp == null) {
-      return null;
-    }
+      @Nullable Integer imageQuality,
+      @Nullable String sourceKey)
+      throws IOException {
     boolean shouldScale =
         maxWidth != null || maxHeight != null || isImageQualityValid(imageQuality);
     if (!shouldScale) {
       return imagePath;
     }
+    if (imagePath == null) {
+      return null;
+    }
+    BitmapFactory.Options bounds = decodeBounds(imagePath);
+    if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+      return null;
+    }
+    String[] pathParts = imagePath.split("/");
+    String imageName = pathParts[pathParts.length - 1];
+    if (sourceKey != null) {
+      int extensionIndex = imageName.lastIndexOf('.');
+      String extension = extensionIndex >= 0 ? imageName.substring(extensionIndex) : "";
+      imageName = cacheName(sourceKey, maxWidth, maxHeight, imageQuality) + extension;
+    }
+    ExifInterface exif = exifDataCopier.readExif(imagePath);
+    File file =
+        resizedImage(imagePath, bounds, exif, maxWidth, maxHeight, imageQuality, imageName);
+    if (file == null) {
+      return null;
+    }
+    trimScaledImages();
+    return file.getPath();
+  }
+
+  /**
+   * Returns the path of the image scaled by an earlier call to {@link #resizeImageIfNeeded} with
+   * the same arguments and {@code sourceKey}, or null if there is none.
+   */
+  @Nullable
+  String getCachedImagePath(
+      @Nullable String sourceKey,
+      @Nullable Double maxWidth,
+      @Nullable Double maxHeight,
+      @Nullable Integer imageQuality) {
+    boolean shouldScale =
+        maxWidth != null || maxHeight != null || isImageQualityValid(imageQuality);
+    if (sourceKey == null || !shouldScale || externalFilesDirectory == null) {
+      return null;
+    }
+    final String name =
+        SCALED_IMAGE_PREFIX + cacheName(sourceKey, maxWidth, maxHeight, imageQuality);
+    File[] files =
+        externalFilesDirectory.listFiles(
+            new FileFilter() {
+              @Override
+              public boolean accept(File file) {
+                return file.getName().equals(name) || file.getName().startsWith(name + ".");
+              }
+            });
+    if (files == null || files.length == 0) {
+      return null;
+    }
+    // Marks the image as recently used.
+    files[0].setLastModified(System.currentTimeMillis());
+    return files[0].getPath();
+  }
+
+  private static String cacheName(
+      String sourceKey, Double maxWidth, Double maxHeight, Integer imageQuality) {
+    String key = sourceKey + "|" + maxWidth + "x" + maxHeight + "|" + imageQuality;
     try {
-      String[] pathParts = imagePath.split("/");
-      String imageName = pathParts[pathParts.length - 1];
-      File file = resizedImage(bmp, maxWidth, maxHeight, imageQuality, imageName);
-      copyExif(imagePath, file.getPath());
-      return file.getPath();
-    } catch (IOException e) {
-      throw new RuntimeException(e);
+      MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      StringBuilder name = new StringBuilder();
+      for (byte b : digest.digest(key.getBytes(Charset.forName("UTF-8")))) {
+        name.append(String.format("%02x", b));
+      }
+      return name.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Deletes the least recently used scaled images and transcoded videos until they fit in the size
+   * limit, and the temporary files left behind by the writes that didn't finish.
+   */
+  void trimScaledImages() {
+    if (externalFilesDirectory == null) {
+      return;
+    }
+    File[] files = externalFilesDirectory.listFiles();
+    if (files == null) {
+      return;
+    }
+    long minLastModified = System.currentTimeMillis() - MIN_SCALED_IMAGE_AGE_MS;
+    List<File> scaledImages = new ArrayList<>();
+    long totalSize = 0;
+    for (File file : files) {
+      String name = file.getName();
+      if (!file.isFile()
+          || !(name.startsWith(SCALED_IMAGE_PREFIX)
+              || name.startsWith(TEMPORARY_IMAGE_PREFIX)
+              || name.startsWith(VideoTranscoder.TRANSCODED_VIDEO_PREFIX))) {
+        continue;
+      }
+      if (name.endsWith(TEMPORARY_IMAGE_SUFFIX)) {
+        // A recent temporary file may still be being written.
+        if (file.lastModified() <= minLastModified) {
+          file.delete();
+        }
+      } else {
+        scaledImages.add(file);
+        totalSize += file.length();
+      }
+    }
+    if (totalSize <= MAX_SCALED_IMAGES_SIZE) {
+      return;
+    }
+    Collections.sort(
+        scaledImages,
+        new Comparator<File>() {
+          @Override
+          public int compare(File a, File b) {
+            long lastModifiedA = a.lastModified();
+            long lastModifiedB = b.lastModified();
+            return lastModifiedA < lastModifiedB ? -1 : (lastModifiedA == lastModifiedB ? 0 : 1);
+          }
+        });
+    for (File file : scaledImages) {
+      if (totalSize <= MAX_SCALED_IMAGES_SIZE || file.lastModified() > minLastModified) {
+        break;
+      }
+      long size = file.length();
+      if (file.delete()) {
+        totalSize -= size;
+      }
     }
   }
 
   private File resizedImage(
-      Bitmap bmp, Double maxWidth, Double maxHeight, Integer imageQuality, String outputImageName)
+      String imagePath,
+      BitmapFactory.Options bounds,
+      @Nullable ExifInterface exif,
+      Double maxWidth,
+      Double maxHeight,
+      Integer imageQuality,
+      String outputImageName)
       throws IOException {
-    double originalWidth = bmp.getWidth() * 1.0;
-    double originalHeight = bmp.getHeight() * 1.0;
+    int imageWidth = bounds.outWidth;
+    int imageHeight = bounds.outHeight;
+    // The scaled image is rotated upright, so the maximum size applies to the displayed image.
+    int orientation =
+        exif != null
+            ? exif.getAttributeInt(ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL)
+            : ExifInterface.ORIENTATION_NORMAL;
+    boolean isTransposed = ExifDataCopier.isTransposed(orientation);
+    double originalWidth = (isTransposed ? imageHeight : imageWidth) * 1.0;
+    double originalHeight = (isTransposed ? imageWidth : imageHeight) * 1.0;
 
     if (!isImageQualityValid(imageQuality)) {
       imageQuality = 100;
@@ -98,12 +260,49 @@ class ImageResizer {
       }
     }
 
-    Bitmap scaledBmp = createScaledBitmap(bmp, width.intValue(), height.intValue(), false);
+    int storedWidth = isTransposed ? height.intValue() : width.intValue();
+    int storedHeight = isTransposed ? width.intValue() : height.intValue();
+
+    // Decodes at the smallest power of two subsampling that is still at least as large as the
+    // target size, so that a large photo is never fully decoded in memory just to be scaled down.
+    int inSampleSize = calculateInSampleSize(imageWidth, imageHeight, storedWidth, storedHeight);
+    Bitmap bmp = decodeFile(imagePath, inSampleSize);
+    if (bmp == null) {
+      return null;
+    }
+    Bitmap scaledBmp =
+        createScaledBitmap(
+            bmp, storedWidth, storedHeight, ExifDataCopier.orientationMatrix(orientation), false);
+    if (scaledBmp != bmp) {
+      bmp.recycle();
+    }
     File file =
-        createImageOnExternalDirectory("/scaled_" + outputImageName, scaledBmp, imageQuality);
+        createImageOnExternalDirectory(
+            "/" + SCALED_IMAGE_PREFIX + outputImageName,
+            scaledBmp,
+            imageQuality,
+            bounds.outMimeType,
+            exif);
+    scaledBmp.recycle();
     return file;
   }
 
+  /**
+   * Returns the largest power of two by which an image of {@code width} by {@code height} can be
+   * subsampled while staying at least {@code targetWidth} by {@code targetHeight}.
+   */
+  @VisibleForTesting
+  static int calculateInSampleSize(int width, int height, int targetWidth, int targetHeight) {
+    targetWidth = Math.max(1, targetWidth);
+    targetHeight = Math.max(1, targetHeight);
+    int inSampleSize = 1;
+    while (width / (inSampleSize * 2) >= targetWidth
+        && height / (inSampleSize * 2) >= targetHeight) {
+      inSampleSize *= 2;
+    }
+    return inSampleSize;
+  }
+
   private File createFile(File externalFilesDirectory, String child) {
     File image = new File(externalFilesDirectory, child);
     if (!image.getParentFile().exists()) {
@@ -116,39 +315,87 @@ class ImageResizer {
     return new FileOutputStream(imageFile);
   }
 
-  private void copyExif(String filePathOri, String filePathDest) {
-    exifDataCopier.copyExif(filePathOri, filePathDest);
+  private BitmapFactory.Options decodeBounds(String path) {
+    BitmapFactory.Options options = new BitmapFactory.Options();
+    options.inJustDecodeBounds = true;
+    BitmapFactory.decodeFile(path, options);
+    return options;
   }
 
-  private Bitmap decodeFile(String path) {
-    return BitmapFactory.decodeFile(path);
+  private Bitmap decodeFile(String path, int inSampleSize) {
+    BitmapFactory.Options options = new BitmapFactory.Options();
+    options.inSampleSize = inSampleSize;
+    return BitmapFactory.decodeFile(path, options);
   }
 
-  private Bitmap createScaledBitmap(Bitmap bmp, int width, int height, boolean filter) {
-    return Bitmap.createScaledBitmap(bmp, width, height, filter);
+  /** Scales {@code bmp} to {@code width} by {@code height}, then applies {@code orientation}. */
+  private Bitmap createScaledBitmap(
+      Bitmap bmp, int width, int height, @Nullable Matrix orientation, boolean filter) {
+    if (orientation == null) {
+      return Bitmap.createScaledBitmap(bmp, width, height, filter);
+    }
+    // Scaling and rotating in a single pass only creates one new bitmap.
+    Matrix matrix = new Matrix();
+    matrix.setScale((float) width / bmp.getWidth(), (float) height / bmp.getHeight());
+    matrix.postConcat(orientation);
+    return Bitmap.createBitmap(bmp, 0, 0, bmp.getWidth(), bmp.getHeight(), matrix, filter);
   }
 
   private boolean isImageQualityValid(Integer imageQuality) {
     return imageQuality != null && imageQuality > 0 && imageQuality < 100;
   }
 
-  private File createImageOnExternalDirectory(String name, Bitmap bitmap, int imageQuality)
+  /**
+   * Returns the format of the scaled image: WebP images stay WebP, the other images with an alpha
+   * channel are saved as PNG, and the rest as JPEG.
+   */
+  @VisibleForTesting
+  static Bitmap.CompressFormat compressFormatFor(Bitmap bitmap, @Nullable String mimeType) {
+    if ("image/webp".equals(mimeType)) {
+      return Bitmap.CompressFormat.WEBP;
+    }
+    return bitmap.hasAlpha() ? Bitmap.CompressFormat.PNG : Bitmap.CompressFormat.JPEG;
+  }
+
+  private File createImageOnExternalDirectory(
+      String name,
+      Bitmap bitmap,
+      int imageQuality,
+      @Nullable String mimeType,
+      @Nullable ExifInterface exif)
       throws IOException {
-    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-    boolean saveAsPNG = bitmap.hasAlpha();
-    if (saveAsPNG) {
+    Bitmap.CompressFormat format = compressFormatFor(bitmap, mimeType);
+    if (format == Bitmap.CompressFormat.PNG) {
       Log.d(
           "ImageResizer",
           "image_picker: compressing is not supported for type PNG. Returning the image with original quality");
     }
-    bitmap.compress(
-        saveAsPNG ? Bitmap.CompressFormat.PNG : Bitmap.CompressFormat.JPEG,
-        imageQuality,
-        outputStream);
     File imageFile = createFile(externalFilesDirectory, name);
-    FileOutputStream fileOutput = createOutputStream(imageFile);
-    fileOutput.write(outputStream.toByteArray());
-    fileOutput.close();
+    // The image is compressed straight into the file rather than into memory first. It goes to a
+    // temporary file that is then renamed, so that a partly written image is never returned.
+    File temporaryFile =
+        File.createTempFile(
+            TEMPORARY_IMAGE_PREFIX, TEMPORARY_IMAGE_SUFFIX, imageFile.getParentFile());
+    boolean compressed;
+    try {
+      OutputStream outputStream = new BufferedOutputStream(createOutputStream(temporaryFile));
+      if (format == Bitmap.CompressFormat.JPEG) {
+        // The Exif data is written along with the image, instead of rewriting the file after.
+        outputStream = exifDataCopier.withExifSegment(outputStream, exif);
+      }
+      try {
+        compressed = bitmap.compress(format, imageQuality, outputStream);
+      } finally {
+        outputStream.close();
+      }
+    } catch (IOException e) {
+      temporaryFile.delete();
+      throw e;
+    }
+    if (!compressed || !temporaryFile.renameTo(imageFile)) {
+      temporaryFile.delete();
+      throw new IOException("Could not write " + imageFile);
+    }
     return imageFile;
   }
 }
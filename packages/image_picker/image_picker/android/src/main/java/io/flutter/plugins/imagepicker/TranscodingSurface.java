@@ -0,0 +1,270 @@
+// Copyright 2019 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.imagepicker;
+
+import android.graphics.SurfaceTexture;
+import android.opengl.EGL14;
+import android.opengl.EGLConfig;
+import android.opengl.EGLContext;
+import android.opengl.EGLDisplay;
+import android.opengl.EGLExt;
+import android.opengl.EGLSurface;
+import android.opengl.GLES11Ext;
+import android.opengl.GLES20;
+import android.view.Surface;
+import androidx.annotation.RequiresApi;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+
+/**
+ * Draws the frames a decoder renders to {@link #getDecoderSurface} onto the input surface of an
+ * encoder, scaled to the size of the encoder's frames.
+ *
+ * <p>The frames stay on the GPU: they go from the decoder to a texture, and are drawn from the
+ * texture onto the encoder's surface with OpenGL. It must be created, used and released on the
+ * same thread.
+ */
+@RequiresApi(18)
+final class TranscodingSurface implements SurfaceTexture.OnFrameAvailableListener {
+  private static final int EGL_RECORDABLE_ANDROID = 0x3142;
+  private static final long FRAME_TIMEOUT_MS = 2500;
+
+  private static final String VERTEX_SHADER =
+      "uniform mat4 uTextureMatrix;\n"
+          + "attribute vec4 aPosition;\n"
+          + "attribute vec4 aTextureCoord;\n"
+          + "varying vec2 vTextureCoord;\n"
+          + "void main() {\n"
+          + "  gl_Position = aPosition;\n"
+          + "  vTextureCoord = (uTextureMatrix * aTextureCoord).xy;\n"
+          + "}\n";
+  private static final String FRAGMENT_SHADER =
+      "#extension GL_OES_EGL_image_external : require\n"
+          + "precision mediump float;\n"
+          + "varying vec2 vTextureCoord;\n"
+          + "uniform samplerExternalOES sTexture;\n"
+          + "void main() {\n"
+          + "  gl_FragColor = texture2D(sTexture, vTextureCoord);\n"
+          + "}\n";
+  // A triangle strip covering the whole surface: x, y, then the texture's u, v for each corner.
+  private static final float[] VERTICES = {
+    -1f, -1f, 0f, 0f,
+    1f, -1f, 1f, 0f,
+    -1f, 1f, 0f, 1f,
+    1f, 1f, 1f, 1f,
+  };
+  private static final int VERTEX_STRIDE_BYTES = 4 * 4;
+
+  private final Object frameLock = new Object();
+  private final float[] textureMatrix = new float[16];
+  private final FloatBuffer vertices;
+  private boolean isFrameAvailable;
+
+  private EGLDisplay eglDisplay = EGL14.EGL_NO_DISPLAY;
+  private EGLContext eglContext = EGL14.EGL_NO_CONTEXT;
+  private EGLSurface eglSurface = EGL14.EGL_NO_SURFACE;
+  private int program;
+  private int textureId;
+  private int positionLocation;
+  private int textureCoordLocation;
+  private int textureMatrixLocation;
+  private SurfaceTexture surfaceTexture;
+  private Surface decoderSurface;
+
+  TranscodingSurface(Surface encoderSurface) {
+    vertices =
+        ByteBuffer.allocateDirect(VERTICES.length * 4)
+            .order(ByteOrder.nativeOrder())
+            .asFloatBuffer();
+    vertices.put(VERTICES).position(0);
+    try {
+      setUpEgl(encoderSurface);
+      setUpProgram();
+      // The frame available callbacks are made on the main thread, as this thread has no looper.
+      surfaceTexture = new SurfaceTexture(textureId);
+      surfaceTexture.setOnFrameAvailableListener(this);
+      decoderSurface = new Surface(surfaceTexture);
+    } catch (RuntimeException e) {
+      // The caller gets no surface to release, so what was set up is released here.
+      release();
+      throw e;
+    }
+  }
+
+  /** Returns the surface the decoder renders its frames to. */
+  Surface getDecoderSurface() {
+    return decoderSurface;
+  }
+
+  @Override
+  public void onFrameAvailable(SurfaceTexture surfaceTexture) {
+    synchronized (frameLock) {
+      isFrameAvailable = true;
+      frameLock.notifyAll();
+    }
+  }
+
+  /** Waits for the frame the decoder was just asked to render. */
+  void awaitFrame() throws InterruptedException {
+    synchronized (frameLock) {
+      long deadline = System.currentTimeMillis() + FRAME_TIMEOUT_MS;
+      while (!isFrameAvailable) {
+        long remainingMs = deadline - System.currentTimeMillis();
+        if (remainingMs <= 0) {
+          throw new IllegalStateException("Timed out waiting for a decoded frame.");
+        }
+        frameLock.wait(remainingMs);
+      }
+      isFrameAvailable = false;
+    }
+  }
+
+  /** Draws the last decoded frame onto the encoder's surface, with the given timestamp. */
+  void drawFrame(long presentationTimeNs) {
+    surfaceTexture.updateTexImage();
+    surfaceTexture.getTransformMatrix(textureMatrix);
+
+    GLES20.glClear(GLES20.GL_COLOR_BUFFER_BIT);
+    GLES20.glUseProgram(program);
+    GLES20.glActiveTexture(GLES20.GL_TEXTURE0);
+    GLES20.glBindTexture(GLES11Ext.GL_TEXTURE_EXTERNAL_OES, textureId);
+    vertices.position(0);
+    GLES20.glVertexAttribPointer(
+        positionLocation, 2, GLES20.GL_FLOAT, false, VERTEX_STRIDE_BYTES, vertices);
+    GLES20.glEnableVertexAttribArray(positionLocation);
+    vertices.position(2);
+    GLES20.glVertexAttribPointer(
+        textureCoordLocation, 2, GLES20.GL_FLOAT, false, VERTEX_STRIDE_BYTES, vertices);
+    GLES20.glEnableVertexAttribArray(textureCoordLocation);
+    GLES20.glUniformMatrix4fv(textureMatrixLocation, 1, false, textureMatrix, 0);
+    GLES20.glDrawArrays(GLES20.GL_TRIANGLE_STRIP, 0, 4);
+    checkGlError("glDrawArrays");
+
+    EGLExt.eglPresentationTimeANDROID(eglDisplay, eglSurface, presentationTimeNs);
+    if (!EGL14.eglSwapBuffers(eglDisplay, eglSurface)) {
+      throw new IllegalStateException("eglSwapBuffers failed: " + EGL14.eglGetError());
+    }
+  }
+
+  /** Releases what is set up, even if the setup stopped half way. */
+  void release() {
+    if (eglDisplay != EGL14.EGL_NO_DISPLAY) {
+      if (eglContext != EGL14.EGL_NO_CONTEXT) {
+        // Deleting the zero name, left when the program or texture wasn't created, is a no-op.
+        GLES20.glDeleteProgram(program);
+        GLES20.glDeleteTextures(1, new int[] {textureId}, 0);
+      }
+      EGL14.eglMakeCurrent(
+          eglDisplay, EGL14.EGL_NO_SURFACE, EGL14.EGL_NO_SURFACE, EGL14.EGL_NO_CONTEXT);
+      if (eglSurface != EGL14.EGL_NO_SURFACE) {
+        EGL14.eglDestroySurface(eglDisplay, eglSurface);
+      }
+      if (eglContext != EGL14.EGL_NO_CONTEXT) {
+        EGL14.eglDestroyContext(eglDisplay, eglContext);
+      }
+      EGL14.eglReleaseThread();
+      EGL14.eglTerminate(eglDisplay);
+    }
+    if (decoderSurface != null) {
+      decoderSurface.release();
+    }
+    if (surfaceTexture != null) {
+      surfaceTexture.release();
+    }
+    eglDisplay = EGL14.EGL_NO_DISPLAY;
+    eglContext = EGL14.EGL_NO_CONTEXT;
+    eglSurface = EGL14.EGL_NO_SURFACE;
+    decoderSurface = null;
+    surfaceTexture = null;
+  }
+
+  private void setUpEgl(Surface encoderSurface) {
+    eglDisplay = EGL14.eglGetDisplay(EGL14.EGL_DEFAULT_DISPLAY);
+    int[] version = new int[2];
+    if (!EGL14.eglInitialize(eglDisplay, version, 0, version, 1)) {
+      throw new IllegalStateException("Could not initialize EGL.");
+    }
+    // The config must be recordable for the encoder to accept its buffers.
+    int[] configAttributes = {
+      EGL14.EGL_RED_SIZE, 8,
+      EGL14.EGL_GREEN_SIZE, 8,
+      EGL14.EGL_BLUE_SIZE, 8,
+      EGL14.EGL_RENDERABLE_TYPE, EGL14.EGL_OPENGL_ES2_BIT,
+      EGL_RECORDABLE_ANDROID, 1,
+      EGL14.EGL_NONE
+    };
+    EGLConfig[] configs = new EGLConfig[1];
+    int[] configCount = new int[1];
+    if (!EGL14.eglChooseConfig(
+            eglDisplay, configAttributes, 0, configs, 0, configs.length, configCount, 0)
+        || configCount[0] == 0) {
+      throw new IllegalStateException("No recordable EGL config.");
+    }
+    int[] contextAttributes = {EGL14.EGL_CONTEXT_CLIENT_VERSION, 2, EGL14.EGL_NONE};
+    eglContext =
+        EGL14.eglCreateContext(eglDisplay, configs[0], EGL14.EGL_NO_CONTEXT, contextAttributes, 0);
+    eglSurface =
+        EGL14.eglCreateWindowSurface(
+            eglDisplay, configs[0], encoderSurface, new int[] {EGL14.EGL_NONE}, 0);
+    if (eglContext == EGL14.EGL_NO_CONTEXT || eglSurface == EGL14.EGL_NO_SURFACE) {
+      throw new IllegalStateException("Could not create the EGL surface: " + EGL14.eglGetError());
+    }
+    if (!EGL14.eglMakeCurrent(eglDisplay, eglSurface, eglSurface, eglContext)) {
+      throw new IllegalStateException("eglMakeCurrent failed: " + EGL14.eglGetError());
+    }
+  }
+
+  private void setUpProgram() {
+    program = GLES20.glCreateProgram();
+    GLES20.glAttachShader(program, compileShader(GLES20.GL_VERTEX_SHADER, VERTEX_SHADER));
+    GLES20.glAttachShader(program, compileShader(GLES20.GL_FRAGMENT_SHADER, FRAGMENT_SHADER));
+    GLES20.glLinkProgram(program);
+    int[] linkStatus = new int[1];
+    GLES20.glGetProgramiv(program, GLES20.GL_LINK_STATUS, linkStatus, 0);
+    if (linkStatus[0] != GLES20.GL_TRUE) {
+      throw new IllegalStateException(
+          "Could not link program: " + GLES20.glGetProgramInfoLog(program));
+    }
+    positionLocation = GLES20.glGetAttribLocation(program, "aPosition");
+    textureCoordLocation = GLES20.glGetAttribLocation(program, "aTextureCoord");
+    textureMatrixLocation = GLES20.glGetUniformLocation(program, "uTextureMatrix");
+
+    int[] textures = new int[1];
+    GLES20.glGenTextures(1, textures, 0);
+    textureId = textures[0];
+    GLES20.glBindTexture(GLES11Ext.GL_TEXTURE_EXTERNAL_OES, textureId);
+    GLES20.glTexParameteri(
+        GLES11Ext.GL_TEXTURE_EXTERNAL_OES, GLES20.GL_TEXTURE_MIN_FILTER, GLES20.GL_LINEAR);
+    GLES20.glTexParameteri(
+        GLES11Ext.GL_TEXTURE_EXTERNAL_OES, GLES20.GL_TEXTURE_MAG_FILTER, GLES20.GL_LINEAR);
+    GLES20.glTexParameteri(
+        GLES11Ext.GL_TEXTURE_EXTERNAL_OES, GLES20.GL_TEXTURE_WRAP_S, GLES20.GL_CLAMP_TO_EDGE);
+    GLES20.glTexParameteri(
+        GLES11Ext.GL_TEXTURE_EXTERNAL_OES, GLES20.GL_TEXTURE_WRAP_T, GLES20.GL_CLAMP_TO_EDGE);
+    checkGlError("setUpProgram");
+  }
+
+  private static int compileShader(int type, String source) {
+    int shader = GLES20.glCreateShader(type);
+    GLES20.glShaderSource(shader, source);
+    GLES20.glCompileShader(shader);
+    int[] compileStatus = new int[1];
+    GLES20.glGetShaderiv(shader, GLES20.GL_COMPILE_STATUS, compileStatus, 0);
+    if (compileStatus[0] != GLES20.GL_TRUE) {
+      String log = GLES20.glGetShaderInfoLog(shader);
+      GLES20.glDeleteShader(shader);
+      throw new IllegalStateException("Could not compile shader: " + log);
+    }
+    return shader;
+  }
+
+  private static void checkGlError(String operation) {
+    int error = GLES20.glGetError();
+    if (error != GLES20.GL_NO_ERROR) {
+      throw new IllegalStateException(operation + " failed: " + error);
+    }
+  }
+}
@@ -0,0 +1,472 @@
+// Copyright 2019 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.imagepicker;
+
+import android.media.MediaCodec;
+import android.media.MediaCodecInfo;
+import android.media.MediaExtractor;
+import android.media.MediaFormat;
+import android.media.MediaMetadataRetriever;
+import android.media.MediaMuxer;
+import android.os.Build;
+import android.util.Log;
+import android.view.Surface;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+import androidx.annotation.VisibleForTesting;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Re-encodes the picked videos to H.264 at a lower resolution or bitrate.
+ *
+ * <p>The frames are decoded to a surface and drawn onto the encoder's input surface, so that they
+ * are scaled on the GPU and never copied into memory. The audio track is copied as it is. Each
+ * transcoded video is written to a new {@code transcoded_*} file in the external files directory,
+ * and these files are trimmed along with the scaled images by {@link
+ * ImageResizer#trimScaledImages}.
+ *
+ * <p>Transcoding needs API 18. When it isn't possible, the original video is used.
+ */
+class VideoTranscoder {
+  /** Receives the progress of a transcoding, from 0 to 1, on the transcoding thread. */
+  interface ProgressListener {
+    void onProgress(double progress);
+  }
+
+  static final String TRANSCODED_VIDEO_PREFIX = "transcoded_";
+
+  private static final String TAG = "VideoTranscoder";
+  private static final String OUTPUT_MIME_TYPE = "video/avc";
+  private static final String AAC_MIME_TYPE = "audio/mp4a-latm";
+  // The frame rate used when the source doesn't give one.
+  private static final int DEFAULT_FRAME_RATE = 30;
+  private static final int I_FRAME_INTERVAL_SECONDS = 1;
+  // The bitrate used when only the resolution is given, in bits per pixel per frame.
+  private static final float DEFAULT_BITS_PER_PIXEL = 0.1f;
+  private static final long TIMEOUT_US = 10000;
+  private static final int AUDIO_BUFFER_SIZE = 256 * 1024;
+
+  private final File externalFilesDirectory;
+
+  VideoTranscoder(File externalFilesDirectory) {
+    this.externalFilesDirectory = externalFilesDirectory;
+  }
+
+  /**
+   * Transcodes the video at {@code videoPath} to fit in {@code maxWidth} by {@code maxHeight}, at
+   * {@code bitrate} bits per second, and returns the path of the transcoded video.
+   *
+   * <p>Returns {@code videoPath} when the video already fits, or when it can't be transcoded.
+   *
+   * @throws InterruptedException if the thread is interrupted while transcoding.
+   */
+  String transcodeIfNeeded(
+      String videoPath,
+      @Nullable Integer maxWidth,
+      @Nullable Integer maxHeight,
+      @Nullable Integer bitrate,
+      @Nullable ProgressListener progressListener)
+      throws InterruptedException {
+    if (videoPath == null || (maxWidth == null && maxHeight == null && bitrate == null)) {
+      return videoPath;
+    }
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR2) {
+      Log.w(TAG, "image_picker: transcoding videos needs API 18. Returning the original video.");
+      return videoPath;
+    }
+    File outputFile = null;
+    try {
+      outputFile = transcode(videoPath, maxWidth, maxHeight, bitrate, progressListener);
+    } catch (IOException | RuntimeException e) {
+      Log.w(TAG, "image_picker: could not transcode " + videoPath + ". Returning the original.", e);
+    }
+    return outputFile != null ? outputFile.getPath() : videoPath;
+  }
+
+  /**
+   * Returns the size of the transcoded frames, rounded to even numbers, for a video of {@code
+   * width} by {@code height} that is displayed rotated by {@code rotation} degrees.
+   */
+  @VisibleForTesting
+  static int[] targetSize(
+      int width,
+      int height,
+      int rotation,
+      @Nullable Integer maxWidth,
+      @Nullable Integer maxHeight) {
+    boolean isRotated = rotation == 90 || rotation == 270;
+    int displayWidth = isRotated ? height : width;
+    int displayHeight = isRotated ? width : height;
+    double scale = 1;
+    if (maxWidth != null && maxWidth > 0) {
+      scale = Math.min(scale, (double) maxWidth / displayWidth);
+    }
+    if (maxHeight != null && maxHeight > 0) {
+      scale = Math.min(scale, (double) maxHeight / displayHeight);
+    }
+    int targetWidth = Math.max(2, (int) Math.round(width * scale) / 2 * 2);
+    int targetHeight = Math.max(2, (int) Math.round(height * scale) / 2 * 2);
+    return new int[] {targetWidth, targetHeight};
+  }
+
+  @RequiresApi(18)
+  @Nullable
+  private File transcode(
+      String videoPath,
+      @Nullable Integer maxWidth,
+      @Nullable Integer maxHeight,
+      @Nullable Integer bitrate,
+      @Nullable ProgressListener progressListener)
+      throws IOException, InterruptedException {
+    int rotation = 0;
+    long sourceBitrate = 0;
+    MediaMetadataRetriever retriever = new MediaMetadataRetriever();
+    try {
+      retriever.setDataSource(videoPath);
+      rotation =
+          parseInt(
+              retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_VIDEO_ROTATION));
+      sourceBitrate =
+          parseInt(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_BITRATE));
+    } finally {
+      retriever.release();
+    }
+
+    MediaExtractor extractor = new MediaExtractor();
+    try {
+      extractor.setDataSource(videoPath);
+      int videoTrackIndex = -1;
+      MediaFormat audioFormat = null;
+      int audioTrackIndex = -1;
+      for (int i = 0; i < extractor.getTrackCount(); i++) {
+        MediaFormat format = extractor.getTrackFormat(i);
+        String mimeType = format.getString(MediaFormat.KEY_MIME);
+        if (mimeType.startsWith("video/") && videoTrackIndex < 0) {
+          videoTrackIndex = i;
+        } else if (mimeType.startsWith("audio/") && audioTrackIndex < 0) {
+          audioTrackIndex = i;
+          audioFormat = format;
+        }
+      }
+      if (videoTrackIndex < 0) {
+        return null;
+      }
+      if (audioFormat != null
+          && !AAC_MIME_TYPE.equals(audioFormat.getString(MediaFormat.KEY_MIME))) {
+        // The MP4 muxer only takes AAC audio on all the API levels.
+        Log.w(TAG, "image_picker: the audio of " + videoPath + " can't be copied.");
+        return null;
+      }
+      MediaFormat inputFormat = extractor.getTrackFormat(videoTrackIndex);
+      int width = inputFormat.getInteger(MediaFormat.KEY_WIDTH);
+      int height = inputFormat.getInteger(MediaFormat.KEY_HEIGHT);
+      int[] size = targetSize(width, height, rotation, maxWidth, maxHeight);
+      boolean shouldScale = size[0] < width || size[1] < height;
+      int frameRate = frameRateOf(inputFormat);
+      boolean shouldReduceBitrate =
+          bitrate != null && (sourceBitrate == 0 || bitrate < sourceBitrate);
+      if (!shouldScale && !shouldReduceBitrate) {
+        return null;
+      }
+      int targetBitrate =
+          bitrate != null
+              ? bitrate
+              : Math.round(size[0] * size[1] * frameRate * DEFAULT_BITS_PER_PIXEL);
+      long durationUs =
+          inputFormat.containsKey(MediaFormat.KEY_DURATION)
+              ? inputFormat.getLong(MediaFormat.KEY_DURATION)
+              : 0;
+
+      File outputFile = outputFileFor(videoPath);
+      File temporaryFile =
+          File.createTempFile(TRANSCODED_VIDEO_PREFIX, ".tmp", outputFile.getParentFile());
+      boolean success = false;
+      try {
+        extractor.selectTrack(videoTrackIndex);
+        MediaMuxer muxer =
+            new MediaMuxer(temporaryFile.getPath(), MediaMuxer.OutputFormat.MUXER_OUTPUT_MPEG_4);
+        try {
+          // The frames are transcoded as they are stored, and rotated when they are displayed.
+          muxer.setOrientationHint(rotation);
+          int muxerAudioTrack =
+              transcodeVideo(
+                  extractor,
+                  inputFormat,
+                  audioFormat,
+                  muxer,
+                  size[0],
+                  size[1],
+                  targetBitrate,
+                  frameRate,
+                  durationUs,
+                  progressListener);
+          if (audioFormat != null) {
+            copyAudio(videoPath, audioTrackIndex, muxer, muxerAudioTrack);
+          }
+          muxer.stop();
+        } finally {
+          muxer.release();
+        }
+        if (progressListener != null) {
+          progressListener.onProgress(1);
+        }
+        success = temporaryFile.renameTo(outputFile);
+      } finally {
+        if (!success) {
+          temporaryFile.delete();
+        }
+      }
+      return success ? outputFile : null;
+    } finally {
+      extractor.release();
+    }
+  }
+
+  /**
+   * Transcodes the selected track of {@code extractor} into {@code muxer}, and returns the index of
+   * the muxer's audio track, which is added along with the video track.
+   *
+   * <p>The codec buffer arrays, which are deprecated, are only used before API 21.
+   */
+  @RequiresApi(18)
+  @SuppressWarnings("deprecation")
+  private int transcodeVideo(
+      MediaExtractor extractor,
+      MediaFormat inputFormat,
+      @Nullable MediaFormat audioFormat,
+      MediaMuxer muxer,
+      int width,
+      int height,
+      int bitrate,
+      int frameRate,
+      long durationUs,
+      @Nullable ProgressListener progressListener)
+      throws IOException, InterruptedException {
+    MediaFormat outputFormat = MediaFormat.createVideoFormat(OUTPUT_MIME_TYPE, width, height);
+    outputFormat.setInteger(
+        MediaFormat.KEY_COLOR_FORMAT, MediaCodecInfo.CodecCapabilities.COLOR_FormatSurface);
+    outputFormat.setInteger(MediaFormat.KEY_BIT_RATE, bitrate);
+    outputFormat.setInteger(MediaFormat.KEY_FRAME_RATE, frameRate);
+    outputFormat.setInteger(MediaFormat.KEY_I_FRAME_INTERVAL, I_FRAME_INTERVAL_SECONDS);
+
+    MediaCodec encoder = null;
+    MediaCodec decoder = null;
+    Surface encoderSurface = null;
+    TranscodingSurface surface = null;
+    boolean isEncoderStarted = false;
+    boolean isDecoderStarted = false;
+    try {
+      encoder = MediaCodec.createEncoderByType(OUTPUT_MIME_TYPE);
+      encoder.configure(outputFormat, null, null, MediaCodec.CONFIGURE_FLAG_ENCODE);
+      encoderSurface = encoder.createInputSurface();
+      surface = new TranscodingSurface(encoderSurface);
+      encoder.start();
+      isEncoderStarted = true;
+      decoder = MediaCodec.createDecoderByType(inputFormat.getString(MediaFormat.KEY_MIME));
+      decoder.configure(inputFormat, surface.getDecoderSurface(), null, 0);
+      decoder.start();
+      isDecoderStarted = true;
+
+      boolean hasIndexedBuffers = Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP;
+      ByteBuffer[] decoderInputBuffers = hasIndexedBuffers ? null : decoder.getInputBuffers();
+      ByteBuffer[] encoderOutputBuffers = hasIndexedBuffers ? null : encoder.getOutputBuffers();
+      MediaCodec.BufferInfo decoderInfo = new MediaCodec.BufferInfo();
+      MediaCodec.BufferInfo encoderInfo = new MediaCodec.BufferInfo();
+      int muxerVideoTrack = -1;
+      int muxerAudioTrack = -1;
+      int lastProgressPercent = -1;
+      boolean isInputDone = false;
+      boolean isDecoderDone = false;
+      boolean isEncoderDone = false;
+      while (!isEncoderDone) {
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+
+        if (!isInputDone) {
+          int index = decoder.dequeueInputBuffer(TIMEOUT_US);
+          if (index >= 0) {
+            ByteBuffer inputBuffer =
+                Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP
+                    ? decoder.getInputBuffer(index)
+                    : decoderInputBuffers[index];
+            int sampleSize = extractor.readSampleData(inputBuffer, 0);
+            if (sampleSize < 0) {
+              decoder.queueInputBuffer(index, 0, 0, 0, MediaCodec.BUFFER_FLAG_END_OF_STREAM);
+              isInputDone = true;
+            } else {
+              decoder.queueInputBuffer(index, 0, sampleSize, extractor.getSampleTime(), 0);
+              extractor.advance();
+            }
+          }
+        }
+
+        if (!isDecoderDone) {
+          int index = decoder.dequeueOutputBuffer(decoderInfo, TIMEOUT_US);
+          if (index >= 0) {
+            boolean shouldRender = decoderInfo.size != 0;
+            decoder.releaseOutputBuffer(index, shouldRender);
+            if (shouldRender) {
+              surface.awaitFrame();
+              surface.drawFrame(decoderInfo.presentationTimeUs * 1000);
+              if (progressListener != null && durationUs > 0) {
+                int progressPercent = (int) (decoderInfo.presentationTimeUs * 100 / durationUs);
+                if (progressPercent > lastProgressPercent && progressPercent < 100) {
+                  lastProgressPercent = progressPercent;
+                  progressListener.onProgress(progressPercent / 100.0);
+                }
+              }
+            }
+            if ((decoderInfo.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0) {
+              encoder.signalEndOfInputStream();
+              isDecoderDone = true;
+            }
+          }
+        }
+
+        int index = encoder.dequeueOutputBuffer(encoderInfo, TIMEOUT_US);
+        if (index == MediaCodec.INFO_OUTPUT_BUFFERS_CHANGED) {
+          // Only returned before API 21.
+          encoderOutputBuffers = encoder.getOutputBuffers();
+        } else if (index == MediaCodec.INFO_OUTPUT_FORMAT_CHANGED) {
+          // The muxer can only be started once all its tracks are added.
+          muxerVideoTrack = muxer.addTrack(encoder.getOutputFormat());
+          if (audioFormat != null) {
+            muxerAudioTrack = muxer.addTrack(audioFormat);
+          }
+          muxer.start();
+        } else if (index >= 0) {
+          ByteBuffer encodedData =
+              Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP
+                  ? encoder.getOutputBuffer(index)
+                  : encoderOutputBuffers[index];
+          // The codec config is already in the output format given to the muxer.
+          if ((encoderInfo.flags & MediaCodec.BUFFER_FLAG_CODEC_CONFIG) == 0
+              && encoderInfo.size != 0) {
+            if (muxerVideoTrack < 0) {
+              throw new IllegalStateException("The encoder output came before its format.");
+            }
+            encodedData.position(encoderInfo.offset);
+            encodedData.limit(encoderInfo.offset + encoderInfo.size);
+            muxer.writeSampleData(muxerVideoTrack, encodedData, encoderInfo);
+          }
+          encoder.releaseOutputBuffer(index, false);
+          if ((encoderInfo.flags & MediaCodec.BUFFER_FLAG_END_OF_STREAM) != 0) {
+            isEncoderDone = true;
+          }
+        }
+      }
+      return muxerAudioTrack;
+    } finally {
+      // Each resource is released even if releasing the others fails, and the failures are only
+      // logged so that they don't hide the one that stopped the transcoding.
+      release(decoder, isDecoderStarted);
+      release(encoder, isEncoderStarted);
+      if (surface != null) {
+        try {
+          surface.release();
+        } catch (RuntimeException e) {
+          Log.w(TAG, "image_picker: could not release the transcoding surface.", e);
+        }
+      }
+      if (encoderSurface != null) {
+        encoderSurface.release();
+      }
+    }
+  }
+
+  /** Stops {@code codec} if it was started, and releases it. */
+  @RequiresApi(18)
+  private static void release(@Nullable MediaCodec codec, boolean isStarted) {
+    if (codec == null) {
+      return;
+    }
+    if (isStarted) {
+      try {
+        codec.stop();
+      } catch (RuntimeException e) {
+        Log.w(TAG, "image_picker: could not stop a codec.", e);
+      }
+    }
+    try {
+      codec.release();
+    } catch (RuntimeException e) {
+      Log.w(TAG, "image_picker: could not release a codec.", e);
+    }
+  }
+
+  @RequiresApi(18)
+  @SuppressWarnings("deprecation")
+  private static void copyAudio(String videoPath, int trackIndex, MediaMuxer muxer, int muxerTrack)
+      throws IOException {
+    MediaExtractor extractor = new MediaExtractor();
+    try {
+      extractor.setDataSource(videoPath);
+      extractor.selectTrack(trackIndex);
+      ByteBuffer buffer = ByteBuffer.allocateDirect(AUDIO_BUFFER_SIZE);
+      MediaCodec.BufferInfo info = new MediaCodec.BufferInfo();
+      int sampleSize;
+      while ((sampleSize = extractor.readSampleData(buffer, 0)) >= 0) {
+        int flags =
+            (extractor.getSampleFlags() & MediaExtractor.SAMPLE_FLAG_SYNC) != 0
+                ? MediaCodec.BUFFER_FLAG_SYNC_FRAME
+                : 0;
+        info.set(0, sampleSize, extractor.getSampleTime(), flags);
+        muxer.writeSampleData(muxerTrack, buffer, info);
+        extractor.advance();
+      }
+    } finally {
+      extractor.release();
+    }
+  }
+
+  /** Returns the frame rate of the video track {@code format}, or a default if it is unknown. */
+  @VisibleForTesting
+  static int frameRateOf(MediaFormat format) {
+    if (!format.containsKey(MediaFormat.KEY_FRAME_RATE)) {
+      return DEFAULT_FRAME_RATE;
+    }
+    int frameRate;
+    try {
+      frameRate = format.getInteger(MediaFormat.KEY_FRAME_RATE);
+    } catch (ClassCastException e) {
+      // Some extractors store the frame rate as a float.
+      frameRate = Math.round(format.getFloat(MediaFormat.KEY_FRAME_RATE));
+    }
+    return frameRate > 0 ? frameRate : DEFAULT_FRAME_RATE;
+  }
+
+  private File outputFileFor(String videoPath) {
+    String[] pathParts = videoPath.split("/");
+    String videoName = pathParts[pathParts.length - 1];
+    int extensionIndex = videoName.lastIndexOf('.');
+    if (extensionIndex > 0) {
+      videoName = videoName.substring(0, extensionIndex);
+    }
+    // A new name each time, as the app may still be using the video transcoded from the same file.
+    File outputFile =
+        new File(
+            externalFilesDirectory,
+            TRANSCODED_VIDEO_PREFIX + videoName + "_" + UUID.randomUUID() + ".mp4");
+    if (!outputFile.getParentFile().exists()) {
+      outputFile.getParentFile().mkdirs();
+    }
+    return outputFile;
+  }
+
+  private static int parseInt(@Nullable String value) {
+    if (value == null) {
+      return 0;
+    }
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+}
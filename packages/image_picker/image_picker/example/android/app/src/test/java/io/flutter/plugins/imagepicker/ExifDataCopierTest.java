@@ -0,0 +1,31 @@
+// Copyright 2019 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.imagepicker;
+
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.junit.Test;
+
+public class ExifDataCopierTest {
+  @Test
+  public void segmentInsertingOutputStream_ShouldInsertTheSegmentAfterTheStartOfImage()
+      throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    OutputStream outputStream =
+        new ExifDataCopier.SegmentInsertingOutputStream(bytes, new byte[] {1, 2});
+
+    outputStream.write(0xFF);
+    outputStream.write(new byte[] {(byte) 0xD8, (byte) 0xFF, (byte) 0xE0});
+    outputStream.close();
+
+    assertThat(
+        bytes.toByteArray(),
+        equalTo(new byte[] {(byte) 0xFF, (byte) 0xD8, 1, 2, (byte) 0xFF, (byte) 0xE0}));
+  }
+}
@@ -0,0 +1,75 @@
+// Copyright 2019 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.imagepicker;
+
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+import android.media.ExifInterface;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ExifSegmentTest {
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void create_ShouldEncodeAttributesThatExifInterfaceReadsBack() throws IOException {
+    Map<String, String> attributes = new HashMap<>();
+    attributes.put("Make", "Flutter");
+    attributes.put("DateTime", "2020:01:02 03:04:05");
+    attributes.put("FNumber", "2.2");
+    attributes.put("ISOSpeedRatings", "100");
+    attributes.put("FocalLength", "4500/1000");
+    attributes.put("GPSLatitudeRef", "N");
+    attributes.put("GPSLatitude", "48/1,51/1,2400/100");
+    attributes.put("GPSAltitudeRef", "0");
+    attributes.put("GPSTimeStamp", "10:20:30");
+
+    ExifInterface exif = readBack(ExifSegment.create(attributes));
+
+    assertThat(exif.getAttribute("Make"), equalTo("Flutter"));
+    assertThat(exif.getAttribute("DateTime"), equalTo("2020:01:02 03:04:05"));
+    assertThat(exif.getAttributeDouble("FNumber", 0), equalTo(2.2));
+    assertThat(exif.getAttributeInt("ISOSpeedRatings", 0), equalTo(100));
+    assertThat(exif.getAttribute("FocalLength"), equalTo("4500/1000"));
+    assertThat(exif.getAttribute("GPSLatitudeRef"), equalTo("N"));
+    assertThat(exif.getAttribute("GPSLatitude"), equalTo("48/1,51/1,2400/100"));
+    assertThat(exif.getAttributeInt("GPSAltitudeRef", -1), equalTo(0));
+    assertThat(exif.getAttribute("GPSTimeStamp"), equalTo("10:20:30"));
+  }
+
+  @Test
+  public void create_WithoutKnownAttributes_ShouldReturnNull() {
+    Map<String, String> attributes = new HashMap<>();
+    attributes.put("Orientation", "6");
+    attributes.put("ISOSpeedRatings", "not a number");
+
+    assertThat(ExifSegment.create(attributes), nullValue());
+  }
+
+  private ExifInterface readBack(byte[] segment) throws IOException {
+    File file = temporaryFolder.newFile("image.jpg");
+    OutputStream outputStream = new FileOutputStream(file);
+    try {
+      outputStream.write(new byte[] {(byte) 0xFF, (byte) 0xD8});
+      outputStream.write(segment);
+      outputStream.write(new byte[] {(byte) 0xFF, (byte) 0xD9});
+    } finally {
+      outputStream.close();
+    }
+    return new ExifInterface(file.getPath());
+  }
+}
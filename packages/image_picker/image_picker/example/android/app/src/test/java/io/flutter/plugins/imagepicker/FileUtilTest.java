@@ -5,6 +5,7 @@
 package io.flutter.plugins.imagepicker;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.robolectric.Shadows.shadowOf;
 
@@ -16,6 +17,7 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -54,4 +56,30 @@ public class FileUtilTest {
     String imageStream = new String(bytes, UTF_8);
     assertTrue(imageStream.equals("imageStream"));
   }
+
+  @Test
+  public void FileUtil_GetPathFromFileUri_ReturnsPathWithoutCopying() throws IOException {
+    File file = File.createTempFile("picked", ".png", context.getCacheDir());
+    String path = fileUtils.getPathFromUri(context, Uri.fromFile(file));
+
+    assertEquals(file.getPath(), path);
+    assertEquals(0L, fileUtils.getCopyMetrics().get("copiedByteCount"));
+  }
+
+  @Test
+  public void FileUtil_GetPathFromUri_AddsUpTheCopiedBytes() {
+    Uri firstUri = Uri.parse("content://dummy/first.png");
+    Uri secondUri = Uri.parse("content://dummy/second.png");
+    shadowContentResolver.registerInputStream(
+        firstUri, new ByteArrayInputStream("image".getBytes(UTF_8)));
+    shadowContentResolver.registerInputStream(
+        secondUri, new ByteArrayInputStream("imageStream".getBytes(UTF_8)));
+
+    fileUtils.getPathFromUri(context, firstUri);
+    fileUtils.getPathFromUri(context, secondUri);
+
+    Map<String, Object> metrics = fileUtils.getCopyMetrics();
+    assertEquals(16L, metrics.get("copiedByteCount"));
+    assertTrue((Long) metrics.get("copyDurationMs") >= 0);
+  }
 }
@@ -4,22 +4,31 @@ import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import android.Manifest;
 import android.app.Activity;
+import android.content.ClipData;
 import android.content.Context;
 import android.content.Intent;
 import android.content.pm.PackageManager;
 import android.net.Uri;
+import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -31,6 +40,7 @@ public class ImagePickerDelegateTest {
 
   @Mock Activity mockActivity;
   @Mock ImageResizer mockImageResizer;
+  @Mock VideoTranscoder mockVideoTranscoder;
   @Mock MethodCall mockMethodCall;
   @Mock MethodChannel.Result mockResult;
   @Mock ImagePickerDelegate.PermissionManager mockPermissionManager;
@@ -38,8 +48,34 @@ public class ImagePickerDelegateTest {
   @Mock FileUtils mockFileUtils;
   @Mock Intent mockIntent;
   @Mock ImagePickerCache cache;
+  @Mock EventChannel.EventSink mockEvents;
 
   ImagePickerDelegate.FileUriResolver mockFileUriResolver;
+  Executor backgroundExecutor;
+  Executor imageProcessingExecutor;
+
+  private static class DirectExecutor implements Executor {
+    @Override
+    public void execute(Runnable task) {
+      task.run();
+    }
+  }
+
+  private static class QueuingExecutor implements Executor {
+    final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    public void execute(Runnable task) {
+      tasks.add(task);
+    }
+
+    void runAll() {
+      for (Runnable task : tasks) {
+        task.run();
+      }
+      tasks.clear();
+    }
+  }
 
   private static class MockFileUriResolver implements ImagePickerDelegate.FileUriResolver {
     @Override
@@ -54,7 +90,7 @@ public class ImagePickerDelegateTest {
   }
 
   @Before
-  public void setUp() {
+  public void setUp() throws IOException {
     MockitoAnnotations.initMocks(this);
 
     when(mockActivity.getPackageName()).thenReturn("com.example.test");
@@ -63,18 +99,20 @@ public class ImagePickerDelegateTest {
     when(mockFileUtils.getPathFromUri(any(Context.class), any(Uri.class)))
         .thenReturn("pathFromUri");
 
-    when(mockImageResizer.resizeImageIfNeeded("pathFromUri", null, null, null))
+    when(mockImageResizer.resizeImageIfNeeded("pathFromUri", null, null, null, null))
         .thenReturn("originalPath");
-    when(mockImageResizer.resizeImageIfNeeded("pathFromUri", null, null, IMAGE_QUALITY))
+    when(mockImageResizer.resizeImageIfNeeded("pathFromUri", null, null, IMAGE_QUALITY, null))
         .thenReturn("originalPath");
-    when(mockImageResizer.resizeImageIfNeeded("pathFromUri", WIDTH, HEIGHT, null))
+    when(mockImageResizer.resizeImageIfNeeded("pathFromUri", WIDTH, HEIGHT, null, null))
         .thenReturn("scaledPath");
-    when(mockImageResizer.resizeImageIfNeeded("pathFromUri", WIDTH, null, null))
+    when(mockImageResizer.resizeImageIfNeeded("pathFromUri", WIDTH, null, null, null))
         .thenReturn("scaledPath");
-    when(mockImageResizer.resizeImageIfNeeded("pathFromUri", null, HEIGHT, null))
+    when(mockImageResizer.resizeImageIfNeeded("pathFromUri", null, HEIGHT, null, null))
         .thenReturn("scaledPath");
 
     mockFileUriResolver = new MockFileUriResolver();
+    backgroundExecutor = new DirectExecutor();
+    imageProcessingExecutor = new DirectExecutor();
 
     Uri mockUri = mock(Uri.class);
     when(mockIntent.getData()).thenReturn(mockUri);
@@ -387,18 +425,298 @@ public class ImagePickerDelegateTest {
     verifyNoMoreInteractions(mockResult);
   }
 
+  @Test
+  public void
+      onActivityResult_WhenVideoPickedFromGallery_AndTranscodingParametersSupplied_FinishesWithTranscodedPath()
+          throws InterruptedException {
+    when(mockMethodCall.argument("maxVideoWidth")).thenReturn(640);
+    when(mockMethodCall.argument("videoBitrate")).thenReturn(1000000);
+    when(mockVideoTranscoder.transcodeIfNeeded("pathFromUri", 640, null, 1000000, null))
+        .thenReturn("transcodedPath");
+
+    ImagePickerDelegate delegate = createDelegateWithPendingResultAndMethodCall();
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_CHOOSE_VIDEO_FROM_GALLERY, Activity.RESULT_OK, mockIntent);
+
+    verify(mockResult).success("transcodedPath");
+    verifyNoMoreInteractions(mockResult);
+    verify(mockImageResizer).trimScaledImages();
+  }
+
+  @Test
+  public void onActivityResult_WhenVideoPickedWithoutTranscodingParameters_DoesNotTranscode() {
+    ImagePickerDelegate delegate = createDelegateWithPendingResultAndMethodCall();
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_CHOOSE_VIDEO_FROM_GALLERY, Activity.RESULT_OK, mockIntent);
+
+    verify(mockResult).success("pathFromUri");
+    verifyZeroInteractions(mockVideoTranscoder);
+  }
+
+  @Test
+  public void onActivityResult_WhenImagePickedFromGallery_ResizesInBackground() {
+    QueuingExecutor queuingExecutor = new QueuingExecutor();
+    backgroundExecutor = queuingExecutor;
+    when(mockMethodCall.argument("maxWidth")).thenReturn(WIDTH);
+
+    ImagePickerDelegate delegate = createDelegateWithPendingResultAndMethodCall();
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_CHOOSE_IMAGE_FROM_GALLERY, Activity.RESULT_OK, mockIntent);
+
+    verifyZeroInteractions(mockImageResizer);
+    verifyZeroInteractions(mockResult);
+
+    queuingExecutor.runAll();
+
+    verify(mockResult).success("scaledPath");
+    verifyNoMoreInteractions(mockResult);
+  }
+
+  @Test
+  public void onActivityResult_WhenResizingFails_FinishesWithError() throws IOException {
+    when(mockMethodCall.argument("maxWidth")).thenReturn(WIDTH);
+    when(mockImageResizer.resizeImageIfNeeded("pathFromUri", WIDTH, null, null, null))
+        .thenThrow(new IOException("No space left"));
+
+    ImagePickerDelegate delegate = createDelegateWithPendingResultAndMethodCall();
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_CHOOSE_IMAGE_FROM_GALLERY, Activity.RESULT_OK, mockIntent);
+
+    verify(mockResult)
+        .error(
+            "processing_failed",
+            "Could not process the picked file: java.io.IOException: No space left",
+            null);
+    verifyNoMoreInteractions(mockResult);
+  }
+
+  @Test
+  public void onActivityResult_WhenDecodingRunsOutOfMemory_FinishesWithError()
+      throws IOException {
+    when(mockMethodCall.argument("maxWidth")).thenReturn(WIDTH);
+    when(mockImageResizer.resizeImageIfNeeded("pathFromUri", WIDTH, null, null, null))
+        .thenThrow(new OutOfMemoryError());
+
+    ImagePickerDelegate delegate = createDelegateWithPendingResultAndMethodCall();
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_TAKE_IMAGE_WITH_CAMERA, Activity.RESULT_OK, mockIntent);
+
+    verify(mockResult)
+        .error(
+            "processing_failed",
+            "Could not process the picked file: java.lang.OutOfMemoryError",
+            null);
+    verifyNoMoreInteractions(mockResult);
+  }
+
+  @Test
+  public void onActivityResult_WhenTranscodingIsInterrupted_FinishesWithError()
+      throws InterruptedException {
+    when(mockMethodCall.argument("maxVideoWidth")).thenReturn(640);
+    when(mockVideoTranscoder.transcodeIfNeeded("pathFromUri", 640, null, null, null))
+        .thenThrow(new InterruptedException());
+
+    ImagePickerDelegate delegate = createDelegateWithPendingResultAndMethodCall();
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_CHOOSE_VIDEO_FROM_GALLERY, Activity.RESULT_OK, mockIntent);
+    // The delegate restores the interrupt, which must not leak into the other tests.
+    assertThat(Thread.interrupted(), equalTo(true));
+
+    verify(mockResult)
+        .error("processing_failed", "The video transcoding was interrupted.", null);
+    verifyNoMoreInteractions(mockResult);
+  }
+
+  @Test
+  public void onActivityResult_WhenBackgroundWorkCancelled_DoesNotFinish() {
+    QueuingExecutor queuingExecutor = new QueuingExecutor();
+    backgroundExecutor = queuingExecutor;
+
+    ImagePickerDelegate delegate = createDelegateWithPendingResultAndMethodCall();
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_CHOOSE_IMAGE_FROM_GALLERY, Activity.RESULT_OK, mockIntent);
+    delegate.cancelBackgroundWork();
+    queuingExecutor.runAll();
+
+    verifyZeroInteractions(mockResult);
+  }
+
+  @Test
+  public void chooseMultiImageFromGallery_WhenPendingResultExists_FinishesWithAlreadyActiveError() {
+    ImagePickerDelegate delegate = createDelegateWithPendingResultAndMethodCall();
+
+    delegate.chooseMultiImageFromGallery(mockMethodCall, mockEvents);
+
+    verify(mockEvents).error("already_active", "Image picker is already active", null);
+    verify(mockEvents).endOfStream();
+    verifyNoMoreInteractions(mockEvents);
+  }
+
+  @Test
+  public void
+      chooseMultiImageFromGallery_WhenHasNoExternalStoragePermission_RequestsForPermission() {
+    ImagePickerDelegate delegate = createDelegate();
+    delegate.chooseMultiImageFromGallery(mockMethodCall, mockEvents);
+
+    verify(mockPermissionManager)
+        .askForPermission(
+            Manifest.permission.READ_EXTERNAL_STORAGE,
+            ImagePickerDelegate.REQUEST_EXTERNAL_MULTI_IMAGE_STORAGE_PERMISSION);
+  }
+
+  @Test
+  public void onActivityResult_WhenMultiImagePickCanceled_EndsStream() {
+    when(mockPermissionManager.isPermissionGranted(Manifest.permission.READ_EXTERNAL_STORAGE))
+        .thenReturn(true);
+
+    ImagePickerDelegate delegate = createDelegate();
+    delegate.chooseMultiImageFromGallery(mockMethodCall, mockEvents);
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_CHOOSE_MULTI_IMAGE_FROM_GALLERY,
+        Activity.RESULT_CANCELED,
+        null);
+
+    verify(mockEvents).endOfStream();
+    verifyNoMoreInteractions(mockEvents);
+  }
+
+  @Test
+  public void onActivityResult_WhenSingleImagePickedInMultiImagePick_SendsPathAndEndsStream() {
+    when(mockPermissionManager.isPermissionGranted(Manifest.permission.READ_EXTERNAL_STORAGE))
+        .thenReturn(true);
+
+    ImagePickerDelegate delegate = createDelegate();
+    delegate.chooseMultiImageFromGallery(mockMethodCall, mockEvents);
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_CHOOSE_MULTI_IMAGE_FROM_GALLERY,
+        Activity.RESULT_OK,
+        mockIntent);
+
+    InOrder inOrder = inOrder(mockEvents);
+    inOrder.verify(mockEvents).success("originalPath");
+    inOrder.verify(mockEvents).endOfStream();
+    verifyNoMoreInteractions(mockEvents);
+  }
+
+  @Test
+  public void onActivityResult_WhenImagesProcessedOutOfOrder_SendsPathsInPickedOrder()
+      throws IOException {
+    when(mockPermissionManager.isPermissionGranted(Manifest.permission.READ_EXTERNAL_STORAGE))
+        .thenReturn(true);
+    QueuingExecutor queuingExecutor = new QueuingExecutor();
+    imageProcessingExecutor = queuingExecutor;
+    Uri firstUri = mock(Uri.class);
+    Uri secondUri = mock(Uri.class);
+    when(mockFileUtils.getPathFromUri(any(Context.class), eq(firstUri))).thenReturn("first");
+    when(mockFileUtils.getPathFromUri(any(Context.class), eq(secondUri))).thenReturn("second");
+    when(mockImageResizer.resizeImageIfNeeded("first", null, null, null, null))
+        .thenReturn("firstPath");
+    when(mockImageResizer.resizeImageIfNeeded("second", null, null, null, null))
+        .thenReturn("secondPath");
+    ClipData clipData = mock(ClipData.class);
+    ClipData.Item firstItem = mock(ClipData.Item.class);
+    ClipData.Item secondItem = mock(ClipData.Item.class);
+    when(firstItem.getUri()).thenReturn(firstUri);
+    when(secondItem.getUri()).thenReturn(secondUri);
+    when(clipData.getItemCount()).thenReturn(2);
+    when(clipData.getItemAt(0)).thenReturn(firstItem);
+    when(clipData.getItemAt(1)).thenReturn(secondItem);
+    when(mockIntent.getClipData()).thenReturn(clipData);
+
+    ImagePickerDelegate delegate = createDelegate();
+    delegate.chooseMultiImageFromGallery(mockMethodCall, mockEvents);
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_CHOOSE_MULTI_IMAGE_FROM_GALLERY,
+        Activity.RESULT_OK,
+        mockIntent);
+
+    queuingExecutor.tasks.get(1).run();
+    verifyZeroInteractions(mockEvents);
+
+    queuingExecutor.tasks.get(0).run();
+    InOrder inOrder = inOrder(mockEvents);
+    inOrder.verify(mockEvents).success("firstPath");
+    inOrder.verify(mockEvents).success("secondPath");
+    inOrder.verify(mockEvents).endOfStream();
+    verifyNoMoreInteractions(mockEvents);
+  }
+
+  @Test
+  public void onActivityResult_WhenOneImageOfMultiImagePickFails_SendsErrorAndEndsStream()
+      throws IOException {
+    when(mockPermissionManager.isPermissionGranted(Manifest.permission.READ_EXTERNAL_STORAGE))
+        .thenReturn(true);
+    Uri firstUri = mock(Uri.class);
+    Uri secondUri = mock(Uri.class);
+    when(mockFileUtils.getPathFromUri(any(Context.class), eq(firstUri))).thenReturn("first");
+    when(mockFileUtils.getPathFromUri(any(Context.class), eq(secondUri))).thenReturn("second");
+    when(mockImageResizer.resizeImageIfNeeded("first", null, null, null, null))
+        .thenThrow(new IOException("Corrupt image"));
+    when(mockImageResizer.resizeImageIfNeeded("second", null, null, null, null))
+        .thenReturn("secondPath");
+    ClipData clipData = mock(ClipData.class);
+    ClipData.Item firstItem = mock(ClipData.Item.class);
+    ClipData.Item secondItem = mock(ClipData.Item.class);
+    when(firstItem.getUri()).thenReturn(firstUri);
+    when(secondItem.getUri()).thenReturn(secondUri);
+    when(clipData.getItemCount()).thenReturn(2);
+    when(clipData.getItemAt(0)).thenReturn(firstItem);
+    when(clipData.getItemAt(1)).thenReturn(secondItem);
+    when(mockIntent.getClipData()).thenReturn(clipData);
+
+    ImagePickerDelegate delegate = createDelegate();
+    delegate.chooseMultiImageFromGallery(mockMethodCall, mockEvents);
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_CHOOSE_MULTI_IMAGE_FROM_GALLERY,
+        Activity.RESULT_OK,
+        mockIntent);
+
+    InOrder inOrder = inOrder(mockEvents);
+    inOrder
+        .verify(mockEvents)
+        .error(
+            "processing_failed",
+            "Could not process the picked file: java.io.IOException: Corrupt image",
+            null);
+    inOrder.verify(mockEvents).success("secondPath");
+    inOrder.verify(mockEvents).endOfStream();
+    verifyNoMoreInteractions(mockEvents);
+  }
+
+  @Test
+  public void onActivityResult_WhenMultiImagePickCancelled_DoesNotSendPaths() {
+    when(mockPermissionManager.isPermissionGranted(Manifest.permission.READ_EXTERNAL_STORAGE))
+        .thenReturn(true);
+    QueuingExecutor queuingExecutor = new QueuingExecutor();
+    imageProcessingExecutor = queuingExecutor;
+
+    ImagePickerDelegate delegate = createDelegate();
+    delegate.chooseMultiImageFromGallery(mockMethodCall, mockEvents);
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_CHOOSE_MULTI_IMAGE_FROM_GALLERY,
+        Activity.RESULT_OK,
+        mockIntent);
+    delegate.cancelMultiImage();
+    queuingExecutor.runAll();
+
+    verifyZeroInteractions(mockEvents);
+  }
+
   private ImagePickerDelegate createDelegate() {
     return new ImagePickerDelegate(
         mockActivity,
         null,
         mockImageResizer,
+        mockVideoTranscoder,
         null,
         null,
         cache,
         mockPermissionManager,
         mockIntentResolver,
         mockFileUriResolver,
-        mockFileUtils);
+        mockFileUtils,
+        backgroundExecutor,
+        imageProcessingExecutor);
   }
 
   private ImagePickerDelegate createDelegateWithPendingResultAndMethodCall() {
@@ -406,13 +724,16 @@ public class ImagePickerDelegateTest {
         mockActivity,
         null,
         mockImageResizer,
+        mockVideoTranscoder,
         mockResult,
         mockMethodCall,
         cache,
         mockPermissionManager,
         mockIntentResolver,
         mockFileUriResolver,
-        mockFileUtils);
+        mockFileUtils,
+        backgroundExecutor,
+        imageProcessingExecutor);
   }
 
   private void verifyFinishedWithAlreadyActiveError() {
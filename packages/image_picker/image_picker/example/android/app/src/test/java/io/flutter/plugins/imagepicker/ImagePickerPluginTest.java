@@ -128,6 +128,12 @@ public class ImagePickerPluginTest {
     verify(mockImagePickerDelegate).setCameraDevice(eq(CameraDevice.FRONT));
   }
 
+  @Test
+  public void onMethodCall_GetCopyMetrics_ReturnsTheDelegateMetrics() {
+    plugin.onMethodCall(new MethodCall("getCopyMetrics", null), mockResult);
+    verify(mockImagePickerDelegate).getCopyMetrics();
+  }
+
   @Test
   public void onResiter_WhenAcitivityIsNull_ShouldNotCrash() {
     when(mockRegistrar.activity()).thenReturn(null);
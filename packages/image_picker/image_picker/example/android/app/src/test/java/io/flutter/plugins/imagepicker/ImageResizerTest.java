@@ -5,12 +5,14 @@
 package io.flutter.plugins.imagepicker;
 
 import static org.hamcrest.core.IsEqual.equalTo;
+import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertThat;
 
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -40,34 +42,160 @@ public class ImageResizerTest {
   }
 
   @Test
-  public void onResizeImageIfNeeded_WhenQualityIsNull_ShoultNotResize_ReturnTheUnscaledFile() {
-    String outoutFile = resizer.resizeImageIfNeeded(imageFile.getPath(), null, null, null);
+  public void onResizeImageIfNeeded_WhenQualityIsNull_ShoultNotResize_ReturnTheUnscaledFile()
+      throws IOException {
+    String outoutFile = resizer.resizeImageIfNeeded(imageFile.getPath(), null, null, null, null);
     assertThat(outoutFile, equalTo(imageFile.getPath()));
   }
 
   @Test
-  public void onResizeImageIfNeeded_WhenQualityIsNotNull_ShoulResize_ReturnResizedFile() {
-    String outoutFile = resizer.resizeImageIfNeeded(imageFile.getPath(), null, null, 50);
+  public void onResizeImageIfNeeded_WhenQualityIsNotNull_ShoulResize_ReturnResizedFile()
+      throws IOException {
+    String outoutFile = resizer.resizeImageIfNeeded(imageFile.getPath(), null, null, 50, null);
     assertThat(outoutFile, equalTo(externalDirectory.getPath() + "/scaled_pngImage.png"));
   }
 
   @Test
-  public void onResizeImageIfNeeded_WhenWidthIsNotNull_ShoulResize_ReturnResizedFile() {
-    String outoutFile = resizer.resizeImageIfNeeded(imageFile.getPath(), 50.0, null, null);
+  public void onResizeImageIfNeeded_WhenWidthIsNotNull_ShoulResize_ReturnResizedFile()
+      throws IOException {
+    String outoutFile = resizer.resizeImageIfNeeded(imageFile.getPath(), 50.0, null, null, null);
     assertThat(outoutFile, equalTo(externalDirectory.getPath() + "/scaled_pngImage.png"));
   }
 
   @Test
-  public void onResizeImageIfNeeded_WhenHeightIsNotNull_ShoulResize_ReturnResizedFile() {
-    String outoutFile = resizer.resizeImageIfNeeded(imageFile.getPath(), null, 50.0, null);
+  public void onResizeImageIfNeeded_WhenHeightIsNotNull_ShoulResize_ReturnResizedFile()
+      throws IOException {
+    String outoutFile = resizer.resizeImageIfNeeded(imageFile.getPath(), null, 50.0, null, null);
     assertThat(outoutFile, equalTo(externalDirectory.getPath() + "/scaled_pngImage.png"));
   }
 
   @Test
-  public void onResizeImageIfNeeded_WhenParentDirectoryDoesNotExists_ShouldNotCrash() {
+  public void onResizeImageIfNeeded_WhenParentDirectoryDoesNotExists_ShouldNotCrash()
+      throws IOException {
     File nonExistentDirectory = new File(externalDirectory, "/nonExistent");
     ImageResizer invalidResizer = new ImageResizer(nonExistentDirectory, new ExifDataCopier());
-    String outoutFile = invalidResizer.resizeImageIfNeeded(imageFile.getPath(), null, 50.0, null);
+    String outoutFile =
+        invalidResizer.resizeImageIfNeeded(imageFile.getPath(), null, 50.0, null, null);
     assertThat(outoutFile, equalTo(nonExistentDirectory.getPath() + "/scaled_pngImage.png"));
   }
+
+  @Test
+  public void onResizeImageIfNeeded_WhenNoResizeIsNeeded_ShouldNotDecodeTheFile()
+      throws IOException {
+    String notAnImage = externalDirectory.getPath() + "/notAnImage.jpg";
+    String outoutFile = resizer.resizeImageIfNeeded(notAnImage, null, null, null, null);
+    assertThat(outoutFile, equalTo(notAnImage));
+  }
+
+  @Test
+  public void calculateInSampleSize_ShouldSubsampleByPowersOfTwoDownToTheTargetSize() {
+    assertThat(ImageResizer.calculateInSampleSize(4000, 3000, 200, 150), equalTo(16));
+    assertThat(ImageResizer.calculateInSampleSize(4000, 3000, 1000, 750), equalTo(4));
+    assertThat(ImageResizer.calculateInSampleSize(4000, 3000, 1001, 751), equalTo(2));
+  }
+
+  @Test
+  public void compressFormatFor_ShouldKeepWebPAndAlpha() {
+    Bitmap opaqueBitmap = Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888);
+    opaqueBitmap.setHasAlpha(false);
+    Bitmap transparentBitmap = Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888);
+    transparentBitmap.setHasAlpha(true);
+
+    assertThat(
+        ImageResizer.compressFormatFor(opaqueBitmap, "image/jpeg"),
+        equalTo(Bitmap.CompressFormat.JPEG));
+    assertThat(
+        ImageResizer.compressFormatFor(transparentBitmap, "image/png"),
+        equalTo(Bitmap.CompressFormat.PNG));
+    assertThat(
+        ImageResizer.compressFormatFor(transparentBitmap, "image/webp"),
+        equalTo(Bitmap.CompressFormat.WEBP));
+  }
+
+  @Test
+  public void onResizeImageIfNeeded_ShouldNotLeaveTemporaryFiles() throws IOException {
+    resizer.resizeImageIfNeeded(imageFile.getPath(), null, null, 50, null);
+    assertThat(externalDirectory.list(), equalTo(new String[] {"scaled_pngImage.png"}));
+  }
+
+  @Test
+  public void calculateInSampleSize_WhenTargetIsNotSmaller_ShouldNotSubsample() {
+    assertThat(ImageResizer.calculateInSampleSize(100, 100, 100, 100), equalTo(1));
+    assertThat(ImageResizer.calculateInSampleSize(100, 100, 200, 50), equalTo(1));
+  }
+
+  @Test
+  public void onResizeImageIfNeeded_WithSourceKey_ShouldBeFoundInCache() throws IOException {
+    assertThat(resizer.getCachedImagePath("content://image|1|2", 50.0, null, null), nullValue());
+
+    String outputFile =
+        resizer.resizeImageIfNeeded(
+            imageFile.getPath(), 50.0, null, null, "content://image|1|2");
+
+    assertThat(
+        resizer.getCachedImagePath("content://image|1|2", 50.0, null, null), equalTo(outputFile));
+    assertThat(resizer.getCachedImagePath("content://image|1|2", 60.0, null, null), nullValue());
+    assertThat(resizer.getCachedImagePath("content://image|3|2", 50.0, null, null), nullValue());
+  }
+
+  @Test
+  public void trimScaledImages_ShouldDeleteLeastRecentlyUsedImagesOverTheLimit()
+      throws IOException {
+    long oldTime = System.currentTimeMillis() - 2 * ImageResizer.MIN_SCALED_IMAGE_AGE_MS;
+    File oldest = createScaledImage("scaled_oldest.jpg", oldTime - 2000);
+    File older = createScaledImage("scaled_older.jpg", oldTime - 1000);
+    File recent = createScaledImage("scaled_recent.jpg", System.currentTimeMillis());
+
+    resizer.trimScaledImages();
+
+    assertThat(oldest.exists(), equalTo(false));
+    assertThat(older.exists(), equalTo(true));
+    assertThat(recent.exists(), equalTo(true));
+  }
+
+  @Test
+  public void trimScaledImages_ShouldNotCountTemporaryFilesAndShouldDeleteStaleOnes()
+      throws IOException {
+    long oldTime = System.currentTimeMillis() - 2 * ImageResizer.MIN_SCALED_IMAGE_AGE_MS;
+    File scaled = createScaledImage("scaled_image.jpg", oldTime);
+    File staleTemporary = createScaledImage("scaling_stale.tmp", oldTime);
+    File staleLegacyTemporary = createScaledImage("scaled_stale.tmp", oldTime);
+    File writing = createScaledImage("scaling_writing.tmp", System.currentTimeMillis());
+
+    resizer.trimScaledImages();
+
+    assertThat(scaled.exists(), equalTo(true));
+    assertThat(staleTemporary.exists(), equalTo(false));
+    assertThat(staleLegacyTemporary.exists(), equalTo(false));
+    assertThat(writing.exists(), equalTo(true));
+  }
+
+  @Test
+  public void trimScaledImages_ShouldCountTranscodedVideosAndDeleteTheirStaleTemporaryFiles()
+      throws IOException {
+    long oldTime = System.currentTimeMillis() - 2 * ImageResizer.MIN_SCALED_IMAGE_AGE_MS;
+    File video = createScaledImage("transcoded_video_1.mp4", oldTime - 1000);
+    File scaled = createScaledImage("scaled_image.jpg", oldTime);
+    File recentVideo = createScaledImage("transcoded_video_2.mp4", System.currentTimeMillis());
+    File staleTemporary = createScaledImage("transcoded_123.tmp", oldTime);
+
+    resizer.trimScaledImages();
+
+    assertThat(video.exists(), equalTo(false));
+    assertThat(scaled.exists(), equalTo(true));
+    assertThat(recentVideo.exists(), equalTo(true));
+    assertThat(staleTemporary.exists(), equalTo(false));
+  }
+
+  private File createScaledImage(String name, long lastModified) throws IOException {
+    File file = new File(externalDirectory, name);
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    try {
+      randomAccessFile.setLength(ImageResizer.MAX_SCALED_IMAGES_SIZE / 2);
+    } finally {
+      randomAccessFile.close();
+    }
+    file.setLastModified(lastModified);
+    return file;
+  }
 }
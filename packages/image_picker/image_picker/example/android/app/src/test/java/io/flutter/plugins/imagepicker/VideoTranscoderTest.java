@@ -0,0 +1,54 @@
+// Copyright 2019 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.imagepicker;
+
+import static org.hamcrest.core.IsEqual.equalTo;
+import static org.junit.Assert.assertThat;
+
+import android.media.MediaFormat;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class VideoTranscoderTest {
+  @Test
+  public void targetSize_ShouldFitTheDisplayedSizeAndKeepTheAspectRatio() {
+    assertThat(
+        VideoTranscoder.targetSize(3840, 2160, 0, 1280, null), equalTo(new int[] {1280, 720}));
+    assertThat(
+        VideoTranscoder.targetSize(3840, 2160, 0, 1280, 360), equalTo(new int[] {640, 360}));
+  }
+
+  @Test
+  public void targetSize_WhenRotated_ShouldFitTheRotatedSize() {
+    // A portrait video stored as landscape frames.
+    assertThat(
+        VideoTranscoder.targetSize(1920, 1080, 90, 540, null), equalTo(new int[] {960, 540}));
+  }
+
+  @Test
+  public void targetSize_ShouldNotUpscaleAndShouldRoundToEvenSizes() {
+    assertThat(
+        VideoTranscoder.targetSize(640, 480, 0, 1280, 960), equalTo(new int[] {640, 480}));
+    assertThat(VideoTranscoder.targetSize(1001, 501, 0, 501, null), equalTo(new int[] {500, 250}));
+  }
+
+  @Test
+  public void frameRateOf_ShouldUseTheSourceFrameRate() {
+    MediaFormat format = MediaFormat.createVideoFormat("video/avc", 1920, 1080);
+    format.setInteger(MediaFormat.KEY_FRAME_RATE, 60);
+    assertThat(VideoTranscoder.frameRateOf(format), equalTo(60));
+
+    format.setFloat(MediaFormat.KEY_FRAME_RATE, 23.976f);
+    assertThat(VideoTranscoder.frameRateOf(format), equalTo(24));
+  }
+
+  @Test
+  public void frameRateOf_WhenMissing_ShouldDefaultTo30() {
+    MediaFormat format = MediaFormat.createVideoFormat("video/avc", 1920, 1080);
+    assertThat(VideoTranscoder.frameRateOf(format), equalTo(30));
+  }
+}
@@ -13,6 +13,13 @@ import 'package:image_picker_platform_interface/image_picker_platform_interface.
 
 final MethodChannel _channel = MethodChannel('plugins.flutter.io/image_picker');
 
+// The images picked at once are streamed back as they are processed.
+final EventChannel _multiImageChannel =
+    EventChannel('plugins.flutter.io/image_picker/multi_image');
+
+final EventChannel _videoTranscodingChannel =
+    EventChannel('plugins.flutter.io/image_picker/video_transcoding');
+
 /// An implementation of [ImagePickerPlatform] that uses method channels.
 class MethodChannelImagePicker extends ImagePickerPlatform {
   /// The MethodChannel that is being used by this implementation of the plugin.
@@ -71,6 +78,32 @@ class MethodChannelImagePicker extends ImagePickerPlatform {
     );
   }
 
+  @override
+  Stream<PickedFile> pickMultiImage({
+    double maxWidth,
+    double maxHeight,
+    int imageQuality,
+  }) {
+    if (imageQuality != null && (imageQuality < 0 || imageQuality > 100)) {
+      throw ArgumentError.value(
+          imageQuality, 'imageQuality', 'must be between 0 and 100');
+    }
+
+    if (maxWidth != null && maxWidth < 0) {
+      throw ArgumentError.value(maxWidth, 'maxWidth', 'cannot be negative');
+    }
+
+    if (maxHeight != null && maxHeight < 0) {
+      throw ArgumentError.value(maxHeight, 'maxHeight', 'cannot be negative');
+    }
+
+    return _multiImageChannel.receiveBroadcastStream(<String, dynamic>{
+      'maxWidth': maxWidth,
+      'maxHeight': maxHeight,
+      'imageQuality': imageQuality,
+    }).map((dynamic path) => PickedFile(path));
+  }
+
   @override
   Future<PickedFile> pickVideo({
     @required ImageSource source,
@@ -102,6 +135,49 @@ class MethodChannelImagePicker extends ImagePickerPlatform {
     );
   }
 
+  @override
+  Future<PickedFile> pickTranscodedVideo({
+    @required ImageSource source,
+    CameraDevice preferredCameraDevice = CameraDevice.rear,
+    Duration maxDuration,
+    int maxWidth,
+    int maxHeight,
+    int bitrate,
+  }) async {
+    assert(source != null);
+    if (maxWidth != null && maxWidth <= 0) {
+      throw ArgumentError.value(maxWidth, 'maxWidth', 'must be positive');
+    }
+
+    if (maxHeight != null && maxHeight <= 0) {
+      throw ArgumentError.value(maxHeight, 'maxHeight', 'must be positive');
+    }
+
+    if (bitrate != null && bitrate <= 0) {
+      throw ArgumentError.value(bitrate, 'bitrate', 'must be positive');
+    }
+
+    final String path = await _channel.invokeMethod<String>(
+      'pickVideo',
+      <String, dynamic>{
+        'source': source.index,
+        'maxDuration': maxDuration?.inSeconds,
+        'cameraDevice': preferredCameraDevice.index,
+        'maxVideoWidth': maxWidth,
+        'maxVideoHeight': maxHeight,
+        'videoBitrate': bitrate,
+      },
+    );
+    return path != null ? PickedFile(path) : null;
+  }
+
+  @override
+  Stream<double> videoTranscodingProgress() {
+    return _videoTranscodingChannel
+        .receiveBroadcastStream()
+        .map((dynamic progress) => progress as double);
+  }
+
   @override
   Future<LostData> retrieveLostData() async {
     final Map<String, dynamic> result =
@@ -168,6 +168,46 @@ abstract class ImagePickerPlatform extends PlatformInterface {
     throw UnimplementedError('pickVideo() has not been implemented.');
   }
 
+  /// Returns a [PickedFile] containing the video that was picked, transcoded to H.264 to make it smaller. (Android only)
+  ///
+  /// The arguments are the same as for [pickVideo]. The video is scaled down to be at most `maxWidth` wide and
+  /// `maxHeight` tall, and encoded at `bitrate` bits per second. If only the size is given, the bitrate is chosen
+  /// from the size. The original video is returned if it already fits, or if it can't be transcoded.
+  ///
+  /// Transcoding is done after the video is picked, and its progress is sent to [videoTranscodingProgress].
+  Future<PickedFile> pickTranscodedVideo({
+    @required ImageSource source,
+    CameraDevice preferredCameraDevice = CameraDevice.rear,
+    Duration maxDuration,
+    int maxWidth,
+    int maxHeight,
+    int bitrate,
+  }) {
+    throw UnimplementedError('pickTranscodedVideo() has not been implemented.');
+  }
+
+  /// Returns a [Stream] of the progress, from 0 to 1, of the videos picked with [pickTranscodedVideo] being transcoded. (Android only)
+  Stream<double> videoTranscodingProgress() {
+    throw UnimplementedError(
+        'videoTranscodingProgress() has not been implemented.');
+  }
+
+  /// Returns a [Stream] of the [PickedFile]s of the images that were picked from the gallery. (Android only)
+  ///
+  /// The images are processed in parallel. Each one is emitted, in the order the images were picked,
+  /// as soon as it and the images before it are processed. The stream is empty if the user cancels.
+  ///
+  /// `maxWidth`, `maxHeight` and `imageQuality` apply to every image, as for [pickImage].
+  ///
+  /// The images picked are not saved for [retrieveLostData] if the MainActivity is destroyed.
+  Stream<PickedFile> pickMultiImage({
+    double maxWidth,
+    double maxHeight,
+    int imageQuality,
+  }) {
+    throw UnimplementedError('pickMultiImage() has not been implemented.');
+  }
+
   /// Retrieve the lost [PickedFile] file when [pickImage] or [pickVideo] failed because the MainActivity is destroyed. (Android only)
   ///
   /// Image or video can be lost if the MainActivity is destroyed. And there is no guarantee that the MainActivity is always alive.
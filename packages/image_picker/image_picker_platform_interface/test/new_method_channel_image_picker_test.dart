@@ -301,6 +301,122 @@ void main() {
       });
     });
 
+    group('#pickTranscodedVideo', () {
+      test('passes the transcoding arguments correctly', () async {
+        await picker.pickTranscodedVideo(
+          source: ImageSource.gallery,
+          maxWidth: 1280,
+          maxHeight: 720,
+          bitrate: 2000000,
+        );
+
+        expect(
+          log,
+          <Matcher>[
+            isMethodCall('pickVideo', arguments: <String, dynamic>{
+              'source': 1,
+              'maxDuration': null,
+              'cameraDevice': 0,
+              'maxVideoWidth': 1280,
+              'maxVideoHeight': 720,
+              'videoBitrate': 2000000,
+            }),
+          ],
+        );
+      });
+
+      test('does not accept a non-positive size or bitrate', () {
+        expect(
+          () => picker.pickTranscodedVideo(
+              source: ImageSource.gallery, maxWidth: 0),
+          throwsArgumentError,
+        );
+
+        expect(
+          () => picker.pickTranscodedVideo(
+              source: ImageSource.gallery, maxHeight: -1),
+          throwsArgumentError,
+        );
+
+        expect(
+          () => picker.pickTranscodedVideo(
+              source: ImageSource.gallery, bitrate: 0),
+          throwsArgumentError,
+        );
+      });
+    });
+
+    group('#pickMultiImage', () {
+      const String channelName = 'plugins.flutter.io/image_picker/multi_image';
+
+      tearDown(() {
+        // ignore: deprecated_member_use
+        defaultBinaryMessenger.setMockMessageHandler(channelName, null);
+      });
+
+      test('streams the picked images and passes the arguments', () async {
+        final List<MethodCall> calls = <MethodCall>[];
+        // ignore: deprecated_member_use
+        defaultBinaryMessenger.setMockMessageHandler(channelName,
+            (ByteData message) async {
+          final MethodCall methodCall =
+              const StandardMethodCodec().decodeMethodCall(message);
+          calls.add(methodCall);
+          if (methodCall.method == 'listen') {
+            for (final String path in <String>['/first.jpg', '/second.jpg']) {
+              // ignore: deprecated_member_use
+              await defaultBinaryMessenger.handlePlatformMessage(
+                  channelName,
+                  const StandardMethodCodec().encodeSuccessEnvelope(path),
+                  (ByteData data) {});
+            }
+            // The end of the stream.
+            // ignore: deprecated_member_use
+            await defaultBinaryMessenger.handlePlatformMessage(
+                channelName, null, (ByteData data) {});
+          }
+          return const StandardMethodCodec().encodeSuccessEnvelope(null);
+        });
+
+        final List<PickedFile> files = await picker
+            .pickMultiImage(maxWidth: 10.0, maxHeight: 20.0, imageQuality: 70)
+            .toList();
+
+        expect(files.map((PickedFile file) => file.path),
+            <String>['/first.jpg', '/second.jpg']);
+        expect(calls.first.method, 'listen');
+        expect(calls.first.arguments, <String, dynamic>{
+          'maxWidth': 10.0,
+          'maxHeight': 20.0,
+          'imageQuality': 70,
+        });
+      });
+
+      test('does not accept an invalid imageQuality argument', () {
+        expect(
+          () => picker.pickMultiImage(imageQuality: -1),
+          throwsArgumentError,
+        );
+
+        expect(
+          () => picker.pickMultiImage(imageQuality: 101),
+          throwsArgumentError,
+        );
+      });
+
+      test('does not accept a negative width or height argument', () {
+        expect(
+          () => picker.pickMultiImage(maxWidth: -1.0),
+          throwsArgumentError,
+        );
+
+        expect(
+          () => picker.pickMultiImage(maxHeight: -1.0),
+          throwsArgumentError,
+        );
+      });
+    });
+
     group('#retrieveLostData', () {
       test('retrieveLostData get success response', () async {
         picker.channel.setMockMethodCallHandler((MethodCall methodCall) async {
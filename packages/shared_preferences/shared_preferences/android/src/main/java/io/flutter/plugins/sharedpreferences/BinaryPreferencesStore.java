@@ -0,0 +1,306 @@
+// Copyright 2019 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import android.util.Log;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the preferences in a single file with a compact typed binary format.
+ *
+ * <p>Unlike {@link SharedPreferencesStore}, no value is encoded as a string: the file is memory
+ * mapped and each entry is read straight to its type, and a write is a single sequential rewrite
+ * of the file. The file is:
+ *
+ * <pre>
+ * int magic, int version, int entry count
+ * for each entry: byte type, string key, value
+ * </pre>
+ *
+ * where strings are an int byte length followed by their UTF-8 bytes, big integers an int byte
+ * length followed by their two's complement bytes, and lists an int count followed by their
+ * strings.
+ *
+ * <p>The first time it is loaded, the preferences are moved over from {@code legacyStore}. A file
+ * that can't be read is moved aside to a {@code .corrupt} file, and the preferences start over
+ * empty.
+ *
+ * <p>A store caches the preferences and rewrites the whole file from its cache, so there must be a
+ * single store per file: the engines of the process share it through {@link #getInstance}.
+ */
+@SuppressWarnings("unchecked")
+class BinaryPreferencesStore implements PreferencesStore {
+  private static final String TAG = "SharedPreferences";
+  private static final int MAGIC = 0x46535042; // "FSPB"
+  private static final int VERSION = 1;
+
+  private static final byte TYPE_BOOLEAN = 1;
+  private static final byte TYPE_LONG = 2;
+  private static final byte TYPE_BIG_INTEGER = 3;
+  private static final byte TYPE_DOUBLE = 4;
+  private static final byte TYPE_STRING = 5;
+  private static final byte TYPE_STRING_LIST = 6;
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  // The stores of the process, by file path.
+  private static final Map<String, BinaryPreferencesStore> instances = new HashMap<>();
+
+  private final File file;
+  private final PreferencesStore legacyStore;
+  // Serializes the writes, so that the file is written in the order of the commits.
+  private final Object writeLock = new Object();
+  private final Object lock = new Object();
+  // Guarded by lock. Replaced, never mutated, once loaded.
+  private Map<String, Object> values;
+
+  // Only the tests create stores directly, to read a file as a new process would.
+  BinaryPreferencesStore(File file, PreferencesStore legacyStore) {
+    this.file = file;
+    this.legacyStore = legacyStore;
+  }
+
+  /**
+   * Returns the store of {@code file}, creating it with {@code legacyStore} the first time the file
+   * is asked for.
+   */
+  static BinaryPreferencesStore getInstance(File file, PreferencesStore legacyStore) {
+    synchronized (instances) {
+      String path = file.getAbsolutePath();
+      BinaryPreferencesStore store = instances.get(path);
+      if (store == null) {
+        store = new BinaryPreferencesStore(file, legacyStore);
+        instances.put(path, store);
+      }
+      return store;
+    }
+  }
+
+  @Override
+  public Map<String, Object> getAll() throws IOException {
+    synchronized (lock) {
+      return new HashMap<>(load());
+    }
+  }
+
+  @Override
+  public boolean commit(Map<String, Object> changes) throws IOException {
+    synchronized (writeLock) {
+      Map<String, Object> updatedValues;
+      synchronized (lock) {
+        updatedValues = new HashMap<>(load());
+      }
+      for (Map.Entry<String, Object> change : changes.entrySet()) {
+        if (change.getValue() == null) {
+          updatedValues.remove(change.getKey());
+        } else {
+          updatedValues.put(change.getKey(), change.getValue());
+        }
+      }
+      write(updatedValues);
+      synchronized (lock) {
+        values = updatedValues;
+      }
+      return true;
+    }
+  }
+
+  // Must be called with lock held.
+  private Map<String, Object> load() throws IOException {
+    if (values != null) {
+      return values;
+    }
+    if (file.exists()) {
+      try {
+        values = read(file);
+      } catch (IOException e) {
+        // Failing on every later call would leave the app without any preferences at all.
+        Log.e(TAG, "Could not read the preferences, starting over.", e);
+        moveAside(file);
+        values = new HashMap<>();
+      }
+    } else {
+      values = migrate();
+    }
+    return values;
+  }
+
+  private static void moveAside(File file) {
+    File corruptFile = new File(file.getPath() + ".corrupt");
+    corruptFile.delete();
+    if (!file.renameTo(corruptFile)) {
+      file.delete();
+    }
+  }
+
+  private Map<String, Object> migrate() throws IOException {
+    Map<String, Object> legacyValues = legacyStore.getAll();
+    // The file is written even when there is nothing to migrate, so that the legacy store isn't
+    // checked again.
+    write(legacyValues);
+    if (!legacyValues.isEmpty()) {
+      Map<String, Object> removals = new HashMap<>();
+      for (String key : legacyValues.keySet()) {
+        removals.put(key, null);
+      }
+      // The preferences are already in the file, so failing to remove them only wastes space.
+      legacyStore.commit(removals);
+    }
+    return legacyValues;
+  }
+
+  private static Map<String, Object> read(File file) throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = randomAccessFile.getChannel();
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("Not a preferences file: " + file);
+      }
+      int version = buffer.getInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported preferences file version: " + version);
+      }
+      int count = buffer.getInt();
+      if (count < 0 || count > buffer.remaining()) {
+        throw new IOException("Invalid entry count: " + count);
+      }
+      Map<String, Object> values = new HashMap<>(count * 4 / 3 + 1);
+      for (int i = 0; i < count; i++) {
+        byte type = buffer.get();
+        String key = readString(buffer);
+        values.put(key, readValue(buffer, type));
+      }
+      return values;
+    } catch (BufferUnderflowException | IllegalArgumentException e) {
+      throw new IOException("Corrupt preferences file: " + file, e);
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  private static Object readValue(ByteBuffer buffer, byte type) throws IOException {
+    switch (type) {
+      case TYPE_BOOLEAN:
+        return buffer.get() != 0;
+      case TYPE_LONG:
+        return buffer.getLong();
+      case TYPE_BIG_INTEGER:
+        return new BigInteger(readBytes(buffer));
+      case TYPE_DOUBLE:
+        return buffer.getDouble();
+      case TYPE_STRING:
+        return readString(buffer);
+      case TYPE_STRING_LIST:
+        int size = buffer.getInt();
+        if (size < 0 || size > buffer.remaining() / 4) {
+          throw new IOException("Invalid list size: " + size);
+        }
+        List<String> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+          list.add(readString(buffer));
+        }
+        return Collections.unmodifiableList(list);
+      default:
+        throw new IOException("Unknown preference type: " + type);
+    }
+  }
+
+  private static String readString(ByteBuffer buffer) throws IOException {
+    return new String(readBytes(buffer), UTF_8);
+  }
+
+  private static byte[] readBytes(ByteBuffer buffer) throws IOException {
+    int length = buffer.getInt();
+    if (length < 0 || length > buffer.remaining()) {
+      throw new IOException("Invalid length: " + length);
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  /** Writes {@code values} to a temporary file, then moves it over the file in one step. */
+  private void write(Map<String, Object> values) throws IOException {
+    File temporaryFile = new File(file.getPath() + ".tmp");
+    FileOutputStream fileOutputStream = new FileOutputStream(temporaryFile);
+    try {
+      DataOutputStream output = new DataOutputStream(new BufferedOutputStream(fileOutputStream));
+      output.writeInt(MAGIC);
+      output.writeInt(VERSION);
+      output.writeInt(values.size());
+      for (Map.Entry<String, Object> entry : values.entrySet()) {
+        writeEntry(output, entry.getKey(), entry.getValue());
+      }
+      output.flush();
+      fileOutputStream.getFD().sync();
+    } finally {
+      fileOutputStream.close();
+    }
+    if (!temporaryFile.renameTo(file)) {
+      temporaryFile.delete();
+      throw new IOException("Could not replace " + file);
+    }
+  }
+
+  private static void writeEntry(DataOutputStream output, String key, Object value)
+      throws IOException {
+    if (value instanceof Boolean) {
+      output.writeByte(TYPE_BOOLEAN);
+      writeString(output, key);
+      output.writeBoolean((Boolean) value);
+    } else if (value instanceof BigInteger) {
+      output.writeByte(TYPE_BIG_INTEGER);
+      writeString(output, key);
+      writeBytes(output, ((BigInteger) value).toByteArray());
+    } else if (value instanceof Double) {
+      output.writeByte(TYPE_DOUBLE);
+      writeString(output, key);
+      output.writeDouble((Double) value);
+    } else if (value instanceof Number) {
+      output.writeByte(TYPE_LONG);
+      writeString(output, key);
+      output.writeLong(((Number) value).longValue());
+    } else if (value instanceof String) {
+      output.writeByte(TYPE_STRING);
+      writeString(output, key);
+      writeString(output, (String) value);
+    } else if (value instanceof List) {
+      List<String> list = (List<String>) value;
+      output.writeByte(TYPE_STRING_LIST);
+      writeString(output, key);
+      output.writeInt(list.size());
+      for (String element : list) {
+        writeString(output, element);
+      }
+    } else {
+      throw new IllegalArgumentException("Unsupported preference value: " + value);
+    }
+  }
+
+  private static void writeString(DataOutputStream output, String string) throws IOException {
+    writeBytes(output, string.getBytes(UTF_8));
+  }
+
+  private static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+}
@@ -5,199 +5,361 @@
 package io.flutter.plugins.sharedpreferences;
 
 import android.content.Context;
-import android.content.SharedPreferences;
-import android.os.AsyncTask;
-import android.util.Base64;
+import android.content.pm.ApplicationInfo;
+import android.content.pm.PackageManager;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 /**
  * Implementation of the {@link MethodChannel.MethodCallHandler} for the plugin. It is also
- * responsible of managing the {@link android.content.SharedPreferences}.
+ * responsible of choosing the {@link PreferencesStore} the preferences are kept in.
  */
 @SuppressWarnings("unchecked")
 class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
+  private static final String TAG = "SharedPreferences";
 
-  private static final String SHARED_PREFERENCES_NAME = "FlutterSharedPreferences";
+  // Apps opt in to the binary store with this meta-data in their AndroidManifest.xml.
+  private static final String BINARY_STORAGE_META_DATA =
+      "io.flutter.plugins.sharedpreferences.USE_BINARY_STORAGE";
+  private static final String BINARY_STORAGE_FILE_NAME = "FlutterSharedPreferences.bin";
+  // Apps opt in to coalescing the writes made within this many milliseconds of each other with
+  // this meta-data in their AndroidManifest.xml.
+  private static final String WRITE_COALESCING_WINDOW_META_DATA =
+      "io.flutter.plugins.sharedpreferences.WRITE_COALESCING_WINDOW_MS";
 
-  // Fun fact: The following is a base64 encoding of the string "This is the prefix for a list."
-  private static final String LIST_IDENTIFIER = "VGhpcyBpcyB0aGUgcHJlZml4IGZvciBhIGxpc3Qu";
-  private static final String BIG_INTEGER_PREFIX = "VGhpcyBpcyB0aGUgcHJlZml4IGZvciBCaWdJbnRlZ2Vy";
-  private static final String DOUBLE_PREFIX = "VGhpcyBpcyB0aGUgcHJlZml4IGZvciBEb3VibGUu";
+  private final PreferencesStore store;
+  private final long writeCoalescingWindowMs;
+  private final WriteExecutor writeExecutor;
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable flushPendingChanges =
+      new Runnable() {
+        @Override
+        public void run() {
+          flushPendingChanges();
+        }
+      };
 
-  private final android.content.SharedPreferences preferences;
+  // The changes waiting for the coalescing window to end, and the calls waiting for them to be
+  // written. Only accessed on the platform thread.
+  private Map<String, Object> pendingChanges;
+  private List<MethodCall> pendingCalls;
+  private List<MethodChannel.Result> pendingResults;
 
   /**
-   * Constructs a {@link MethodCallHandlerImpl} instance. Creates a {@link
-   * android.content.SharedPreferences} based on the {@code context}.
+   * Constructs a {@link MethodCallHandlerImpl} instance. Keeps the preferences in a {@link
+   * BinaryPreferencesStore} if the app opted in to it, or else in a {@link
+   * SharedPreferencesStore}.
    */
   MethodCallHandlerImpl(Context context) {
-    preferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
+    Bundle metaData = getMetaData(context);
+    SharedPreferencesStore sharedPreferencesStore = new SharedPreferencesStore(context);
+    if (metaData.getBoolean(BINARY_STORAGE_META_DATA, false)) {
+      // Shared with the other engines of the process, like the SharedPreferences instances.
+      store =
+          BinaryPreferencesStore.getInstance(
+              new File(context.getFilesDir(), BINARY_STORAGE_FILE_NAME), sharedPreferencesStore);
+    } else {
+      store = sharedPreferencesStore;
+    }
+    writeCoalescingWindowMs = metaData.getInt(WRITE_COALESCING_WINDOW_META_DATA, 0);
+    writeExecutor = new WriteExecutor();
+  }
+
+  /** Constructs an instance keeping the preferences in {@code store}, for the tests. */
+  MethodCallHandlerImpl(
+      PreferencesStore store, long writeCoalescingWindowMs, WriteExecutor writeExecutor) {
+    this.store = store;
+    this.writeCoalescingWindowMs = writeCoalescingWindowMs;
+    this.writeExecutor = writeExecutor;
+  }
+
+  /** Writes the pending changes, and stops taking writes once the queued ones are done. */
+  void teardown() {
+    flushPendingChanges();
+    writeExecutor.shutdown();
   }
 
   @Override
-  public void onMethodCall(MethodCall call, MethodChannel.Result result) {
+  public void onMethodCall(final MethodCall call, final MethodChannel.Result result) {
     String key = call.argument("key");
-    try {
-      switch (call.method) {
-        case "setBool":
-          commitAsync(preferences.edit().putBoolean(key, (boolean) call.argument("value")), result);
-          break;
-        case "setDouble":
-          double doubleValue = ((Number) call.argument("value")).doubleValue();
-          String doubleValueStr = Double.toString(doubleValue);
-          commitAsync(preferences.edit().putString(key, DOUBLE_PREFIX + doubleValueStr), result);
-          break;
-        case "setInt":
-          Number number = call.argument("value");
-          if (number instanceof BigInteger) {
-            BigInteger integerValue = (BigInteger) number;
-            commitAsync(
-                preferences
-                    .edit()
-                    .putString(
-                        key, BIG_INTEGER_PREFIX + integerValue.toString(Character.MAX_RADIX)),
-                result);
-          } else {
-            commitAsync(preferences.edit().putLong(key, number.longValue()), result);
+    switch (call.method) {
+      case "setBool":
+        commitAsync(call, key, (Boolean) call.argument("value"), result);
+        break;
+      case "setDouble":
+        double doubleValue = ((Number) call.argument("value")).doubleValue();
+        commitAsync(call, key, doubleValue, result);
+        break;
+      case "setInt":
+        Number number = call.argument("value");
+        if (number instanceof BigInteger) {
+          commitAsync(call, key, number, result);
+        } else {
+          commitAsync(call, key, number.longValue(), result);
+        }
+        break;
+      case "setString":
+        String value = (String) call.argument("value");
+        if (clashesWithPrefixes(value)) {
+          reportPrefixClash(result);
+          return;
+        }
+        commitAsync(call, key, value, result);
+        break;
+      case "setStringList":
+        List<String> list = call.argument("value");
+        commitAsync(call, key, list, result);
+        break;
+      case "setAll":
+        Map<String, Object> values = call.argument("values");
+        Map<String, Object> changes = new HashMap<>();
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+          Object entryValue = entry.getValue();
+          if (entryValue instanceof String && clashesWithPrefixes((String) entryValue)) {
+            reportPrefixClash(result);
+            return;
           }
-          break;
-        case "setString":
-          String value = (String) call.argument("value");
-          if (value.startsWith(LIST_IDENTIFIER) || value.startsWith(BIG_INTEGER_PREFIX)) {
-            result.error(
-                "StorageError",
-                "This string cannot be stored as it clashes with special identifier prefixes.",
-                null);
+          if (entryValue != null
+              && !(entryValue instanceof Boolean)
+              && !(entryValue instanceof Number)
+              && !(entryValue instanceof String)
+              && !(entryValue instanceof List)) {
+            result.error("StorageError", "Unsupported value for " + entry.getKey(), null);
             return;
           }
-          commitAsync(preferences.edit().putString(key, value), result);
-          break;
-        case "setStringList":
-          List<String> list = call.argument("value");
-          commitAsync(
-              preferences.edit().putString(key, LIST_IDENTIFIER + encodeList(list)), result);
-          break;
-        case "commit":
+          if (entryValue instanceof Number
+              && !(entryValue instanceof Double)
+              && !(entryValue instanceof BigInteger)) {
+            entryValue = ((Number) entryValue).longValue();
+          }
+          changes.put(entry.getKey(), entryValue);
+        }
+        commitAsync(call, changes, result);
+        break;
+      case "commit":
+        if (pendingChanges != null) {
+          // Replies once the pending changes are written.
+          pendingCalls.add(call);
+          pendingResults.add(result);
+          flushPendingChanges();
+        } else {
           // We've been committing the whole time.
           result.success(true);
-          break;
-        case "getAll":
-          result.success(getAllPrefs());
-          return;
-        case "remove":
-          commitAsync(preferences.edit().remove(key), result);
-          break;
-        case "clear":
-          Set<String> keySet = getAllPrefs().keySet();
-          SharedPreferences.Editor clearEditor = preferences.edit();
-          for (String keyToDelete : keySet) {
-            clearEditor.remove(keyToDelete);
-          }
-          commitAsync(clearEditor, result);
-          break;
-        default:
-          result.notImplemented();
-          break;
-      }
-    } catch (IOException e) {
-      result.error("IOException encountered", call.method, e);
+        }
+        break;
+      case "getAll":
+        // The changes still waiting for the coalescing window are taken now: the window may end,
+        // and queue them after this read, before the read completes.
+        final Map<String, Object> unwrittenChanges =
+            pendingChanges != null
+                ? new HashMap<>(pendingChanges)
+                : Collections.<String, Object>emptyMap();
+        // Read after the queued writes, so that they are included.
+        writeExecutor.read(
+            new WriteExecutor.Task() {
+              @Override
+              public Object run() throws IOException {
+                return store.getAll();
+              }
+            },
+            new WriteExecutor.Callback() {
+              @Override
+              public void onComplete(Object value, IOException exception) {
+                if (exception != null) {
+                  result.error("IOException encountered", call.method, exception);
+                  return;
+                }
+                Map<String, Object> allPrefs = (Map<String, Object>) value;
+                applyChanges(allPrefs, unwrittenChanges);
+                result.success(allPrefs);
+              }
+            });
+        return;
+      case "remove":
+        commitAsync(call, key, null, result);
+        break;
+      case "clear":
+        // The pending changes are written first, so that they are cleared too.
+        flushPendingChanges();
+        write(
+            new WriteExecutor.Task() {
+              @Override
+              public Object run() throws IOException {
+                Map<String, Object> removals = new HashMap<>();
+                for (String keyToDelete : store.getAll().keySet()) {
+                  removals.put(keyToDelete, null);
+                }
+                return store.commit(removals);
+              }
+            },
+            call,
+            result);
+        break;
+      case "getWriteMetrics":
+        result.success(writeExecutor.getMetrics());
+        break;
+      default:
+        result.notImplemented();
+        break;
     }
   }
 
   private void commitAsync(
-      final SharedPreferences.Editor editor, final MethodChannel.Result result) {
-    new AsyncTask<Void, Void, Boolean>() {
-      @Override
-      protected Boolean doInBackground(Void... voids) {
-        return editor.commit();
-      }
+      MethodCall call, String key, Object value, MethodChannel.Result result) {
+    commitAsync(call, Collections.singletonMap(key, value), result);
+  }
 
-      @Override
-      protected void onPostExecute(Boolean value) {
-        result.success(value);
-      }
-    }.execute();
+  /**
+   * Writes {@code changes} and replies to {@code result} once they are written, or right away if
+   * the call asked for them to be applied without waiting.
+   *
+   * <p>If the app opted in to write coalescing, the changes are held for the coalescing window,
+   * and written together with the other changes made during that window.
+   */
+  private void commitAsync(
+      final MethodCall call, final Map<String, Object> changes, MethodChannel.Result result) {
+    if (writeCoalescingWindowMs <= 0) {
+      write(
+          new WriteExecutor.Task() {
+            @Override
+            public Object run() throws IOException {
+              return store.commit(changes);
+            }
+          },
+          call,
+          result);
+      return;
+    }
+    if (pendingChanges == null) {
+      pendingChanges = new HashMap<>();
+      pendingCalls = new ArrayList<>();
+      pendingResults = new ArrayList<>();
+      handler.postDelayed(flushPendingChanges, writeCoalescingWindowMs);
+    }
+    pendingChanges.putAll(changes);
+    if (isApplied(call)) {
+      result.success(true);
+    } else {
+      pendingCalls.add(call);
+      pendingResults.add(result);
+    }
   }
 
-  private List<String> decodeList(String encodedList) throws IOException {
-    ObjectInputStream stream = null;
-    try {
-      stream = new ObjectInputStream(new ByteArrayInputStream(Base64.decode(encodedList, 0)));
-      return (List<String>) stream.readObject();
-    } catch (ClassNotFoundException e) {
-      throw new IOException(e);
-    } finally {
-      if (stream != null) {
-        stream.close();
-      }
+  /**
+   * Queues the changes waiting for the coalescing window to be written now. Called when the window
+   * ends, and by the tests to end it.
+   */
+  void flushPendingChanges() {
+    handler.removeCallbacks(flushPendingChanges);
+    if (pendingChanges == null) {
+      return;
     }
+    final Map<String, Object> changes = pendingChanges;
+    write(
+        new WriteExecutor.Task() {
+          @Override
+          public Object run() throws IOException {
+            return store.commit(changes);
+          }
+        },
+        pendingCalls,
+        pendingResults);
+    pendingChanges = null;
+    pendingCalls = null;
+    pendingResults = null;
   }
 
-  private String encodeList(List<String> list) throws IOException {
-    ObjectOutputStream stream = null;
-    try {
-      ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-      stream = new ObjectOutputStream(byteStream);
-      stream.writeObject(list);
-      stream.flush();
-      return Base64.encodeToString(byteStream.toByteArray(), 0);
-    } finally {
-      if (stream != null) {
-        stream.close();
-      }
+  /**
+   * Queues {@code task}, and replies to {@code result} once it is done, or right away if the call
+   * asked for the write to be applied without waiting for it.
+   */
+  private void write(WriteExecutor.Task task, MethodCall call, MethodChannel.Result result) {
+    if (isApplied(call)) {
+      result.success(true);
+      write(
+          task,
+          Collections.<MethodCall>emptyList(),
+          Collections.<MethodChannel.Result>emptyList());
+    } else {
+      write(task, Collections.singletonList(call), Collections.singletonList(result));
     }
   }
 
-  // Filter preferences to only those set by the flutter app.
-  private Map<String, Object> getAllPrefs() throws IOException {
-    Map<String, ?> allPrefs = preferences.getAll();
-    Map<String, Object> filteredPrefs = new HashMap<>();
-    for (String key : allPrefs.keySet()) {
-      if (key.startsWith("flutter.")) {
-        Object value = allPrefs.get(key);
-        if (value instanceof String) {
-          String stringValue = (String) value;
-          if (stringValue.startsWith(LIST_IDENTIFIER)) {
-            value = decodeList(stringValue.substring(LIST_IDENTIFIER.length()));
-          } else if (stringValue.startsWith(BIG_INTEGER_PREFIX)) {
-            String encoded = stringValue.substring(BIG_INTEGER_PREFIX.length());
-            value = new BigInteger(encoded, Character.MAX_RADIX);
-          } else if (stringValue.startsWith(DOUBLE_PREFIX)) {
-            String doubleStr = stringValue.substring(DOUBLE_PREFIX.length());
-            value = Double.valueOf(doubleStr);
+  private void write(
+      WriteExecutor.Task task,
+      final List<MethodCall> calls,
+      final List<MethodChannel.Result> results) {
+    writeExecutor.write(
+        task,
+        new WriteExecutor.Callback() {
+          @Override
+          public void onComplete(Object value, IOException exception) {
+            if (exception != null) {
+              Log.e(TAG, "Could not write the preferences.", exception);
+            }
+            for (int i = 0; i < results.size(); i++) {
+              if (exception != null) {
+                results.get(i).error("IOException encountered", calls.get(i).method, exception);
+              } else {
+                results.get(i).success(value);
+              }
+            }
           }
-        } else if (value instanceof Set) {
-          // This only happens for previous usage of setStringSet. The app expects a list.
-          List<String> listValue = new ArrayList<>((Set) value);
-          // Let's migrate the value too while we are at it.
-          boolean success =
-              preferences
-                  .edit()
-                  .remove(key)
-                  .putString(key, LIST_IDENTIFIER + encodeList(listValue))
-                  .commit();
-          if (!success) {
-            // If we are unable to migrate the existing preferences, it means we potentially lost them.
-            // In this case, an error from getAllPrefs() is appropriate since it will alert the app during plugin initialization.
-            throw new IOException("Could not migrate set to list");
-          }
-          value = listValue;
-        }
-        filteredPrefs.put(key, value);
+        });
+  }
+
+  // Whether the caller asked for the write to be applied like SharedPreferences.Editor#apply(),
+  // without waiting for it to be on disk.
+  private static boolean isApplied(MethodCall call) {
+    return Boolean.TRUE.equals(call.argument("apply"));
+  }
+
+  private static void applyChanges(Map<String, Object> values, Map<String, Object> changes) {
+    for (Map.Entry<String, Object> change : changes.entrySet()) {
+      if (change.getValue() == null) {
+        values.remove(change.getKey());
+      } else {
+        values.put(change.getKey(), change.getValue());
+      }
+    }
+  }
+
+  private static boolean clashesWithPrefixes(String value) {
+    return value.startsWith(SharedPreferencesStore.LIST_IDENTIFIER)
+        || value.startsWith(SharedPreferencesStore.BIG_INTEGER_PREFIX);
+  }
+
+  private static void reportPrefixClash(MethodChannel.Result result) {
+    result.error(
+        "StorageError",
+        "This string cannot be stored as it clashes with special identifier prefixes.",
+        null);
+  }
+
+  private static Bundle getMetaData(Context context) {
+    try {
+      ApplicationInfo applicationInfo =
+          context
+              .getPackageManager()
+              .getApplicationInfo(context.getPackageName(), PackageManager.GET_META_DATA);
+      if (applicationInfo.metaData != null) {
+        return applicationInfo.metaData;
       }
+    } catch (PackageManager.NameNotFoundException e) {
+      // Falls back to the defaults.
     }
-    return filteredPrefs;
+    return new Bundle();
   }
 }
@@ -0,0 +1,27 @@
+// Copyright 2019 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Where the plugin keeps the preferences of the Flutter app.
+ *
+ * <p>The values are the ones that go through the method channel: {@link Boolean}, {@link Long},
+ * {@link java.math.BigInteger}, {@link Double}, {@link String} and {@code List<String>}.
+ */
+interface PreferencesStore {
+  /** Returns all the preferences, by key. */
+  Map<String, Object> getAll() throws IOException;
+
+  /**
+   * Writes {@code changes} to disk, removing the preferences whose value is null, and returns
+   * whether they were written.
+   *
+   * <p>Called off the platform thread.
+   */
+  boolean commit(Map<String, Object> changes) throws IOException;
+}
@@ -14,6 +14,7 @@ import io.flutter.plugin.common.PluginRegistry;
 public class SharedPreferencesPlugin implements FlutterPlugin {
   private static final String CHANNEL_NAME = "plugins.flutter.io/shared_preferences";
   private MethodChannel channel;
+  private MethodCallHandlerImpl handler;
 
   public static void registerWith(PluginRegistry.Registrar registrar) {
     final SharedPreferencesPlugin plugin = new SharedPreferencesPlugin();
@@ -32,12 +33,14 @@ public class SharedPreferencesPlugin implements FlutterPlugin {
 
   private void setupChannel(BinaryMessenger messenger, Context context) {
     channel = new MethodChannel(messenger, CHANNEL_NAME);
-    MethodCallHandlerImpl handler = new MethodCallHandlerImpl(context);
+    handler = new MethodCallHandlerImpl(context);
     channel.setMethodCallHandler(handler);
   }
 
   private void teardownChannel() {
     channel.setMethodCallHandler(null);
+    handler.teardown();
     channel = null;
+    handler = null;
   }
 }
@@ -0,0 +1,143 @@
+// Copyright 2019 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Base64;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the preferences in the {@code FlutterSharedPreferences} {@link
+ * android.content.SharedPreferences}.
+ *
+ * <p>The values that SharedPreferences can't hold are stored as strings behind a prefix: doubles
+ * as decimal strings, big integers in base 36 and lists as serialized Java objects in Base64.
+ */
+@SuppressWarnings("unchecked")
+class SharedPreferencesStore implements PreferencesStore {
+
+  private static final String SHARED_PREFERENCES_NAME = "FlutterSharedPreferences";
+
+  // Fun fact: The following is a base64 encoding of the string "This is the prefix for a list."
+  static final String LIST_IDENTIFIER = "VGhpcyBpcyB0aGUgcHJlZml4IGZvciBhIGxpc3Qu";
+  static final String BIG_INTEGER_PREFIX = "VGhpcyBpcyB0aGUgcHJlZml4IGZvciBCaWdJbnRlZ2Vy";
+  static final String DOUBLE_PREFIX = "VGhpcyBpcyB0aGUgcHJlZml4IGZvciBEb3VibGUu";
+
+  private final SharedPreferences preferences;
+
+  SharedPreferencesStore(Context context) {
+    preferences = context.getSharedPreferences(SHARED_PREFERENCES_NAME, Context.MODE_PRIVATE);
+  }
+
+  // Filter preferences to only those set by the flutter app.
+  @Override
+  public Map<String, Object> getAll() throws IOException {
+    Map<String, ?> allPrefs = preferences.getAll();
+    Map<String, Object> filteredPrefs = new HashMap<>();
+    for (String key : allPrefs.keySet()) {
+      if (key.startsWith("flutter.")) {
+        Object value = allPrefs.get(key);
+        if (value instanceof String) {
+          String stringValue = (String) value;
+          if (stringValue.startsWith(LIST_IDENTIFIER)) {
+            value = decodeList(stringValue.substring(LIST_IDENTIFIER.length()));
+          } else if (stringValue.startsWith(BIG_INTEGER_PREFIX)) {
+            String encoded = stringValue.substring(BIG_INTEGER_PREFIX.length());
+            value = new BigInteger(encoded, Character.MAX_RADIX);
+          } else if (stringValue.startsWith(DOUBLE_PREFIX)) {
+            String doubleStr = stringValue.substring(DOUBLE_PREFIX.length());
+            value = Double.valueOf(doubleStr);
+          }
+        } else if (value instanceof Set) {
+          // This only happens for previous usage of setStringSet. The app expects a list.
+          List<String> listValue = new ArrayList<>((Set) value);
+          // Let's migrate the value too while we are at it.
+          boolean success =
+              preferences
+                  .edit()
+                  .remove(key)
+                  .putString(key, LIST_IDENTIFIER + encodeList(listValue))
+                  .commit();
+          if (!success) {
+            // If we are unable to migrate the existing preferences, it means we potentially lost them.
+            // In this case, an error from getAll() is appropriate since it will alert the app during plugin initialization.
+            throw new IOException("Could not migrate set to list");
+          }
+          value = listValue;
+        }
+        filteredPrefs.put(key, value);
+      }
+    }
+    return filteredPrefs;
+  }
+
+  @Override
+  public boolean commit(Map<String, Object> changes) throws IOException {
+    SharedPreferences.Editor editor = preferences.edit();
+    for (Map.Entry<String, Object> change : changes.entrySet()) {
+      String key = change.getKey();
+      Object value = change.getValue();
+      if (value == null) {
+        editor.remove(key);
+      } else if (value instanceof Boolean) {
+        editor.putBoolean(key, (Boolean) value);
+      } else if (value instanceof Double) {
+        editor.putString(key, DOUBLE_PREFIX + Double.toString((Double) value));
+      } else if (value instanceof BigInteger) {
+        editor.putString(
+            key, BIG_INTEGER_PREFIX + ((BigInteger) value).toString(Character.MAX_RADIX));
+      } else if (value instanceof Number) {
+        editor.putLong(key, ((Number) value).longValue());
+      } else if (value instanceof String) {
+        editor.putString(key, (String) value);
+      } else if (value instanceof List) {
+        editor.putString(key, LIST_IDENTIFIER + encodeList((List<String>) value));
+      } else {
+        throw new IllegalArgumentException("Unsupported preference value: " + value);
+      }
+    }
+    return editor.commit();
+  }
+
+  private List<String> decodeList(String encodedList) throws IOException {
+    ObjectInputStream stream = null;
+    try {
+      stream = new ObjectInputStream(new ByteArrayInputStream(Base64.decode(encodedList, 0)));
+      return (List<String>) stream.readObject();
+    } catch (ClassNotFoundException e) {
+      throw new IOException(e);
+    } finally {
+      if (stream != null) {
+        stream.close();
+      }
+    }
+  }
+
+  private String encodeList(List<String> list) throws IOException {
+    ObjectOutputStream stream = null;
+    try {
+      ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+      stream = new ObjectOutputStream(byteStream);
+      stream.writeObject(list);
+      stream.flush();
+      return Base64.encodeToString(byteStream.toByteArray(), 0);
+    } finally {
+      if (stream != null) {
+        stream.close();
+      }
+    }
+  }
+}
@@ -0,0 +1,148 @@
+// Copyright 2019 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import android.os.Handler;
+import android.os.Looper;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs the writes to a {@link PreferencesStore} one at a time, in order, on a thread owned by the
+ * plugin, and keeps metrics about them.
+ *
+ * <p>The reads that must see the writes made before them go through it too.
+ */
+class WriteExecutor {
+  private static final String THREAD_NAME = "FlutterSharedPreferences";
+
+  /** Work run on the executor's thread. */
+  interface Task {
+    Object run() throws IOException;
+  }
+
+  /** Called on the main thread with the outcome of a {@link Task}. */
+  interface Callback {
+    void onComplete(Object value, IOException exception);
+  }
+
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+              return new Thread(runnable, THREAD_NAME);
+            }
+          });
+  private final Executor callbackExecutor;
+
+  // Guarded by this.
+  private int queueDepth;
+  private int maxQueueDepth;
+  private long writeCount;
+  private long failedWriteCount;
+  private long totalWriteLatencyNs;
+  private long maxWriteLatencyNs;
+
+  WriteExecutor() {
+    this(
+        new Executor() {
+          private final Handler handler = new Handler(Looper.getMainLooper());
+
+          @Override
+          public void execute(Runnable runnable) {
+            handler.post(runnable);
+          }
+        });
+  }
+
+  /** Calls the callbacks on {@code callbackExecutor}, which the tests use as their main thread. */
+  WriteExecutor(Executor callbackExecutor) {
+    this.callbackExecutor = callbackExecutor;
+  }
+
+  /** Runs {@code task} once the writes queued before it are done. */
+  void read(Task task, Callback callback) {
+    execute(task, callback, false);
+  }
+
+  /** Runs {@code task} once the writes queued before it are done, recording its metrics. */
+  void write(Task task, Callback callback) {
+    synchronized (this) {
+      queueDepth++;
+      maxQueueDepth = Math.max(maxQueueDepth, queueDepth);
+    }
+    execute(task, callback, true);
+  }
+
+  /**
+   * Returns the metrics of the writes: how many are queued, the most that have been queued at
+   * once, and how long they took from being queued to being written.
+   */
+  synchronized Map<String, Object> getMetrics() {
+    Map<String, Object> metrics = new HashMap<>();
+    metrics.put("queueDepth", queueDepth);
+    metrics.put("maxQueueDepth", maxQueueDepth);
+    metrics.put("writeCount", writeCount);
+    metrics.put("failedWriteCount", failedWriteCount);
+    metrics.put(
+        "averageWriteLatencyMs",
+        writeCount == 0 ? 0.0 : totalWriteLatencyNs / (double) writeCount / 1e6);
+    metrics.put("maxWriteLatencyMs", maxWriteLatencyNs / 1e6);
+    return metrics;
+  }
+
+  /** Stops taking tasks. The ones already queued still run. */
+  void shutdown() {
+    executor.shutdown();
+  }
+
+  private void execute(final Task task, final Callback callback, final boolean isWrite) {
+    final long queuedAtNs = System.nanoTime();
+    executor.execute(
+        new Runnable() {
+          @Override
+          public void run() {
+            Object value = null;
+            IOException exception = null;
+            try {
+              value = task.run();
+            } catch (IOException e) {
+              exception = e;
+            } catch (RuntimeException e) {
+              exception = new IOException(e);
+            } finally {
+              if (isWrite) {
+                recordWrite(System.nanoTime() - queuedAtNs, exception == null);
+              }
+            }
+            final Object result = value;
+            final IOException error = exception;
+            callbackExecutor.execute(
+                new Runnable() {
+                  @Override
+                  public void run() {
+                    callback.onComplete(result, error);
+                  }
+                });
+          }
+        });
+  }
+
+  private synchronized void recordWrite(long latencyNs, boolean succeeded) {
+    queueDepth--;
+    writeCount++;
+    if (!succeeded) {
+      failedWriteCount++;
+    }
+    totalWriteLatencyNs += latencyNs;
+    maxWriteLatencyNs = Math.max(maxWriteLatencyNs, latencyNs);
+  }
+}
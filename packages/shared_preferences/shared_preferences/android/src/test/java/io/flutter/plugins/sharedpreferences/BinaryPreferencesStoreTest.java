@@ -0,0 +1,189 @@
+// Copyright 2019 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BinaryPreferencesStoreTest {
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File file;
+  private FakeLegacyStore legacyStore;
+
+  @Before
+  public void setUp() {
+    file = new File(temporaryFolder.getRoot(), "FlutterSharedPreferences.bin");
+    legacyStore = new FakeLegacyStore();
+  }
+
+  @Test
+  public void commit_WritesEveryTypeSoThatItReadsBack() throws IOException {
+    Map<String, Object> values = new HashMap<>();
+    values.put("flutter.true", true);
+    values.put("flutter.false", false);
+    values.put("flutter.long", Long.MIN_VALUE);
+    values.put("flutter.bigInteger", new BigInteger("123456789012345678901234567890"));
+    values.put("flutter.negativeBigInteger", new BigInteger("-98765432109876543210"));
+    values.put("flutter.double", 3.14159);
+    values.put("flutter.string", "hello w\u00f6rld \u2603");
+    values.put("flutter.emptyString", "");
+    values.put("flutter.list", Arrays.asList("foo", "", "bar"));
+    values.put("flutter.emptyList", new ArrayList<String>());
+
+    assertTrue(new BinaryPreferencesStore(file, legacyStore).commit(values));
+
+    assertEquals(values, new BinaryPreferencesStore(file, legacyStore).getAll());
+  }
+
+  @Test
+  public void commit_RemovesTheKeysWithANullValue() throws IOException {
+    BinaryPreferencesStore store = new BinaryPreferencesStore(file, legacyStore);
+    store.commit(Collections.<String, Object>singletonMap("flutter.kept", "kept"));
+    store.commit(Collections.<String, Object>singletonMap("flutter.removed", 1L));
+
+    store.commit(Collections.<String, Object>singletonMap("flutter.removed", null));
+
+    Map<String, Object> expected = Collections.<String, Object>singletonMap("flutter.kept", "kept");
+    assertEquals(expected, store.getAll());
+    assertEquals(expected, new BinaryPreferencesStore(file, legacyStore).getAll());
+  }
+
+  @Test
+  public void getInstance_SharesOneStoreBetweenTheUsersOfAFile() throws IOException {
+    BinaryPreferencesStore firstEngineStore = BinaryPreferencesStore.getInstance(file, legacyStore);
+    BinaryPreferencesStore secondEngineStore =
+        BinaryPreferencesStore.getInstance(new File(file.getPath()), new FakeLegacyStore());
+    firstEngineStore.getAll();
+    secondEngineStore.getAll();
+
+    firstEngineStore.commit(Collections.<String, Object>singletonMap("flutter.first", 1L));
+    secondEngineStore.commit(Collections.<String, Object>singletonMap("flutter.second", 2L));
+
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("flutter.first", 1L);
+    expected.put("flutter.second", 2L);
+    assertEquals(expected, firstEngineStore.getAll());
+    assertEquals(expected, new BinaryPreferencesStore(file, legacyStore).getAll());
+    assertEquals(1, legacyStore.getAllCount);
+  }
+
+  @Test
+  public void getInstance_KeepsOneStorePerFile() {
+    File otherFile = new File(temporaryFolder.getRoot(), "Other.bin");
+
+    assertSame(
+        BinaryPreferencesStore.getInstance(file, legacyStore),
+        BinaryPreferencesStore.getInstance(file, legacyStore));
+    assertNotSame(
+        BinaryPreferencesStore.getInstance(file, legacyStore),
+        BinaryPreferencesStore.getInstance(otherFile, legacyStore));
+  }
+
+  @Test
+  public void getAll_MigratesTheLegacyPreferencesOnce() throws IOException {
+    legacyStore.values.put("flutter.string", "legacy");
+    legacyStore.values.put("flutter.list", Arrays.asList("a", "b"));
+    legacyStore.values.put("flutter.long", 42L);
+    Map<String, Object> legacyValues = new HashMap<>(legacyStore.values);
+
+    assertEquals(legacyValues, new BinaryPreferencesStore(file, legacyStore).getAll());
+
+    assertTrue(legacyStore.values.isEmpty());
+    assertEquals(1, legacyStore.getAllCount);
+    assertEquals(legacyValues, new BinaryPreferencesStore(file, legacyStore).getAll());
+    assertEquals(1, legacyStore.getAllCount);
+  }
+
+  @Test
+  public void getAll_WithNothingToMigrate_DoesNotCheckTheLegacyPreferencesAgain()
+      throws IOException {
+    assertTrue(new BinaryPreferencesStore(file, legacyStore).getAll().isEmpty());
+    assertTrue(file.exists());
+
+    new BinaryPreferencesStore(file, legacyStore).getAll();
+
+    assertEquals(1, legacyStore.getAllCount);
+  }
+
+  @Test
+  public void getAll_WhenTheFileIsCorrupt_StartsOverEmpty() throws IOException {
+    new BinaryPreferencesStore(file, legacyStore)
+        .commit(Collections.<String, Object>singletonMap("flutter.string", "hello"));
+    // Cuts the file in the middle of its only entry.
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    try {
+      randomAccessFile.setLength(randomAccessFile.length() - 2);
+    } finally {
+      randomAccessFile.close();
+    }
+
+    BinaryPreferencesStore store = new BinaryPreferencesStore(file, legacyStore);
+
+    assertTrue(store.getAll().isEmpty());
+    assertTrue(new File(file.getPath() + ".corrupt").exists());
+    assertTrue(store.commit(Collections.<String, Object>singletonMap("flutter.string", "again")));
+    assertEquals(
+        Collections.<String, Object>singletonMap("flutter.string", "again"),
+        new BinaryPreferencesStore(file, legacyStore).getAll());
+  }
+
+  @Test
+  public void getAll_WhenTheFileIsNotAPreferencesFile_StartsOverEmpty() throws IOException {
+    FileOutputStream outputStream = new FileOutputStream(file);
+    try {
+      outputStream.write(new byte[] {'<', '?', 'x', 'm', 'l', ' ', 'v', 'e', 'r', 's'});
+    } finally {
+      outputStream.close();
+    }
+
+    BinaryPreferencesStore store = new BinaryPreferencesStore(file, legacyStore);
+
+    assertTrue(store.getAll().isEmpty());
+    assertFalse(file.exists());
+    assertEquals(0, legacyStore.getAllCount);
+  }
+
+  private static class FakeLegacyStore implements PreferencesStore {
+    final Map<String, Object> values = new HashMap<>();
+    int getAllCount;
+
+    @Override
+    public Map<String, Object> getAll() {
+      getAllCount++;
+      return new HashMap<>(values);
+    }
+
+    @Override
+    public boolean commit(Map<String, Object> changes) {
+      for (Map.Entry<String, Object> change : changes.entrySet()) {
+        if (change.getValue() == null) {
+          values.remove(change.getKey());
+        } else {
+          values.put(change.getKey(), change.getValue());
+        }
+      }
+      return true;
+    }
+  }
+}
@@ -0,0 +1,262 @@
+// Copyright 2019 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MethodCallHandlerImplTest {
+  private static final long WRITE_COALESCING_WINDOW_MS = 100;
+
+  private FakeStore store;
+  private QueuingExecutor mainThread;
+  private WriteExecutor writeExecutor;
+
+  @Before
+  public void setUp() {
+    store = new FakeStore();
+    mainThread = new QueuingExecutor();
+    writeExecutor = new WriteExecutor(mainThread);
+  }
+
+  @After
+  public void tearDown() {
+    writeExecutor.shutdown();
+  }
+
+  @Test
+  public void setAll_WritesTheValuesAsTheStoreTypes() throws InterruptedException {
+    MethodCallHandlerImpl handler = new MethodCallHandlerImpl(store, 0, writeExecutor);
+    store.values.put("flutter.removed", "value");
+    Map<String, Object> values = new HashMap<>();
+    values.put("flutter.bool", true);
+    values.put("flutter.int", 1);
+    values.put("flutter.double", 2.5);
+    values.put("flutter.string", "string");
+    values.put("flutter.list", Arrays.asList("a", "b"));
+    values.put("flutter.removed", null);
+    RecordingResult result = new RecordingResult();
+
+    handler.onMethodCall(setAllCall(values), result);
+    mainThread.run(1);
+
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("flutter.bool", true);
+    expected.put("flutter.int", 1L);
+    expected.put("flutter.double", 2.5);
+    expected.put("flutter.string", "string");
+    expected.put("flutter.list", Arrays.asList("a", "b"));
+    assertEquals(expected, store.values);
+    assertEquals(1, store.commitCount);
+    assertEquals(Collections.<Object>singletonList(true), result.replies);
+  }
+
+  @Test
+  public void setAll_RejectsUnsupportedValues() {
+    MethodCallHandlerImpl handler = new MethodCallHandlerImpl(store, 0, writeExecutor);
+    Map<String, Object> values = new HashMap<>();
+    values.put("flutter.string", "string");
+    values.put("flutter.map", new HashMap<String, Object>());
+    RecordingResult result = new RecordingResult();
+
+    handler.onMethodCall(setAllCall(values), result);
+
+    assertEquals(Collections.<Object>singletonList("error StorageError"), result.replies);
+    assertEquals(0, store.commitCount);
+  }
+
+  @Test
+  public void setAll_RejectsStringsClashingWithThePrefixes() {
+    MethodCallHandlerImpl handler = new MethodCallHandlerImpl(store, 0, writeExecutor);
+    Map<String, Object> values =
+        Collections.<String, Object>singletonMap(
+            "flutter.string", SharedPreferencesStore.BIG_INTEGER_PREFIX + "1");
+    RecordingResult result = new RecordingResult();
+
+    handler.onMethodCall(setAllCall(values), result);
+
+    assertEquals(Collections.<Object>singletonList("error StorageError"), result.replies);
+    assertEquals(0, store.commitCount);
+  }
+
+  @Test
+  public void setters_WithinTheCoalescingWindow_AreWrittenTogetherBeforeReplying()
+      throws InterruptedException {
+    MethodCallHandlerImpl handler =
+        new MethodCallHandlerImpl(store, WRITE_COALESCING_WINDOW_MS, writeExecutor);
+    RecordingResult stringResult = new RecordingResult();
+    RecordingResult intResult = new RecordingResult();
+
+    handler.onMethodCall(setCall("setString", "flutter.string", "string"), stringResult);
+    handler.onMethodCall(setCall("setInt", "flutter.int", 1), intResult);
+
+    assertEquals(0, store.commitCount);
+    assertTrue(stringResult.replies.isEmpty());
+    assertTrue(intResult.replies.isEmpty());
+
+    handler.flushPendingChanges();
+    mainThread.run(1);
+
+    assertEquals(1, store.commitCount);
+    assertEquals("string", store.values.get("flutter.string"));
+    assertEquals(1L, store.values.get("flutter.int"));
+    assertEquals(Collections.<Object>singletonList(true), stringResult.replies);
+    assertEquals(Collections.<Object>singletonList(true), intResult.replies);
+  }
+
+  @Test
+  public void commit_WritesThePendingChangesBeforeReplying() throws InterruptedException {
+    MethodCallHandlerImpl handler =
+        new MethodCallHandlerImpl(store, WRITE_COALESCING_WINDOW_MS, writeExecutor);
+    RecordingResult setResult = new RecordingResult();
+    RecordingResult commitResult = new RecordingResult();
+
+    handler.onMethodCall(setCall("setBool", "flutter.bool", true), setResult);
+    handler.onMethodCall(new MethodCall("commit", null), commitResult);
+
+    assertTrue(commitResult.replies.isEmpty());
+
+    mainThread.run(1);
+
+    assertEquals(true, store.values.get("flutter.bool"));
+    assertEquals(Collections.<Object>singletonList(true), setResult.replies);
+    assertEquals(Collections.<Object>singletonList(true), commitResult.replies);
+  }
+
+  @Test
+  public void getAll_WhenTheWindowEndsBeforeTheReadCompletes_IncludesThePendingChanges()
+      throws InterruptedException {
+    MethodCallHandlerImpl handler =
+        new MethodCallHandlerImpl(store, WRITE_COALESCING_WINDOW_MS, writeExecutor);
+    store.values.put("flutter.written", "written");
+    RecordingResult getAllResult = new RecordingResult();
+
+    handler.onMethodCall(setCall("setString", "flutter.pending", "pending"), new RecordingResult());
+    handler.onMethodCall(new MethodCall("getAll", null), getAllResult);
+    // The pending change is queued after the read.
+    handler.flushPendingChanges();
+    mainThread.run(2);
+
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("flutter.written", "written");
+    expected.put("flutter.pending", "pending");
+    assertEquals(Collections.<Object>singletonList(expected), getAllResult.replies);
+  }
+
+  @Test
+  public void setters_WhenApplied_ReplyBeforeTheWrite() throws InterruptedException {
+    MethodCallHandlerImpl handler = new MethodCallHandlerImpl(store, 0, writeExecutor);
+    CountDownLatch unblock = blockWriteExecutor();
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("key", "flutter.string");
+    arguments.put("value", "string");
+    arguments.put("apply", true);
+    RecordingResult result = new RecordingResult();
+
+    handler.onMethodCall(new MethodCall("setString", arguments), result);
+
+    assertEquals(Collections.<Object>singletonList(true), result.replies);
+    assertEquals(0, store.commitCount);
+
+    unblock.countDown();
+    mainThread.run(2);
+
+    assertEquals("string", store.values.get("flutter.string"));
+    assertEquals(1, result.replies.size());
+  }
+
+  // Holds the write executor's thread until the returned latch is counted down.
+  private CountDownLatch blockWriteExecutor() {
+    final CountDownLatch unblock = new CountDownLatch(1);
+    writeExecutor.read(
+        new WriteExecutor.Task() {
+          @Override
+          public Object run() throws IOException {
+            try {
+              unblock.await();
+            } catch (InterruptedException e) {
+              throw new IOException(e);
+            }
+            return null;
+          }
+        },
+        new WriteExecutor.Callback() {
+          @Override
+          public void onComplete(Object value, IOException exception) {}
+        });
+    return unblock;
+  }
+
+  private static MethodCall setAllCall(Map<String, Object> values) {
+    return new MethodCall("setAll", Collections.singletonMap("values", values));
+  }
+
+  private static MethodCall setCall(String method, String key, Object value) {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("key", key);
+    arguments.put("value", value);
+    return new MethodCall(method, arguments);
+  }
+
+  /** Keeps the preferences in memory. Its methods are called on the write executor's thread. */
+  static class FakeStore implements PreferencesStore {
+    final Map<String, Object> values = Collections.synchronizedMap(new HashMap<String, Object>());
+    volatile int commitCount;
+
+    @Override
+    public Map<String, Object> getAll() {
+      synchronized (values) {
+        return new HashMap<>(values);
+      }
+    }
+
+    @Override
+    public boolean commit(Map<String, Object> changes) {
+      for (Map.Entry<String, Object> change : changes.entrySet()) {
+        if (change.getValue() == null) {
+          values.remove(change.getKey());
+        } else {
+          values.put(change.getKey(), change.getValue());
+        }
+      }
+      commitCount++;
+      return true;
+    }
+  }
+
+  /** Records the replies, the successful values and the error codes. */
+  static class RecordingResult implements MethodChannel.Result {
+    final List<Object> replies = new ArrayList<>();
+
+    @Override
+    public void success(Object result) {
+      replies.add(result);
+    }
+
+    @Override
+    public void error(String errorCode, String errorMessage, Object errorDetails) {
+      replies.add("error " + errorCode);
+    }
+
+    @Override
+    public void notImplemented() {
+      replies.add("notImplemented");
+    }
+  }
+}
@@ -0,0 +1,38 @@
+// Copyright 2019 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import static org.junit.Assert.assertNotNull;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/** Stands for the main thread in the tests: holds the runnables until the test runs them. */
+class QueuingExecutor implements Executor {
+  private static final long TIMEOUT_SECONDS = 5;
+
+  private final BlockingQueue<Runnable> runnables = new LinkedBlockingQueue<>();
+
+  @Override
+  public void execute(Runnable runnable) {
+    runnables.add(runnable);
+  }
+
+  /** Runs the next {@code count} runnables, waiting for the ones that are not posted yet. */
+  void run(int count) throws InterruptedException {
+    for (int i = 0; i < count; i++) {
+      Runnable runnable = runnables.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      assertNotNull("Timed out waiting for a callback.", runnable);
+      runnable.run();
+    }
+  }
+
+  /** Returns whether no runnable is waiting to run. */
+  boolean isEmpty() {
+    return runnables.isEmpty();
+  }
+}
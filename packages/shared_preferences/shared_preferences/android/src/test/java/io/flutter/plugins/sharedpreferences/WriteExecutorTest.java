@@ -0,0 +1,194 @@
+// Copyright 2019 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WriteExecutorTest {
+  private static final long BLOCKED_MS = 50;
+
+  private QueuingExecutor mainThread;
+  private WriteExecutor writeExecutor;
+  private final Map<String, Object> values =
+      Collections.synchronizedMap(new HashMap<String, Object>());
+  private final CountDownLatch unblock = new CountDownLatch(1);
+
+  @Before
+  public void setUp() {
+    mainThread = new QueuingExecutor();
+    writeExecutor = new WriteExecutor(mainThread);
+  }
+
+  @After
+  public void tearDown() {
+    unblock.countDown();
+    writeExecutor.shutdown();
+  }
+
+  @Test
+  public void write_RunsTheTasksAndCallbacksInOrder() throws InterruptedException {
+    final List<Integer> written = Collections.synchronizedList(new ArrayList<Integer>());
+    final List<Integer> completed = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      final int index = i;
+      writeExecutor.write(
+          new WriteExecutor.Task() {
+            @Override
+            public Object run() {
+              written.add(index);
+              return index;
+            }
+          },
+          new WriteExecutor.Callback() {
+            @Override
+            public void onComplete(Object value, IOException exception) {
+              completed.add((Integer) value);
+            }
+          });
+    }
+
+    mainThread.run(5);
+
+    assertEquals(Arrays.asList(0, 1, 2, 3, 4), written);
+    assertEquals(Arrays.asList(0, 1, 2, 3, 4), completed);
+  }
+
+  @Test
+  public void read_SeesTheWritesQueuedBeforeIt() throws InterruptedException {
+    final List<Object> reads = new ArrayList<>();
+    writeExecutor.write(blockingPut("flutter.key", "value"), ignoreOutcome());
+    writeExecutor.read(
+        new WriteExecutor.Task() {
+          @Override
+          public Object run() {
+            return new HashMap<>(values);
+          }
+        },
+        new WriteExecutor.Callback() {
+          @Override
+          public void onComplete(Object value, IOException exception) {
+            reads.add(value);
+          }
+        });
+
+    unblock.countDown();
+    mainThread.run(2);
+
+    assertEquals(
+        Collections.<Object>singletonList(Collections.singletonMap("flutter.key", "value")), reads);
+  }
+
+  @Test
+  public void getMetrics_CountsTheQueuedWritesAndTheirLatency() throws InterruptedException {
+    writeExecutor.write(blockingPut("flutter.first", 1L), ignoreOutcome());
+    writeExecutor.write(put("flutter.second", 2L), ignoreOutcome());
+    writeExecutor.write(put("flutter.third", 3L), ignoreOutcome());
+    // Reads are not counted.
+    writeExecutor.read(put("flutter.read", 4L), ignoreOutcome());
+
+    Map<String, Object> queuedMetrics = writeExecutor.getMetrics();
+    assertEquals(3, queuedMetrics.get("queueDepth"));
+    assertEquals(3, queuedMetrics.get("maxQueueDepth"));
+    assertEquals(0L, queuedMetrics.get("writeCount"));
+    assertEquals(0.0, queuedMetrics.get("averageWriteLatencyMs"));
+
+    Thread.sleep(BLOCKED_MS);
+    unblock.countDown();
+    mainThread.run(4);
+
+    Map<String, Object> metrics = writeExecutor.getMetrics();
+    assertEquals(0, metrics.get("queueDepth"));
+    assertEquals(3, metrics.get("maxQueueDepth"));
+    assertEquals(3L, metrics.get("writeCount"));
+    assertEquals(0L, metrics.get("failedWriteCount"));
+    assertTrue((Double) metrics.get("maxWriteLatencyMs") >= BLOCKED_MS);
+    assertTrue((Double) metrics.get("averageWriteLatencyMs") >= BLOCKED_MS);
+  }
+
+  @Test
+  public void getMetrics_CountsTheFailedWrites() throws InterruptedException {
+    final List<IOException> exceptions = new ArrayList<>();
+    WriteExecutor.Callback recordException =
+        new WriteExecutor.Callback() {
+          @Override
+          public void onComplete(Object value, IOException exception) {
+            exceptions.add(exception);
+          }
+        };
+    writeExecutor.write(
+        new WriteExecutor.Task() {
+          @Override
+          public Object run() throws IOException {
+            throw new IOException("No space left");
+          }
+        },
+        recordException);
+    writeExecutor.write(
+        new WriteExecutor.Task() {
+          @Override
+          public Object run() {
+            throw new IllegalStateException("Corrupt");
+          }
+        },
+        recordException);
+    writeExecutor.write(put("flutter.key", "value"), recordException);
+
+    mainThread.run(3);
+
+    assertEquals("No space left", exceptions.get(0).getMessage());
+    assertTrue(exceptions.get(1).getCause() instanceof IllegalStateException);
+    assertNull(exceptions.get(2));
+    Map<String, Object> metrics = writeExecutor.getMetrics();
+    assertEquals(3L, metrics.get("writeCount"));
+    assertEquals(2L, metrics.get("failedWriteCount"));
+  }
+
+  private WriteExecutor.Task put(final String key, final Object value) {
+    return new WriteExecutor.Task() {
+      @Override
+      public Object run() {
+        values.put(key, value);
+        return true;
+      }
+    };
+  }
+
+  // Holds the executor's thread until the test unblocks it, so that the tasks after it queue up.
+  private WriteExecutor.Task blockingPut(final String key, final Object value) {
+    return new WriteExecutor.Task() {
+      @Override
+      public Object run() throws IOException {
+        try {
+          unblock.await();
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+        values.put(key, value);
+        return true;
+      }
+    };
+  }
+
+  private static WriteExecutor.Callback ignoreOutcome() {
+    return new WriteExecutor.Callback() {
+      @Override
+      public void onComplete(Object value, IOException exception) {}
+    };
+  }
+}
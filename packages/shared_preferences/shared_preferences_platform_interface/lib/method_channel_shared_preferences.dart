@@ -32,6 +32,30 @@ class MethodChannelSharedPreferencesStore
     });
   }
 
+  @override
+  Future<bool> setAll(Map<String, Object> values) async {
+    try {
+      return await _invokeBoolMethod('setAll', <String, dynamic>{
+        'values': values,
+      });
+    } on MissingPluginException {
+      // The platform can't write batches, so each value is written on its own.
+      return super.setAll(values);
+    }
+  }
+
+  @override
+  Future<bool> applyAll(Map<String, Object> values) async {
+    try {
+      return await _invokeBoolMethod('setAll', <String, dynamic>{
+        'values': values,
+        'apply': true,
+      });
+    } on MissingPluginException {
+      return super.setAll(values);
+    }
+  }
+
   Future<bool> _invokeBoolMethod(String method, Map<String, dynamic> params) {
     return _kChannel
         .invokeMethod<bool>(method, params)
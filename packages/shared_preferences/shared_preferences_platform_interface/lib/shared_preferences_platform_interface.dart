@@ -60,12 +60,54 @@ abstract class SharedPreferencesStorePlatform {
   /// * Value type "StringList" must be passed if the value is of type `List<String>`.
   Future<bool> setValue(String valueType, String key, Object value);
 
+  /// Stores all the [values] at once, removing the keys whose value is null.
+  ///
+  /// The values must be of the types accepted by [setValue]. Platforms can
+  /// write them to disk in a single commit, rather than once per value.
+  ///
+  /// The default implementation calls [setValue] and [remove] for each key,
+  /// and returns whether all of them succeeded.
+  Future<bool> setAll(Map<String, Object> values) async {
+    bool success = true;
+    for (MapEntry<String, Object> entry in values.entries) {
+      final bool entrySuccess = entry.value == null
+          ? await remove(entry.key)
+          : await setValue(_valueType(entry.value), entry.key, entry.value);
+      success = success && entrySuccess;
+    }
+    return success;
+  }
+
+  /// Like [setAll], but may complete as soon as the [values] are queued for
+  /// writing, without waiting for them to be on disk.
+  ///
+  /// Use it when the write doesn't need to be confirmed. The default
+  /// implementation calls [setAll].
+  Future<bool> applyAll(Map<String, Object> values) {
+    return setAll(values);
+  }
+
   /// Removes all keys and values in the store.
   Future<bool> clear();
 
   /// Returns all key/value pairs persisted in this store.
   Future<Map<String, Object>> getAll();
 
+  static String _valueType(Object value) {
+    if (value is bool) {
+      return 'Bool';
+    } else if (value is int) {
+      return 'Int';
+    } else if (value is double) {
+      return 'Double';
+    } else if (value is String) {
+      return 'String';
+    } else if (value is List<String>) {
+      return 'StringList';
+    }
+    throw ArgumentError.value(value, 'value', 'Unsupported value type');
+  }
+
   // This method makes sure that SharedPreferencesStorePlatform isn't implemented with `implements`.
   //
   // See class doc for more details on why implementing this class is forbidden.
@@ -110,4 +152,16 @@ class InMemorySharedPreferencesStore extends SharedPreferencesStorePlatform {
     _data[key] = value;
     return true;
   }
+
+  @override
+  Future<bool> setAll(Map<String, Object> values) async {
+    values.forEach((String key, Object value) {
+      if (value == null) {
+        _data.remove(key);
+      } else {
+        _data[key] = value;
+      }
+    });
+    return true;
+  }
 }
@@ -24,12 +24,14 @@ void main() {
     };
 
     InMemorySharedPreferencesStore testData;
+    bool supportsSetAll;
 
     final List<MethodCall> log = <MethodCall>[];
     MethodChannelSharedPreferencesStore store;
 
     setUp(() async {
       testData = InMemorySharedPreferencesStore.empty();
+      supportsSetAll = true;
 
       channel.setMockMethodCallHandler((MethodCall methodCall) async {
         log.add(methodCall);
@@ -43,6 +45,14 @@ void main() {
         if (methodCall.method == 'clear') {
           return await testData.clear();
         }
+        if (methodCall.method == 'setAll') {
+          if (!supportsSetAll) {
+            throw MissingPluginException();
+          }
+          final Map<String, Object> values =
+              methodCall.arguments['values'].cast<String, Object>();
+          return await testData.setAll(values);
+        }
         final RegExp setterRegExp = RegExp(r'set(.*)');
         final Match match = setterRegExp.matchAsPrefix(methodCall.method);
         if (match.groupCount == 1) {
@@ -101,6 +111,36 @@ void main() {
       expect(log[4].method, 'setStringList');
     });
 
+    test('setAll', () async {
+      testData = InMemorySharedPreferencesStore.withData(<String, dynamic>{
+        'flutter.Obsolete': 'goodbye',
+      });
+      final Map<String, Object> values = Map<String, Object>.from(kTestValues)
+        ..['flutter.Obsolete'] = null;
+      expect(await store.setAll(values), true);
+      expect(await testData.getAll(), kTestValues);
+      expect(log.single.method, 'setAll');
+    });
+
+    test('setAll falls back to setting each value', () async {
+      supportsSetAll = false;
+      final Map<String, Object> values = Map<String, Object>.from(kTestValues);
+      expect(await store.setAll(values), true);
+      expect(await testData.getAll(), kTestValues);
+
+      expect(log, hasLength(6));
+      expect(log[0].method, 'setAll');
+      expect(log[1].method, 'setString');
+      expect(log[5].method, 'setStringList');
+    });
+
+    test('applyAll', () async {
+      expect(await store.applyAll(Map<String, Object>.from(kTestValues)), true);
+      expect(await testData.getAll(), kTestValues);
+      expect(log.single.method, 'setAll');
+      expect(log.single.arguments['apply'], true);
+    });
+
     test('clear', () async {
       testData = InMemorySharedPreferencesStore.withData(kTestValues);
       expect(await testData.getAll(), isNotEmpty);
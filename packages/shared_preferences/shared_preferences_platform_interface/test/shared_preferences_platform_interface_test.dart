@@ -17,6 +17,44 @@ void main() {
         throwsAssertionError,
       );
     });
+
+    test('setAll defaults to setting and removing each value', () async {
+      final RecordingImplementation store = RecordingImplementation();
+      expect(
+        await store.setAll(<String, Object>{
+          'flutter.Bool': true,
+          'flutter.Int': 42,
+          'flutter.Double': 3.14159,
+          'flutter.String': 'hello world',
+          'flutter.StringList': <String>['foo', 'bar'],
+          'flutter.Removed': null,
+        }),
+        true,
+      );
+      expect(store.calls, <String>[
+        'setBool flutter.Bool',
+        'setInt flutter.Int',
+        'setDouble flutter.Double',
+        'setString flutter.String',
+        'setStringList flutter.StringList',
+        'remove flutter.Removed',
+      ]);
+    });
+
+    test('applyAll defaults to setAll', () async {
+      final RecordingImplementation store = RecordingImplementation();
+      expect(
+        await store.applyAll(<String, Object>{
+          'flutter.String': 'hello world',
+          'flutter.Removed': null,
+        }),
+        true,
+      );
+      expect(store.calls, <String>[
+        'setString flutter.String',
+        'remove flutter.Removed',
+      ]);
+    });
   });
 }
 
@@ -45,4 +83,41 @@ class IllegalImplementation implements SharedPreferencesStorePlatform {
   Future<bool> setValue(String valueType, String key, Object value) {
     throw UnimplementedError();
   }
+
+  @override
+  Future<bool> setAll(Map<String, Object> values) {
+    throw UnimplementedError();
+  }
+
+  @override
+  Future<bool> applyAll(Map<String, Object> values) {
+    throw UnimplementedError();
+  }
+}
+
+class RecordingImplementation extends SharedPreferencesStorePlatform {
+  final List<String> calls = <String>[];
+
+  @override
+  Future<bool> clear() async {
+    calls.add('clear');
+    return true;
+  }
+
+  @override
+  Future<Map<String, Object>> getAll() async {
+    return <String, Object>{};
+  }
+
+  @override
+  Future<bool> remove(String key) async {
+    calls.add('remove $key');
+    return true;
+  }
+
+  @override
+  Future<bool> setValue(String valueType, String key, Object value) async {
+    calls.add('set$valueType $key');
+    return true;
+  }
 }
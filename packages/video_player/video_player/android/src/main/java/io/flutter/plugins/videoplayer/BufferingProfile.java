@@ -0,0 +1,148 @@
+// Copyright 2020 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import com.google.android.exoplayer2.DefaultLoadControl;
+import com.google.android.exoplayer2.LoadControl;
+import io.flutter.plugins.videoplayer.Messages.CreateMessage;
+import java.util.Map;
+
+/** The buffer durations and sizes of the {@link LoadControl} of a player. */
+final class BufferingProfile {
+  static final BufferingProfile DEFAULT =
+      new BufferingProfile(
+          DefaultLoadControl.DEFAULT_MIN_BUFFER_MS,
+          DefaultLoadControl.DEFAULT_MAX_BUFFER_MS,
+          DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_MS,
+          DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS,
+          DefaultLoadControl.DEFAULT_TARGET_BUFFER_BYTES,
+          DefaultLoadControl.DEFAULT_PRIORITIZE_TIME_OVER_SIZE_THRESHOLDS);
+
+  /** Starts playing as soon as possible, at the cost of more rebuffering on slow networks. */
+  static final BufferingProfile LOW_LATENCY =
+      new BufferingProfile(5000, 30000, 500, 1500, DEFAULT.targetBufferBytes, true);
+
+  /** Keeps a short buffer capped to a few megabytes, for devices with little memory. */
+  static final BufferingProfile LOW_MEMORY =
+      new BufferingProfile(5000, 15000, 2500, 5000, 4 * 1024 * 1024, false);
+
+  private static final String PRESET_LOW_LATENCY = "lowLatency";
+  private static final String PRESET_LOW_MEMORY = "lowMemory";
+
+  final int minBufferMs;
+  final int maxBufferMs;
+  final int bufferForPlaybackMs;
+  final int bufferForPlaybackAfterRebufferMs;
+  final int targetBufferBytes;
+  final boolean prioritizeTimeOverSizeThresholds;
+
+  private BufferingProfile(
+      int minBufferMs,
+      int maxBufferMs,
+      int bufferForPlaybackMs,
+      int bufferForPlaybackAfterRebufferMs,
+      int targetBufferBytes,
+      boolean prioritizeTimeOverSizeThresholds) {
+    if (bufferForPlaybackMs > minBufferMs || bufferForPlaybackAfterRebufferMs > minBufferMs) {
+      throw new IllegalArgumentException(
+          "The buffer durations for playback can't be longer than the minimum buffer duration.");
+    }
+    if (minBufferMs > maxBufferMs) {
+      throw new IllegalArgumentException(
+          "The minimum buffer duration can't be longer than the maximum buffer duration.");
+    }
+    this.minBufferMs = minBufferMs;
+    this.maxBufferMs = maxBufferMs;
+    this.bufferForPlaybackMs = bufferForPlaybackMs;
+    this.bufferForPlaybackAfterRebufferMs = bufferForPlaybackAfterRebufferMs;
+    this.targetBufferBytes = targetBufferBytes;
+    this.prioritizeTimeOverSizeThresholds = prioritizeTimeOverSizeThresholds;
+  }
+
+  /**
+   * Returns the profile requested by {@code arg}: its preset, or the default profile, with the
+   * values set in {@code arg} overriding the ones of the preset.
+   *
+   * <p>The profile is an optional map, as are all its values, so that the messages of apps that
+   * don't set a profile are still understood.
+   */
+  static BufferingProfile fromCreateMessage(CreateMessage arg) {
+    Map<?, ?> profile = arg.getBufferingProfile();
+    if (profile == null) {
+      return DEFAULT;
+    }
+    String presetName = (String) profile.get("preset");
+    BufferingProfile preset;
+    if (presetName == null) {
+      preset = DEFAULT;
+    } else {
+      switch (presetName) {
+        case PRESET_LOW_LATENCY:
+          preset = LOW_LATENCY;
+          break;
+        case PRESET_LOW_MEMORY:
+          preset = LOW_MEMORY;
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown buffering preset: " + presetName);
+      }
+    }
+    Boolean prioritizeTimeOverSizeThresholds =
+        (Boolean) profile.get("prioritizeTimeOverSizeThresholds");
+    return new BufferingProfile(
+        valueOrDefault(profile.get("minBufferMs"), preset.minBufferMs),
+        valueOrDefault(profile.get("maxBufferMs"), preset.maxBufferMs),
+        valueOrDefault(profile.get("bufferForPlaybackMs"), preset.bufferForPlaybackMs),
+        valueOrDefault(
+            profile.get("bufferForPlaybackAfterRebufferMs"),
+            preset.bufferForPlaybackAfterRebufferMs),
+        valueOrDefault(profile.get("targetBufferBytes"), preset.targetBufferBytes),
+        prioritizeTimeOverSizeThresholds != null
+            ? prioritizeTimeOverSizeThresholds
+            : preset.prioritizeTimeOverSizeThresholds);
+  }
+
+  LoadControl createLoadControl() {
+    return new DefaultLoadControl.Builder()
+        .setBufferDurationsMs(
+            minBufferMs, maxBufferMs, bufferForPlaybackMs, bufferForPlaybackAfterRebufferMs)
+        .setTargetBufferBytes(targetBufferBytes)
+        .setPrioritizeTimeOverSizeThresholds(prioritizeTimeOverSizeThresholds)
+        .createDefaultLoadControl();
+  }
+
+  // The codec decodes the Dart ints as Integer or Long, depending on their size.
+  private static int valueOrDefault(Object value, int defaultValue) {
+    return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof BufferingProfile)) {
+      return false;
+    }
+    BufferingProfile that = (BufferingProfile) o;
+    return minBufferMs == that.minBufferMs
+        && maxBufferMs == that.maxBufferMs
+        && bufferForPlaybackMs == that.bufferForPlaybackMs
+        && bufferForPlaybackAfterRebufferMs == that.bufferForPlaybackAfterRebufferMs
+        && targetBufferBytes == that.targetBufferBytes
+        && prioritizeTimeOverSizeThresholds == that.prioritizeTimeOverSizeThresholds;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = minBufferMs;
+    result = 31 * result + maxBufferMs;
+    result = 31 * result + bufferForPlaybackMs;
+    result = 31 * result + bufferForPlaybackAfterRebufferMs;
+    result = 31 * result + targetBufferBytes;
+    result = 31 * result + (prioritizeTimeOverSizeThresholds ? 1 : 0);
+    return result;
+  }
+}
@@ -81,12 +81,34 @@ public class Messages {
       this.formatHint = setterArg;
     }
 
+    private HashMap bufferingProfile;
+
+    public HashMap getBufferingProfile() {
+      return bufferingProfile;
+    }
+
+    public void setBufferingProfile(HashMap setterArg) {
+      this.bufferingProfile = setterArg;
+    }
+
+    private HashMap trackSelectionOptions;
+
+    public HashMap getTrackSelectionOptions() {
+      return trackSelectionOptions;
+    }
+
+    public void setTrackSelectionOptions(HashMap setterArg) {
+      this.trackSelectionOptions = setterArg;
+    }
+
     HashMap toMap() {
       HashMap<String, Object> toMapResult = new HashMap<String, Object>();
       toMapResult.put("asset", asset);
       toMapResult.put("uri", uri);
       toMapResult.put("packageName", packageName);
       toMapResult.put("formatHint", formatHint);
+      toMapResult.put("bufferingProfile", bufferingProfile);
+      toMapResult.put("trackSelectionOptions", trackSelectionOptions);
       return toMapResult;
     }
 
@@ -96,6 +118,8 @@ public class Messages {
       fromMapResult.uri = (String) map.get("uri");
       fromMapResult.packageName = (String) map.get("packageName");
       fromMapResult.formatHint = (String) map.get("formatHint");
+      fromMapResult.bufferingProfile = (HashMap) map.get("bufferingProfile");
+      fromMapResult.trackSelectionOptions = (HashMap) map.get("trackSelectionOptions");
       return fromMapResult;
     }
   }
@@ -223,6 +247,321 @@ public class Messages {
     }
   }
 
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class CacheMessage {
+    private Long maxCacheSize;
+
+    public Long getMaxCacheSize() {
+      return maxCacheSize;
+    }
+
+    public void setMaxCacheSize(Long setterArg) {
+      this.maxCacheSize = setterArg;
+    }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<String, Object>();
+      toMapResult.put("maxCacheSize", maxCacheSize);
+      return toMapResult;
+    }
+
+    static CacheMessage fromMap(HashMap map) {
+      CacheMessage fromMapResult = new CacheMessage();
+      fromMapResult.maxCacheSize =
+          (map.get("maxCacheSize") instanceof Integer)
+              ? (Integer) map.get("maxCacheSize")
+              : (Long) map.get("maxCacheSize");
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class CacheStatsMessage {
+    private Long cacheSize;
+
+    public Long getCacheSize() {
+      return cacheSize;
+    }
+
+    public void setCacheSize(Long setterArg) {
+      this.cacheSize = setterArg;
+    }
+
+    private Long bytesReadFromCache;
+
+    public Long getBytesReadFromCache() {
+      return bytesReadFromCache;
+    }
+
+    public void setBytesReadFromCache(Long setterArg) {
+      this.bytesReadFromCache = setterArg;
+    }
+
+    private Long bytesReadFromNetwork;
+
+    public Long getBytesReadFromNetwork() {
+      return bytesReadFromNetwork;
+    }
+
+    public void setBytesReadFromNetwork(Long setterArg) {
+      this.bytesReadFromNetwork = setterArg;
+    }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<String, Object>();
+      toMapResult.put("cacheSize", cacheSize);
+      toMapResult.put("bytesReadFromCache", bytesReadFromCache);
+      toMapResult.put("bytesReadFromNetwork", bytesReadFromNetwork);
+      return toMapResult;
+    }
+
+    static CacheStatsMessage fromMap(HashMap map) {
+      CacheStatsMessage fromMapResult = new CacheStatsMessage();
+      fromMapResult.cacheSize =
+          (map.get("cacheSize") instanceof Integer)
+              ? (Integer) map.get("cacheSize")
+              : (Long) map.get("cacheSize");
+      fromMapResult.bytesReadFromCache =
+          (map.get("bytesReadFromCache") instanceof Integer)
+              ? (Integer) map.get("bytesReadFromCache")
+              : (Long) map.get("bytesReadFromCache");
+      fromMapResult.bytesReadFromNetwork =
+          (map.get("bytesReadFromNetwork") instanceof Integer)
+              ? (Integer) map.get("bytesReadFromNetwork")
+              : (Long) map.get("bytesReadFromNetwork");
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class PreloadMessage {
+    private String uri;
+
+    public String getUri() {
+      return uri;
+    }
+
+    public void setUri(String setterArg) {
+      this.uri = setterArg;
+    }
+
+    private Long byteCount;
+
+    public Long getByteCount() {
+      return byteCount;
+    }
+
+    public void setByteCount(Long setterArg) {
+      this.byteCount = setterArg;
+    }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<String, Object>();
+      toMapResult.put("uri", uri);
+      toMapResult.put("byteCount", byteCount);
+      return toMapResult;
+    }
+
+    static PreloadMessage fromMap(HashMap map) {
+      PreloadMessage fromMapResult = new PreloadMessage();
+      fromMapResult.uri = (String) map.get("uri");
+      fromMapResult.byteCount =
+          (map.get("byteCount") instanceof Integer)
+              ? (Integer) map.get("byteCount")
+              : (Long) map.get("byteCount");
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class PlayerPoolMessage {
+    private Long maxPoolSize;
+
+    public Long getMaxPoolSize() {
+      return maxPoolSize;
+    }
+
+    public void setMaxPoolSize(Long setterArg) {
+      this.maxPoolSize = setterArg;
+    }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<String, Object>();
+      toMapResult.put("maxPoolSize", maxPoolSize);
+      return toMapResult;
+    }
+
+    static PlayerPoolMessage fromMap(HashMap map) {
+      PlayerPoolMessage fromMapResult = new PlayerPoolMessage();
+      fromMapResult.maxPoolSize =
+          (map.get("maxPoolSize") instanceof Integer)
+              ? (Integer) map.get("maxPoolSize")
+              : (Long) map.get("maxPoolSize");
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class PositionUpdatesMessage {
+    private Long textureId;
+
+    public Long getTextureId() {
+      return textureId;
+    }
+
+    public void setTextureId(Long setterArg) {
+      this.textureId = setterArg;
+    }
+
+    private Long intervalMs;
+
+    public Long getIntervalMs() {
+      return intervalMs;
+    }
+
+    public void setIntervalMs(Long setterArg) {
+      this.intervalMs = setterArg;
+    }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<String, Object>();
+      toMapResult.put("textureId", textureId);
+      toMapResult.put("intervalMs", intervalMs);
+      return toMapResult;
+    }
+
+    static PositionUpdatesMessage fromMap(HashMap map) {
+      PositionUpdatesMessage fromMapResult = new PositionUpdatesMessage();
+      fromMapResult.textureId =
+          (map.get("textureId") instanceof Integer)
+              ? (Integer) map.get("textureId")
+              : (Long) map.get("textureId");
+      fromMapResult.intervalMs =
+          (map.get("intervalMs") instanceof Integer)
+              ? (Integer) map.get("intervalMs")
+              : (Long) map.get("intervalMs");
+      return fromMapResult;
+    }
+  }
+
+  /** Generated class from Pigeon that represents data sent in messages. */
+  public static class StatsMessage {
+    private Long timeToFirstFrameMs;
+
+    public Long getTimeToFirstFrameMs() {
+      return timeToFirstFrameMs;
+    }
+
+    public void setTimeToFirstFrameMs(Long setterArg) {
+      this.timeToFirstFrameMs = setterArg;
+    }
+
+    private Long playingTimeMs;
+
+    public Long getPlayingTimeMs() {
+      return playingTimeMs;
+    }
+
+    public void setPlayingTimeMs(Long setterArg) {
+      this.playingTimeMs = setterArg;
+    }
+
+    private Long rebufferCount;
+
+    public Long getRebufferCount() {
+      return rebufferCount;
+    }
+
+    public void setRebufferCount(Long setterArg) {
+      this.rebufferCount = setterArg;
+    }
+
+    private Long rebufferDurationMs;
+
+    public Long getRebufferDurationMs() {
+      return rebufferDurationMs;
+    }
+
+    public void setRebufferDurationMs(Long setterArg) {
+      this.rebufferDurationMs = setterArg;
+    }
+
+    private Long droppedFrames;
+
+    public Long getDroppedFrames() {
+      return droppedFrames;
+    }
+
+    public void setDroppedFrames(Long setterArg) {
+      this.droppedFrames = setterArg;
+    }
+
+    private Long decoderInitTimeMs;
+
+    public Long getDecoderInitTimeMs() {
+      return decoderInitTimeMs;
+    }
+
+    public void setDecoderInitTimeMs(Long setterArg) {
+      this.decoderInitTimeMs = setterArg;
+    }
+
+    private Long bitrateSwitches;
+
+    public Long getBitrateSwitches() {
+      return bitrateSwitches;
+    }
+
+    public void setBitrateSwitches(Long setterArg) {
+      this.bitrateSwitches = setterArg;
+    }
+
+    HashMap toMap() {
+      HashMap<String, Object> toMapResult = new HashMap<String, Object>();
+      toMapResult.put("timeToFirstFrameMs", timeToFirstFrameMs);
+      toMapResult.put("playingTimeMs", playingTimeMs);
+      toMapResult.put("rebufferCount", rebufferCount);
+      toMapResult.put("rebufferDurationMs", rebufferDurationMs);
+      toMapResult.put("droppedFrames", droppedFrames);
+      toMapResult.put("decoderInitTimeMs", decoderInitTimeMs);
+      toMapResult.put("bitrateSwitches", bitrateSwitches);
+      return toMapResult;
+    }
+
+    static StatsMessage fromMap(HashMap map) {
+      StatsMessage fromMapResult = new StatsMessage();
+      fromMapResult.timeToFirstFrameMs =
+          (map.get("timeToFirstFrameMs") instanceof Integer)
+              ? (Integer) map.get("timeToFirstFrameMs")
+              : (Long) map.get("timeToFirstFrameMs");
+      fromMapResult.playingTimeMs =
+          (map.get("playingTimeMs") instanceof Integer)
+              ? (Integer) map.get("playingTimeMs")
+              : (Long) map.get("playingTimeMs");
+      fromMapResult.rebufferCount =
+          (map.get("rebufferCount") instanceof Integer)
+              ? (Integer) map.get("rebufferCount")
+              : (Long) map.get("rebufferCount");
+      fromMapResult.rebufferDurationMs =
+          (map.get("rebufferDurationMs") instanceof Integer)
+              ? (Integer) map.get("rebufferDurationMs")
+              : (Long) map.get("rebufferDurationMs");
+      fromMapResult.droppedFrames =
+          (map.get("droppedFrames") instanceof Integer)
+              ? (Integer) map.get("droppedFrames")
+              : (Long) map.get("droppedFrames");
+      fromMapResult.decoderInitTimeMs =
+          (map.get("decoderInitTimeMs") instanceof Integer)
+              ? (Integer) map.get("decoderInitTimeMs")
+              : (Long) map.get("decoderInitTimeMs");
+      fromMapResult.bitrateSwitches =
+          (map.get("bitrateSwitches") instanceof Integer)
+              ? (Integer) map.get("bitrateSwitches")
+              : (Long) map.get("bitrateSwitches");
+      return fromMapResult;
+    }
+  }
+
   /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
   public interface VideoPlayerApi {
     void initialize();
@@ -243,6 +582,18 @@ public class Messages {
 
     void pause(TextureMessage arg);
 
+    void setMaxCacheSize(CacheMessage arg);
+
+    CacheStatsMessage getCacheStats();
+
+    void preload(PreloadMessage arg);
+
+    void setMaxPlayerPoolSize(PlayerPoolMessage arg);
+
+    void setPositionUpdateInterval(PositionUpdatesMessage arg);
+
+    StatsMessage getStats(TextureMessage arg);
+
     /** Sets up an instance of `VideoPlayerApi` to handle messages through the `binaryMessenger` */
     public static void setup(BinaryMessenger binaryMessenger, VideoPlayerApi api) {
       {
@@ -469,6 +820,155 @@ public class Messages {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<Object>(
+                binaryMessenger,
+                "dev.flutter.pigeon.VideoPlayerApi.setMaxCacheSize",
+                new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              new BasicMessageChannel.MessageHandler<Object>() {
+                public void onMessage(Object message, BasicMessageChannel.Reply<Object> reply) {
+                  CacheMessage input = CacheMessage.fromMap((HashMap) message);
+                  HashMap<String, HashMap> wrapped = new HashMap<String, HashMap>();
+                  try {
+                    api.setMaxCacheSize(input);
+                    wrapped.put("result", null);
+                  } catch (Exception exception) {
+                    wrapped.put("error", wrapError(exception));
+                  }
+                  reply.reply(wrapped);
+                }
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<Object>(
+                binaryMessenger,
+                "dev.flutter.pigeon.VideoPlayerApi.getCacheStats",
+                new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              new BasicMessageChannel.MessageHandler<Object>() {
+                public void onMessage(Object message, BasicMessageChannel.Reply<Object> reply) {
+                  HashMap<String, HashMap> wrapped = new HashMap<String, HashMap>();
+                  try {
+                    CacheStatsMessage output = api.getCacheStats();
+                    wrapped.put("result", output.toMap());
+                  } catch (Exception exception) {
+                    wrapped.put("error", wrapError(exception));
+                  }
+                  reply.reply(wrapped);
+                }
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<Object>(
+                binaryMessenger,
+                "dev.flutter.pigeon.VideoPlayerApi.preload",
+                new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              new BasicMessageChannel.MessageHandler<Object>() {
+                public void onMessage(Object message, BasicMessageChannel.Reply<Object> reply) {
+                  PreloadMessage input = PreloadMessage.fromMap((HashMap) message);
+                  HashMap<String, HashMap> wrapped = new HashMap<String, HashMap>();
+                  try {
+                    api.preload(input);
+                    wrapped.put("result", null);
+                  } catch (Exception exception) {
+                    wrapped.put("error", wrapError(exception));
+                  }
+                  reply.reply(wrapped);
+                }
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<Object>(
+                binaryMessenger,
+                "dev.flutter.pigeon.VideoPlayerApi.setMaxPlayerPoolSize",
+                new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              new BasicMessageChannel.MessageHandler<Object>() {
+                public void onMessage(Object message, BasicMessageChannel.Reply<Object> reply) {
+                  PlayerPoolMessage input = PlayerPoolMessage.fromMap((HashMap) message);
+                  HashMap<String, HashMap> wrapped = new HashMap<String, HashMap>();
+                  try {
+                    api.setMaxPlayerPoolSize(input);
+                    wrapped.put("result", null);
+                  } catch (Exception exception) {
+                    wrapped.put("error", wrapError(exception));
+                  }
+                  reply.reply(wrapped);
+                }
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<Object>(
+                binaryMessenger,
+                "dev.flutter.pigeon.VideoPlayerApi.setPositionUpdateInterval",
+                new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              new BasicMessageChannel.MessageHandler<Object>() {
+                public void onMessage(Object message, BasicMessageChannel.Reply<Object> reply) {
+                  PositionUpdatesMessage input = PositionUpdatesMessage.fromMap((HashMap) message);
+                  HashMap<String, HashMap> wrapped = new HashMap<String, HashMap>();
+                  try {
+                    api.setPositionUpdateInterval(input);
+                    wrapped.put("result", null);
+                  } catch (Exception exception) {
+                    wrapped.put("error", wrapError(exception));
+                  }
+                  reply.reply(wrapped);
+                }
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<Object>(
+                binaryMessenger,
+                "dev.flutter.pigeon.VideoPlayerApi.getStats",
+                new StandardMessageCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              new BasicMessageChannel.MessageHandler<Object>() {
+                public void onMessage(Object message, BasicMessageChannel.Reply<Object> reply) {
+                  TextureMessage input = TextureMessage.fromMap((HashMap) message);
+                  HashMap<String, HashMap> wrapped = new HashMap<String, HashMap>();
+                  try {
+                    StatsMessage output = api.getStats(input);
+                    wrapped.put("result", output.toMap());
+                  } catch (Exception exception) {
+                    wrapped.put("error", wrapError(exception));
+                  }
+                  reply.reply(wrapped);
+                }
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
     }
   }
 
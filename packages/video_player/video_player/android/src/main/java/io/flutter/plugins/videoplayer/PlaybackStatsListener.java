@@ -0,0 +1,121 @@
+// Copyright 2020 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.os.SystemClock;
+import android.view.Surface;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.analytics.AnalyticsListener;
+import com.google.android.exoplayer2.source.MediaSourceEventListener;
+import io.flutter.plugins.videoplayer.Messages.StatsMessage;
+
+/**
+ * Aggregates the playback quality metrics of a player from its analytics events.
+ *
+ * <p>A rebuffer is a stall while the video is set to play, after it was first ready. The buffering
+ * that follows a seek isn't a rebuffer. All the callbacks are made on the main thread.
+ */
+final class PlaybackStatsListener implements AnalyticsListener {
+  private final long startTimeMs = SystemClock.elapsedRealtime();
+  private long lastUpdateTimeMs = startTimeMs;
+
+  private long timeToFirstFrameMs = C.TIME_UNSET;
+  private long playingTimeMs;
+  private int rebufferCount;
+  private long rebufferDurationMs;
+  private int droppedFrames;
+  private long decoderInitTimeMs;
+  private int bitrateSwitches;
+
+  private boolean hasBeenReady;
+  private boolean isSeeking;
+  private boolean isPlaying;
+  private boolean isRebuffering;
+  private Format videoFormat;
+
+  @Override
+  public void onPlayerStateChanged(
+      EventTime eventTime, boolean playWhenReady, int playbackState) {
+    updateDurations(eventTime.realtimeMs);
+    if (playbackState == Player.STATE_READY) {
+      hasBeenReady = true;
+      isSeeking = false;
+    }
+    boolean rebuffering =
+        playWhenReady && playbackState == Player.STATE_BUFFERING && hasBeenReady && !isSeeking;
+    if (rebuffering && !isRebuffering) {
+      rebufferCount++;
+    }
+    isRebuffering = rebuffering;
+    isPlaying = playWhenReady && playbackState == Player.STATE_READY;
+  }
+
+  @Override
+  public void onSeekStarted(EventTime eventTime) {
+    isSeeking = true;
+  }
+
+  @Override
+  public void onRenderedFirstFrame(EventTime eventTime, Surface surface) {
+    if (timeToFirstFrameMs == C.TIME_UNSET) {
+      timeToFirstFrameMs = eventTime.realtimeMs - startTimeMs;
+    }
+  }
+
+  @Override
+  public void onDroppedVideoFrames(EventTime eventTime, int droppedFrames, long elapsedMs) {
+    this.droppedFrames += droppedFrames;
+  }
+
+  @Override
+  public void onDecoderInitialized(
+      EventTime eventTime, int trackType, String decoderName, long initializationDurationMs) {
+    if (trackType == C.TRACK_TYPE_VIDEO) {
+      decoderInitTimeMs += initializationDurationMs;
+    }
+  }
+
+  @Override
+  public void onDownstreamFormatChanged(
+      EventTime eventTime, MediaSourceEventListener.MediaLoadData mediaLoadData) {
+    Format format = mediaLoadData.trackFormat;
+    if (format == null
+        || (mediaLoadData.trackType != C.TRACK_TYPE_VIDEO
+            && mediaLoadData.trackType != C.TRACK_TYPE_DEFAULT)) {
+      return;
+    }
+    if (videoFormat != null && !videoFormat.equals(format)) {
+      bitrateSwitches++;
+    }
+    videoFormat = format;
+  }
+
+  private void updateDurations(long nowMs) {
+    long elapsedMs = nowMs - lastUpdateTimeMs;
+    if (isPlaying) {
+      playingTimeMs += elapsedMs;
+    }
+    if (isRebuffering) {
+      rebufferDurationMs += elapsedMs;
+    }
+    lastUpdateTimeMs = nowMs;
+  }
+
+  /** Returns the metrics so far. The time to first frame is null until a frame is rendered. */
+  StatsMessage getStats() {
+    updateDurations(SystemClock.elapsedRealtime());
+    StatsMessage result = new StatsMessage();
+    result.setTimeToFirstFrameMs(timeToFirstFrameMs != C.TIME_UNSET ? timeToFirstFrameMs : null);
+    result.setPlayingTimeMs(playingTimeMs);
+    result.setRebufferCount((long) rebufferCount);
+    result.setRebufferDurationMs(rebufferDurationMs);
+    result.setDroppedFrames((long) droppedFrames);
+    result.setDecoderInitTimeMs(decoderInitTimeMs);
+    result.setBitrateSwitches((long) bitrateSwitches);
+    return result;
+  }
+}
@@ -0,0 +1,147 @@
+// Copyright 2020 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import com.google.android.exoplayer2.DefaultRenderersFactory;
+import com.google.android.exoplayer2.ExoPlayerFactory;
+import com.google.android.exoplayer2.LoadControl;
+import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.SimpleExoPlayer;
+import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+import com.google.android.exoplayer2.upstream.DefaultBandwidthMeter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Keeps the players of disposed videos around so that the videos created next can reuse them.
+ *
+ * <p>Creating a SimpleExoPlayer builds its renderers and track selector and starts its playback
+ * thread, which adds up in feeds that create and dispose a player per item. Pooled players are
+ * stopped and reset, which releases their codecs, so idle players don't count against the decoder
+ * limits of the device.
+ *
+ * <p>The pool is empty and disabled until a maximum size is set.
+ */
+final class PlayerPool {
+  /** A player with the track selector, buffering profile and bitrate estimate it was built with. */
+  static final class Entry {
+    final SimpleExoPlayer exoPlayer;
+    final DefaultTrackSelector trackSelector;
+    final BufferingProfile bufferingProfile;
+    final long initialBitrateEstimate;
+
+    private Entry(
+        SimpleExoPlayer exoPlayer,
+        DefaultTrackSelector trackSelector,
+        BufferingProfile bufferingProfile,
+        long initialBitrateEstimate) {
+      this.exoPlayer = exoPlayer;
+      this.trackSelector = trackSelector;
+      this.bufferingProfile = bufferingProfile;
+      this.initialBitrateEstimate = initialBitrateEstimate;
+    }
+  }
+
+  private final Deque<Entry> entries = new ArrayDeque<>();
+  // Players built with the same initial estimate share a bandwidth meter, so that the estimate
+  // measured by one player carries over to the next ones.
+  private final Map<Long, BandwidthMeter> bandwidthMeters = new HashMap<>();
+  private int maxPoolSize;
+
+  /**
+   * Returns a pooled player built with {@code bufferingProfile} and {@code initialBitrateEstimate},
+   * or a new one if the pool has none.
+   *
+   * <p>Players built with the default initial estimate use the bandwidth meter that ExoPlayer
+   * shares between all the players of the process.
+   */
+  Entry acquire(
+      Context context, BufferingProfile bufferingProfile, long initialBitrateEstimate) {
+    Iterator<Entry> iterator = entries.iterator();
+    while (iterator.hasNext()) {
+      Entry entry = iterator.next();
+      if (entry.bufferingProfile.equals(bufferingProfile)
+          && entry.initialBitrateEstimate == initialBitrateEstimate) {
+        iterator.remove();
+        return entry;
+      }
+    }
+    DefaultTrackSelector trackSelector = new DefaultTrackSelector();
+    LoadControl loadControl = bufferingProfile.createLoadControl();
+    SimpleExoPlayer exoPlayer;
+    if (initialBitrateEstimate == TrackSelectionOptions.DEFAULT_INITIAL_BITRATE_ESTIMATE) {
+      exoPlayer = ExoPlayerFactory.newSimpleInstance(context, trackSelector, loadControl);
+    } else {
+      exoPlayer =
+          ExoPlayerFactory.newSimpleInstance(
+              context,
+              new DefaultRenderersFactory(context),
+              trackSelector,
+              loadControl,
+              null,
+              getBandwidthMeter(initialBitrateEstimate));
+    }
+    return new Entry(exoPlayer, trackSelector, bufferingProfile, initialBitrateEstimate);
+  }
+
+  private BandwidthMeter getBandwidthMeter(long initialBitrateEstimate) {
+    BandwidthMeter bandwidthMeter = bandwidthMeters.get(initialBitrateEstimate);
+    if (bandwidthMeter == null) {
+      bandwidthMeter =
+          new DefaultBandwidthMeter.Builder()
+              .setInitialBitrateEstimate(initialBitrateEstimate)
+              .build();
+      bandwidthMeters.put(initialBitrateEstimate, bandwidthMeter);
+    }
+    return bandwidthMeter;
+  }
+
+  /**
+   * Resets the player of {@code entry} and keeps it for reuse, or releases it if pooling is
+   * disabled.
+   *
+   * <p>When the pool is full, the player that has been idle for the longest time is released to
+   * make room.
+   *
+   * <p>The caller must have removed the listeners it added to the player.
+   */
+  void release(Entry entry) {
+    if (maxPoolSize == 0) {
+      entry.exoPlayer.release();
+      return;
+    }
+    if (entries.size() >= maxPoolSize) {
+      entries.removeLast().exoPlayer.release();
+    }
+    SimpleExoPlayer exoPlayer = entry.exoPlayer;
+    exoPlayer.stop(true);
+    exoPlayer.clearVideoSurface();
+    exoPlayer.setPlayWhenReady(false);
+    exoPlayer.setRepeatMode(Player.REPEAT_MODE_OFF);
+    exoPlayer.setVolume(1f);
+    entries.push(entry);
+  }
+
+  /** Sets the maximum number of idle players kept, releasing the players above it. */
+  void setMaxPoolSize(int maxPoolSize) {
+    this.maxPoolSize = maxPoolSize;
+    while (entries.size() > maxPoolSize) {
+      entries.removeLast().exoPlayer.release();
+    }
+  }
+
+  /** Releases all the pooled players. */
+  void clear() {
+    for (Entry entry : entries) {
+      entry.exoPlayer.release();
+    }
+    entries.clear();
+  }
+}
@@ -4,59 +4,167 @@
 
 package io.flutter.plugins.videoplayer;
 
+import android.os.Handler;
+import android.os.Looper;
 import io.flutter.plugin.common.EventChannel;
-import java.util.ArrayList;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * And implementation of {@link EventChannel.EventSink} which can wrap an underlying sink.
  *
  * <p>It delivers messages immediately when downstream is available, but it queues messages before
- * the delegate event sink is set with setDelegate.
+ * the delegate event sink is set with setDelegate. When more than {@code capacity} messages are
+ * queued, the {@link OverflowPolicy} decides which message is dropped. Only the messages whose type
+ * is in {@code repeatableTypes} are dropped: errors, the end of the stream and the other messages
+ * are always delivered, even if the queue goes over its capacity.
  *
- * <p>This class is not thread-safe. All calls must be done on the same thread or synchronized
- * externally.
+ * <p>Messages can be sent from any thread. They are delivered to the delegate on the main thread,
+ * right away when they are sent from the main thread, and in order. setDelegate must be called on
+ * the main thread.
  */
 final class QueuingEventSink implements EventChannel.EventSink {
-  private EventChannel.EventSink delegate;
-  private ArrayList<Object> eventQueue = new ArrayList<>();
-  private boolean done = false;
+  /** Which queued message is dropped when a message is sent to a full queue. */
+  enum OverflowPolicy {
+    /** Drops the oldest repeatable message. */
+    DROP_OLDEST,
+    /**
+     * Drops the oldest message of the same type as the new one, or the oldest repeatable message if
+     * there is none. The type of a message is the value of its "event" key.
+     */
+    COALESCE_BY_TYPE,
+  }
+
+  private final int capacity;
+  private final OverflowPolicy overflowPolicy;
+  private final Set<String> repeatableTypes;
+  private final Queue<Object> eventQueue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queueSize = new AtomicInteger();
+  private final AtomicLong droppedEventCount = new AtomicLong();
+  private final AtomicBoolean done = new AtomicBoolean();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable scheduledFlush =
+      () -> {
+        flushScheduled.set(false);
+        maybeFlush();
+      };
+  private volatile EventChannel.EventSink delegate;
+
+  QueuingEventSink(int capacity, OverflowPolicy overflowPolicy, Set<String> repeatableTypes) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The capacity must be at least 1.");
+    }
+    this.capacity = capacity;
+    this.overflowPolicy = overflowPolicy;
+    this.repeatableTypes = repeatableTypes;
+  }
 
   public void setDelegate(EventChannel.EventSink delegate) {
     this.delegate = delegate;
     maybeFlush();
   }
 
+  /** Returns the number of messages dropped because the queue was full. */
+  long getDroppedEventCount() {
+    return droppedEventCount.get();
+  }
+
   @Override
   public void endOfStream() {
-    enqueue(new EndOfStreamEvent());
-    maybeFlush();
-    done = true;
+    if (!done.compareAndSet(false, true)) {
+      return;
+    }
+    // The end of the stream is never dropped.
+    eventQueue.offer(new EndOfStreamEvent());
+    queueSize.incrementAndGet();
+    scheduleFlush();
   }
 
   @Override
   public void error(String code, String message, Object details) {
     enqueue(new ErrorEvent(code, message, details));
-    maybeFlush();
+    scheduleFlush();
   }
 
   @Override
   public void success(Object event) {
     enqueue(event);
-    maybeFlush();
+    scheduleFlush();
   }
 
   private void enqueue(Object event) {
-    if (done) {
+    if (done.get()) {
       return;
     }
-    eventQueue.add(event);
+    eventQueue.offer(event);
+    if (queueSize.incrementAndGet() > capacity) {
+      dropOne(event);
+    }
   }
 
+  private void dropOne(Object newEvent) {
+    boolean dropped = false;
+    if (overflowPolicy == OverflowPolicy.COALESCE_BY_TYPE && isRepeatable(newEvent)) {
+      dropped = removeOldest(typeOf(newEvent), newEvent);
+    }
+    if (!dropped) {
+      dropped = removeOldest(null, null);
+    }
+    // The queue may have been flushed in the meantime, in which case nothing needs to be dropped.
+    if (dropped) {
+      queueSize.decrementAndGet();
+      droppedEventCount.incrementAndGet();
+    }
+  }
+
+  /**
+   * Removes the oldest repeatable message other than {@code excludedEvent}, of {@code type} unless
+   * it is null, and returns whether there was one.
+   */
+  private boolean removeOldest(Object type, Object excludedEvent) {
+    for (Object event : eventQueue) {
+      if (event != excludedEvent
+          && isRepeatable(event)
+          && (type == null || type.equals(typeOf(event)))
+          && eventQueue.remove(event)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isRepeatable(Object event) {
+    Object type = typeOf(event);
+    return type != null && repeatableTypes.contains(type);
+  }
+
+  private static Object typeOf(Object event) {
+    return event instanceof Map ? ((Map<?, ?>) event).get("event") : null;
+  }
+
+  private void scheduleFlush() {
+    if (Looper.myLooper() == Looper.getMainLooper()) {
+      maybeFlush();
+    } else if (flushScheduled.compareAndSet(false, true)) {
+      handler.post(scheduledFlush);
+    }
+  }
+
+  // Only called on the main thread, so the messages are delivered one at a time and in order.
   private void maybeFlush() {
+    EventChannel.EventSink delegate = this.delegate;
     if (delegate == null) {
       return;
     }
-    for (Object event : eventQueue) {
+    Object event;
+    while ((event = eventQueue.poll()) != null) {
+      queueSize.decrementAndGet();
       if (event instanceof EndOfStreamEvent) {
         delegate.endOfStream();
       } else if (event instanceof ErrorEvent) {
@@ -66,7 +174,6 @@ final class QueuingEventSink implements EventChannel.EventSink {
         delegate.success(event);
       }
     }
-    eventQueue.clear();
   }
 
   private static class EndOfStreamEvent {}
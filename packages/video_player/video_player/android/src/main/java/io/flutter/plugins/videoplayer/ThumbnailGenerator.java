@@ -0,0 +1,298 @@
+// Copyright 2020 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.media.MediaMetadataRetriever;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Extracts the frames of a video at given timestamps into JPEG files, for scrubbing previews.
+ *
+ * <p>The frames are decoded on a small pool of background threads and written to the cache
+ * directory. A file is named after the uri, timestamp and size of its frame, so that a frame that
+ * was already extracted is not decoded again. The frames are deleted, least recently used first,
+ * once they take more than {@link #MAX_THUMBNAILS_SIZE} bytes.
+ */
+final class ThumbnailGenerator implements MethodChannel.MethodCallHandler {
+  private static final String TAG = "ThumbnailGenerator";
+  private static final String THUMBNAIL_DIRECTORY = "video_player_thumbnails";
+  private static final int THREAD_COUNT = 2;
+  private static final int JPEG_QUALITY = 80;
+  private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+  static final long MAX_THUMBNAILS_SIZE = 20 * 1024 * 1024;
+  // The frames generated recently may not have been shown by the app yet, so they are always kept.
+  static final long MIN_THUMBNAIL_AGE_MS = 10 * 60 * 1000;
+
+  private final Context context;
+  private final File thumbnailDirectory;
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private ExecutorService executor;
+
+  ThumbnailGenerator(Context context) {
+    this.context = context;
+    this.thumbnailDirectory = new File(context.getCacheDir(), THUMBNAIL_DIRECTORY);
+  }
+
+  @Override
+  public void onMethodCall(MethodCall call, MethodChannel.Result result) {
+    if (!call.method.equals("generateThumbnails")) {
+      result.notImplemented();
+      return;
+    }
+    String uri = call.argument("uri");
+    List<Number> timestamps = call.argument("timestamps");
+    Integer width = call.argument("width");
+    Integer height = call.argument("height");
+    if (uri == null || timestamps == null || width == null || height == null) {
+      result.error("invalidArguments", "uri, timestamps, width and height are required.", null);
+      return;
+    }
+    if (width <= 0 || height <= 0) {
+      result.error("invalidArguments", "The thumbnail size must be positive.", null);
+      return;
+    }
+    getExecutor().execute(new ThumbnailJob(uri, timestamps, width, height, result));
+  }
+
+  /** Generates the thumbnails of one call, and replies to it on the main thread. */
+  private final class ThumbnailJob implements Runnable {
+    private final String uri;
+    private final List<Number> timestamps;
+    private final int width;
+    private final int height;
+    private final MethodChannel.Result result;
+
+    ThumbnailJob(
+        String uri, List<Number> timestamps, int width, int height, MethodChannel.Result result) {
+      this.uri = uri;
+      this.timestamps = timestamps;
+      this.width = width;
+      this.height = height;
+      this.result = result;
+    }
+
+    @Override
+    public void run() {
+      try {
+        List<String> paths = generate(Uri.parse(uri), timestamps, width, height);
+        trimThumbnails();
+        handler.post(() -> result.success(paths));
+      } catch (InterruptedException e) {
+        cancel();
+      } catch (RuntimeException | IOException e) {
+        Log.w(TAG, "Failed to generate the thumbnails of " + uri, e);
+        handler.post(() -> result.error("thumbnailError", e.getMessage(), null));
+      }
+    }
+
+    void cancel() {
+      handler.post(
+          () -> result.error("cancelled", "The thumbnail generation was stopped.", null));
+    }
+  }
+
+  /**
+   * Returns the paths of the frames of {@code uri} at {@code timestamps}, in milliseconds, scaled
+   * to fit in {@code width} by {@code height}. The path is null for the frames that couldn't be
+   * decoded, such as the ones past the end of the video.
+   *
+   * @throws InterruptedException if the generator is shut down before all the frames are done.
+   */
+  private List<String> generate(Uri uri, List<Number> timestamps, int width, int height)
+      throws IOException, InterruptedException {
+    List<String> paths = new ArrayList<>(Collections.nCopies(timestamps.size(), (String) null));
+    MediaMetadataRetriever retriever = null;
+    try {
+      for (int i = 0; i < timestamps.size(); i++) {
+        if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+        long timestampMs = timestamps.get(i).longValue();
+        File file = new File(thumbnailDirectory, fileName(uri, timestampMs, width, height));
+        if (file.exists()) {
+          // Marks the frame as recently used.
+          file.setLastModified(System.currentTimeMillis());
+        } else {
+          if (retriever == null) {
+            retriever = openRetriever(uri);
+          }
+          Bitmap frame = extractFrame(retriever, timestampMs, width, height);
+          if (frame == null) {
+            continue;
+          }
+          writeJpeg(frame, file);
+          frame.recycle();
+        }
+        paths.set(i, file.getAbsolutePath());
+      }
+    } finally {
+      if (retriever != null) {
+        retriever.release();
+      }
+    }
+    return paths;
+  }
+
+  private MediaMetadataRetriever openRetriever(Uri uri) {
+    MediaMetadataRetriever retriever = new MediaMetadataRetriever();
+    if (VideoPlayer.isHTTP(uri)) {
+      retriever.setDataSource(uri.toString(), Collections.<String, String>emptyMap());
+    } else {
+      retriever.setDataSource(context, uri);
+    }
+    return retriever;
+  }
+
+  private static Bitmap extractFrame(
+      MediaMetadataRetriever retriever, long timestampMs, int width, int height) {
+    long timeUs = timestampMs * 1000;
+    // OPTION_CLOSEST decodes up to the exact frame, instead of stopping at the nearest key frame.
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O_MR1) {
+      return retriever.getScaledFrameAtTime(
+          timeUs, MediaMetadataRetriever.OPTION_CLOSEST, width, height);
+    }
+    Bitmap frame = retriever.getFrameAtTime(timeUs, MediaMetadataRetriever.OPTION_CLOSEST);
+    if (frame == null) {
+      return null;
+    }
+    float scale =
+        Math.min((float) width / frame.getWidth(), (float) height / frame.getHeight());
+    if (scale >= 1) {
+      return frame;
+    }
+    Bitmap scaledFrame =
+        Bitmap.createScaledBitmap(
+            frame,
+            Math.max(1, Math.round(frame.getWidth() * scale)),
+            Math.max(1, Math.round(frame.getHeight() * scale)),
+            true);
+    frame.recycle();
+    return scaledFrame;
+  }
+
+  // Writes to a temporary file first, so that a partly written file is never mistaken for a
+  // cached frame.
+  private void writeJpeg(Bitmap frame, File file) throws IOException {
+    if (!thumbnailDirectory.isDirectory() && !thumbnailDirectory.mkdirs()) {
+      throw new IOException("Could not create " + thumbnailDirectory);
+    }
+    File temporaryFile =
+        File.createTempFile(file.getName(), TEMPORARY_FILE_SUFFIX, thumbnailDirectory);
+    try (OutputStream outputStream =
+        new BufferedOutputStream(new FileOutputStream(temporaryFile))) {
+      frame.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, outputStream);
+    } catch (IOException e) {
+      temporaryFile.delete();
+      throw e;
+    }
+    if (!temporaryFile.renameTo(file)) {
+      temporaryFile.delete();
+      throw new IOException("Could not write " + file);
+    }
+  }
+
+  /**
+   * Deletes the least recently used frames until they fit in the size limit, and the temporary
+   * files left behind by the writes that didn't finish. Package-private for the tests.
+   */
+  void trimThumbnails() {
+    File[] files = thumbnailDirectory.listFiles();
+    if (files == null) {
+      return;
+    }
+    long minLastModified = System.currentTimeMillis() - MIN_THUMBNAIL_AGE_MS;
+    List<File> thumbnails = new ArrayList<>();
+    long totalSize = 0;
+    for (File file : files) {
+      if (!file.isFile()) {
+        continue;
+      }
+      if (file.getName().endsWith(TEMPORARY_FILE_SUFFIX)) {
+        // A recent temporary file may still be being written.
+        if (file.lastModified() <= minLastModified) {
+          file.delete();
+        }
+      } else {
+        thumbnails.add(file);
+        totalSize += file.length();
+      }
+    }
+    if (totalSize <= MAX_THUMBNAILS_SIZE) {
+      return;
+    }
+    Collections.sort(
+        thumbnails,
+        (a, b) -> {
+          long lastModifiedA = a.lastModified();
+          long lastModifiedB = b.lastModified();
+          return lastModifiedA < lastModifiedB ? -1 : (lastModifiedA == lastModifiedB ? 0 : 1);
+        });
+    for (File file : thumbnails) {
+      if (totalSize <= MAX_THUMBNAILS_SIZE || file.lastModified() > minLastModified) {
+        break;
+      }
+      long size = file.length();
+      if (file.delete()) {
+        totalSize -= size;
+      }
+    }
+  }
+
+  private static String fileName(Uri uri, long timestampMs, int width, int height) {
+    String key = uri + "|" + timestampMs + "|" + width + "x" + height;
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-1");
+      StringBuilder name = new StringBuilder();
+      for (byte b : digest.digest(key.getBytes(Charset.forName("UTF-8")))) {
+        name.append(String.format("%02x", b));
+      }
+      return name.append(".jpg").toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private synchronized ExecutorService getExecutor() {
+    if (executor == null) {
+      executor = Executors.newFixedThreadPool(THREAD_COUNT);
+    }
+    return executor;
+  }
+
+  /**
+   * Stops the pending extractions, and replies to their calls with a {@code cancelled} error. The
+   * thumbnails already written stay in the cache.
+   */
+  synchronized void shutdown() {
+    if (executor != null) {
+      // The running jobs are interrupted between two frames, and reply themselves.
+      for (Runnable job : executor.shutdownNow()) {
+        ((ThumbnailJob) job).cancel();
+      }
+      executor = null;
+    }
+  }
+}
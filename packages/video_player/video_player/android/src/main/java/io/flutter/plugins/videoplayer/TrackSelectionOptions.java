@@ -0,0 +1,92 @@
+// Copyright 2020 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.Manifest;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
+import io.flutter.plugins.videoplayer.Messages.CreateMessage;
+import java.util.Collections;
+import java.util.Map;
+
+/** The constraints on the video tracks that adaptive streams can switch between. */
+final class TrackSelectionOptions {
+  /** The value of {@link #initialBitrateEstimate} when no estimate is set. */
+  static final long DEFAULT_INITIAL_BITRATE_ESTIMATE = 0;
+
+  final int maxVideoWidth;
+  final int maxVideoHeight;
+  final int maxVideoBitrate;
+  final long initialBitrateEstimate;
+  final boolean forceLowestBitrateOnCellular;
+
+  private TrackSelectionOptions(
+      int maxVideoWidth,
+      int maxVideoHeight,
+      int maxVideoBitrate,
+      long initialBitrateEstimate,
+      boolean forceLowestBitrateOnCellular) {
+    this.maxVideoWidth = maxVideoWidth;
+    this.maxVideoHeight = maxVideoHeight;
+    this.maxVideoBitrate = maxVideoBitrate;
+    this.initialBitrateEstimate = initialBitrateEstimate;
+    this.forceLowestBitrateOnCellular = forceLowestBitrateOnCellular;
+  }
+
+  /**
+   * Returns the options requested by {@code arg}. The options are an optional map, as are all their
+   * values, and the constraints that aren't set aren't applied.
+   */
+  static TrackSelectionOptions fromCreateMessage(CreateMessage arg) {
+    Map<?, ?> options = arg.getTrackSelectionOptions();
+    if (options == null) {
+      options = Collections.emptyMap();
+    }
+    Object initialBitrateEstimate = options.get("initialBitrateEstimate");
+    return new TrackSelectionOptions(
+        intValueOrMax(options.get("maxVideoWidth")),
+        intValueOrMax(options.get("maxVideoHeight")),
+        intValueOrMax(options.get("maxVideoBitrate")),
+        initialBitrateEstimate instanceof Number
+            ? ((Number) initialBitrateEstimate).longValue()
+            : DEFAULT_INITIAL_BITRATE_ESTIMATE,
+        Boolean.TRUE.equals(options.get("forceLowestBitrateOnCellular")));
+  }
+
+  /**
+   * Returns the track selector parameters for these options.
+   *
+   * <p>Whether the device is on a cellular network is checked once, when this is called. The app
+   * must hold the ACCESS_NETWORK_STATE permission for the check, otherwise the device is assumed
+   * not to be on a cellular network.
+   */
+  DefaultTrackSelector.Parameters buildParameters(Context context) {
+    return new DefaultTrackSelector.ParametersBuilder()
+        .setMaxVideoSize(maxVideoWidth, maxVideoHeight)
+        .setMaxVideoBitrate(maxVideoBitrate)
+        .setForceLowestBitrate(forceLowestBitrateOnCellular && isOnCellularNetwork(context))
+        .build();
+  }
+
+  private static boolean isOnCellularNetwork(Context context) {
+    if (context.checkCallingOrSelfPermission(Manifest.permission.ACCESS_NETWORK_STATE)
+        != PackageManager.PERMISSION_GRANTED) {
+      return false;
+    }
+    ConnectivityManager connectivityManager =
+        (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+    NetworkInfo networkInfo =
+        connectivityManager != null ? connectivityManager.getActiveNetworkInfo() : null;
+    return networkInfo != null && networkInfo.getType() == ConnectivityManager.TYPE_MOBILE;
+  }
+
+  // The codec decodes the Dart ints as Integer or Long, depending on their size.
+  private static int intValueOrMax(Object value) {
+    return value instanceof Number ? ((Number) value).intValue() : Integer.MAX_VALUE;
+  }
+}
@@ -0,0 +1,216 @@
+// Copyright 2020 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import android.content.Context;
+import android.net.Uri;
+import android.util.Log;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.FileDataSourceFactory;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import com.google.android.exoplayer2.upstream.cache.Cache;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSinkFactory;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSourceFactory;
+import com.google.android.exoplayer2.upstream.cache.CacheUtil;
+import com.google.android.exoplayer2.upstream.cache.LeastRecentlyUsedCacheEvictor;
+import com.google.android.exoplayer2.upstream.cache.SimpleCache;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * On-disk cache of the media downloaded by the players, shared by all the players of the process.
+ *
+ * <p>ExoPlayer doesn't allow two {@link SimpleCache} instances over the same directory, so there is
+ * a single cache for all the engines of the process. Caching is disabled until a maximum cache size
+ * is set, and the size can't be changed once the cache has been created.
+ */
+final class VideoCache {
+  private static final String TAG = "VideoCache";
+  private static final String CACHE_DIRECTORY = "video_player";
+
+  private static VideoCache instance;
+
+  private final File cacheDirectory;
+  private final AtomicLong bytesReadFromCache = new AtomicLong();
+  private final AtomicLong bytesReadFromNetwork = new AtomicLong();
+
+  private long maxCacheSize;
+  private SimpleCache cache;
+  private ExecutorService preloadExecutor;
+  private AtomicBoolean preloadsCanceled;
+  private final Set<String> pendingPreloads = Collections.synchronizedSet(new HashSet<String>());
+
+  private final CacheDataSource.EventListener cacheListener =
+      new CacheDataSource.EventListener() {
+        @Override
+        public void onCachedBytesRead(long cacheSizeBytes, long cachedBytesRead) {
+          bytesReadFromCache.addAndGet(cachedBytesRead);
+        }
+
+        @Override
+        public void onCacheIgnored(int reason) {}
+      };
+
+  private final TransferListener networkListener =
+      new TransferListener() {
+        @Override
+        public void onTransferInitializing(
+            DataSource source, DataSpec dataSpec, boolean isNetwork) {}
+
+        @Override
+        public void onTransferStart(DataSource source, DataSpec dataSpec, boolean isNetwork) {}
+
+        @Override
+        public void onBytesTransferred(
+            DataSource source, DataSpec dataSpec, boolean isNetwork, int bytesTransferred) {
+          if (isNetwork) {
+            bytesReadFromNetwork.addAndGet(bytesTransferred);
+          }
+        }
+
+        @Override
+        public void onTransferEnd(DataSource source, DataSpec dataSpec, boolean isNetwork) {}
+      };
+
+  private VideoCache(File cacheDirectory) {
+    this.cacheDirectory = cacheDirectory;
+  }
+
+  static synchronized VideoCache getInstance(Context context) {
+    if (instance == null) {
+      instance = new VideoCache(new File(context.getCacheDir(), CACHE_DIRECTORY));
+    }
+    return instance;
+  }
+
+  /**
+   * Sets the maximum size of the cache in bytes, or disables caching if {@code maxCacheSize} is 0.
+   *
+   * <p>Only players created afterwards are affected.
+   */
+  synchronized void setMaxCacheSize(long maxCacheSize) {
+    if (cache != null && maxCacheSize != this.maxCacheSize) {
+      Log.w(TAG, "The cache is already in use, ignoring the new maximum size " + maxCacheSize);
+      return;
+    }
+    this.maxCacheSize = maxCacheSize;
+  }
+
+  /** Returns the cache, or null if caching is disabled. */
+  synchronized Cache getCache() {
+    if (maxCacheSize <= 0) {
+      return null;
+    }
+    if (cache == null) {
+      cache = new SimpleCache(cacheDirectory, new LeastRecentlyUsedCacheEvictor(maxCacheSize));
+    }
+    return cache;
+  }
+
+  /**
+   * Returns a factory of data sources reading through the cache and falling back to {@code
+   * upstreamFactory}, or {@code upstreamFactory} itself if caching is disabled.
+   */
+  DataSource.Factory wrap(DataSource.Factory upstreamFactory) {
+    Cache cache = getCache();
+    if (cache == null) {
+      return upstreamFactory;
+    }
+    DataSource.Factory countingFactory =
+        () -> {
+          DataSource dataSource = upstreamFactory.createDataSource();
+          dataSource.addTransferListener(networkListener);
+          return dataSource;
+        };
+    return new CacheDataSourceFactory(
+        cache,
+        countingFactory,
+        new FileDataSourceFactory(),
+        new CacheDataSinkFactory(cache, CacheDataSource.DEFAULT_MAX_CACHE_FILE_SIZE),
+        CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR,
+        cacheListener);
+  }
+
+  /**
+   * Downloads the first {@code byteCount} bytes of {@code uri} into the cache in the background, or
+   * the whole media if {@code byteCount} is {@link C#LENGTH_UNSET}.
+   *
+   * <p>Preloads run one at a time, in the order they were requested. Preloading an uri that is
+   * already being preloaded does nothing.
+   */
+  void preload(Uri uri, long byteCount, DataSource.Factory upstreamFactory) {
+    final Cache cache = getCache();
+    if (cache == null) {
+      throw new IllegalStateException("The cache must be enabled before preloading.");
+    }
+    final String key = uri.toString();
+    if (!pendingPreloads.add(key)) {
+      return;
+    }
+    final DataSpec dataSpec = new DataSpec(uri, 0, byteCount, null);
+    final DataSource upstream = upstreamFactory.createDataSource();
+    upstream.addTransferListener(networkListener);
+    synchronized (this) {
+      if (preloadExecutor == null) {
+        preloadExecutor = Executors.newSingleThreadExecutor();
+        preloadsCanceled = new AtomicBoolean();
+      }
+      final AtomicBoolean isCanceled = preloadsCanceled;
+      preloadExecutor.execute(
+          () -> {
+            try {
+              CacheUtil.cache(dataSpec, cache, upstream, null, isCanceled);
+            } catch (IOException e) {
+              Log.w(TAG, "Failed to preload " + key, e);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            } finally {
+              pendingPreloads.remove(key);
+            }
+          });
+    }
+  }
+
+  /**
+   * Stops the running preload and drops the queued ones. What was already downloaded stays in the
+   * cache.
+   *
+   * <p>The preloads of all the engines are stopped, as they share the cache.
+   */
+  synchronized void cancelPreloads() {
+    if (preloadExecutor == null) {
+      return;
+    }
+    // CacheUtil checks the flag between two reads, the interrupt stops a blocked read.
+    preloadsCanceled.set(true);
+    preloadExecutor.shutdownNow();
+    preloadExecutor = null;
+    preloadsCanceled = null;
+    // The dropped preloads never get to remove their uri.
+    pendingPreloads.clear();
+  }
+
+  synchronized long getCacheSize() {
+    return cache != null ? cache.getCacheSpace() : 0;
+  }
+
+  long getBytesReadFromCache() {
+    return bytesReadFromCache.get();
+  }
+
+  long getBytesReadFromNetwork() {
+    return bytesReadFromNetwork.get();
+  }
+}
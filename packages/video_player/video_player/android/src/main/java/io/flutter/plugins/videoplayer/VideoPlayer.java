@@ -6,90 +6,148 @@ import static com.google.android.exoplayer2.Player.REPEAT_MODE_OFF;
 import android.content.Context;
 import android.net.Uri;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
 import android.view.Surface;
 import com.google.android.exoplayer2.C;
 import com.google.android.exoplayer2.ExoPlaybackException;
-import com.google.android.exoplayer2.ExoPlayerFactory;
 import com.google.android.exoplayer2.Format;
 import com.google.android.exoplayer2.Player;
 import com.google.android.exoplayer2.Player.EventListener;
 import com.google.android.exoplayer2.SimpleExoPlayer;
+import com.google.android.exoplayer2.analytics.AnalyticsListener;
 import com.google.android.exoplayer2.audio.AudioAttributes;
 import com.google.android.exoplayer2.extractor.DefaultExtractorsFactory;
 import com.google.android.exoplayer2.source.ExtractorMediaSource;
 import com.google.android.exoplayer2.source.MediaSource;
+import com.google.android.exoplayer2.source.MediaSourceEventListener;
 import com.google.android.exoplayer2.source.dash.DashMediaSource;
 import com.google.android.exoplayer2.source.dash.DefaultDashChunkSource;
+import com.google.android.exoplayer2.source.hls.HlsDataSourceFactory;
 import com.google.android.exoplayer2.source.hls.HlsMediaSource;
 import com.google.android.exoplayer2.source.smoothstreaming.DefaultSsChunkSource;
 import com.google.android.exoplayer2.source.smoothstreaming.SsMediaSource;
-import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
-import com.google.android.exoplayer2.trackselection.TrackSelector;
 import com.google.android.exoplayer2.upstream.DataSource;
 import com.google.android.exoplayer2.upstream.DefaultDataSourceFactory;
 import com.google.android.exoplayer2.upstream.DefaultHttpDataSource;
 import com.google.android.exoplayer2.upstream.DefaultHttpDataSourceFactory;
 import com.google.android.exoplayer2.util.Util;
 import io.flutter.plugin.common.EventChannel;
+import io.flutter.plugins.videoplayer.Messages.StatsMessage;
 import io.flutter.view.TextureRegistry;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 final class VideoPlayer {
+  private static final String TAG = "VideoPlayer";
   private static final String FORMAT_SS = "ss";
   private static final String FORMAT_DASH = "dash";
   private static final String FORMAT_HLS = "hls";
   private static final String FORMAT_OTHER = "other";
 
-  private SimpleExoPlayer exoPlayer;
+  // The events queued until the Dart side listens. Periodic events such as position and buffering
+  // updates replace the older ones of the same type when the queue is full, the others are kept.
+  private static final int MAX_QUEUED_EVENTS = 64;
+  private static final Set<String> REPEATABLE_EVENTS =
+      new HashSet<>(
+          Arrays.asList(
+              "bandwidthEstimate", "selectedTrackChanged", "bufferingUpdate", "positionUpdate"));
+
+  private final PlayerPool playerPool;
+
+  private final PlayerPool.Entry playerEntry;
+
+  private final SimpleExoPlayer exoPlayer;
+
+  private EventListener eventListener;
+
+  private AnalyticsListener analyticsListener;
+
+  private final PlaybackStatsListener playbackStatsListener = new PlaybackStatsListener();
 
   private Surface surface;
 
   private final TextureRegistry.SurfaceTextureEntry textureEntry;
 
-  private QueuingEventSink eventSink = new QueuingEventSink();
+  private final QueuingEventSink eventSink =
+      new QueuingEventSink(
+          MAX_QUEUED_EVENTS, QueuingEventSink.OverflowPolicy.COALESCE_BY_TYPE, REPEATABLE_EVENTS);
 
   private final EventChannel eventChannel;
 
   private boolean isInitialized = false;
 
+  private final Handler handler = new Handler(Looper.getMainLooper());
+
+  private long positionUpdateIntervalMs;
+
+  private boolean isSendingPositionUpdates;
+
+  private final Runnable positionUpdater =
+      new Runnable() {
+        @Override
+        public void run() {
+          sendPositionUpdate();
+          handler.postDelayed(this, positionUpdateIntervalMs);
+        }
+      };
+
   VideoPlayer(
       Context context,
       EventChannel eventChannel,
       TextureRegistry.SurfaceTextureEntry textureEntry,
       String dataSource,
-      String formatHint) {
+      String formatHint,
+      BufferingProfile bufferingProfile,
+      TrackSelectionOptions trackSelectionOptions,
+      VideoCache videoCache,
+      PlayerPool playerPool) {
     this.eventChannel = eventChannel;
     this.textureEntry = textureEntry;
+    this.playerPool = playerPool;
 
-    TrackSelector trackSelector = new DefaultTrackSelector();
-    exoPlayer = ExoPlayerFactory.newSimpleInstance(context, trackSelector);
+    playerEntry =
+        playerPool.acquire(
+            context, bufferingProfile, trackSelectionOptions.initialBitrateEstimate);
+    exoPlayer = playerEntry.exoPlayer;
+    playerEntry.trackSelector.setParameters(trackSelectionOptions.buildParameters(context));
 
     Uri uri = Uri.parse(dataSource);
 
     DataSource.Factory dataSourceFactory;
+    DataSource.Factory mediaDataSourceFactory;
     if (isHTTP(uri)) {
-      dataSourceFactory =
-          new DefaultHttpDataSourceFactory(
-              "ExoPlayer",
-              null,
-              DefaultHttpDataSource.DEFAULT_CONNECT_TIMEOUT_MILLIS,
-              DefaultHttpDataSource.DEFAULT_READ_TIMEOUT_MILLIS,
-              true);
+      dataSourceFactory = buildHttpDataSourceFactory();
+      // Only the media is cached, as the manifests of live streams change over time.
+      mediaDataSourceFactory = videoCache.wrap(dataSourceFactory);
     } else {
       dataSourceFactory = new DefaultDataSourceFactory(context, "ExoPlayer");
+      mediaDataSourceFactory = dataSourceFactory;
     }
 
-    MediaSource mediaSource = buildMediaSource(uri, dataSourceFactory, formatHint, context);
+    MediaSource mediaSource =
+        buildMediaSource(uri, dataSourceFactory, mediaDataSourceFactory, formatHint, context);
     exoPlayer.prepare(mediaSource);
 
     setupVideoPlayer(eventChannel, textureEntry);
   }
 
-  private static boolean isHTTP(Uri uri) {
+  static DataSource.Factory buildHttpDataSourceFactory() {
+    return new DefaultHttpDataSourceFactory(
+        "ExoPlayer",
+        null,
+        DefaultHttpDataSource.DEFAULT_CONNECT_TIMEOUT_MILLIS,
+        DefaultHttpDataSource.DEFAULT_READ_TIMEOUT_MILLIS,
+        true);
+  }
+
+  static boolean isHTTP(Uri uri) {
     if (uri == null || uri.getScheme() == null) {
       return false;
     }
@@ -98,7 +156,11 @@ final class VideoPlayer {
   }
 
   private MediaSource buildMediaSource(
-      Uri uri, DataSource.Factory mediaDataSourceFactory, String formatHint, Context context) {
+      Uri uri,
+      DataSource.Factory manifestDataSourceFactory,
+      DataSource.Factory mediaDataSourceFactory,
+      String formatHint,
+      Context context) {
     int type;
     if (formatHint == null) {
       type = Util.inferContentType(uri.getLastPathSegment());
@@ -125,15 +187,20 @@ final class VideoPlayer {
       case C.TYPE_SS:
         return new SsMediaSource.Factory(
                 new DefaultSsChunkSource.Factory(mediaDataSourceFactory),
-                new DefaultDataSourceFactory(context, null, mediaDataSourceFactory))
+                new DefaultDataSourceFactory(context, null, manifestDataSourceFactory))
             .createMediaSource(uri);
       case C.TYPE_DASH:
         return new DashMediaSource.Factory(
                 new DefaultDashChunkSource.Factory(mediaDataSourceFactory),
-                new DefaultDataSourceFactory(context, null, mediaDataSourceFactory))
+                new DefaultDataSourceFactory(context, null, manifestDataSourceFactory))
             .createMediaSource(uri);
       case C.TYPE_HLS:
-        return new HlsMediaSource.Factory(mediaDataSourceFactory).createMediaSource(uri);
+        HlsDataSourceFactory hlsDataSourceFactory =
+            dataType ->
+                dataType == C.DATA_TYPE_MEDIA
+                    ? mediaDataSourceFactory.createDataSource()
+                    : manifestDataSourceFactory.createDataSource();
+        return new HlsMediaSource.Factory(hlsDataSourceFactory).createMediaSource(uri);
       case C.TYPE_OTHER:
         return new ExtractorMediaSource.Factory(mediaDataSourceFactory)
             .setExtractorsFactory(new DefaultExtractorsFactory())
@@ -165,11 +232,12 @@ final class VideoPlayer {
     exoPlayer.setVideoSurface(surface);
     setAudioAttributes(exoPlayer);
 
-    exoPlayer.addListener(
+    eventListener =
         new EventListener() {
 
           @Override
           public void onPlayerStateChanged(final boolean playWhenReady, final int playbackState) {
+            updatePositionUpdates();
             if (playbackState == Player.STATE_BUFFERING) {
               sendBufferingUpdate();
             } else if (playbackState == Player.STATE_READY) {
@@ -190,7 +258,48 @@ final class VideoPlayer {
               eventSink.error("VideoError", "Video player had error " + error, null);
             }
           }
-        });
+        };
+    exoPlayer.addListener(eventListener);
+
+    analyticsListener =
+        new AnalyticsListener() {
+          @Override
+          public void onDownstreamFormatChanged(
+              EventTime eventTime, MediaSourceEventListener.MediaLoadData mediaLoadData) {
+            if (mediaLoadData.trackFormat != null
+                && (mediaLoadData.trackType == C.TRACK_TYPE_VIDEO
+                    || mediaLoadData.trackType == C.TRACK_TYPE_DEFAULT)) {
+              sendSelectedTrackChanged(mediaLoadData.trackFormat);
+            }
+          }
+
+          @Override
+          public void onBandwidthEstimate(
+              EventTime eventTime,
+              int totalLoadTimeMs,
+              long totalBytesLoaded,
+              long bitrateEstimate) {
+            Map<String, Object> event = new HashMap<>();
+            event.put("event", "bandwidthEstimate");
+            event.put("bitrate", bitrateEstimate);
+            eventSink.success(event);
+          }
+        };
+    exoPlayer.addAnalyticsListener(analyticsListener);
+    exoPlayer.addAnalyticsListener(playbackStatsListener);
+  }
+
+  private void sendSelectedTrackChanged(Format format) {
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "selectedTrackChanged");
+    if (format.width != Format.NO_VALUE && format.height != Format.NO_VALUE) {
+      event.put("width", format.width);
+      event.put("height", format.height);
+    }
+    if (format.bitrate != Format.NO_VALUE) {
+      event.put("bitrate", format.bitrate);
+    }
+    eventSink.success(event);
   }
 
   void sendBufferingUpdate() {
@@ -202,6 +311,53 @@ final class VideoPlayer {
     eventSink.success(event);
   }
 
+  /**
+   * Sends the position, buffered range and playback state every {@code intervalMs} while the video
+   * is playing, or stops sending them if {@code intervalMs} is 0.
+   */
+  void setPositionUpdateInterval(long intervalMs) {
+    positionUpdateIntervalMs = intervalMs;
+    handler.removeCallbacks(positionUpdater);
+    isSendingPositionUpdates = false;
+    updatePositionUpdates();
+  }
+
+  boolean hasPositionUpdates() {
+    return positionUpdateIntervalMs > 0;
+  }
+
+  private void updatePositionUpdates() {
+    int playbackState = exoPlayer.getPlaybackState();
+    boolean shouldSend =
+        positionUpdateIntervalMs > 0
+            && exoPlayer.getPlayWhenReady()
+            && (playbackState == Player.STATE_READY || playbackState == Player.STATE_BUFFERING);
+    if (shouldSend == isSendingPositionUpdates) {
+      return;
+    }
+    isSendingPositionUpdates = shouldSend;
+    handler.removeCallbacks(positionUpdater);
+    if (shouldSend) {
+      handler.post(positionUpdater);
+    } else {
+      // A last update, so that the listener knows where the video stopped.
+      sendPositionUpdate();
+    }
+  }
+
+  private void sendPositionUpdate() {
+    int playbackState = exoPlayer.getPlaybackState();
+    Map<String, Object> event = new HashMap<>();
+    event.put("event", "positionUpdate");
+    event.put("position", exoPlayer.getCurrentPosition());
+    List<? extends Number> range = Arrays.asList(0, exoPlayer.getBufferedPosition());
+    event.put("values", Collections.singletonList(range));
+    event.put(
+        "isPlaying", exoPlayer.getPlayWhenReady() && playbackState == Player.STATE_READY);
+    event.put("isBuffering", playbackState == Player.STATE_BUFFERING);
+    eventSink.success(event);
+  }
+
   @SuppressWarnings("deprecation")
   private static void setAudioAttributes(SimpleExoPlayer exoPlayer) {
     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
@@ -237,6 +393,10 @@ final class VideoPlayer {
     return exoPlayer.getCurrentPosition();
   }
 
+  StatsMessage getStats() {
+    return playbackStatsListener.getStats();
+  }
+
   @SuppressWarnings("SuspiciousNameCombination")
   private void sendInitialized() {
     if (isInitialized) {
@@ -262,16 +422,20 @@ final class VideoPlayer {
   }
 
   void dispose() {
-    if (isInitialized) {
-      exoPlayer.stop();
+    handler.removeCallbacks(positionUpdater);
+    long droppedEventCount = eventSink.getDroppedEventCount();
+    if (droppedEventCount > 0) {
+      Log.w(TAG, "Dropped " + droppedEventCount + " events that were not listened to");
     }
+    exoPlayer.removeListener(eventListener);
+    exoPlayer.removeAnalyticsListener(analyticsListener);
+    exoPlayer.removeAnalyticsListener(playbackStatsListener);
+    // The player stops rendering to the surface before the surface is released.
+    playerPool.release(playerEntry);
     textureEntry.release();
     eventChannel.setStreamHandler(null);
     if (surface != null) {
       surface.release();
     }
-    if (exoPlayer != null) {
-      exoPlayer.release();
-    }
   }
 }
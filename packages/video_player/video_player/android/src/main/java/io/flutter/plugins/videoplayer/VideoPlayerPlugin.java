@@ -5,15 +5,24 @@
 package io.flutter.plugins.videoplayer;
 
 import android.content.Context;
+import android.net.Uri;
 import android.util.Log;
 import android.util.LongSparseArray;
+import com.google.android.exoplayer2.C;
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugin.common.EventChannel;
+import io.flutter.plugin.common.MethodChannel;
 import io.flutter.plugin.common.PluginRegistry.Registrar;
+import io.flutter.plugins.videoplayer.Messages.CacheMessage;
+import io.flutter.plugins.videoplayer.Messages.CacheStatsMessage;
 import io.flutter.plugins.videoplayer.Messages.CreateMessage;
 import io.flutter.plugins.videoplayer.Messages.LoopingMessage;
+import io.flutter.plugins.videoplayer.Messages.PlayerPoolMessage;
 import io.flutter.plugins.videoplayer.Messages.PositionMessage;
+import io.flutter.plugins.videoplayer.Messages.PositionUpdatesMessage;
+import io.flutter.plugins.videoplayer.Messages.PreloadMessage;
+import io.flutter.plugins.videoplayer.Messages.StatsMessage;
 import io.flutter.plugins.videoplayer.Messages.TextureMessage;
 import io.flutter.plugins.videoplayer.Messages.VideoPlayerApi;
 import io.flutter.plugins.videoplayer.Messages.VolumeMessage;
@@ -23,7 +32,9 @@ import io.flutter.view.TextureRegistry;
 /** Android platform implementation of the VideoPlayerPlugin. */
 public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
   private static final String TAG = "VideoPlayerPlugin";
+  private static final String THUMBNAILS_CHANNEL = "flutter.io/videoPlayer/thumbnails";
   private final LongSparseArray<VideoPlayer> videoPlayers = new LongSparseArray<>();
+  private final PlayerPool playerPool = new PlayerPool();
   private FlutterState flutterState;
 
   /** Register this with the v2 embedding for the plugin to respond to lifecycle callbacks. */
@@ -68,7 +79,9 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
       Log.wtf(TAG, "Detached from the engine before registering to it.");
     }
     flutterState.stopListening(binding.getBinaryMessenger());
+    videoCache().cancelPreloads();
     flutterState = null;
+    playerPool.clear();
   }
 
   private void disposeAllPlayers() {
@@ -85,6 +98,8 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
     // be replaced with just asserting that videoPlayers.isEmpty().
     // https://github.com/flutter/flutter/issues/20989 tracks this.
     disposeAllPlayers();
+    playerPool.clear();
+    videoCache().cancelPreloads();
   }
 
   public void initialize() {
@@ -92,6 +107,8 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
   }
 
   public TextureMessage create(CreateMessage arg) {
+    BufferingProfile bufferingProfile = BufferingProfile.fromCreateMessage(arg);
+    TrackSelectionOptions trackSelectionOptions = TrackSelectionOptions.fromCreateMessage(arg);
     TextureRegistry.SurfaceTextureEntry handle =
         flutterState.textureRegistry.createSurfaceTexture();
     EventChannel eventChannel =
@@ -113,7 +130,11 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
               eventChannel,
               handle,
               "asset:///" + assetLookupKey,
-              null);
+              null,
+              bufferingProfile,
+              trackSelectionOptions,
+              videoCache(),
+              playerPool);
       videoPlayers.put(handle.id(), player);
     } else {
       player =
@@ -122,7 +143,11 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
               eventChannel,
               handle,
               arg.getUri(),
-              arg.getFormatHint());
+              arg.getFormatHint(),
+              bufferingProfile,
+              trackSelectionOptions,
+              videoCache(),
+              playerPool);
       videoPlayers.put(handle.id(), player);
     }
 
@@ -156,7 +181,10 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
     VideoPlayer player = videoPlayers.get(arg.getTextureId());
     PositionMessage result = new PositionMessage();
     result.setPosition(player.getPosition());
-    player.sendBufferingUpdate();
+    // The buffered range is already part of the position updates.
+    if (!player.hasPositionUpdates()) {
+      player.sendBufferingUpdate();
+    }
     return result;
   }
 
@@ -170,6 +198,52 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
     player.pause();
   }
 
+  public void setMaxCacheSize(CacheMessage arg) {
+    videoCache().setMaxCacheSize(arg.getMaxCacheSize());
+  }
+
+  public CacheStatsMessage getCacheStats() {
+    VideoCache videoCache = videoCache();
+    CacheStatsMessage result = new CacheStatsMessage();
+    result.setCacheSize(videoCache.getCacheSize());
+    result.setBytesReadFromCache(videoCache.getBytesReadFromCache());
+    result.setBytesReadFromNetwork(videoCache.getBytesReadFromNetwork());
+    return result;
+  }
+
+  public void preload(PreloadMessage arg) {
+    Uri uri = Uri.parse(arg.getUri());
+    if (!VideoPlayer.isHTTP(uri)) {
+      throw new IllegalArgumentException("Only network videos can be preloaded: " + uri);
+    }
+    long byteCount = arg.getByteCount() != null ? arg.getByteCount() : C.LENGTH_UNSET;
+    if (byteCount <= 0 && byteCount != C.LENGTH_UNSET) {
+      throw new IllegalArgumentException("The byte count to preload must be positive.");
+    }
+    videoCache().preload(uri, byteCount, VideoPlayer.buildHttpDataSourceFactory());
+  }
+
+  public void setMaxPlayerPoolSize(PlayerPoolMessage arg) {
+    playerPool.setMaxPoolSize(arg.getMaxPoolSize().intValue());
+  }
+
+  public void setPositionUpdateInterval(PositionUpdatesMessage arg) {
+    if (arg.getIntervalMs() < 0) {
+      throw new IllegalArgumentException("The position update interval can't be negative.");
+    }
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    player.setPositionUpdateInterval(arg.getIntervalMs());
+  }
+
+  public StatsMessage getStats(TextureMessage arg) {
+    VideoPlayer player = videoPlayers.get(arg.getTextureId());
+    return player.getStats();
+  }
+
+  private VideoCache videoCache() {
+    return VideoCache.getInstance(flutterState.applicationContext);
+  }
+
   private interface KeyForAssetFn {
     String get(String asset);
   }
@@ -184,6 +258,7 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
     private final KeyForAssetFn keyForAsset;
     private final KeyForAssetAndPackageName keyForAssetAndPackageName;
     private final TextureRegistry textureRegistry;
+    private final ThumbnailGenerator thumbnailGenerator;
 
     FlutterState(
         Context applicationContext,
@@ -196,14 +271,19 @@ public class VideoPlayerPlugin implements FlutterPlugin, VideoPlayerApi {
       this.keyForAsset = keyForAsset;
       this.keyForAssetAndPackageName = keyForAssetAndPackageName;
       this.textureRegistry = textureRegistry;
+      this.thumbnailGenerator = new ThumbnailGenerator(applicationContext);
     }
 
     void startListening(VideoPlayerPlugin methodCallHandler, BinaryMessenger messenger) {
       VideoPlayerApi.setup(messenger, methodCallHandler);
+      // The thumbnails are generated asynchronously, which the pigeon API doesn't support.
+      new MethodChannel(messenger, THUMBNAILS_CHANNEL).setMethodCallHandler(thumbnailGenerator);
     }
 
     void stopListening(BinaryMessenger messenger) {
       VideoPlayerApi.setup(messenger, null);
+      new MethodChannel(messenger, THUMBNAILS_CHANNEL).setMethodCallHandler(null);
+      thumbnailGenerator.shutdown();
     }
   }
 }
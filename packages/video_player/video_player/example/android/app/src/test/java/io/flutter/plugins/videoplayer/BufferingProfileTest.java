@@ -0,0 +1,67 @@
+// Copyright 2020 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import io.flutter.plugins.videoplayer.Messages.CreateMessage;
+import java.util.HashMap;
+import org.junit.Test;
+
+public class BufferingProfileTest {
+
+  @Test
+  public void fromCreateMessage_WithoutProfile_ReturnsTheDefaultProfile() {
+    assertSame(BufferingProfile.DEFAULT, BufferingProfile.fromCreateMessage(new CreateMessage()));
+  }
+
+  @Test
+  public void fromCreateMessage_WithPartialProfile_TakesTheOtherValuesFromThePreset() {
+    final HashMap<String, Object> profile = new HashMap<>();
+    profile.put("preset", "lowLatency");
+    profile.put("maxBufferMs", 20000);
+    profile.put("targetBufferBytes", 8L * 1024 * 1024);
+    profile.put("prioritizeTimeOverSizeThresholds", false);
+
+    final BufferingProfile bufferingProfile =
+        BufferingProfile.fromCreateMessage(createMessage(profile));
+
+    assertEquals(BufferingProfile.LOW_LATENCY.minBufferMs, bufferingProfile.minBufferMs);
+    assertEquals(20000, bufferingProfile.maxBufferMs);
+    assertEquals(
+        BufferingProfile.LOW_LATENCY.bufferForPlaybackMs, bufferingProfile.bufferForPlaybackMs);
+    assertEquals(8 * 1024 * 1024, bufferingProfile.targetBufferBytes);
+    assertFalse(bufferingProfile.prioritizeTimeOverSizeThresholds);
+  }
+
+  @Test
+  public void fromCreateMessage_WithoutPreset_StartsFromTheDefaultProfile() {
+    final HashMap<String, Object> profile = new HashMap<>();
+    profile.put("maxBufferMs", 60000);
+
+    final BufferingProfile bufferingProfile =
+        BufferingProfile.fromCreateMessage(createMessage(profile));
+
+    assertEquals(BufferingProfile.DEFAULT.minBufferMs, bufferingProfile.minBufferMs);
+    assertEquals(60000, bufferingProfile.maxBufferMs);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void fromCreateMessage_RejectsAnUnknownPreset() {
+    final HashMap<String, Object> profile = new HashMap<>();
+    profile.put("preset", "lowPower");
+
+    BufferingProfile.fromCreateMessage(createMessage(profile));
+  }
+
+  private static CreateMessage createMessage(HashMap<String, Object> profile) {
+    final CreateMessage message = new CreateMessage();
+    message.setUri("https://example.com/video.mp4");
+    message.setBufferingProfile(profile);
+    return message;
+  }
+}
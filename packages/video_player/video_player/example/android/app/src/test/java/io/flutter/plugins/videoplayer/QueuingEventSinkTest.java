@@ -0,0 +1,172 @@
+// Copyright 2019 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Looper;
+import io.flutter.plugin.common.EventChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class QueuingEventSinkTest {
+  private static final Set<String> REPEATABLE_TYPES =
+      new HashSet<>(Arrays.asList("positionUpdate", "bufferingUpdate"));
+
+  @Test
+  public void setDelegate_ReplaysQueuedEventsInOrder() {
+    final QueuingEventSink sink = newSink(10, QueuingEventSink.OverflowPolicy.DROP_OLDEST);
+    sink.success(event("initialized", 0));
+    sink.error("code", "message", null);
+    sink.success(event("positionUpdate", 1));
+    sink.endOfStream();
+
+    final RecordingSink delegate = new RecordingSink();
+    sink.setDelegate(delegate);
+
+    assertEquals(
+        Arrays.asList("initialized 0", "error code", "positionUpdate 1", "end"), delegate.events);
+  }
+
+  @Test
+  public void success_WithDelegate_DeliversRightAway() {
+    final QueuingEventSink sink = newSink(10, QueuingEventSink.OverflowPolicy.DROP_OLDEST);
+    final RecordingSink delegate = new RecordingSink();
+    sink.setDelegate(delegate);
+
+    sink.success(event("positionUpdate", 1));
+
+    assertEquals(Arrays.asList("positionUpdate 1"), delegate.events);
+  }
+
+  @Test
+  public void success_FromAnotherThread_DeliversInOrderOnTheMainThread() throws Exception {
+    final QueuingEventSink sink = newSink(10, QueuingEventSink.OverflowPolicy.DROP_OLDEST);
+    final RecordingSink delegate = new RecordingSink();
+    sink.setDelegate(delegate);
+
+    final Thread thread =
+        new Thread(
+            () -> {
+              sink.success(event("positionUpdate", 1));
+              sink.success(event("positionUpdate", 2));
+            });
+    thread.start();
+    thread.join();
+    shadowOf(Looper.getMainLooper()).idle();
+
+    assertEquals(Arrays.asList("positionUpdate 1", "positionUpdate 2"), delegate.events);
+  }
+
+  @Test
+  public void dropOldest_DropsTheOldestRepeatableEvent() {
+    final QueuingEventSink sink = newSink(3, QueuingEventSink.OverflowPolicy.DROP_OLDEST);
+    sink.success(event("initialized", 0));
+    sink.success(event("positionUpdate", 1));
+    sink.success(event("bufferingUpdate", 2));
+    sink.success(event("positionUpdate", 3));
+    sink.success(event("positionUpdate", 4));
+
+    final RecordingSink delegate = new RecordingSink();
+    sink.setDelegate(delegate);
+
+    assertEquals(
+        Arrays.asList("initialized 0", "positionUpdate 3", "positionUpdate 4"), delegate.events);
+    assertEquals(2, sink.getDroppedEventCount());
+  }
+
+  @Test
+  public void coalesceByType_DropsTheOldestEventOfTheSameType() {
+    final QueuingEventSink sink = newSink(3, QueuingEventSink.OverflowPolicy.COALESCE_BY_TYPE);
+    sink.success(event("positionUpdate", 1));
+    sink.success(event("bufferingUpdate", 2));
+    sink.success(event("positionUpdate", 3));
+    sink.success(event("positionUpdate", 4));
+    sink.success(event("completed", 5));
+
+    final RecordingSink delegate = new RecordingSink();
+    sink.setDelegate(delegate);
+
+    // The last new event has no repeatable event of its type, so the oldest repeatable one goes.
+    assertEquals(
+        Arrays.asList("positionUpdate 3", "positionUpdate 4", "completed 5"), delegate.events);
+    assertEquals(2, sink.getDroppedEventCount());
+  }
+
+  @Test
+  public void overflow_NeverDropsErrorsEndOfStreamOrOtherEvents() {
+    for (QueuingEventSink.OverflowPolicy policy : QueuingEventSink.OverflowPolicy.values()) {
+      final QueuingEventSink sink = newSink(2, policy);
+      sink.success(event("initialized", 0));
+      sink.success(event("positionUpdate", 1));
+      sink.error("first", null, null);
+      sink.error("second", null, null);
+      sink.endOfStream();
+
+      final RecordingSink delegate = new RecordingSink();
+      sink.setDelegate(delegate);
+
+      assertEquals(
+          policy.toString(),
+          Arrays.asList("initialized 0", "error first", "error second", "end"),
+          delegate.events);
+      assertEquals(policy.toString(), 1, sink.getDroppedEventCount());
+    }
+  }
+
+  @Test
+  public void overflow_WhenNothingElseCanBeDropped_DropsTheNewRepeatableEvent() {
+    final QueuingEventSink sink = newSink(1, QueuingEventSink.OverflowPolicy.COALESCE_BY_TYPE);
+    sink.success(event("initialized", 0));
+    sink.success(event("positionUpdate", 1));
+
+    final RecordingSink delegate = new RecordingSink();
+    sink.setDelegate(delegate);
+
+    assertEquals(Arrays.asList("initialized 0"), delegate.events);
+    assertEquals(1, sink.getDroppedEventCount());
+  }
+
+  private static QueuingEventSink newSink(int capacity, QueuingEventSink.OverflowPolicy policy) {
+    return new QueuingEventSink(capacity, policy, REPEATABLE_TYPES);
+  }
+
+  private static Map<String, Object> event(String type, int value) {
+    final Map<String, Object> event = new HashMap<>();
+    event.put("event", type);
+    event.put("value", value);
+    return event;
+  }
+
+  private static class RecordingSink implements EventChannel.EventSink {
+    final List<String> events = new ArrayList<>();
+
+    @Override
+    public void success(Object event) {
+      final Map<?, ?> map = (Map<?, ?>) event;
+      events.add(map.get("event") + " " + map.get("value"));
+    }
+
+    @Override
+    public void error(String code, String message, Object details) {
+      events.add("error " + code);
+    }
+
+    @Override
+    public void endOfStream() {
+      events.add("end");
+    }
+  }
+}
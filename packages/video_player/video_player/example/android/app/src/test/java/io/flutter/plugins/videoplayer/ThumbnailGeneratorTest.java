@@ -0,0 +1,164 @@
+// Copyright 2020 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Looper;
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(RobolectricTestRunner.class)
+public class ThumbnailGeneratorTest {
+  private static final long TIMEOUT_MS = 5000;
+
+  private ThumbnailGenerator generator;
+
+  @Before
+  public void setUp() {
+    generator = new ThumbnailGenerator(RuntimeEnvironment.application);
+  }
+
+  @Test
+  public void onMethodCall_RepliesNotImplementedToOtherMethods() {
+    final RecordingResult result = new RecordingResult();
+    generator.onMethodCall(new MethodCall("generateFrames", null), result);
+
+    assertEquals(Arrays.asList("notImplemented"), result.replies);
+  }
+
+  @Test
+  public void onMethodCall_RejectsMissingArguments() {
+    final Map<String, Object> arguments = generateArguments(1);
+    arguments.remove("uri");
+    final RecordingResult result = new RecordingResult();
+    generator.onMethodCall(new MethodCall("generateThumbnails", arguments), result);
+
+    assertEquals(Arrays.asList("error invalidArguments"), result.replies);
+  }
+
+  @Test
+  public void onMethodCall_RejectsAnEmptySize() {
+    final Map<String, Object> arguments = generateArguments(1);
+    arguments.put("width", 0);
+    final RecordingResult result = new RecordingResult();
+    generator.onMethodCall(new MethodCall("generateThumbnails", arguments), result);
+
+    assertEquals(Arrays.asList("error invalidArguments"), result.replies);
+  }
+
+  @Test
+  public void shutdown_RepliesOnceToEveryCall() throws InterruptedException {
+    final List<RecordingResult> results = new ArrayList<>();
+    // More calls than threads, so that some of them are still queued on shutdown.
+    for (int i = 0; i < 6; i++) {
+      final RecordingResult result = new RecordingResult();
+      generator.onMethodCall(new MethodCall("generateThumbnails", generateArguments(50)), result);
+      results.add(result);
+    }
+    generator.shutdown();
+
+    final long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+    while (!allReplied(results) && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+      shadowOf(Looper.getMainLooper()).idle();
+    }
+    // The running calls either finish or are stopped, the queued ones are cancelled.
+    for (RecordingResult result : results) {
+      assertEquals(1, result.replies.size());
+    }
+  }
+
+  @Test
+  public void trimThumbnails_DeletesTheLeastRecentlyUsedOldFramesOverTheLimit()
+      throws IOException {
+    final long oldTime = System.currentTimeMillis() - 2 * ThumbnailGenerator.MIN_THUMBNAIL_AGE_MS;
+    final File oldest = createThumbnail("oldest.jpg", oldTime - 2000);
+    final File older = createThumbnail("older.jpg", oldTime - 1000);
+    final File recent = createThumbnail("recent.jpg", System.currentTimeMillis());
+    final File staleTemporary = createThumbnail("stale.jpg123.tmp", oldTime);
+    final File writing = createThumbnail("writing.jpg456.tmp", System.currentTimeMillis());
+
+    generator.trimThumbnails();
+
+    assertFalse(oldest.exists());
+    assertTrue(older.exists());
+    assertTrue(recent.exists());
+    assertFalse(staleTemporary.exists());
+    assertTrue(writing.exists());
+  }
+
+  private static File createThumbnail(String name, long lastModified) throws IOException {
+    final File directory =
+        new File(RuntimeEnvironment.application.getCacheDir(), "video_player_thumbnails");
+    directory.mkdirs();
+    final File file = new File(directory, name);
+    final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+    try {
+      randomAccessFile.setLength(ThumbnailGenerator.MAX_THUMBNAILS_SIZE / 2);
+    } finally {
+      randomAccessFile.close();
+    }
+    file.setLastModified(lastModified);
+    return file;
+  }
+
+  private static Map<String, Object> generateArguments(int timestampCount) {
+    final List<Number> timestamps = new ArrayList<>();
+    for (int i = 0; i < timestampCount; i++) {
+      timestamps.add(i * 100);
+    }
+    final Map<String, Object> arguments = new HashMap<>();
+    arguments.put("uri", "file:///missing.mp4");
+    arguments.put("timestamps", timestamps);
+    arguments.put("width", 64);
+    arguments.put("height", 64);
+    return arguments;
+  }
+
+  private static boolean allReplied(List<RecordingResult> results) {
+    for (RecordingResult result : results) {
+      if (result.replies.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static final class RecordingResult implements MethodChannel.Result {
+    final List<String> replies = new ArrayList<>();
+
+    @Override
+    public void success(Object result) {
+      replies.add("success");
+    }
+
+    @Override
+    public void error(String errorCode, String errorMessage, Object errorDetails) {
+      replies.add("error " + errorCode);
+    }
+
+    @Override
+    public void notImplemented() {
+      replies.add("notImplemented");
+    }
+  }
+}
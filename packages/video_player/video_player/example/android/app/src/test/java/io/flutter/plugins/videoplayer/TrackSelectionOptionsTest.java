@@ -0,0 +1,56 @@
+// Copyright 2020 The Chromium Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.videoplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import io.flutter.plugins.videoplayer.Messages.CreateMessage;
+import java.util.HashMap;
+import org.junit.Test;
+
+public class TrackSelectionOptionsTest {
+
+  @Test
+  public void createMessage_WithoutProfileOrOptions_IsDecoded() {
+    final HashMap<String, Object> map = new HashMap<>();
+    map.put("uri", "https://example.com/video.m3u8");
+    map.put("formatHint", "hls");
+
+    final CreateMessage message = CreateMessage.fromMap(map);
+    final TrackSelectionOptions options = TrackSelectionOptions.fromCreateMessage(message);
+
+    assertSame(BufferingProfile.DEFAULT, BufferingProfile.fromCreateMessage(message));
+    assertEquals(Integer.MAX_VALUE, options.maxVideoWidth);
+    assertEquals(Integer.MAX_VALUE, options.maxVideoHeight);
+    assertEquals(Integer.MAX_VALUE, options.maxVideoBitrate);
+    assertEquals(
+        TrackSelectionOptions.DEFAULT_INITIAL_BITRATE_ESTIMATE, options.initialBitrateEstimate);
+    assertFalse(options.forceLowestBitrateOnCellular);
+  }
+
+  @Test
+  public void fromCreateMessage_WithPartialOptions_OnlyAppliesTheOnesSet() {
+    final HashMap<String, Object> trackSelectionOptions = new HashMap<>();
+    trackSelectionOptions.put("maxVideoWidth", 1280);
+    trackSelectionOptions.put("maxVideoHeight", 720);
+    trackSelectionOptions.put("initialBitrateEstimate", 5000000000L);
+    trackSelectionOptions.put("forceLowestBitrateOnCellular", true);
+    final HashMap<String, Object> map = new HashMap<>();
+    map.put("uri", "https://example.com/video.m3u8");
+    map.put("trackSelectionOptions", trackSelectionOptions);
+
+    final TrackSelectionOptions options =
+        TrackSelectionOptions.fromCreateMessage(CreateMessage.fromMap(map));
+
+    assertEquals(1280, options.maxVideoWidth);
+    assertEquals(720, options.maxVideoHeight);
+    assertEquals(Integer.MAX_VALUE, options.maxVideoBitrate);
+    assertEquals(5000000000L, options.initialBitrateEstimate);
+    assertTrue(options.forceLowestBitrateOnCellular);
+  }
+}
@@ -560,4 +560,40 @@ static inline CGFloat radiansToDegrees(CGFloat radians) {
   [player pause];
 }
 
+- (void)setMaxCacheSize:(FLTCacheMessage*)input error:(FlutterError**)error {
+  // AVPlayer manages its own caching.
+}
+
+- (FLTCacheStatsMessage*)getCacheStats:(FlutterError**)error {
+  FLTCacheStatsMessage* result = [[FLTCacheStatsMessage alloc] init];
+  result.cacheSize = @0;
+  result.bytesReadFromCache = @0;
+  result.bytesReadFromNetwork = @0;
+  return result;
+}
+
+- (void)preload:(FLTPreloadMessage*)input error:(FlutterError**)error {
+  // AVPlayer manages its own caching.
+}
+
+- (void)setMaxPlayerPoolSize:(FLTPlayerPoolMessage*)input error:(FlutterError**)error {
+  // Players are not pooled on iOS.
+}
+
+- (void)setPositionUpdateInterval:(FLTPositionUpdatesMessage*)input error:(FlutterError**)error {
+  // Position updates are not pushed on iOS.
+}
+
+- (FLTStatsMessage*)getStats:(FLTTextureMessage*)input error:(FlutterError**)error {
+  // Playback metrics are not collected on iOS.
+  FLTStatsMessage* result = [[FLTStatsMessage alloc] init];
+  result.playingTimeMs = @0;
+  result.rebufferCount = @0;
+  result.rebufferDurationMs = @0;
+  result.droppedFrames = @0;
+  result.decoderInitTimeMs = @0;
+  result.bitrateSwitches = @0;
+  return result;
+}
+
 @end
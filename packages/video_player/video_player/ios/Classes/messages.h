@@ -12,6 +12,12 @@ NS_ASSUME_NONNULL_BEGIN
 @class FLTLoopingMessage;
 @class FLTVolumeMessage;
 @class FLTPositionMessage;
+@class FLTCacheMessage;
+@class FLTCacheStatsMessage;
+@class FLTPreloadMessage;
+@class FLTPlayerPoolMessage;
+@class FLTPositionUpdatesMessage;
+@class FLTStatsMessage;
 
 @interface FLTTextureMessage : NSObject
 @property(nonatomic, strong, nullable) NSNumber *textureId;
@@ -22,6 +28,8 @@ NS_ASSUME_NONNULL_BEGIN
 @property(nonatomic, copy, nullable) NSString *uri;
 @property(nonatomic, copy, nullable) NSString *packageName;
 @property(nonatomic, copy, nullable) NSString *formatHint;
+@property(nonatomic, strong, nullable) NSDictionary *bufferingProfile;
+@property(nonatomic, strong, nullable) NSDictionary *trackSelectionOptions;
 @end
 
 @interface FLTLoopingMessage : NSObject
@@ -39,6 +47,40 @@ NS_ASSUME_NONNULL_BEGIN
 @property(nonatomic, strong, nullable) NSNumber *position;
 @end
 
+@interface FLTCacheMessage : NSObject
+@property(nonatomic, strong, nullable) NSNumber *maxCacheSize;
+@end
+
+@interface FLTCacheStatsMessage : NSObject
+@property(nonatomic, strong, nullable) NSNumber *cacheSize;
+@property(nonatomic, strong, nullable) NSNumber *bytesReadFromCache;
+@property(nonatomic, strong, nullable) NSNumber *bytesReadFromNetwork;
+@end
+
+@interface FLTPreloadMessage : NSObject
+@property(nonatomic, copy, nullable) NSString *uri;
+@property(nonatomic, strong, nullable) NSNumber *byteCount;
+@end
+
+@interface FLTPlayerPoolMessage : NSObject
+@property(nonatomic, strong, nullable) NSNumber *maxPoolSize;
+@end
+
+@interface FLTPositionUpdatesMessage : NSObject
+@property(nonatomic, strong, nullable) NSNumber *textureId;
+@property(nonatomic, strong, nullable) NSNumber *intervalMs;
+@end
+
+@interface FLTStatsMessage : NSObject
+@property(nonatomic, strong, nullable) NSNumber *timeToFirstFrameMs;
+@property(nonatomic, strong, nullable) NSNumber *playingTimeMs;
+@property(nonatomic, strong, nullable) NSNumber *rebufferCount;
+@property(nonatomic, strong, nullable) NSNumber *rebufferDurationMs;
+@property(nonatomic, strong, nullable) NSNumber *droppedFrames;
+@property(nonatomic, strong, nullable) NSNumber *decoderInitTimeMs;
+@property(nonatomic, strong, nullable) NSNumber *bitrateSwitches;
+@end
+
 @protocol FLTVideoPlayerApi
 - (void)initialize:(FlutterError *_Nullable *_Nonnull)error;
 - (nullable FLTTextureMessage *)create:(FLTCreateMessage *)input
@@ -51,6 +93,15 @@ NS_ASSUME_NONNULL_BEGIN
                                     error:(FlutterError *_Nullable *_Nonnull)error;
 - (void)seekTo:(FLTPositionMessage *)input error:(FlutterError *_Nullable *_Nonnull)error;
 - (void)pause:(FLTTextureMessage *)input error:(FlutterError *_Nullable *_Nonnull)error;
+- (void)setMaxCacheSize:(FLTCacheMessage *)input error:(FlutterError *_Nullable *_Nonnull)error;
+- (nullable FLTCacheStatsMessage *)getCacheStats:(FlutterError *_Nullable *_Nonnull)error;
+- (void)preload:(FLTPreloadMessage *)input error:(FlutterError *_Nullable *_Nonnull)error;
+- (void)setMaxPlayerPoolSize:(FLTPlayerPoolMessage *)input
+                       error:(FlutterError *_Nullable *_Nonnull)error;
+- (void)setPositionUpdateInterval:(FLTPositionUpdatesMessage *)input
+                            error:(FlutterError *_Nullable *_Nonnull)error;
+- (nullable FLTStatsMessage *)getStats:(FLTTextureMessage *)input
+                                 error:(FlutterError *_Nullable *_Nonnull)error;
 @end
 
 extern void FLTVideoPlayerApiSetup(id<FlutterBinaryMessenger> binaryMessenger,
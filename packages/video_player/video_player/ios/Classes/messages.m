@@ -40,6 +40,30 @@ static NSDictionary *wrapResult(NSDictionary *result, FlutterError *error) {
 + (FLTPositionMessage *)fromMap:(NSDictionary *)dict;
 - (NSDictionary *)toMap;
 @end
+@interface FLTCacheMessage ()
++ (FLTCacheMessage *)fromMap:(NSDictionary *)dict;
+- (NSDictionary *)toMap;
+@end
+@interface FLTCacheStatsMessage ()
++ (FLTCacheStatsMessage *)fromMap:(NSDictionary *)dict;
+- (NSDictionary *)toMap;
+@end
+@interface FLTPreloadMessage ()
++ (FLTPreloadMessage *)fromMap:(NSDictionary *)dict;
+- (NSDictionary *)toMap;
+@end
+@interface FLTPlayerPoolMessage ()
++ (FLTPlayerPoolMessage *)fromMap:(NSDictionary *)dict;
+- (NSDictionary *)toMap;
+@end
+@interface FLTPositionUpdatesMessage ()
++ (FLTPositionUpdatesMessage *)fromMap:(NSDictionary *)dict;
+- (NSDictionary *)toMap;
+@end
+@interface FLTStatsMessage ()
++ (FLTStatsMessage *)fromMap:(NSDictionary *)dict;
+- (NSDictionary *)toMap;
+@end
 
 @implementation FLTTextureMessage
 + (FLTTextureMessage *)fromMap:(NSDictionary *)dict {
@@ -76,16 +100,30 @@ static NSDictionary *wrapResult(NSDictionary *result, FlutterError *error) {
   if ((NSNull *)result.formatHint == [NSNull null]) {
     result.formatHint = nil;
   }
+  result.bufferingProfile = dict[@"bufferingProfile"];
+  if ((NSNull *)result.bufferingProfile == [NSNull null]) {
+    result.bufferingProfile = nil;
+  }
+  result.trackSelectionOptions = dict[@"trackSelectionOptions"];
+  if ((NSNull *)result.trackSelectionOptions == [NSNull null]) {
+    result.trackSelectionOptions = nil;
+  }
   return result;
 }
 - (NSDictionary *)toMap {
   return [NSDictionary
-      dictionaryWithObjectsAndKeys:(self.asset ? self.asset : [NSNull null]), @"asset",
-                                   (self.uri ? self.uri : [NSNull null]), @"uri",
+      dictionaryWithObjectsAndKeys:(self.asset != nil ? self.asset : [NSNull null]), @"asset",
+                                   (self.uri != nil ? self.uri : [NSNull null]), @"uri",
                                    (self.packageName != nil ? self.packageName : [NSNull null]),
                                    @"packageName",
                                    (self.formatHint != nil ? self.formatHint : [NSNull null]),
-                                   @"formatHint", nil];
+                                   @"formatHint",
+                                   (self.bufferingProfile != nil ? self.bufferingProfile
+                                                                 : [NSNull null]),
+                                   @"bufferingProfile",
+                                   (self.trackSelectionOptions != nil ? self.trackSelectionOptions
+                                                                      : [NSNull null]),
+                                   @"trackSelectionOptions", nil];
 }
 @end
 
@@ -154,6 +192,167 @@ static NSDictionary *wrapResult(NSDictionary *result, FlutterError *error) {
 }
 @end
 
+@implementation FLTCacheMessage
++ (FLTCacheMessage *)fromMap:(NSDictionary *)dict {
+  FLTCacheMessage *result = [[FLTCacheMessage alloc] init];
+  result.maxCacheSize = dict[@"maxCacheSize"];
+  if ((NSNull *)result.maxCacheSize == [NSNull null]) {
+    result.maxCacheSize = nil;
+  }
+  return result;
+}
+- (NSDictionary *)toMap {
+  return [NSDictionary
+      dictionaryWithObjectsAndKeys:(self.maxCacheSize != nil ? self.maxCacheSize : [NSNull null]),
+                                   @"maxCacheSize", nil];
+}
+@end
+
+@implementation FLTCacheStatsMessage
++ (FLTCacheStatsMessage *)fromMap:(NSDictionary *)dict {
+  FLTCacheStatsMessage *result = [[FLTCacheStatsMessage alloc] init];
+  result.cacheSize = dict[@"cacheSize"];
+  if ((NSNull *)result.cacheSize == [NSNull null]) {
+    result.cacheSize = nil;
+  }
+  result.bytesReadFromCache = dict[@"bytesReadFromCache"];
+  if ((NSNull *)result.bytesReadFromCache == [NSNull null]) {
+    result.bytesReadFromCache = nil;
+  }
+  result.bytesReadFromNetwork = dict[@"bytesReadFromNetwork"];
+  if ((NSNull *)result.bytesReadFromNetwork == [NSNull null]) {
+    result.bytesReadFromNetwork = nil;
+  }
+  return result;
+}
+- (NSDictionary *)toMap {
+  return [NSDictionary
+      dictionaryWithObjectsAndKeys:(self.cacheSize != nil ? self.cacheSize : [NSNull null]),
+                                   @"cacheSize",
+                                   (self.bytesReadFromCache != nil ? self.bytesReadFromCache
+                                                                   : [NSNull null]),
+                                   @"bytesReadFromCache",
+                                   (self.bytesReadFromNetwork != nil ? self.bytesReadFromNetwork
+                                                                     : [NSNull null]),
+                                   @"bytesReadFromNetwork", nil];
+}
+@end
+
+@implementation FLTPreloadMessage
++ (FLTPreloadMessage *)fromMap:(NSDictionary *)dict {
+  FLTPreloadMessage *result = [[FLTPreloadMessage alloc] init];
+  result.uri = dict[@"uri"];
+  if ((NSNull *)result.uri == [NSNull null]) {
+    result.uri = nil;
+  }
+  result.byteCount = dict[@"byteCount"];
+  if ((NSNull *)result.byteCount == [NSNull null]) {
+    result.byteCount = nil;
+  }
+  return result;
+}
+- (NSDictionary *)toMap {
+  return [NSDictionary
+      dictionaryWithObjectsAndKeys:(self.uri != nil ? self.uri : [NSNull null]), @"uri",
+                                   (self.byteCount != nil ? self.byteCount : [NSNull null]),
+                                   @"byteCount", nil];
+}
+@end
+
+@implementation FLTPlayerPoolMessage
++ (FLTPlayerPoolMessage *)fromMap:(NSDictionary *)dict {
+  FLTPlayerPoolMessage *result = [[FLTPlayerPoolMessage alloc] init];
+  result.maxPoolSize = dict[@"maxPoolSize"];
+  if ((NSNull *)result.maxPoolSize == [NSNull null]) {
+    result.maxPoolSize = nil;
+  }
+  return result;
+}
+- (NSDictionary *)toMap {
+  return [NSDictionary
+      dictionaryWithObjectsAndKeys:(self.maxPoolSize != nil ? self.maxPoolSize : [NSNull null]),
+                                   @"maxPoolSize", nil];
+}
+@end
+
+@implementation FLTPositionUpdatesMessage
++ (FLTPositionUpdatesMessage *)fromMap:(NSDictionary *)dict {
+  FLTPositionUpdatesMessage *result = [[FLTPositionUpdatesMessage alloc] init];
+  result.textureId = dict[@"textureId"];
+  if ((NSNull *)result.textureId == [NSNull null]) {
+    result.textureId = nil;
+  }
+  result.intervalMs = dict[@"intervalMs"];
+  if ((NSNull *)result.intervalMs == [NSNull null]) {
+    result.intervalMs = nil;
+  }
+  return result;
+}
+- (NSDictionary *)toMap {
+  return [NSDictionary
+      dictionaryWithObjectsAndKeys:(self.textureId != nil ? self.textureId : [NSNull null]),
+                                   @"textureId",
+                                   (self.intervalMs != nil ? self.intervalMs : [NSNull null]),
+                                   @"intervalMs", nil];
+}
+@end
+
+@implementation FLTStatsMessage
++ (FLTStatsMessage *)fromMap:(NSDictionary *)dict {
+  FLTStatsMessage *result = [[FLTStatsMessage alloc] init];
+  result.timeToFirstFrameMs = dict[@"timeToFirstFrameMs"];
+  if ((NSNull *)result.timeToFirstFrameMs == [NSNull null]) {
+    result.timeToFirstFrameMs = nil;
+  }
+  result.playingTimeMs = dict[@"playingTimeMs"];
+  if ((NSNull *)result.playingTimeMs == [NSNull null]) {
+    result.playingTimeMs = nil;
+  }
+  result.rebufferCount = dict[@"rebufferCount"];
+  if ((NSNull *)result.rebufferCount == [NSNull null]) {
+    result.rebufferCount = nil;
+  }
+  result.rebufferDurationMs = dict[@"rebufferDurationMs"];
+  if ((NSNull *)result.rebufferDurationMs == [NSNull null]) {
+    result.rebufferDurationMs = nil;
+  }
+  result.droppedFrames = dict[@"droppedFrames"];
+  if ((NSNull *)result.droppedFrames == [NSNull null]) {
+    result.droppedFrames = nil;
+  }
+  result.decoderInitTimeMs = dict[@"decoderInitTimeMs"];
+  if ((NSNull *)result.decoderInitTimeMs == [NSNull null]) {
+    result.decoderInitTimeMs = nil;
+  }
+  result.bitrateSwitches = dict[@"bitrateSwitches"];
+  if ((NSNull *)result.bitrateSwitches == [NSNull null]) {
+    result.bitrateSwitches = nil;
+  }
+  return result;
+}
+- (NSDictionary *)toMap {
+  return [NSDictionary
+      dictionaryWithObjectsAndKeys:(self.timeToFirstFrameMs != nil ? self.timeToFirstFrameMs
+                                                                   : [NSNull null]),
+                                   @"timeToFirstFrameMs",
+                                   (self.playingTimeMs != nil ? self.playingTimeMs : [NSNull null]),
+                                   @"playingTimeMs",
+                                   (self.rebufferCount != nil ? self.rebufferCount : [NSNull null]),
+                                   @"rebufferCount",
+                                   (self.rebufferDurationMs != nil ? self.rebufferDurationMs
+                                                                   : [NSNull null]),
+                                   @"rebufferDurationMs",
+                                   (self.droppedFrames != nil ? self.droppedFrames : [NSNull null]),
+                                   @"droppedFrames",
+                                   (self.decoderInitTimeMs != nil ? self.decoderInitTimeMs
+                                                                  : [NSNull null]),
+                                   @"decoderInitTimeMs",
+                                   (self.bitrateSwitches != nil ? self.bitrateSwitches
+                                                                : [NSNull null]),
+                                   @"bitrateSwitches", nil];
+}
+@end
+
 void FLTVideoPlayerApiSetup(id<FlutterBinaryMessenger> binaryMessenger, id<FLTVideoPlayerApi> api) {
   {
     FlutterBasicMessageChannel *channel = [FlutterBasicMessageChannel
@@ -289,4 +488,93 @@ void FLTVideoPlayerApiSetup(id<FlutterBinaryMessenger> binaryMessenger, id<FLTVi
       [channel setMessageHandler:nil];
     }
   }
+  {
+    FlutterBasicMessageChannel *channel = [FlutterBasicMessageChannel
+        messageChannelWithName:@"dev.flutter.pigeon.VideoPlayerApi.setMaxCacheSize"
+               binaryMessenger:binaryMessenger];
+    if (api) {
+      [channel setMessageHandler:^(id _Nullable message, FlutterReply callback) {
+        FlutterError *error;
+        FLTCacheMessage *input = [FLTCacheMessage fromMap:message];
+        [api setMaxCacheSize:input error:&error];
+        callback(wrapResult(nil, error));
+      }];
+    } else {
+      [channel setMessageHandler:nil];
+    }
+  }
+  {
+    FlutterBasicMessageChannel *channel = [FlutterBasicMessageChannel
+        messageChannelWithName:@"dev.flutter.pigeon.VideoPlayerApi.getCacheStats"
+               binaryMessenger:binaryMessenger];
+    if (api) {
+      [channel setMessageHandler:^(id _Nullable message, FlutterReply callback) {
+        FlutterError *error;
+        FLTCacheStatsMessage *output = [api getCacheStats:&error];
+        callback(wrapResult([output toMap], error));
+      }];
+    } else {
+      [channel setMessageHandler:nil];
+    }
+  }
+  {
+    FlutterBasicMessageChannel *channel = [FlutterBasicMessageChannel
+        messageChannelWithName:@"dev.flutter.pigeon.VideoPlayerApi.preload"
+               binaryMessenger:binaryMessenger];
+    if (api) {
+      [channel setMessageHandler:^(id _Nullable message, FlutterReply callback) {
+        FlutterError *error;
+        FLTPreloadMessage *input = [FLTPreloadMessage fromMap:message];
+        [api preload:input error:&error];
+        callback(wrapResult(nil, error));
+      }];
+    } else {
+      [channel setMessageHandler:nil];
+    }
+  }
+  {
+    FlutterBasicMessageChannel *channel = [FlutterBasicMessageChannel
+        messageChannelWithName:@"dev.flutter.pigeon.VideoPlayerApi.setMaxPlayerPoolSize"
+               binaryMessenger:binaryMessenger];
+    if (api) {
+      [channel setMessageHandler:^(id _Nullable message, FlutterReply callback) {
+        FlutterError *error;
+        FLTPlayerPoolMessage *input = [FLTPlayerPoolMessage fromMap:message];
+        [api setMaxPlayerPoolSize:input error:&error];
+        callback(wrapResult(nil, error));
+      }];
+    } else {
+      [channel setMessageHandler:nil];
+    }
+  }
+  {
+    FlutterBasicMessageChannel *channel = [FlutterBasicMessageChannel
+        messageChannelWithName:@"dev.flutter.pigeon.VideoPlayerApi.setPositionUpdateInterval"
+               binaryMessenger:binaryMessenger];
+    if (api) {
+      [channel setMessageHandler:^(id _Nullable message, FlutterReply callback) {
+        FlutterError *error;
+        FLTPositionUpdatesMessage *input = [FLTPositionUpdatesMessage fromMap:message];
+        [api setPositionUpdateInterval:input error:&error];
+        callback(wrapResult(nil, error));
+      }];
+    } else {
+      [channel setMessageHandler:nil];
+    }
+  }
+  {
+    FlutterBasicMessageChannel *channel = [FlutterBasicMessageChannel
+        messageChannelWithName:@"dev.flutter.pigeon.VideoPlayerApi.getStats"
+               binaryMessenger:binaryMessenger];
+    if (api) {
+      [channel setMessageHandler:^(id _Nullable message, FlutterReply callback) {
+        FlutterError *error;
+        FLTTextureMessage *input = [FLTTextureMessage fromMap:message];
+        FLTStatsMessage *output = [api getStats:input error:&error];
+        callback(wrapResult([output toMap], error));
+      }];
+    } else {
+      [channel setMessageHandler:nil];
+    }
+  }
 }
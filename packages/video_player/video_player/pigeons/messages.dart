@@ -24,6 +24,42 @@ class CreateMessage {
   String uri;
   String packageName;
   String formatHint;
+  Map bufferingProfile;
+  Map trackSelectionOptions;
+}
+
+class CacheMessage {
+  int maxCacheSize;
+}
+
+class CacheStatsMessage {
+  int cacheSize;
+  int bytesReadFromCache;
+  int bytesReadFromNetwork;
+}
+
+class PreloadMessage {
+  String uri;
+  int byteCount;
+}
+
+class PlayerPoolMessage {
+  int maxPoolSize;
+}
+
+class PositionUpdatesMessage {
+  int textureId;
+  int intervalMs;
+}
+
+class StatsMessage {
+  int timeToFirstFrameMs;
+  int playingTimeMs;
+  int rebufferCount;
+  int rebufferDurationMs;
+  int droppedFrames;
+  int decoderInitTimeMs;
+  int bitrateSwitches;
 }
 
 @HostApi()
@@ -37,6 +73,12 @@ abstract class VideoPlayerApi {
   PositionMessage position(TextureMessage msg);
   void seekTo(PositionMessage msg);
   void pause(TextureMessage msg);
+  void setMaxCacheSize(CacheMessage msg);
+  CacheStatsMessage getCacheStats();
+  void preload(PreloadMessage msg);
+  void setMaxPlayerPoolSize(PlayerPoolMessage msg);
+  void setPositionUpdateInterval(PositionUpdatesMessage msg);
+  StatsMessage getStats(TextureMessage msg);
 }
 
 void configurePigeon(PigeonOptions opts) {
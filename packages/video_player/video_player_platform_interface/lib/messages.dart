@@ -26,6 +26,8 @@ class CreateMessage {
   String uri;
   String packageName;
   String formatHint;
+  Map<dynamic, dynamic> bufferingProfile;
+  Map<dynamic, dynamic> trackSelectionOptions;
   // ignore: unused_element
   Map<dynamic, dynamic> _toMap() {
     final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
@@ -33,6 +35,8 @@ class CreateMessage {
     pigeonMap['uri'] = uri;
     pigeonMap['packageName'] = packageName;
     pigeonMap['formatHint'] = formatHint;
+    pigeonMap['bufferingProfile'] = bufferingProfile;
+    pigeonMap['trackSelectionOptions'] = trackSelectionOptions;
     return pigeonMap;
   }
 
@@ -43,6 +47,8 @@ class CreateMessage {
     result.uri = pigeonMap['uri'];
     result.packageName = pigeonMap['packageName'];
     result.formatHint = pigeonMap['formatHint'];
+    result.bufferingProfile = pigeonMap['bufferingProfile'];
+    result.trackSelectionOptions = pigeonMap['trackSelectionOptions'];
     return result;
   }
 }
@@ -107,6 +113,138 @@ class PositionMessage {
   }
 }
 
+class CacheMessage {
+  int maxCacheSize;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['maxCacheSize'] = maxCacheSize;
+    return pigeonMap;
+  }
+
+  // ignore: unused_element
+  static CacheMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final CacheMessage result = CacheMessage();
+    result.maxCacheSize = pigeonMap['maxCacheSize'];
+    return result;
+  }
+}
+
+class CacheStatsMessage {
+  int cacheSize;
+  int bytesReadFromCache;
+  int bytesReadFromNetwork;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['cacheSize'] = cacheSize;
+    pigeonMap['bytesReadFromCache'] = bytesReadFromCache;
+    pigeonMap['bytesReadFromNetwork'] = bytesReadFromNetwork;
+    return pigeonMap;
+  }
+
+  // ignore: unused_element
+  static CacheStatsMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final CacheStatsMessage result = CacheStatsMessage();
+    result.cacheSize = pigeonMap['cacheSize'];
+    result.bytesReadFromCache = pigeonMap['bytesReadFromCache'];
+    result.bytesReadFromNetwork = pigeonMap['bytesReadFromNetwork'];
+    return result;
+  }
+}
+
+class PreloadMessage {
+  String uri;
+  int byteCount;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['uri'] = uri;
+    pigeonMap['byteCount'] = byteCount;
+    return pigeonMap;
+  }
+
+  // ignore: unused_element
+  static PreloadMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final PreloadMessage result = PreloadMessage();
+    result.uri = pigeonMap['uri'];
+    result.byteCount = pigeonMap['byteCount'];
+    return result;
+  }
+}
+
+class PlayerPoolMessage {
+  int maxPoolSize;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['maxPoolSize'] = maxPoolSize;
+    return pigeonMap;
+  }
+
+  // ignore: unused_element
+  static PlayerPoolMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final PlayerPoolMessage result = PlayerPoolMessage();
+    result.maxPoolSize = pigeonMap['maxPoolSize'];
+    return result;
+  }
+}
+
+class PositionUpdatesMessage {
+  int textureId;
+  int intervalMs;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['textureId'] = textureId;
+    pigeonMap['intervalMs'] = intervalMs;
+    return pigeonMap;
+  }
+
+  // ignore: unused_element
+  static PositionUpdatesMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final PositionUpdatesMessage result = PositionUpdatesMessage();
+    result.textureId = pigeonMap['textureId'];
+    result.intervalMs = pigeonMap['intervalMs'];
+    return result;
+  }
+}
+
+class StatsMessage {
+  int timeToFirstFrameMs;
+  int playingTimeMs;
+  int rebufferCount;
+  int rebufferDurationMs;
+  int droppedFrames;
+  int decoderInitTimeMs;
+  int bitrateSwitches;
+  // ignore: unused_element
+  Map<dynamic, dynamic> _toMap() {
+    final Map<dynamic, dynamic> pigeonMap = <dynamic, dynamic>{};
+    pigeonMap['timeToFirstFrameMs'] = timeToFirstFrameMs;
+    pigeonMap['playingTimeMs'] = playingTimeMs;
+    pigeonMap['rebufferCount'] = rebufferCount;
+    pigeonMap['rebufferDurationMs'] = rebufferDurationMs;
+    pigeonMap['droppedFrames'] = droppedFrames;
+    pigeonMap['decoderInitTimeMs'] = decoderInitTimeMs;
+    pigeonMap['bitrateSwitches'] = bitrateSwitches;
+    return pigeonMap;
+  }
+
+  // ignore: unused_element
+  static StatsMessage _fromMap(Map<dynamic, dynamic> pigeonMap) {
+    final StatsMessage result = StatsMessage();
+    result.timeToFirstFrameMs = pigeonMap['timeToFirstFrameMs'];
+    result.playingTimeMs = pigeonMap['playingTimeMs'];
+    result.rebufferCount = pigeonMap['rebufferCount'];
+    result.rebufferDurationMs = pigeonMap['rebufferDurationMs'];
+    result.droppedFrames = pigeonMap['droppedFrames'];
+    result.decoderInitTimeMs = pigeonMap['decoderInitTimeMs'];
+    result.bitrateSwitches = pigeonMap['bitrateSwitches'];
+    return result;
+  }
+}
+
 abstract class VideoPlayerApiTest {
   void initialize();
   TextureMessage create(CreateMessage arg);
@@ -117,6 +255,12 @@ abstract class VideoPlayerApiTest {
   PositionMessage position(TextureMessage arg);
   void seekTo(PositionMessage arg);
   void pause(TextureMessage arg);
+  void setMaxCacheSize(CacheMessage arg);
+  CacheStatsMessage getCacheStats();
+  void preload(PreloadMessage arg);
+  void setMaxPlayerPoolSize(PlayerPoolMessage arg);
+  void setPositionUpdateInterval(PositionUpdatesMessage arg);
+  StatsMessage getStats(TextureMessage arg);
 }
 
 void VideoPlayerApiTestSetup(VideoPlayerApiTest api) {
@@ -208,6 +352,68 @@ void VideoPlayerApiTestSetup(VideoPlayerApiTest api) {
       return {};
     });
   }
+  {
+    const BasicMessageChannel<dynamic> channel = BasicMessageChannel<dynamic>(
+        'dev.flutter.pigeon.VideoPlayerApi.setMaxCacheSize',
+        StandardMessageCodec());
+    channel.setMockMessageHandler((dynamic message) async {
+      final Map<dynamic, dynamic> mapMessage = message as Map<dynamic, dynamic>;
+      final CacheMessage input = CacheMessage._fromMap(mapMessage);
+      api.setMaxCacheSize(input);
+      return {};
+    });
+  }
+  {
+    const BasicMessageChannel<dynamic> channel = BasicMessageChannel<dynamic>(
+        'dev.flutter.pigeon.VideoPlayerApi.getCacheStats',
+        StandardMessageCodec());
+    channel.setMockMessageHandler((dynamic message) async {
+      final CacheStatsMessage output = api.getCacheStats();
+      return {'result': output._toMap()};
+    });
+  }
+  {
+    const BasicMessageChannel<dynamic> channel = BasicMessageChannel<dynamic>(
+        'dev.flutter.pigeon.VideoPlayerApi.preload', StandardMessageCodec());
+    channel.setMockMessageHandler((dynamic message) async {
+      final Map<dynamic, dynamic> mapMessage = message as Map<dynamic, dynamic>;
+      final PreloadMessage input = PreloadMessage._fromMap(mapMessage);
+      api.preload(input);
+      return {};
+    });
+  }
+  {
+    const BasicMessageChannel<dynamic> channel = BasicMessageChannel<dynamic>(
+        'dev.flutter.pigeon.VideoPlayerApi.setMaxPlayerPoolSize',
+        StandardMessageCodec());
+    channel.setMockMessageHandler((dynamic message) async {
+      final Map<dynamic, dynamic> mapMessage = message as Map<dynamic, dynamic>;
+      final PlayerPoolMessage input = PlayerPoolMessage._fromMap(mapMessage);
+      api.setMaxPlayerPoolSize(input);
+      return {};
+    });
+  }
+  {
+    const BasicMessageChannel<dynamic> channel = BasicMessageChannel<dynamic>(
+        'dev.flutter.pigeon.VideoPlayerApi.setPositionUpdateInterval',
+        StandardMessageCodec());
+    channel.setMockMessageHandler((dynamic message) async {
+      final Map<dynamic, dynamic> mapMessage = message as Map<dynamic, dynamic>;
+      final PositionUpdatesMessage input = PositionUpdatesMessage._fromMap(mapMessage);
+      api.setPositionUpdateInterval(input);
+      return {};
+    });
+  }
+  {
+    const BasicMessageChannel<dynamic> channel = BasicMessageChannel<dynamic>(
+        'dev.flutter.pigeon.VideoPlayerApi.getStats', StandardMessageCodec());
+    channel.setMockMessageHandler((dynamic message) async {
+      final Map<dynamic, dynamic> mapMessage = message as Map<dynamic, dynamic>;
+      final TextureMessage input = TextureMessage._fromMap(mapMessage);
+      final StatsMessage output = api.getStats(input);
+      return {'result': output._toMap()};
+    });
+  }
 }
 
 class VideoPlayerApi {
@@ -407,4 +613,139 @@ class VideoPlayerApi {
       // noop
     }
   }
+
+  Future<void> setMaxCacheSize(CacheMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel = BasicMessageChannel<dynamic>(
+        'dev.flutter.pigeon.VideoPlayerApi.setMaxCacheSize',
+        StandardMessageCodec());
+
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+          code: 'channel-error',
+          message: 'Unable to establish connection on channel.',
+          details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+  }
+
+  Future<CacheStatsMessage> getCacheStats() async {
+    const BasicMessageChannel<dynamic> channel = BasicMessageChannel<dynamic>(
+        'dev.flutter.pigeon.VideoPlayerApi.getCacheStats',
+        StandardMessageCodec());
+
+    final Map<dynamic, dynamic> replyMap = await channel.send(null);
+    if (replyMap == null) {
+      throw PlatformException(
+          code: 'channel-error',
+          message: 'Unable to establish connection on channel.',
+          details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      return CacheStatsMessage._fromMap(replyMap['result']);
+    }
+  }
+
+  Future<void> preload(PreloadMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel = BasicMessageChannel<dynamic>(
+        'dev.flutter.pigeon.VideoPlayerApi.preload', StandardMessageCodec());
+
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+          code: 'channel-error',
+          message: 'Unable to establish connection on channel.',
+          details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+  }
+
+  Future<void> setMaxPlayerPoolSize(PlayerPoolMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel = BasicMessageChannel<dynamic>(
+        'dev.flutter.pigeon.VideoPlayerApi.setMaxPlayerPoolSize',
+        StandardMessageCodec());
+
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+          code: 'channel-error',
+          message: 'Unable to establish connection on channel.',
+          details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+  }
+
+  Future<void> setPositionUpdateInterval(PositionUpdatesMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel = BasicMessageChannel<dynamic>(
+        'dev.flutter.pigeon.VideoPlayerApi.setPositionUpdateInterval',
+        StandardMessageCodec());
+
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+          code: 'channel-error',
+          message: 'Unable to establish connection on channel.',
+          details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      // noop
+    }
+  }
+
+  Future<StatsMessage> getStats(TextureMessage arg) async {
+    final Map<dynamic, dynamic> requestMap = arg._toMap();
+    const BasicMessageChannel<dynamic> channel = BasicMessageChannel<dynamic>(
+        'dev.flutter.pigeon.VideoPlayerApi.getStats', StandardMessageCodec());
+
+    final Map<dynamic, dynamic> replyMap = await channel.send(requestMap);
+    if (replyMap == null) {
+      throw PlatformException(
+          code: 'channel-error',
+          message: 'Unable to establish connection on channel.',
+          details: null);
+    } else if (replyMap['error'] != null) {
+      final Map<dynamic, dynamic> error = replyMap['error'];
+      throw PlatformException(
+          code: error['code'],
+          message: error['message'],
+          details: error['details']);
+    } else {
+      return StatsMessage._fromMap(replyMap['result']);
+    }
+  }
 }
@@ -15,6 +15,11 @@ import 'video_player_platform_interface.dart';
 class MethodChannelVideoPlayer extends VideoPlayerPlatform {
   VideoPlayerApi _api = VideoPlayerApi();
 
+  // The thumbnails are generated asynchronously, which the pigeon API doesn't
+  // support.
+  static const MethodChannel _thumbnailsChannel =
+      MethodChannel('flutter.io/videoPlayer/thumbnails');
+
   @override
   Future<void> init() {
     return _api.initialize();
@@ -29,6 +34,8 @@ class MethodChannelVideoPlayer extends VideoPlayerPlatform {
   Future<int> create(DataSource dataSource) async {
     CreateMessage message = CreateMessage();
 
+    _setBufferingProfile(message, dataSource.bufferingProfile);
+    _setTrackSelectionOptions(message, dataSource.trackSelectionOptions);
     switch (dataSource.sourceType) {
       case DataSourceType.asset:
         message.asset = dataSource.asset;
@@ -85,6 +92,75 @@ class MethodChannelVideoPlayer extends VideoPlayerPlatform {
     return Duration(milliseconds: response.position);
   }
 
+  @override
+  Future<void> setMaxCacheSize(int maxCacheSize) {
+    return _api.setMaxCacheSize(CacheMessage()..maxCacheSize = maxCacheSize);
+  }
+
+  @override
+  Future<VideoCacheStats> getCacheStats() async {
+    CacheStatsMessage response = await _api.getCacheStats();
+    return VideoCacheStats(
+      cacheSize: response.cacheSize,
+      bytesReadFromCache: response.bytesReadFromCache,
+      bytesReadFromNetwork: response.bytesReadFromNetwork,
+    );
+  }
+
+  @override
+  Future<void> preload(String uri, {int byteCount}) {
+    return _api.preload(PreloadMessage()
+      ..uri = uri
+      // The platform reads the count as a non-null int, -1 for the whole video.
+      ..byteCount = byteCount ?? -1);
+  }
+
+  @override
+  Future<void> setMaxPlayerPoolSize(int maxPoolSize) {
+    return _api.setMaxPlayerPoolSize(
+        PlayerPoolMessage()..maxPoolSize = maxPoolSize);
+  }
+
+  @override
+  Future<void> setPositionUpdateInterval(int textureId, Duration interval) {
+    return _api.setPositionUpdateInterval(PositionUpdatesMessage()
+      ..textureId = textureId
+      ..intervalMs = interval.inMilliseconds);
+  }
+
+  @override
+  Future<List<String>> generateThumbnails(
+      String uri, List<Duration> timestamps, Size size) {
+    return _thumbnailsChannel.invokeListMethod<String>(
+      'generateThumbnails',
+      <String, dynamic>{
+        'uri': uri,
+        'timestamps': timestamps
+            .map((Duration timestamp) => timestamp.inMilliseconds)
+            .toList(),
+        'width': size.width.round(),
+        'height': size.height.round(),
+      },
+    );
+  }
+
+  @override
+  Future<VideoPlaybackStats> getStats(int textureId) async {
+    StatsMessage response =
+        await _api.getStats(TextureMessage()..textureId = textureId);
+    return VideoPlaybackStats(
+      timeToFirstFrame: response.timeToFirstFrameMs != null
+          ? Duration(milliseconds: response.timeToFirstFrameMs)
+          : null,
+      playingTime: Duration(milliseconds: response.playingTimeMs),
+      rebufferCount: response.rebufferCount,
+      rebufferDuration: Duration(milliseconds: response.rebufferDurationMs),
+      droppedFrames: response.droppedFrames,
+      decoderInitTime: Duration(milliseconds: response.decoderInitTimeMs),
+      bitrateSwitches: response.bitrateSwitches,
+    );
+  }
+
   @override
   Stream<VideoEvent> videoEventsFor(int textureId) {
     return _eventChannelFor(textureId)
@@ -114,6 +190,29 @@ class MethodChannelVideoPlayer extends VideoPlayerPlatform {
           return VideoEvent(eventType: VideoEventType.bufferingStart);
         case 'bufferingEnd':
           return VideoEvent(eventType: VideoEventType.bufferingEnd);
+        case 'selectedTrackChanged':
+          return VideoEvent(
+            eventType: VideoEventType.selectedTrackChanged,
+            size: map['width'] != null
+                ? Size(map['width'].toDouble(), map['height'].toDouble())
+                : null,
+            bitrate: map['bitrate'],
+          );
+        case 'bandwidthEstimate':
+          return VideoEvent(
+            eventType: VideoEventType.bandwidthEstimate,
+            bitrate: map['bitrate'],
+          );
+        case 'positionUpdate':
+          final List<dynamic> values = map['values'];
+
+          return VideoEvent(
+            eventType: VideoEventType.positionUpdate,
+            position: Duration(milliseconds: map['position']),
+            buffered: values.map<DurationRange>(_toDurationRange).toList(),
+            isPlaying: map['isPlaying'],
+            isBuffering: map['isBuffering'],
+          );
         default:
           return VideoEvent(eventType: VideoEventType.unknown);
       }
@@ -125,6 +224,39 @@ class MethodChannelVideoPlayer extends VideoPlayerPlatform {
     return Texture(textureId: textureId);
   }
 
+  void _setBufferingProfile(CreateMessage message, BufferingProfile profile) {
+    if (profile == null) {
+      return;
+    }
+    // Only the values that are set are sent, the platform fills in the others.
+    message.bufferingProfile = <String, dynamic>{
+      'preset': _bufferingPresetStringMap[profile.preset],
+      'minBufferMs': profile.minBuffer?.inMilliseconds,
+      'maxBufferMs': profile.maxBuffer?.inMilliseconds,
+      'bufferForPlaybackMs': profile.bufferForPlayback?.inMilliseconds,
+      'bufferForPlaybackAfterRebufferMs':
+          profile.bufferForPlaybackAfterRebuffer?.inMilliseconds,
+      'targetBufferBytes': profile.targetBufferBytes,
+      'prioritizeTimeOverSizeThresholds':
+          profile.prioritizeTimeOverSizeThresholds,
+    }..removeWhere((String key, dynamic value) => value == null);
+  }
+
+  void _setTrackSelectionOptions(
+      CreateMessage message, TrackSelectionOptions options) {
+    if (options == null) {
+      return;
+    }
+    // Only the options that are set are sent, the others aren't applied.
+    message.trackSelectionOptions = <String, dynamic>{
+      'maxVideoWidth': options.maxVideoSize?.width?.toInt(),
+      'maxVideoHeight': options.maxVideoSize?.height?.toInt(),
+      'maxVideoBitrate': options.maxVideoBitrate,
+      'initialBitrateEstimate': options.initialBitrateEstimate,
+      'forceLowestBitrateOnCellular': options.forceLowestBitrateOnCellular,
+    }..removeWhere((String key, dynamic value) => value == null);
+  }
+
   EventChannel _eventChannelFor(int textureId) {
     return EventChannel('flutter.io/videoPlayer/videoEvents$textureId');
   }
@@ -137,6 +269,12 @@ class MethodChannelVideoPlayer extends VideoPlayerPlatform {
     VideoFormat.other: 'other',
   };
 
+  static const Map<BufferingPreset, String> _bufferingPresetStringMap =
+      <BufferingPreset, String>{
+    BufferingPreset.lowLatency: 'lowLatency',
+    BufferingPreset.lowMemory: 'lowMemory',
+  };
+
   DurationRange _toDurationRange(dynamic value) {
     final List<dynamic> pair = value;
     return DurationRange(
@@ -110,6 +110,81 @@ abstract class VideoPlayerPlatform {
     throw UnimplementedError('buildView() has not been implemented.');
   }
 
+  /// **Android only**. Sets the maximum size in bytes of the on-disk cache
+  /// shared by the players of network videos.
+  ///
+  /// Caching is disabled until this is called with a positive size. Only the
+  /// players created afterwards use the cache, and the size can't be changed
+  /// once a player has used the cache.
+  Future<void> setMaxCacheSize(int maxCacheSize) {
+    throw UnimplementedError('setMaxCacheSize() has not been implemented.');
+  }
+
+  /// **Android only**. Returns statistics about the on-disk cache of network
+  /// videos.
+  Future<VideoCacheStats> getCacheStats() {
+    throw UnimplementedError('getCacheStats() has not been implemented.');
+  }
+
+  /// **Android only**. Downloads the first [byteCount] bytes of the network
+  /// video at [uri] into the on-disk cache in the background, or the whole
+  /// video if [byteCount] is null.
+  ///
+  /// Players created later for the same [uri] start playing from the cache.
+  /// The cache must have been enabled with [setMaxCacheSize]. Only
+  /// progressive videos benefit from preloading, as the segments of adaptive
+  /// streams are only known once their manifest is parsed.
+  ///
+  /// The amount to preload is a number of bytes rather than a duration, as
+  /// the bytes that hold the first seconds of a video are only known once its
+  /// container is parsed. For a video of a known bitrate, the first seconds
+  /// take about `bitrate * seconds / 8` bytes.
+  Future<void> preload(String uri, {int byteCount}) {
+    throw UnimplementedError('preload() has not been implemented.');
+  }
+
+  /// **Android only**. Sets the maximum number of players of disposed videos
+  /// kept for reuse by the videos created next.
+  ///
+  /// Reusing a player saves the cost of creating one, which adds up when many
+  /// short-lived videos are created, such as in a feed. Players are not
+  /// pooled until this is called with a positive size.
+  Future<void> setMaxPlayerPoolSize(int maxPoolSize) {
+    throw UnimplementedError(
+        'setMaxPlayerPoolSize() has not been implemented.');
+  }
+
+  /// **Android only**. Makes the player push a
+  /// [VideoEventType.positionUpdate] event every [interval] while the video is
+  /// playing, or stops the updates if [interval] is [Duration.zero].
+  ///
+  /// Each event carries the position, the buffered ranges and the playback
+  /// state, which saves polling [getPosition]. No events are sent while the
+  /// video is paused, except for one when it stops playing.
+  Future<void> setPositionUpdateInterval(int textureId, Duration interval) {
+    throw UnimplementedError(
+        'setPositionUpdateInterval() has not been implemented.');
+  }
+
+  /// **Android only**. Extracts the frames of the video at [uri] at each of
+  /// [timestamps] into JPEG files scaled to fit in [size], and returns their
+  /// paths in the same order.
+  ///
+  /// The frames are written to the cache directory of the app and are only
+  /// extracted again if their files were evicted. The path is null for the
+  /// frames that couldn't be extracted, such as the ones past the end of the
+  /// video.
+  Future<List<String>> generateThumbnails(
+      String uri, List<Duration> timestamps, Size size) {
+    throw UnimplementedError('generateThumbnails() has not been implemented.');
+  }
+
+  /// **Android only**. Returns the playback quality metrics of the video
+  /// since it was created.
+  Future<VideoPlaybackStats> getStats(int textureId) {
+    throw UnimplementedError('getStats() has not been implemented.');
+  }
+
   // This method makes sure that VideoPlayer isn't implemented with `implements`.
   //
   // See class doc for more details on why implementing this class is forbidden.
@@ -135,12 +210,16 @@ class DataSource {
   ///
   /// The [package] argument must be non-null when the asset comes from a
   /// package and null otherwise.
+  ///
+  /// The [bufferingProfile] and [trackSelectionOptions] arguments can be null.
   DataSource({
     @required this.sourceType,
     this.uri,
     this.formatHint,
     this.asset,
     this.package,
+    this.bufferingProfile,
+    this.trackSelectionOptions,
   });
 
   /// The way in which the video was originally loaded.
@@ -165,6 +244,108 @@ class DataSource {
   /// The package that the asset was loaded from. Only set for
   /// [DataSourceType.asset] videos.
   final String package;
+
+  /// **Android only**. How much of the video the player buffers, or null to
+  /// use the default buffering of the platform.
+  final BufferingProfile bufferingProfile;
+
+  /// **Android only**. Constraints on the video tracks that adaptive streams
+  /// switch between, or null to leave them unconstrained.
+  final TrackSelectionOptions trackSelectionOptions;
+}
+
+/// Constraints on the video tracks that an adaptive stream (HLS, DASH or
+/// Smooth Streaming) switches between.
+class TrackSelectionOptions {
+  /// Creates an instance of [TrackSelectionOptions].
+  ///
+  /// All the arguments can be null, in which case the corresponding
+  /// constraint isn't applied.
+  const TrackSelectionOptions({
+    this.maxVideoSize,
+    this.maxVideoBitrate,
+    this.initialBitrateEstimate,
+    this.forceLowestBitrateOnCellular,
+  });
+
+  /// The maximum width and height of the selected video tracks.
+  final Size maxVideoSize;
+
+  /// The maximum bitrate in bits per second of the selected video tracks.
+  final int maxVideoBitrate;
+
+  /// The bandwidth in bits per second assumed before the first download
+  /// is measured.
+  final int initialBitrateEstimate;
+
+  /// Whether to always select the lowest bitrate tracks when the device is on
+  /// a cellular network when the video is created.
+  ///
+  /// The app must hold the `ACCESS_NETWORK_STATE` permission for the network
+  /// type to be checked.
+  final bool forceLowestBitrateOnCellular;
+}
+
+/// Presets of [BufferingProfile].
+enum BufferingPreset {
+  /// Starts playing as soon as possible, at the cost of more rebuffering on
+  /// slow networks.
+  lowLatency,
+
+  /// Keeps a short buffer capped to a few megabytes, for devices with little
+  /// memory.
+  lowMemory,
+}
+
+/// Describes how much of a video the player buffers.
+///
+/// The values that are null are taken from the [preset], or from the default
+/// buffering of the platform if [preset] is null.
+class BufferingProfile {
+  /// Creates an instance of [BufferingProfile].
+  ///
+  /// [bufferForPlayback] and [bufferForPlaybackAfterRebuffer] can't be longer
+  /// than [minBuffer], which can't be longer than [maxBuffer].
+  const BufferingProfile({
+    this.preset,
+    this.minBuffer,
+    this.maxBuffer,
+    this.bufferForPlayback,
+    this.bufferForPlaybackAfterRebuffer,
+    this.targetBufferBytes,
+    this.prioritizeTimeOverSizeThresholds,
+  });
+
+  /// The profile that starts playing as soon as possible.
+  static const BufferingProfile lowLatency =
+      BufferingProfile(preset: BufferingPreset.lowLatency);
+
+  /// The profile that keeps the buffer small.
+  static const BufferingProfile lowMemory =
+      BufferingProfile(preset: BufferingPreset.lowMemory);
+
+  /// The preset that provides the values that are not set.
+  final BufferingPreset preset;
+
+  /// The duration of media that the player tries to keep buffered.
+  final Duration minBuffer;
+
+  /// The maximum duration of media that the player buffers.
+  final Duration maxBuffer;
+
+  /// The duration of media that must be buffered to start playing.
+  final Duration bufferForPlayback;
+
+  /// The duration of media that must be buffered to resume playing after the
+  /// buffer ran out.
+  final Duration bufferForPlaybackAfterRebuffer;
+
+  /// The maximum size in bytes of the buffer.
+  final int targetBufferBytes;
+
+  /// Whether the player keeps buffering up to [minBuffer] even when the
+  /// buffer is larger than [targetBufferBytes].
+  final bool prioritizeTimeOverSizeThresholds;
 }
 
 /// The way in which the video was originally loaded.
@@ -203,13 +384,18 @@ class VideoEvent {
   ///
   /// The [eventType] argument is required.
   ///
-  /// Depending on the [eventType], the [duration], [size] and [buffered]
-  /// arguments can be null.
+  /// Depending on the [eventType], the [duration], [size], [buffered],
+  /// [bitrate], [position], [isPlaying] and [isBuffering] arguments can be
+  /// null.
   VideoEvent({
     @required this.eventType,
     this.duration,
     this.size,
     this.buffered,
+    this.bitrate,
+    this.position,
+    this.isPlaying,
+    this.isBuffering,
   });
 
   /// The type of the event.
@@ -222,14 +408,38 @@ class VideoEvent {
 
   /// Size of the video.
   ///
-  /// Only used if [eventType] is [VideoEventType.initialized].
+  /// Only used if [eventType] is [VideoEventType.initialized] or
+  /// [VideoEventType.selectedTrackChanged].
   final Size size;
 
   /// Buffered parts of the video.
   ///
-  /// Only used if [eventType] is [VideoEventType.bufferingUpdate].
+  /// Only used if [eventType] is [VideoEventType.bufferingUpdate] or
+  /// [VideoEventType.positionUpdate].
   final List<DurationRange> buffered;
 
+  /// Bitrate in bits per second.
+  ///
+  /// Only used if [eventType] is [VideoEventType.selectedTrackChanged], where
+  /// it is the bitrate of the selected track, or
+  /// [VideoEventType.bandwidthEstimate], where it is the estimated bandwidth.
+  final int bitrate;
+
+  /// Position of the video.
+  ///
+  /// Only used if [eventType] is [VideoEventType.positionUpdate].
+  final Duration position;
+
+  /// Whether the video is playing, as opposed to paused, buffering or ended.
+  ///
+  /// Only used if [eventType] is [VideoEventType.positionUpdate].
+  final bool isPlaying;
+
+  /// Whether the video is buffering.
+  ///
+  /// Only used if [eventType] is [VideoEventType.positionUpdate].
+  final bool isBuffering;
+
   @override
   bool operator ==(Object other) {
     return identical(this, other) ||
@@ -238,7 +448,11 @@ class VideoEvent {
             eventType == other.eventType &&
             duration == other.duration &&
             size == other.size &&
-            listEquals(buffered, other.buffered);
+            listEquals(buffered, other.buffered) &&
+            bitrate == other.bitrate &&
+            position == other.position &&
+            isPlaying == other.isPlaying &&
+            isBuffering == other.isBuffering;
   }
 
   @override
@@ -246,7 +460,11 @@ class VideoEvent {
       eventType.hashCode ^
       duration.hashCode ^
       size.hashCode ^
-      buffered.hashCode;
+      buffered.hashCode ^
+      bitrate.hashCode ^
+      position.hashCode ^
+      isPlaying.hashCode ^
+      isBuffering.hashCode;
 }
 
 /// Type of the event.
@@ -269,6 +487,15 @@ enum VideoEventType {
   /// The video stopped to buffer.
   bufferingEnd,
 
+  /// An adaptive stream switched to another video track.
+  selectedTrackChanged,
+
+  /// The estimated network bandwidth was updated.
+  bandwidthEstimate,
+
+  /// Periodic update of the position, buffered ranges and playback state.
+  positionUpdate,
+
   /// An unknown event has been received.
   unknown,
 }
@@ -331,3 +558,127 @@ class DurationRange {
   @override
   int get hashCode => start.hashCode ^ end.hashCode;
 }
+
+/// Statistics about the on-disk cache of network videos.
+class VideoCacheStats {
+  /// Creates an instance of [VideoCacheStats].
+  VideoCacheStats({
+    @required this.cacheSize,
+    @required this.bytesReadFromCache,
+    @required this.bytesReadFromNetwork,
+  });
+
+  /// The size in bytes of the cached media.
+  final int cacheSize;
+
+  /// The number of bytes that the players read from the cache instead of
+  /// downloading them.
+  final int bytesReadFromCache;
+
+  /// The number of bytes that the players of cacheable media downloaded.
+  final int bytesReadFromNetwork;
+
+  /// The fraction of the bytes read by the players that came from the cache.
+  double get hitRatio {
+    final int total = bytesReadFromCache + bytesReadFromNetwork;
+    return total == 0 ? 0.0 : bytesReadFromCache / total;
+  }
+
+  @override
+  String toString() => '$runtimeType(cacheSize: $cacheSize, '
+      'bytesReadFromCache: $bytesReadFromCache, '
+      'bytesReadFromNetwork: $bytesReadFromNetwork)';
+
+  @override
+  bool operator ==(Object other) =>
+      identical(this, other) ||
+      other is VideoCacheStats &&
+          runtimeType == other.runtimeType &&
+          cacheSize == other.cacheSize &&
+          bytesReadFromCache == other.bytesReadFromCache &&
+          bytesReadFromNetwork == other.bytesReadFromNetwork;
+
+  @override
+  int get hashCode =>
+      cacheSize.hashCode ^
+      bytesReadFromCache.hashCode ^
+      bytesReadFromNetwork.hashCode;
+}
+
+/// The playback quality metrics of a video.
+///
+/// A rebuffer is a stall while the video is playing. The buffering before the
+/// video is first ready and after a seek isn't counted.
+class VideoPlaybackStats {
+  /// Creates an instance of [VideoPlaybackStats].
+  VideoPlaybackStats({
+    this.timeToFirstFrame,
+    @required this.playingTime,
+    @required this.rebufferCount,
+    @required this.rebufferDuration,
+    @required this.droppedFrames,
+    @required this.decoderInitTime,
+    @required this.bitrateSwitches,
+  });
+
+  /// The time from the creation of the video to its first rendered frame, or
+  /// null if no frame has been rendered yet.
+  final Duration timeToFirstFrame;
+
+  /// The time spent playing the video.
+  final Duration playingTime;
+
+  /// The number of times the playback stalled to buffer.
+  final int rebufferCount;
+
+  /// The total time the playback spent stalled.
+  final Duration rebufferDuration;
+
+  /// The number of video frames dropped because they were decoded too late.
+  final int droppedFrames;
+
+  /// The total time spent initializing video decoders.
+  final Duration decoderInitTime;
+
+  /// The number of times an adaptive stream switched to another video track.
+  final int bitrateSwitches;
+
+  /// The fraction of the time watched that the playback spent stalled.
+  double get rebufferRatio {
+    final int total =
+        playingTime.inMilliseconds + rebufferDuration.inMilliseconds;
+    return total == 0 ? 0.0 : rebufferDuration.inMilliseconds / total;
+  }
+
+  @override
+  String toString() => '$runtimeType(timeToFirstFrame: $timeToFirstFrame, '
+      'playingTime: $playingTime, '
+      'rebufferCount: $rebufferCount, '
+      'rebufferDuration: $rebufferDuration, '
+      'droppedFrames: $droppedFrames, '
+      'decoderInitTime: $decoderInitTime, '
+      'bitrateSwitches: $bitrateSwitches)';
+
+  @override
+  bool operator ==(Object other) =>
+      identical(this, other) ||
+      other is VideoPlaybackStats &&
+          runtimeType == other.runtimeType &&
+          timeToFirstFrame == other.timeToFirstFrame &&
+          playingTime == other.playingTime &&
+          rebufferCount == other.rebufferCount &&
+          rebufferDuration == other.rebufferDuration &&
+          droppedFrames == other.droppedFrames &&
+          decoderInitTime == other.decoderInitTime &&
+          bitrateSwitches == other.bitrateSwitches;
+
+  @override
+  int get hashCode =>
+      timeToFirstFrame.hashCode ^
+      playingTime.hashCode ^
+      rebufferCount.hashCode ^
+      rebufferDuration.hashCode ^
+      droppedFrames.hashCode ^
+      decoderInitTime.hashCode ^
+      bitrateSwitches.hashCode;
+}
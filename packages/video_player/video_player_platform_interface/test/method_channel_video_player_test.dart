@@ -19,6 +19,10 @@ class _ApiLogger implements VideoPlayerApiTest {
   PositionMessage positionMessage;
   LoopingMessage loopingMessage;
   VolumeMessage volumeMessage;
+  CacheMessage cacheMessage;
+  PreloadMessage preloadMessage;
+  PlayerPoolMessage playerPoolMessage;
+  PositionUpdatesMessage positionUpdatesMessage;
 
   @override
   TextureMessage create(CreateMessage arg) {
@@ -74,6 +78,53 @@ class _ApiLogger implements VideoPlayerApiTest {
     log.add('setVolume');
     volumeMessage = arg;
   }
+
+  @override
+  void setMaxCacheSize(CacheMessage arg) {
+    log.add('setMaxCacheSize');
+    cacheMessage = arg;
+  }
+
+  @override
+  CacheStatsMessage getCacheStats() {
+    log.add('getCacheStats');
+    return CacheStatsMessage()
+      ..cacheSize = 1000
+      ..bytesReadFromCache = 300
+      ..bytesReadFromNetwork = 100;
+  }
+
+  @override
+  void preload(PreloadMessage arg) {
+    log.add('preload');
+    preloadMessage = arg;
+  }
+
+  @override
+  void setMaxPlayerPoolSize(PlayerPoolMessage arg) {
+    log.add('setMaxPlayerPoolSize');
+    playerPoolMessage = arg;
+  }
+
+  @override
+  void setPositionUpdateInterval(PositionUpdatesMessage arg) {
+    log.add('setPositionUpdateInterval');
+    positionUpdatesMessage = arg;
+  }
+
+  @override
+  StatsMessage getStats(TextureMessage arg) {
+    log.add('getStats');
+    textureMessage = arg;
+    return StatsMessage()
+      ..timeToFirstFrameMs = 450
+      ..playingTimeMs = 9000
+      ..rebufferCount = 2
+      ..rebufferDurationMs = 1000
+      ..droppedFrames = 12
+      ..decoderInitTimeMs = 80
+      ..bitrateSwitches = 3;
+  }
 }
 
 void main() {
@@ -160,6 +211,61 @@ void main() {
       expect(textureId, 3);
     });
 
+    test('create with buffering profile', () async {
+      await player.create(DataSource(
+        sourceType: DataSourceType.network,
+        uri: 'someUri',
+        bufferingProfile: const BufferingProfile(
+          preset: BufferingPreset.lowLatency,
+          maxBuffer: Duration(seconds: 20),
+          targetBufferBytes: 1024,
+        ),
+      ));
+      expect(log.log.last, 'create');
+      expect(log.createMessage.bufferingProfile, <String, dynamic>{
+        'preset': 'lowLatency',
+        'maxBufferMs': 20000,
+        'targetBufferBytes': 1024,
+      });
+    });
+
+    test('create without buffering profile', () async {
+      await player.create(DataSource(
+        sourceType: DataSourceType.network,
+        uri: 'someUri',
+      ));
+      expect(log.log.last, 'create');
+      expect(log.createMessage.bufferingProfile, null);
+    });
+
+    test('create with track selection options', () async {
+      await player.create(DataSource(
+        sourceType: DataSourceType.network,
+        uri: 'someUri',
+        trackSelectionOptions: const TrackSelectionOptions(
+          maxVideoSize: Size(1280, 720),
+          maxVideoBitrate: 2000000,
+          forceLowestBitrateOnCellular: true,
+        ),
+      ));
+      expect(log.log.last, 'create');
+      expect(log.createMessage.trackSelectionOptions, <String, dynamic>{
+        'maxVideoWidth': 1280,
+        'maxVideoHeight': 720,
+        'maxVideoBitrate': 2000000,
+        'forceLowestBitrateOnCellular': true,
+      });
+    });
+
+    test('create without track selection options', () async {
+      await player.create(DataSource(
+        sourceType: DataSourceType.network,
+        uri: 'someUri',
+      ));
+      expect(log.log.last, 'create');
+      expect(log.createMessage.trackSelectionOptions, null);
+    });
+
     test('setLooping', () async {
       await player.setLooping(1, true);
       expect(log.log.last, 'setLooping');
@@ -200,6 +306,96 @@ void main() {
       expect(position, const Duration(milliseconds: 234));
     });
 
+    test('setMaxCacheSize', () async {
+      await player.setMaxCacheSize(1 << 20);
+      expect(log.log.last, 'setMaxCacheSize');
+      expect(log.cacheMessage.maxCacheSize, 1 << 20);
+    });
+
+    test('getCacheStats', () async {
+      final VideoCacheStats stats = await player.getCacheStats();
+      expect(log.log.last, 'getCacheStats');
+      expect(
+          stats,
+          VideoCacheStats(
+            cacheSize: 1000,
+            bytesReadFromCache: 300,
+            bytesReadFromNetwork: 100,
+          ));
+      expect(stats.hitRatio, 0.75);
+    });
+
+    test('preload', () async {
+      await player.preload('someUri', byteCount: 512 * 1024);
+      expect(log.log.last, 'preload');
+      expect(log.preloadMessage.uri, 'someUri');
+      expect(log.preloadMessage.byteCount, 512 * 1024);
+    });
+
+    test('preload the whole video', () async {
+      await player.preload('someUri');
+      expect(log.log.last, 'preload');
+      expect(log.preloadMessage.uri, 'someUri');
+      expect(log.preloadMessage.byteCount, -1);
+    });
+
+    test('setMaxPlayerPoolSize', () async {
+      await player.setMaxPlayerPoolSize(2);
+      expect(log.log.last, 'setMaxPlayerPoolSize');
+      expect(log.playerPoolMessage.maxPoolSize, 2);
+    });
+
+    test('setPositionUpdateInterval', () async {
+      await player.setPositionUpdateInterval(
+          1, const Duration(milliseconds: 250));
+      expect(log.log.last, 'setPositionUpdateInterval');
+      expect(log.positionUpdatesMessage.textureId, 1);
+      expect(log.positionUpdatesMessage.intervalMs, 250);
+    });
+
+    test('getStats', () async {
+      final VideoPlaybackStats stats = await player.getStats(1);
+      expect(log.log.last, 'getStats');
+      expect(log.textureMessage.textureId, 1);
+      expect(
+          stats,
+          VideoPlaybackStats(
+            timeToFirstFrame: const Duration(milliseconds: 450),
+            playingTime: const Duration(seconds: 9),
+            rebufferCount: 2,
+            rebufferDuration: const Duration(seconds: 1),
+            droppedFrames: 12,
+            decoderInitTime: const Duration(milliseconds: 80),
+            bitrateSwitches: 3,
+          ));
+      expect(stats.rebufferRatio, 0.1);
+    });
+
+    test('generateThumbnails', () async {
+      final List<MethodCall> calls = <MethodCall>[];
+      const MethodChannel('flutter.io/videoPlayer/thumbnails')
+          .setMockMethodCallHandler((MethodCall methodCall) async {
+        calls.add(methodCall);
+        return <String>['/cache/a.jpg', null];
+      });
+
+      final List<String> paths = await player.generateThumbnails(
+        'https://example.com/video.mp4',
+        const <Duration>[Duration(seconds: 1), Duration(minutes: 10)],
+        const Size(160, 90),
+      );
+
+      expect(paths, <String>['/cache/a.jpg', null]);
+      expect(calls, hasLength(1));
+      expect(calls.single.method, 'generateThumbnails');
+      expect(calls.single.arguments, <String, dynamic>{
+        'uri': 'https://example.com/video.mp4',
+        'timestamps': <int>[1000, 600000],
+        'width': 160,
+        'height': 90,
+      });
+    });
+
     test('videoEventsFor', () async {
       // TODO(cbenhagen): This has been deprecated and should be replaced
       // with `ServicesBinding.instance.defaultBinaryMessenger` when it's
@@ -278,6 +474,52 @@ void main() {
                 }),
                 (ByteData data) {});
 
+            // TODO(cbenhagen): This has been deprecated and should be replaced
+            // with `ServicesBinding.instance.defaultBinaryMessenger` when it's
+            // available on all the versions of Flutter that we test.
+            // ignore: deprecated_member_use
+            await defaultBinaryMessenger.handlePlatformMessage(
+                "flutter.io/videoPlayer/videoEvents123",
+                const StandardMethodCodec()
+                    .encodeSuccessEnvelope(<String, dynamic>{
+                  'event': 'selectedTrackChanged',
+                  'width': 1280,
+                  'height': 720,
+                  'bitrate': 1500000,
+                }),
+                (ByteData data) {});
+
+            // TODO(cbenhagen): This has been deprecated and should be replaced
+            // with `ServicesBinding.instance.defaultBinaryMessenger` when it's
+            // available on all the versions of Flutter that we test.
+            // ignore: deprecated_member_use
+            await defaultBinaryMessenger.handlePlatformMessage(
+                "flutter.io/videoPlayer/videoEvents123",
+                const StandardMethodCodec()
+                    .encodeSuccessEnvelope(<String, dynamic>{
+                  'event': 'bandwidthEstimate',
+                  'bitrate': 4000000,
+                }),
+                (ByteData data) {});
+
+            // TODO(cbenhagen): This has been deprecated and should be replaced
+            // with `ServicesBinding.instance.defaultBinaryMessenger` when it's
+            // available on all the versions of Flutter that we test.
+            // ignore: deprecated_member_use
+            await defaultBinaryMessenger.handlePlatformMessage(
+                "flutter.io/videoPlayer/videoEvents123",
+                const StandardMethodCodec()
+                    .encodeSuccessEnvelope(<String, dynamic>{
+                  'event': 'positionUpdate',
+                  'position': 1500,
+                  'values': <List<dynamic>>[
+                    <int>[0, 6000],
+                  ],
+                  'isPlaying': true,
+                  'isBuffering': false,
+                }),
+                (ByteData data) {});
+
             return const StandardMethodCodec().encodeSuccessEnvelope(null);
           } else if (methodCall.method == 'cancel') {
             return const StandardMethodCodec().encodeSuccessEnvelope(null);
@@ -309,6 +551,27 @@ void main() {
                 ]),
             VideoEvent(eventType: VideoEventType.bufferingStart),
             VideoEvent(eventType: VideoEventType.bufferingEnd),
+            VideoEvent(
+              eventType: VideoEventType.selectedTrackChanged,
+              size: const Size(1280, 720),
+              bitrate: 1500000,
+            ),
+            VideoEvent(
+              eventType: VideoEventType.bandwidthEstimate,
+              bitrate: 4000000,
+            ),
+            VideoEvent(
+              eventType: VideoEventType.positionUpdate,
+              position: const Duration(milliseconds: 1500),
+              buffered: <DurationRange>[
+                DurationRange(
+                  const Duration(milliseconds: 0),
+                  const Duration(milliseconds: 6000),
+                ),
+              ],
+              isPlaying: true,
+              isBuffering: false,
+            ),
           ]));
     });
   });